@@ -15,8 +15,10 @@
 package org.eclipse.birt.core.archive;
 
 import org.eclipse.birt.core.archive.cache.FileCacheManagerTest;
+import org.eclipse.birt.core.archive.cache.SharedBlockCacheTest;
 import org.eclipse.birt.core.archive.compound.ArchiveEntryInputStreamTest;
 import org.eclipse.birt.core.archive.compound.ArchiveFileFactoryTest;
+import org.eclipse.birt.core.archive.compound.ArchiveFileV2ConcurrentReadTest;
 import org.eclipse.birt.core.archive.compound.ArchiveFileTest;
 import org.eclipse.birt.core.archive.compound.ArchivePerformanceTest;
 import org.eclipse.birt.core.archive.compound.ArchiveRemoveTest;
@@ -40,9 +42,11 @@ public class AllArchiveTests {
 		TestSuite test = new TestSuite();
 
 		test.addTestSuite(FileCacheManagerTest.class);
+		test.addTestSuite(SharedBlockCacheTest.class);
 		test.addTestSuite(ArchiveEntryInputStreamTest.class);
 		test.addTestSuite(ArchiveFileFactoryTest.class);
 		test.addTestSuite(ArchiveFileTest.class);
+		test.addTestSuite(ArchiveFileV2ConcurrentReadTest.class);
 		test.addTestSuite(ArchivePerformanceTest.class);
 		test.addTestSuite(ArchiveRemoveTest.class);
 		test.addTestSuite(ArchiveViewTest.class);
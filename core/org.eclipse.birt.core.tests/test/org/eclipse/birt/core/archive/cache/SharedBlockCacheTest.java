@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.birt.core.archive.cache;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class SharedBlockCacheTest extends TestCase {
+	@Test
+	public void testGetAndPut() {
+		SharedBlockCache cache = new SharedBlockCache(4 * 16, 16);
+		byte[] buffer = new byte[16];
+
+		assertEquals(-1, cache.get("a", 0, buffer, 0, 16));
+		assertEquals(1, cache.getMissCount());
+
+		cache.put("a", 0, createBlock(1, 16), 0, 16);
+		cache.put("a", 1, createBlock(2, 10), 0, 10);
+		assertEquals(16, cache.get("a", 0, buffer, 0, 16));
+		assertEquals(1, buffer[0]);
+		assertEquals(10, cache.get("a", 1, buffer, 0, 16));
+		assertEquals(2, buffer[9]);
+		assertEquals(2, cache.getHitCount());
+
+		// blocks are identified by the file and the block id
+		assertEquals(-1, cache.get("b", 0, buffer, 0, 16));
+
+		// blocks larger than a slot are not cached
+		cache.put("a", 2, new byte[32], 0, 32);
+		assertEquals(-1, cache.get("a", 2, buffer, 0, 16));
+		assertEquals(2 * 16, cache.getUsedCacheSize());
+	}
+
+	@Test
+	public void testClockEviction() {
+		SharedBlockCache cache = new SharedBlockCache(4 * 16, 16);
+		byte[] buffer = new byte[16];
+		for (int i = 0; i < 4; i++) {
+			cache.put("a", i, createBlock(i, 16), 0, 16);
+		}
+		assertEquals(0, cache.getEvictionCount());
+
+		// the referenced blocks get a second chance
+		cache.get("a", 0, buffer, 0, 16);
+		cache.get("a", 2, buffer, 0, 16);
+		cache.put("a", 4, createBlock(4, 16), 0, 16);
+		cache.put("a", 5, createBlock(5, 16), 0, 16);
+		assertEquals(2, cache.getEvictionCount());
+		assertEquals(4 * 16, cache.getUsedCacheSize());
+
+		assertEquals(16, cache.get("a", 0, buffer, 0, 16));
+		assertEquals(0, buffer[0]);
+		assertEquals(-1, cache.get("a", 1, buffer, 0, 16));
+		assertEquals(16, cache.get("a", 2, buffer, 0, 16));
+		assertEquals(-1, cache.get("a", 3, buffer, 0, 16));
+		assertEquals(16, cache.get("a", 5, buffer, 0, 16));
+		assertEquals(5, buffer[15]);
+	}
+
+	private byte[] createBlock(int value, int size) {
+		byte[] block = new byte[size];
+		for (int i = 0; i < size; i++) {
+			block[i] = (byte) value;
+		}
+		return block;
+	}
+}
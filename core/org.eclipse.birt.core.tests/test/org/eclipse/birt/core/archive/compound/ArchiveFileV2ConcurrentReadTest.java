@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.core.archive.compound;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class ArchiveFileV2ConcurrentReadTest extends TestCase {
+	static final String ARCHIVE_FILE = "./utest/concurrent.rptdocument";
+	static final int ENTRY_COUNT = 20;
+	static final int ENTRY_LENGTH = 50000;
+
+	@Override
+	@Before
+	public void setUp() throws IOException {
+		new File("./utest/").mkdir();
+		ArchiveFileV2 af = new ArchiveFileV2(ARCHIVE_FILE, "rw");
+		try {
+			for (int i = 0; i < ENTRY_COUNT; i++) {
+				ArchiveEntry entry = af.createEntry("/" + i);
+				byte[] data = createData(i);
+				entry.write(0, data, 0, data.length);
+				entry.close();
+			}
+		} finally {
+			af.close();
+		}
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		new File(ARCHIVE_FILE).delete();
+		new File("./utest/").delete();
+	}
+
+	@Test
+	public void testConcurrentRead() throws Exception {
+		final ArchiveFileV2 af = new ArchiveFileV2(ARCHIVE_FILE, "r");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			assertTrue(af.isConcurrentRead);
+			af.setCacheSize(4096 * 16);
+
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				final int index = i % ENTRY_COUNT;
+				final boolean interrupt = i % 17 == 0;
+				results.add(executor.submit(() -> {
+					try {
+						ArchiveEntry entry = af.openEntry("/" + index);
+						try {
+							if (interrupt) {
+								Thread.currentThread().interrupt();
+							}
+							byte[] data = new byte[ENTRY_LENGTH];
+							assertEquals(ENTRY_LENGTH, entry.read(0, data, 0, ENTRY_LENGTH));
+							assertTrue(Arrays.equals(createData(index), data));
+						} finally {
+							entry.close();
+						}
+					} catch (ClosedByInterruptException ex) {
+						// only the interrupted reader fails
+						assertTrue(interrupt);
+					} finally {
+						Thread.interrupted();
+					}
+					return Boolean.TRUE;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertEquals(Boolean.TRUE, result.get());
+			}
+
+			// the cache is bounded and the archive is still readable
+			assertTrue(af.getUsedCache() <= 4096 * 16);
+			assertTrue(af.exists("/1"));
+			assertEquals(ENTRY_COUNT, af.listEntries("/").size());
+			ArchiveEntry entry = af.openEntry("/1");
+			byte[] data = new byte[ENTRY_LENGTH];
+			assertEquals(ENTRY_LENGTH, entry.read(0, data, 0, ENTRY_LENGTH));
+			entry.close();
+		} finally {
+			executor.shutdown();
+			af.close();
+		}
+	}
+
+	@Test
+	public void testReadWhileRefresh() throws Exception {
+		final ArchiveFileV2 af = new ArchiveFileV2(ARCHIVE_FILE, "r");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			assertTrue(af.isConcurrentRead);
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				final int index = i % ENTRY_COUNT;
+				results.add(executor.submit(() -> {
+					assertTrue(af.exists("/" + index));
+					ArchiveEntry entry = af.openEntry("/" + index);
+					try {
+						byte[] data = new byte[ENTRY_LENGTH];
+						assertEquals(ENTRY_LENGTH, entry.read(0, data, 0, ENTRY_LENGTH));
+						assertTrue(Arrays.equals(createData(index), data));
+					} finally {
+						entry.close();
+					}
+					return Boolean.TRUE;
+				}));
+			}
+			for (int i = 0; i < 20; i++) {
+				af.refresh();
+			}
+			for (Future<Boolean> result : results) {
+				assertEquals(Boolean.TRUE, result.get());
+			}
+			assertEquals(ENTRY_COUNT, af.listEntries("/").size());
+		} finally {
+			executor.shutdown();
+			af.close();
+		}
+	}
+
+	@Test
+	public void testReadAfterClose() throws Exception {
+		ArchiveFileV2 af = new ArchiveFileV2(ARCHIVE_FILE, "r");
+		ArchiveEntry entry = af.openEntry("/1");
+		af.close();
+		try {
+			entry.read(0, new byte[16], 0, 16);
+			fail();
+		} catch (IOException ex) {
+		}
+	}
+
+	static byte[] createData(int index) {
+		byte[] data = new byte[ENTRY_LENGTH];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i * 31 + index);
+		}
+		return data;
+	}
+}
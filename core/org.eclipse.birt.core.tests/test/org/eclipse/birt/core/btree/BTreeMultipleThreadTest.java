@@ -56,6 +56,81 @@ public class BTreeMultipleThreadTest extends TestCase {
 		}
 	}
 
+	@Test
+	public void testReadOnlyCursor() throws Exception {
+		new File("./utest/btree.dat").delete();
+		FileBTreeFile writeFile = new FileBTreeFile("./utest/btree.dat");
+		try (writeFile) {
+			BTreeOption<String, String> option = new BTreeOption<>();
+			option.setFile(writeFile, true);
+			BTree<String, String> btree = new BTree<>(option);
+			createBTree(btree);
+			btree.close();
+		}
+
+		FileBTreeFile file = new FileBTreeFile("./utest/btree.dat", true);
+		try (file) {
+			// two trees of the same file share the node cache
+			BTreeNodeCache nodeCache = new BTreeNodeCache(16);
+			BTreeOption<String, String> option = new BTreeOption<>();
+			option.setReadOnly(true);
+			option.setNodeCache(nodeCache);
+			option.setFile(file, true);
+			BTree<String, String> btree1 = new BTree<>(option);
+			BTree<String, String> btree2 = new BTree<>(option);
+			try {
+				ArrayList<Thread> threads = new ArrayList<>();
+				for (int i = 0; i < 4; i++) {
+					BTree<String, String> btree = i % 2 == 0 ? btree1 : btree2;
+					threads.add(new Thread(new TestThread(btree.createCursor())));
+					threads.add(new Thread(new LookupThread(btree)));
+				}
+				for (Thread thread : threads) {
+					thread.start();
+				}
+				for (Thread thread : threads) {
+					thread.join();
+				}
+				assertTrue(nodeCache.size() <= nodeCache.getCapacity());
+				assertTrue(btree1.getCacheHits() > 0);
+				assertTrue(btree1.getCacheMisses() > 0);
+			} finally {
+				btree1.close();
+				btree2.close();
+			}
+			assertEquals(0, nodeCache.size());
+		}
+
+		if (TestThread.hasErrors()) {
+			TestThread.printErrors();
+			fail("HAS ERROR!");
+		}
+	}
+
+	static class LookupThread implements Runnable {
+
+		BTree<String, String> btree;
+
+		LookupThread(BTree<String, String> btree) {
+			this.btree = btree;
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (int i = KEY_COUNT - 1; i >= 0; i--) {
+					String key = String.valueOf(i);
+					String value = btree.getValue(key);
+					if (!key.equals(value)) {
+						throw new IOException(key + " != " + value);
+					}
+				}
+			} catch (Throwable ex) {
+				TestThread.throwError(ex);
+			}
+		}
+	}
+
 	static boolean hasError;
 
 	static void createBTree(BTree<String, String> btree) throws IOException {
@@ -16,6 +16,7 @@ package org.eclipse.birt.core.btree;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -23,6 +24,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Random;
+import java.util.TreeMap;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -391,4 +393,111 @@ public class BTreeTest extends BTreeTestCase {
 
 		btree.close();
 	}
+
+	@Test
+	public void testLoad() throws Exception {
+		RAMBTreeFile file = new RAMBTreeFile();
+		BTreeOption<Integer, String> option = new BTreeOption<>();
+		option.setHasValue(true);
+		option.setKeySize(4);
+		option.setKeySerializer(new IntegerSerializer());
+		option.setFile(file);
+
+		TreeMap<Integer, String> entries = new TreeMap<>();
+		for (int i = 0; i < 100000; i += 2) {
+			entries.put(i, String.valueOf(i));
+		}
+
+		BTree<Integer, String> btree = new BTree<>(option);
+		btree.load(entries.entrySet().iterator(), 0.8f);
+		assertEquals(entries.size(), btree.getTotalKeys());
+		assertEquals(entries.size(), btree.getTotalValues());
+		for (Map.Entry<Integer, String> entry : entries.entrySet()) {
+			assertEquals(entry.getValue(), btree.getValue(entry.getKey()));
+		}
+		assertTrue(!btree.exist(1));
+		// the loaded tree can be updated
+		btree.insert(1, "1");
+		assertEquals("1", btree.getValue(1));
+		btree.close();
+
+		btree = new BTree<>(option);
+		assertEquals(entries.size() + 1, btree.getTotalKeys());
+		BTreeCursor<Integer, String> cursor = btree.createCursor();
+		assertTrue(cursor.first());
+		assertEquals(Integer.valueOf(0), cursor.getKey());
+		assertTrue(cursor.next());
+		assertEquals(Integer.valueOf(1), cursor.getKey());
+		for (Map.Entry<Integer, String> entry : entries.tailMap(2).entrySet()) {
+			assertTrue(cursor.next());
+			assertEquals(entry.getKey(), cursor.getKey());
+			assertEquals(entry.getValue(), cursor.getValue());
+		}
+		assertTrue(!cursor.next());
+		cursor.close();
+		btree.close();
+	}
+
+	@Test
+	public void testLoadDuplicate() throws Exception {
+		RAMBTreeFile file = new RAMBTreeFile();
+		BTreeOption<Integer, String> option = new BTreeOption<>();
+		option.setHasValue(true);
+		option.setAllowDuplicate(true);
+		option.setKeySerializer(new IntegerSerializer());
+		option.setFile(file);
+
+		ArrayList<Map.Entry<Integer, String>> entries = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			for (int j = 0; j < 3; j++) {
+				entries.add(new AbstractMap.SimpleEntry<>(i, i + "." + j));
+			}
+		}
+
+		BTree<Integer, String> btree = new BTree<>(option);
+		btree.load(entries.iterator());
+		assertEquals(10000, btree.getTotalKeys());
+		assertEquals(30000, btree.getTotalValues());
+		btree.close();
+
+		btree = new BTree<>(option);
+		for (int i = 0; i < 10000; i++) {
+			Collection<String> values = btree.getValues(i);
+			assertEquals(3, values.size());
+			assertTrue(values.containsAll(Arrays.asList(i + ".0", i + ".1", i + ".2")));
+		}
+		btree.close();
+	}
+
+	@Test
+	public void testLoadUnsorted() throws Exception {
+		BTreeOption<Integer, String> option = new BTreeOption<>();
+		option.setKeySerializer(new IntegerSerializer());
+		option.setFile(new RAMBTreeFile());
+
+		// fill several nodes before the unsorted key
+		ArrayList<Map.Entry<Integer, String>> entries = new ArrayList<>();
+		for (int i = 1; i <= 10000; i++) {
+			entries.add(new AbstractMap.SimpleEntry<>(i, String.valueOf(i)));
+		}
+		entries.add(new AbstractMap.SimpleEntry<>(0, "0"));
+
+		BTree<Integer, String> btree = new BTree<>(option);
+		try {
+			btree.load(entries.iterator());
+			fail();
+		} catch (IOException ex) {
+			// the keys must be sorted
+		}
+		// the failed loading leaves the tree empty
+		assertEquals(0, btree.getTotalKeys());
+		assertEquals(0, btree.getTotalValues());
+		assertTrue(!btree.exist(1));
+
+		entries.remove(entries.size() - 1);
+		btree.load(entries.iterator());
+		assertEquals(10000, btree.getTotalKeys());
+		assertEquals("1", btree.getValue(1));
+		btree.close();
+	}
 }
@@ -37,6 +37,7 @@ public class AllScriptTests {
 	public static Test suite() {
 		TestSuite test = new TestSuite();
 
+		test.addTestSuite(CompiledScriptCacheTest.class);
 		test.addTestSuite(CoreJavaScriptWrapperTest.class);
 		test.addTestSuite(NativeDateTimeSpanTest.class);
 		test.addTestSuite(NativeFinanceTest.class);
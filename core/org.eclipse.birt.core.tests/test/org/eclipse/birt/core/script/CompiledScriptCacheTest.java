@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.core.script;
+
+import org.junit.Test;
+
+import junit.framework.TestCase;
+
+public class CompiledScriptCacheTest extends TestCase {
+
+	@Test
+	public void testGetAndPut() {
+		CompiledScriptCache cache = new CompiledScriptCache(10);
+		ICompiledScript script = new TestScript();
+
+		assertNull(cache.get("javascript", 200, -1, null, "id", 1, "a + b"));
+		cache.put("javascript", 200, -1, null, "id", 1, "a + b", script);
+		assertSame(script, cache.get("javascript", 200, -1, null, "id", 1, "a + b"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// every part of the key identifies the script
+		assertNull(cache.get("javascript", 180, -1, null, "id", 1, "a + b"));
+		assertNull(cache.get("javascript", 200, -1, null, "id2", 1, "a + b"));
+		assertNull(cache.get("javascript", 200, -1, null, "id", 2, "a + b"));
+		assertNull(cache.get("javascript", 200, -1, null, "id", 1, "a - b"));
+		assertNull(cache.get("python", 200, -1, null, "id", 1, "a + b"));
+		assertNull(cache.get("javascript", 200, 9, null, "id", 1, "a + b"));
+		assertNull(cache.get("javascript", 200, -1, new ClassLoader() {
+		}, "id", 1, "a + b"));
+		assertEquals(8, cache.getMissCount());
+
+		// a script compiled into classes is shared by the users of the same loader
+		ClassLoader loader = new ClassLoader() {
+		};
+		cache.put("javascript", 200, 9, loader, "id", 1, "a + b", script);
+		assertSame(script, cache.get("javascript", 200, 9, loader, "id", 1, "a + b"));
+		assertNull(cache.get("javascript", 200, 9, null, "id", 1, "a + b"));
+		assertEquals(2, cache.getHitCount());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertNull(cache.get("javascript", 200, -1, null, "id", 1, "a + b"));
+	}
+
+	@Test
+	public void testLeastRecentlyUsed() {
+		CompiledScriptCache cache = new CompiledScriptCache(2);
+		cache.put("javascript", 200, -1, null, null, 1, "1", new TestScript());
+		cache.put("javascript", 200, -1, null, null, 1, "2", new TestScript());
+		assertNotNull(cache.get("javascript", 200, -1, null, null, 1, "1"));
+		cache.put("javascript", 200, -1, null, null, 1, "3", new TestScript());
+		assertEquals(2, cache.size());
+		assertNotNull(cache.get("javascript", 200, -1, null, null, 1, "1"));
+		assertNull(cache.get("javascript", 200, -1, null, null, 1, "2"));
+		assertNotNull(cache.get("javascript", 200, -1, null, null, 1, "3"));
+	}
+
+	@Test
+	public void testSharedByContexts() {
+		CompiledScriptCache cache = new CompiledScriptCache(0);
+		cache.put("javascript", 200, -1, null, null, 1, "1", new TestScript());
+		assertEquals(0, cache.size());
+
+		ScriptContext context = new ScriptContext();
+		ScriptContext child = context.newContext(null);
+		child.setCompiledScriptCache(cache);
+		assertSame(cache, context.getCompiledScriptCache());
+		assertSame(cache, child.newContext(null).getCompiledScriptCache());
+	}
+
+	private static class TestScript implements ICompiledScript {
+
+		@Override
+		public String getLanguage() {
+			return "javascript";
+		}
+
+		@Override
+		public Object getCompiledScript() {
+			return null;
+		}
+	}
+}
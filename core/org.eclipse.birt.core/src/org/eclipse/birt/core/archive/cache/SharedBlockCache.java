@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.core.archive.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Block cache shared by all the archive files opened for read only in the JVM.
+ * <p>
+ * The blocks are stored off heap, in slots of direct byte buffer slabs which
+ * are allocated when they are first needed, so the cache does not grow the heap
+ * whatever the number of open archives is. A block is identified by the file it
+ * comes from and its block id; the file identity includes the modification
+ * time and the length of the file, so the blocks of a file which has been
+ * rewritten are never returned. The slots are reused with the CLOCK policy.
+ * <p>
+ * Lookups don't lock: a slot carries a version which is odd while the slot is
+ * being rewritten, and a read is only a hit if the version has not changed while
+ * the block was copied.
+ * <p>
+ * The cache is disabled unless the system property
+ * {@link #PROPERTY_CACHE_SIZE} gives its size in bytes.
+ */
+public class SharedBlockCache {
+
+	protected static Logger logger = Logger.getLogger(SharedBlockCache.class.getName());
+
+	/**
+	 * the system property which defines the size of the shared block cache in
+	 * bytes, 0 disables the cache.
+	 */
+	public static final String PROPERTY_CACHE_SIZE = "org.eclipse.birt.core.archive.cache.SHARED_BLOCK_CACHE_SIZE";
+
+	/**
+	 * the system property which defines the largest block the shared cache
+	 * keeps, in bytes.
+	 */
+	public static final String PROPERTY_SLOT_SIZE = "org.eclipse.birt.core.archive.cache.SHARED_BLOCK_SLOT_SIZE";
+
+	static final int DEFAULT_SLOT_SIZE = 4096;
+
+	static final int SLAB_SIZE = 1024 * 1024;
+
+	private static volatile SharedBlockCache instance;
+
+	private final int slotSize;
+	private final int slotsPerSlab;
+	private final int maxSlots;
+
+	private final ByteBuffer[] slabs;
+
+	// the slot of every cached block
+	private final ConcurrentHashMap<BlockKey, Integer> index = new ConcurrentHashMap<>();
+
+	// the block and the data size of every slot
+	private final BlockKey[] keys;
+	private final int[] sizes;
+	private final AtomicIntegerArray versions;
+	private final AtomicIntegerArray referenced;
+
+	// the slots in use, then the position of the clock hand
+	private int usedSlots;
+	private int hand;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * @param cacheSize the size of the cache in bytes
+	 * @param slotSize  the size of the largest block the cache keeps
+	 */
+	public SharedBlockCache(long cacheSize, int slotSize) {
+		if (slotSize <= 0 || slotSize > SLAB_SIZE) {
+			throw new IllegalArgumentException("slotSize");
+		}
+		this.slotSize = slotSize;
+		this.slotsPerSlab = SLAB_SIZE / slotSize;
+		this.maxSlots = (int) Math.max(0, Math.min(Integer.MAX_VALUE - slotsPerSlab, cacheSize / slotSize));
+		this.slabs = new ByteBuffer[(maxSlots + slotsPerSlab - 1) / slotsPerSlab];
+		this.keys = new BlockKey[maxSlots];
+		this.sizes = new int[maxSlots];
+		this.versions = new AtomicIntegerArray(maxSlots);
+		this.referenced = new AtomicIntegerArray(maxSlots);
+	}
+
+	/**
+	 * return the shared block cache of the JVM.
+	 *
+	 * @return the cache, or null if it is disabled
+	 */
+	public static SharedBlockCache getInstance() {
+		if (instance == null) {
+			synchronized (SharedBlockCache.class) {
+				if (instance == null) {
+					long cacheSize = getLongProperty(PROPERTY_CACHE_SIZE, 0);
+					long slotSize = getLongProperty(PROPERTY_SLOT_SIZE, DEFAULT_SLOT_SIZE);
+					if (slotSize <= 0 || slotSize > SLAB_SIZE) {
+						slotSize = DEFAULT_SLOT_SIZE;
+					}
+					instance = new SharedBlockCache(cacheSize, (int) slotSize);
+				}
+			}
+		}
+		return instance.maxSlots > 0 ? instance : null;
+	}
+
+	private static long getLongProperty(String name, long defaultValue) {
+		String value = System.getProperty(name);
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim());
+			} catch (NumberFormatException ex) {
+				logger.log(Level.WARNING, "Invalid value of " + name + ": " + value);
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * return the identity of the current content of a file, the blocks cached
+	 * for another content of the same file are not found with it.
+	 *
+	 * @param file the file
+	 * @return the file identity
+	 * @throws IOException
+	 */
+	public static Object getFileIdentity(File file) throws IOException {
+		BasicFileAttributes attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		Object fileKey = attrs.fileKey();
+		return (fileKey != null ? fileKey : file.getCanonicalPath()) + "@" + attrs.lastModifiedTime().toMillis() + ":"
+				+ attrs.size();
+	}
+
+	/**
+	 * copy a cached block.
+	 *
+	 * @param file    the file identity
+	 * @param blockId the block id
+	 * @param b       the buffer to copy the block into
+	 * @param off     the offset in the buffer
+	 * @param len     the size of the buffer
+	 * @return the size of the block, or -1 if it is not cached
+	 */
+	public int get(Object file, int blockId, byte[] b, int off, int len) {
+		BlockKey key = new BlockKey(file, blockId);
+		Integer slotValue = index.get(key);
+		if (slotValue != null) {
+			int slot = slotValue.intValue();
+			int version = versions.get(slot);
+			if ((version & 1) == 0 && key.equals(keys[slot])) {
+				int size = Math.min(sizes[slot], len);
+				slabs[slot / slotsPerSlab].get((slot % slotsPerSlab) * slotSize, b, off, size);
+				// the copy must be done before the version is checked again
+				VarHandle.acquireFence();
+				if (versions.get(slot) == version) {
+					referenced.set(slot, 1);
+					hitCount.increment();
+					return size;
+				}
+			}
+		}
+		missCount.increment();
+		return -1;
+	}
+
+	/**
+	 * add a block into the cache, replacing the least recently used block if the
+	 * cache is full.
+	 *
+	 * @param file    the file identity
+	 * @param blockId the block id
+	 * @param b       the block data
+	 * @param off     the offset of the data
+	 * @param len     the size of the block
+	 */
+	public void put(Object file, int blockId, byte[] b, int off, int len) {
+		if (len > slotSize) {
+			return;
+		}
+		BlockKey key = new BlockKey(file, blockId);
+		if (index.containsKey(key)) {
+			return;
+		}
+		synchronized (this) {
+			if (index.containsKey(key)) {
+				return;
+			}
+			int slot = nextSlot();
+			BlockKey oldKey = keys[slot];
+			if (oldKey != null) {
+				index.remove(oldKey);
+				evictionCount.increment();
+			}
+			versions.incrementAndGet(slot);
+			slabs[slot / slotsPerSlab].put((slot % slotsPerSlab) * slotSize, b, off, len);
+			keys[slot] = key;
+			sizes[slot] = len;
+			referenced.set(slot, 0);
+			versions.incrementAndGet(slot);
+			index.put(key, Integer.valueOf(slot));
+		}
+	}
+
+	/**
+	 * @return a free slot, or the first slot the clock hand finds not referenced
+	 */
+	private int nextSlot() {
+		if (usedSlots < maxSlots) {
+			int slot = usedSlots++;
+			int slab = slot / slotsPerSlab;
+			if (slabs[slab] == null) {
+				int slabSlots = Math.min(slotsPerSlab, maxSlots - slab * slotsPerSlab);
+				slabs[slab] = ByteBuffer.allocateDirect(slabSlots * slotSize);
+			}
+			return slot;
+		}
+		while (true) {
+			int slot = hand;
+			hand = (hand + 1) % maxSlots;
+			if (!referenced.compareAndSet(slot, 1, 0)) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * @return the size of the largest block the cache keeps
+	 */
+	public int getSlotSize() {
+		return slotSize;
+	}
+
+	/**
+	 * @return the size of the cache in bytes
+	 */
+	public long getMaxCacheSize() {
+		return (long) maxSlots * slotSize;
+	}
+
+	/**
+	 * @return the size of the slabs allocated by the cache in bytes
+	 */
+	public synchronized long getUsedCacheSize() {
+		return (long) usedSlots * slotSize;
+	}
+
+	/**
+	 * @return the number of blocks found in the cache
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return the number of blocks looked up and not found in the cache
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return the number of blocks removed from the cache to make room for other
+	 *         blocks
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	private static final class BlockKey {
+		final Object file;
+		final int blockId;
+
+		BlockKey(Object file, int blockId) {
+			this.file = file;
+			this.blockId = blockId;
+		}
+
+		@Override
+		public int hashCode() {
+			return file.hashCode() * 31 + blockId;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof BlockKey)) {
+				return false;
+			}
+			BlockKey key = (BlockKey) obj;
+			return blockId == key.blockId && file.equals(key.file);
+		}
+	}
+}
@@ -31,6 +31,12 @@ interface ArchiveConstants {
 	 */
 	String PROPERTY_DEFAULT_BLOCK_SIZE = "org.eclipse.birt.core.archive.compound.DEFAULT_BLOCK_SIZE";
 
+	/**
+	 * the system property which enables the concurrent read of archives opened
+	 * for read only, it is enabled unless set to false.
+	 */
+	String PROPERTY_CONCURRENT_READ = "org.eclipse.birt.core.archive.compound.CONCURRENT_READ";
+
 	/**
 	 * Size of a physical block, counted in bytes.
 	 */
@@ -15,6 +15,7 @@
 package org.eclipse.birt.core.archive.compound;
 
 import java.io.IOException;
+import java.util.concurrent.locks.Lock;
 
 import org.eclipse.birt.core.i18n.CoreMessages;
 import org.eclipse.birt.core.i18n.ResourceConstants;
@@ -74,6 +75,20 @@ class ArchiveEntryV2 extends ArchiveEntry implements ArchiveConstants {
 
 	@Override
 	public synchronized int read(long pos, byte[] b, int off, int len) throws IOException {
+		if (af.isConcurrentRead) {
+			// the archive may be refreshed by another thread
+			Lock lock = af.getReadLock();
+			lock.lock();
+			try {
+				return readBlocks(pos, b, off, len);
+			} finally {
+				lock.unlock();
+			}
+		}
+		return readBlocks(pos, b, off, len);
+	}
+
+	private int readBlocks(long pos, byte[] b, int off, int len) throws IOException {
 		long length = entry.getLength();
 
 		if (pos >= length) {
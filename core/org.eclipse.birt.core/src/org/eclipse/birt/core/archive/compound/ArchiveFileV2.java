@@ -18,13 +18,21 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.birt.core.archive.cache.CacheListener;
 import org.eclipse.birt.core.archive.cache.Cacheable;
 import org.eclipse.birt.core.archive.cache.FileCacheManager;
+import org.eclipse.birt.core.archive.cache.SharedBlockCache;
 import org.eclipse.birt.core.i18n.CoreMessages;
 import org.eclipse.birt.core.i18n.ResourceConstants;
 
@@ -34,6 +42,15 @@ import org.eclipse.birt.core.i18n.ResourceConstants;
  * <li>"rw" create the file for read/write
  * <li>"rw+" open file is open for read/write
  * <li>"rwt" create the transient file, it will be removed after closing.
+ * <p>
+ * An archive opened for read only is read in the concurrent read mode, unless
+ * the system property {@link ArchiveConstants#PROPERTY_CONCURRENT_READ} is
+ * false. The entries are then read by positional reads of the file channel
+ * through a lock free block cache, so the threads reading different entries
+ * don't wait for each other; only the entries themselves are locked. The
+ * readers share a read lock which {@link #refresh()} takes exclusively while it
+ * reloads the allocation and entry tables. The blocks read in this mode are
+ * also kept in the {@link SharedBlockCache} of the JVM if it is enabled.
  */
 public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 
@@ -43,7 +60,7 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	/**
 	 * if the file is closed.
 	 */
-	protected boolean isClosed;
+	protected volatile boolean isClosed;
 	/**
 	 * the archive file is writable.
 	 */
@@ -59,6 +76,12 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	 */
 	protected boolean isAppend;
 
+	/**
+	 * the archive file is read only and can be read by several threads at the
+	 * same time.
+	 */
+	protected boolean isConcurrentRead;
+
 	/**
 	 * the archive file name.
 	 */
@@ -91,6 +114,32 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	 */
 	protected FileCacheManager caches;
 
+	/**
+	 * block cache of the archive file in the concurrent read mode.
+	 */
+	private ConcurrentBlockCache blockCache;
+
+	/**
+	 * lock shared by the readers in the concurrent read mode and taken
+	 * exclusively by the refresh.
+	 */
+	private final ReentrantReadWriteLock refreshLock = new ReentrantReadWriteLock();
+
+	/**
+	 * the channel of the physical file used in the concurrent read mode.
+	 */
+	private volatile FileChannel channel;
+
+	/**
+	 * the block cache shared by the archives of the JVM, null if it is not used.
+	 */
+	private SharedBlockCache sharedCache;
+
+	/**
+	 * the identity of the file content in the shared block cache.
+	 */
+	private volatile Object fileIdentity;
+
 	/**
 	 * the total blocks exits in this file
 	 */
@@ -187,6 +236,10 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 		caches.setCacheListener(new ArchiveFileV2CacheListener());
 
 		setupArchiveMode(mode);
+		if (!isWritable && isConcurrentReadEnabled()) {
+			isConcurrentRead = true;
+			blockCache = new ConcurrentBlockCache(0);
+		}
 
 		if (isWritable && !isAppend) {
 			// rw mode
@@ -215,15 +268,19 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	@Override
 	public void setCacheSize(long cacheSize) {
 		long cacheBlocks = (cacheSize + BLOCK_SIZE - 1) / BLOCK_SIZE;
-		if (cacheBlocks > Integer.MAX_VALUE) {
-			caches.setMaxCacheSize(Integer.MAX_VALUE);
+		int maxCacheSize = cacheBlocks > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) cacheBlocks;
+		if (isConcurrentRead) {
+			blockCache.setMaxCacheSize(maxCacheSize);
 		} else {
-			caches.setMaxCacheSize((int) cacheBlocks);
+			caches.setMaxCacheSize(maxCacheSize);
 		}
 	}
 
 	@Override
 	public long getUsedCache() {
+		if (isConcurrentRead) {
+			return (long) blockCache.getUsedCacheSize() * BLOCK_SIZE;
+		}
 		return (long) caches.getUsedCacheSize() * BLOCK_SIZE;
 	}
 
@@ -255,6 +312,9 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 					rf = new RandomAccessFile(archiveName, "rw");
 				}
 			}
+			if (isConcurrentRead) {
+				channel = rf.getChannel();
+			}
 
 			head = ArchiveHeader.read(rf);
 			if (systemId == null) {
@@ -266,6 +326,13 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 			BLOCK_SIZE = head.blockSize;
 			totalBlocks = (int) ((rf.length() + BLOCK_SIZE - 1) / BLOCK_SIZE);
 			totalDiskBlocks = totalBlocks;
+			if (isConcurrentRead) {
+				SharedBlockCache cache = SharedBlockCache.getInstance();
+				if (cache != null && cache.getSlotSize() >= BLOCK_SIZE) {
+					fileIdentity = SharedBlockCache.getFileIdentity(new File(archiveName));
+					sharedCache = cache;
+				}
+			}
 			allocTbl = AllocTable.loadTable(this);
 			entryTbl = NameTable.loadTable(this);
 			entries = new HashMap<>();
@@ -277,6 +344,7 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 				rf.close();
 				rf = null;
 			}
+			channel = null;
 			throw ex;
 		}
 	}
@@ -341,17 +409,21 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 				flush();
 			}
 		}
+		isClosed = true;
 		if (rf != null) {
 			rf.close();
 			rf = null;
 		}
+		channel = null;
 		if (isTransient) {
 			new File(archiveName).delete();
 		}
 		if (caches != null) {
 			caches.clear();
 		}
-		isClosed = true;
+		if (blockCache != null) {
+			blockCache.clear();
+		}
 	}
 
 	@Override
@@ -377,21 +449,65 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	}
 
 	@Override
-	public synchronized void refresh() throws IOException {
-		assertOpen();
-		if (!isWritable) {
-			totalBlocks = (int) ((rf.length() + BLOCK_SIZE - 1) / BLOCK_SIZE);
-			totalDiskBlocks = totalBlocks;
-			head.refresh(this);
-			allocTbl.refresh();
-			entryTbl.refresh();
+	public void refresh() throws IOException {
+		if (isConcurrentRead) {
+			// the readers don't hold the archive lock, so they must not see the
+			// tables half refreshed. The lock is taken before the archive lock as
+			// the readers do when they reopen the channel.
+			Lock lock = refreshLock.writeLock();
+			lock.lock();
+			try {
+				synchronized (this) {
+					assertOpen();
+					// the blocks at the end of the file may have grown
+					blockCache.clear();
+					if (sharedCache != null) {
+						fileIdentity = SharedBlockCache.getFileIdentity(new File(archiveName));
+					}
+					refreshTables();
+				}
+			} finally {
+				lock.unlock();
+			}
+			return;
+		}
+		synchronized (this) {
+			assertOpen();
+			if (!isWritable) {
+				refreshTables();
+			}
 		}
+	}
+
+	private void refreshTables() throws IOException {
+		totalBlocks = (int) ((rf.length() + BLOCK_SIZE - 1) / BLOCK_SIZE);
+		totalDiskBlocks = totalBlocks;
+		head.refresh(this);
+		allocTbl.refresh();
+		entryTbl.refresh();
+	}
 
+	/**
+	 * return the lock the readers take in the concurrent read mode.
+	 */
+	Lock getReadLock() {
+		return refreshLock.readLock();
 	}
 
 	@Override
-	public synchronized boolean exists(String name) {
-		return entries.containsKey(name);
+	public boolean exists(String name) {
+		if (isConcurrentRead) {
+			Lock lock = refreshLock.readLock();
+			lock.lock();
+			try {
+				return entries.containsKey(name);
+			} finally {
+				lock.unlock();
+			}
+		}
+		synchronized (this) {
+			return entries.containsKey(name);
+		}
 	}
 
 	@Override
@@ -400,7 +516,22 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	}
 
 	@Override
-	public synchronized ArchiveEntry openEntry(String name) throws IOException {
+	public ArchiveEntry openEntry(String name) throws IOException {
+		if (isConcurrentRead) {
+			Lock lock = refreshLock.readLock();
+			lock.lock();
+			try {
+				return openEntryV2(name);
+			} finally {
+				lock.unlock();
+			}
+		}
+		synchronized (this) {
+			return openEntryV2(name);
+		}
+	}
+
+	private ArchiveEntry openEntryV2(String name) throws IOException {
 		NameEntry nameEnt = entries.get(name);
 		if (nameEnt != null) {
 			return new ArchiveEntryV2(this, nameEnt);
@@ -409,7 +540,22 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	}
 
 	@Override
-	public synchronized List<String> listEntries(String namePattern) {
+	public List<String> listEntries(String namePattern) {
+		if (isConcurrentRead) {
+			Lock lock = refreshLock.readLock();
+			lock.lock();
+			try {
+				return listEntryNames(namePattern);
+			} finally {
+				lock.unlock();
+			}
+		}
+		synchronized (this) {
+			return listEntryNames(namePattern);
+		}
+	}
+
+	private List<String> listEntryNames(String namePattern) {
 		ArrayList<String> list = new ArrayList<>();
 		for (String name : entries.keySet()) {
 			if (namePattern == null || name.startsWith(namePattern)) {
@@ -455,7 +601,22 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	}
 
 	@Override
-	synchronized public Object lockEntry(String name) throws IOException {
+	public Object lockEntry(String name) throws IOException {
+		if (isConcurrentRead) {
+			Lock lock = refreshLock.readLock();
+			lock.lock();
+			try {
+				return lockEntryV2(name);
+			} finally {
+				lock.unlock();
+			}
+		}
+		synchronized (this) {
+			return lockEntryV2(name);
+		}
+	}
+
+	private Object lockEntryV2(String name) throws IOException {
 		assertOpen();
 
 		NameEntry entry = entries.get(name);
@@ -470,7 +631,7 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	}
 
 	@Override
-	synchronized public void unlockEntry(Object locker) throws IOException {
+	public void unlockEntry(Object locker) throws IOException {
 		assertOpen();
 		if (!(locker instanceof NameEntry)) {
 			throw new IOException(
@@ -521,9 +682,20 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 	 * @param len      read length
 	 * @throws IOException
 	 */
-	synchronized int read(int blockId, int blockOff, byte[] b, int off, int len) throws IOException {
+	int read(int blockId, int blockOff, byte[] b, int off, int len) throws IOException {
+		if (isConcurrentRead) {
+			if (sharedCache != null && blockOff == 0 && len == BLOCK_SIZE) {
+				return readSharedBlock(blockId, b, off);
+			}
+			return readConcurrently((long) blockId * BLOCK_SIZE + blockOff, b, off, len);
+		}
+		synchronized (this) {
+			return readSerially((long) blockId * BLOCK_SIZE + blockOff, b, off, len);
+		}
+	}
+
+	private int readSerially(long pos, byte[] b, int off, int len) throws IOException {
 		assertOpen();
-		long pos = (long) blockId * BLOCK_SIZE + blockOff;
 		int readSize = 0;
 		rf.seek(pos);
 		do {
@@ -536,6 +708,70 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 		return readSize;
 	}
 
+	/**
+	 * read the data with positional reads of the file channel, which don't change
+	 * the file pointer and can be done by several threads at the same time.
+	 *
+	 * The channel is closed by the JDK when a reading thread is interrupted, in
+	 * which case it is opened again for the other threads.
+	 */
+	private int readConcurrently(long pos, byte[] b, int off, int len) throws IOException {
+		while (true) {
+			assertOpen();
+			FileChannel fc = channel;
+			if (fc == null) {
+				throw new IOException(CoreMessages.getString(ResourceConstants.FILE_HAS_BEEN_CLOSED));
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+			try {
+				int readSize = 0;
+				while (readSize < len) {
+					int size = fc.read(buffer, pos + readSize);
+					if (size < 0) {
+						break;
+					}
+					readSize += size;
+				}
+				return readSize;
+			} catch (ClosedByInterruptException ex) {
+				reopenChannel(fc);
+				throw ex;
+			} catch (AsynchronousCloseException ex) {
+				// closed by another thread, read again
+				reopenChannel(fc);
+			} catch (ClosedChannelException ex) {
+				reopenChannel(fc);
+			}
+		}
+	}
+
+	/**
+	 * read a whole block through the shared block cache.
+	 */
+	private int readSharedBlock(int blockId, byte[] b, int off) throws IOException {
+		assertOpen();
+		Object identity = fileIdentity;
+		int size = sharedCache.get(identity, blockId, b, off, BLOCK_SIZE);
+		if (size == -1) {
+			size = readConcurrently((long) blockId * BLOCK_SIZE, b, off, BLOCK_SIZE);
+			sharedCache.put(identity, blockId, b, off, size);
+		}
+		return size;
+	}
+
+	private synchronized void reopenChannel(FileChannel closedChannel) throws IOException {
+		assertOpen();
+		if (channel == closedChannel) {
+			try {
+				rf.close();
+			} catch (IOException ex) {
+				// the channel of the file is closed already
+			}
+			rf = new RandomAccessFile(archiveName, "r");
+			channel = rf.getChannel();
+		}
+	}
+
 	/**
 	 * write the data into cache.
 	 *
@@ -564,11 +800,32 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 		return block;
 	}
 
-	synchronized protected void unloadBlock(Block block) throws IOException {
-		caches.releaseCache(block);
+	protected void unloadBlock(Block block) throws IOException {
+		if (isConcurrentRead) {
+			// the cached blocks are not locked
+			return;
+		}
+		synchronized (this) {
+			caches.releaseCache(block);
+		}
 	}
 
-	synchronized Block loadBlock(int blockId) throws IOException {
+	Block loadBlock(int blockId) throws IOException {
+		if (isConcurrentRead) {
+			Block block = blockCache.getBlock(blockId);
+			if (block == null) {
+				block = new Block(this, blockId, BLOCK_SIZE);
+				block.refresh();
+				block = blockCache.addBlock(block);
+			}
+			return block;
+		}
+		synchronized (this) {
+			return loadCachedBlock(blockId);
+		}
+	}
+
+	private Block loadCachedBlock(int blockId) throws IOException {
 		Object cacheKey = Integer.valueOf(blockId);
 		Block block = (Block) caches.getCache(cacheKey);
 		if (block == null) {
@@ -599,6 +856,10 @@ public class ArchiveFileV2 implements IArchiveFile, ArchiveConstants {
 		}
 	}
 
+	private static boolean isConcurrentReadEnabled() {
+		return !"false".equalsIgnoreCase(System.getProperty(PROPERTY_CONCURRENT_READ));
+	}
+
 	int getDefaultBlockSize() {
 		String value = System.getProperty(PROPERTY_DEFAULT_BLOCK_SIZE);
 
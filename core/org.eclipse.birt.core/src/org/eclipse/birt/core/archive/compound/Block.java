@@ -41,6 +41,12 @@ public class Block extends Cacheable implements ArchiveConstants {
 
 	private int dirtyEnd;
 
+	/**
+	 * the block has been used since the hand of the concurrent block cache last
+	 * passed it
+	 */
+	volatile boolean referenced;
+
 	/**
 	 * Constructor
 	 *
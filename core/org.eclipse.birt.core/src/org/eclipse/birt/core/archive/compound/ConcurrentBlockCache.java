@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.core.archive.compound;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Block cache of an archive file opened for read only, which can be used by
+ * several threads without locking.
+ * <p>
+ * The blocks are never modified once they are loaded, so they need no reference
+ * counting: a block evicted from the cache stays valid for the entries still
+ * reading it. The cache is bounded with the CLOCK policy, a block which has
+ * been used since the hand last passed it gets a second chance.
+ */
+class ConcurrentBlockCache {
+
+	private final ConcurrentHashMap<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+	/**
+	 * the blocks in the order the clock hand visits them
+	 */
+	private final ConcurrentLinkedQueue<Block> clock = new ConcurrentLinkedQueue<>();
+
+	private volatile int maxCacheSize;
+
+	/**
+	 * @param maxCacheSize the maximum number of blocks kept in the cache
+	 */
+	ConcurrentBlockCache(int maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+	}
+
+	void setMaxCacheSize(int maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+		evict();
+	}
+
+	/**
+	 * @return the number of blocks in the cache
+	 */
+	int getUsedCacheSize() {
+		return blocks.size();
+	}
+
+	/**
+	 * @param blockId
+	 * @return the cached block, or null
+	 */
+	Block getBlock(int blockId) {
+		Block block = blocks.get(Integer.valueOf(blockId));
+		if (block != null) {
+			block.referenced = true;
+		}
+		return block;
+	}
+
+	/**
+	 * add a loaded block into the cache.
+	 *
+	 * @param block the block
+	 * @return the block cached by another thread in the meantime, or the block
+	 *         itself
+	 */
+	Block addBlock(Block block) {
+		if (maxCacheSize <= 0) {
+			return block;
+		}
+		Block cached = blocks.putIfAbsent(Integer.valueOf(block.id), block);
+		if (cached != null) {
+			cached.referenced = true;
+			return cached;
+		}
+		clock.offer(block);
+		evict();
+		return block;
+	}
+
+	/**
+	 * remove all the blocks.
+	 */
+	void clear() {
+		blocks.clear();
+		clock.clear();
+	}
+
+	/**
+	 * move the clock hand until the cache is within its size.
+	 */
+	private void evict() {
+		while (blocks.size() > maxCacheSize) {
+			Block block = clock.poll();
+			if (block == null) {
+				return;
+			}
+			if (block.referenced && maxCacheSize > 0) {
+				block.referenced = false;
+				clock.offer(block);
+			} else {
+				blocks.remove(Integer.valueOf(block.id), block);
+			}
+		}
+	}
+}
@@ -26,7 +26,9 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -60,12 +62,23 @@ public class BTree<K, V> implements BTreeConstants {
 	private int totalKeys;
 	private int totalValues;
 	private int cacheSize;
+	// the nodes allocated by the running load, freed if the load fails
+	private List<Integer> loadedNodeIds;
 
 	protected boolean readOnly;
 	protected BTreeSerializer<K> keySerializer;
 	protected BTreeSerializer<V> valueSerializer;
 	protected Comparator<K> comparator;
 
+	// cache of the nodes of a read only tree, shared by the threads
+	private BTreeNodeCache readOnlyNodes;
+	// the file given by the option, the reads of a read only tree are serialized
+	// on it as the file may be shared by several trees.
+	private Object readOnlyFileLock;
+
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+
 	public BTree() throws IOException {
 		this(new BTreeOption<K, V>());
 	}
@@ -99,6 +112,11 @@ public class BTree<K, V> implements BTreeConstants {
 		this.headNodeId = option.headNodeId;
 		this.cacheSize = option.cacheSize;
 
+		if (readOnly) {
+			this.readOnlyNodes = option.nodeCache != null ? option.nodeCache : new BTreeNodeCache(cacheSize);
+			this.readOnlyFileLock = option.file;
+		}
+
 		if (file != null) {
 			if (file.getTotalBlock() > headNodeId) {
 				byte[] bytes = new byte[BLOCK_SIZE];
@@ -141,9 +159,30 @@ public class BTree<K, V> implements BTreeConstants {
 			}
 		} finally {
 			file = null;
+			if (readOnlyNodes != null) {
+				readOnlyNodes.remove(this);
+			}
 		}
 	}
 
+	/**
+	 * Get the number of the nodes found in the node cache
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	/**
+	 * Get the number of the nodes read from the file
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getCacheMisses() {
+		return cacheMisses.sum();
+	}
+
 	LeafEntry<K, V> getFirstEntry() throws IOException {
 		int nodeId = rootNodeId;
 		while (nodeId != -1) {
@@ -365,6 +404,174 @@ public class BTree<K, V> implements BTreeConstants {
 		insertEntry(k, vs);
 	}
 
+	/**
+	 * Load the entries into an empty tree. The entries must be sorted by key.
+	 * Entries with the same key are merged as insert() does.
+	 * <p>
+	 * The tree is built bottom-up in one pass: the leaf nodes and the index nodes
+	 * are filled in key order, and each node is written into the file once it is
+	 * full, so there is no node split and the blocks are written sequentially.
+	 * If the loading fails, the tree is left empty.
+	 *
+	 * @param entries    the entries sorted by key.
+	 * @param fillFactor the part of a node filled by the entries, from 0 to 1. A
+	 *                   tree which is not updated after the loading should use 1,
+	 *                   a lower value leaves room for the later inserts.
+	 * @throws IOException the tree is not empty, or the entries are not sorted.
+	 */
+	public void load(Iterator<? extends Map.Entry<K, V>> entries, float fillFactor) throws IOException {
+		if (readOnly) {
+			throw new IOException(CoreMessages.getString(ResourceConstants.READ_ONLY_TREE));
+		}
+		if (rootNodeId != -1) {
+			throw new IOException(CoreMessages.getString(ResourceConstants.NOT_EMPTY_TREE));
+		}
+		if (fillFactor <= 0 || fillFactor > 1) {
+			fillFactor = 1;
+		}
+		int maxNodeSize = (int) (MAX_NODE_SIZE * fillFactor);
+
+		// the index nodes being filled, from the lowest level to the root
+		List<IndexNode<K, V>> indexNodes = new ArrayList<>();
+		// the first node of each level, from the leaf level to the root
+		List<Integer> firstNodeIds = new ArrayList<>();
+		LeafNode<K, V> leafNode = null;
+		BTreeValue<K> lastKey = null;
+		loadedNodeIds = new ArrayList<>();
+		boolean loaded = false;
+		try {
+			while (entries.hasNext()) {
+				Map.Entry<K, V> entry = entries.next();
+				K k = entry.getKey();
+				if (k == null && !allowNullKey) {
+					throw new NullPointerException("key can not be null");
+				}
+				BTreeValue<K> key = createKey(k);
+				@SuppressWarnings("unchecked")
+				BTreeValue<V>[] values = (BTreeValue<V>[]) new BTreeValue[1];
+				if (hasValue()) {
+					values[0] = createValue(entry.getValue());
+				}
+				if (leafNode == null) {
+					leafNode = createLeafNode();
+					leafNode.setPrevNodeId(-1);
+					leafNode.setNextNodeId(-1);
+					firstNodeIds.add(leafNode.getNodeId());
+				} else {
+					int result = compare(lastKey, key);
+					if (result > 0) {
+						throw new IOException(CoreMessages.getString(ResourceConstants.UNSORTED_KEYS));
+					}
+					if (result != 0 && leafNode.getEntryCount() >= MIN_ENTRY_COUNT
+							&& leafNode.getNodeSize() + getEntrySize(key, values) > maxNodeSize) {
+						LeafNode<K, V> nextNode = createLeafNode();
+						nextNode.setPrevNodeId(leafNode.getNodeId());
+						nextNode.setNextNodeId(-1);
+						leafNode.setNextNodeId(nextNode.getNodeId());
+						releaseLoadedNode(leafNode);
+						leafNode = nextNode;
+						loadIndex(indexNodes, firstNodeIds, 0, key, nextNode.getNodeId(), maxNodeSize);
+					}
+				}
+				leafNode.insert(key, values);
+				lastKey = key;
+			}
+			if (leafNode != null) {
+				releaseLoadedNode(leafNode);
+				for (IndexNode<K, V> indexNode : indexNodes) {
+					releaseLoadedNode(indexNode);
+				}
+				// the root is the only node of the upper level
+				rootNodeId = firstNodeIds.get(firstNodeIds.size() - 1);
+				totalLevels = indexNodes.size() + 1;
+			}
+			loaded = true;
+		} finally {
+			List<Integer> nodeIds = loadedNodeIds;
+			loadedNodeIds = null;
+			if (!loaded) {
+				discardLoadedNodes(nodeIds);
+			}
+		}
+	}
+
+	/**
+	 * Load the entries sorted by key into an empty tree, filling the nodes.
+	 *
+	 * @param entries the entries sorted by key.
+	 * @throws IOException the tree is not empty, or the entries are not sorted.
+	 * @see #load(Iterator, float)
+	 */
+	public void load(Iterator<? extends Map.Entry<K, V>> entries) throws IOException {
+		load(entries, 1);
+	}
+
+	private void loadIndex(List<IndexNode<K, V>> indexNodes, List<Integer> firstNodeIds, int level,
+			BTreeValue<K> key, int childNodeId, int maxNodeSize) throws IOException {
+		if (level == indexNodes.size()) {
+			IndexNode<K, V> indexNode = createIndexNode();
+			indexNode.setPrevNodeId(-1);
+			indexNode.setNextNodeId(-1);
+			indexNode.setFirstChild(firstNodeIds.get(level));
+			indexNode.insertIndex(key, childNodeId);
+			indexNodes.add(indexNode);
+			firstNodeIds.add(indexNode.getNodeId());
+			return;
+		}
+		IndexNode<K, V> indexNode = indexNodes.get(level);
+		if (indexNode.getEntryCount() >= MIN_ENTRY_COUNT
+				&& indexNode.getNodeSize() + 4 + getKeySize(key) > maxNodeSize) {
+			// as a split, the key moves to the upper level
+			IndexNode<K, V> nextNode = createIndexNode();
+			nextNode.setPrevNodeId(indexNode.getNodeId());
+			nextNode.setNextNodeId(-1);
+			nextNode.setFirstChild(childNodeId);
+			indexNode.setNextNodeId(nextNode.getNodeId());
+			releaseLoadedNode(indexNode);
+			indexNodes.set(level, nextNode);
+			loadIndex(indexNodes, firstNodeIds, level + 1, key, nextNode.getNodeId(), maxNodeSize);
+		} else {
+			indexNode.insertIndex(key, childNodeId);
+		}
+	}
+
+	private int getEntrySize(BTreeValue<K> key, BTreeValue<V>[] values) {
+		int size = getKeySize(key);
+		if (hasValue()) {
+			size += getValueSize(values[0]);
+			if (allowDuplicate()) {
+				// the value type and the size of the inline list
+				size += 12;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * a node filled by the loading is written into the file and never accessed
+	 * again, so it needn't be kept in the cache.
+	 */
+	private void releaseLoadedNode(BTreeNode<K, V> node) throws IOException {
+		node.unlock();
+		if (file != null && !node.isLocked()) {
+			writeNode(node);
+			nodeCaches.remove(node.getNodeId());
+		}
+	}
+
+	/**
+	 * a failed loading leaves the tree empty: the nodes it allocated are dropped
+	 * from the cache without being written and their blocks are freed.
+	 */
+	private void discardLoadedNodes(List<Integer> nodeIds) throws IOException {
+		for (Integer nodeId : nodeIds) {
+			nodeCaches.remove(nodeId);
+			releaseBlock(nodeId);
+		}
+		totalKeys = 0;
+		totalValues = 0;
+	}
+
 	public void remove(K key) throws IOException {
 		LeafEntry<K, V> entry = findEntry(key);
 		if (entry != null) {
@@ -455,19 +662,58 @@ public class BTree<K, V> implements BTreeConstants {
 		}
 	}
 
-	synchronized BTreeNode<K, V> loadBTreeNode(int nodeId) throws IOException {
-		BTreeNode<K, V> node = nodeCaches.get(nodeId);
-		if (node != null) {
+	BTreeNode<K, V> loadBTreeNode(int nodeId) throws IOException {
+		if (readOnly) {
+			return loadReadOnlyNode(nodeId);
+		}
+		synchronized (this) {
+			BTreeNode<K, V> node = nodeCaches.get(nodeId);
+			if (node != null) {
+				cacheHits.increment();
+				node.lock();
+				return node;
+			}
+			cacheMisses.increment();
+
+			node = readNode(file, nodeId);
 			node.lock();
+			nodeCaches.put(Integer.valueOf(nodeId), node);
 			return node;
 		}
+	}
 
-		if (file == null) {
+	/**
+	 * The nodes of a read only tree never change, the cursors and the lookups of
+	 * different threads share them without any lock. Only the read of the file is
+	 * serialized.
+	 */
+	private BTreeNode<K, V> loadReadOnlyNode(int nodeId) throws IOException {
+		BTreeNode<K, V> node = readOnlyNodes.get(this, nodeId);
+		if (node != null) {
+			cacheHits.increment();
+			return node;
+		}
+		cacheMisses.increment();
+
+		NodeFile nodeFile = file;
+		if (nodeFile == null) {
+			throw new IOException(
+					CoreMessages.getFormattedString(ResourceConstants.CANNOT_LOAD_NODE, new Object[] { nodeId }));
+		}
+		synchronized (readOnlyFileLock) {
+			node = readNode(nodeFile, nodeId);
+		}
+		return readOnlyNodes.put(this, nodeId, node);
+	}
+
+	private BTreeNode<K, V> readNode(NodeFile nodeFile, int nodeId) throws IOException {
+		if (nodeFile == null) {
 			throw new IOException(
 					CoreMessages.getFormattedString(ResourceConstants.CANNOT_LOAD_NODE, new Object[] { nodeId }));
 		}
 
-		NodeInputStream in = new NodeInputStream(file, nodeId);
+		BTreeNode<K, V> node;
+		NodeInputStream in = new NodeInputStream(nodeFile, nodeId);
 		try (in) {
 			DataInput input = new DataInputStream(in);
 			int nodeType = input.readInt();
@@ -488,8 +734,6 @@ public class BTree<K, V> implements BTreeConstants {
 			node.read(input);
 			node.setUsedBlocks(in.getUsedBlocks());
 			node.setDirty(false);
-			node.lock();
-			nodeCaches.put(Integer.valueOf(nodeId), node);
 			return node;
 		}
 	}
@@ -528,10 +772,11 @@ public class BTree<K, V> implements BTreeConstants {
 
 	protected int allocBlock() throws IOException {
 		totalBlocks++;
-		if (file != null) {
-			return file.allocBlock();
+		int blockId = file != null ? file.allocBlock() : totalBlocks;
+		if (loadedNodeIds != null) {
+			loadedNodeIds.add(blockId);
 		}
-		return totalBlocks;
+		return blockId;
 	}
 
 	protected void releaseBlock(int blockId) throws IOException {
@@ -72,12 +72,18 @@ abstract public class BTreeNode<K, V> implements BTreeConstants {
 
 	abstract void write(DataOutput out) throws IOException;
 
+	// the nodes of a read only tree are never written, so they needn't be locked
+	// in the cache, and they are shared by the threads without any lock.
 	public void lock() {
-		lockCount++;
+		if (!btree.readOnly) {
+			lockCount++;
+		}
 	}
 
 	public void unlock() {
-		lockCount--;
+		if (!btree.readOnly) {
+			lockCount--;
+		}
 	}
 
 	public boolean isLocked() {
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.core.btree;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The cache of the nodes of read only btrees.
+ * <p>
+ * The nodes of a read only tree never change, so they can be shared by the
+ * threads reading the tree without any lock. The cache is bounded by the
+ * number of nodes, the nodes not used since the last eviction are evicted
+ * first. A cache can be shared by several trees, for example the trees of the
+ * same archive, to bound the memory used by all of them.
+ */
+public class BTreeNodeCache {
+
+	private final int capacity;
+
+	private final ConcurrentHashMap<NodeKey, CachedNode> nodes;
+
+	private final ReentrantLock evictLock = new ReentrantLock();
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity the maximum number of nodes in the cache
+	 */
+	public BTreeNodeCache(int capacity) {
+		this.capacity = Math.max(capacity, 1);
+		this.nodes = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Get the maximum number of nodes in the cache
+	 *
+	 * @return the capacity of the cache
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Get the number of nodes in the cache
+	 *
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	@SuppressWarnings("unchecked")
+	<K, V> BTreeNode<K, V> get(BTree<K, V> btree, int nodeId) {
+		CachedNode cached = nodes.get(new NodeKey(btree, nodeId));
+		if (cached != null) {
+			cached.used = true;
+			return (BTreeNode<K, V>) cached.node;
+		}
+		return null;
+	}
+
+	/**
+	 * add a node to the cache, if another thread has added the same node, the
+	 * node in the cache is returned.
+	 */
+	@SuppressWarnings("unchecked")
+	<K, V> BTreeNode<K, V> put(BTree<K, V> btree, int nodeId, BTreeNode<K, V> node) {
+		CachedNode cached = nodes.putIfAbsent(new NodeKey(btree, nodeId), new CachedNode(node));
+		if (cached != null) {
+			cached.used = true;
+			return (BTreeNode<K, V>) cached.node;
+		}
+		if (nodes.size() > capacity) {
+			evict();
+		}
+		return node;
+	}
+
+	/**
+	 * remove the nodes of a tree, called when the tree is closed.
+	 */
+	void remove(BTree<?, ?> btree) {
+		nodes.keySet().removeIf(key -> key.btree == btree);
+	}
+
+	private void evict() {
+		// one thread evicts the nodes for all the others
+		if (!evictLock.tryLock()) {
+			return;
+		}
+		try {
+			// second chance: a node used since the last pass is kept once more
+			for (int pass = 0; pass < 2 && nodes.size() > capacity; pass++) {
+				Iterator<CachedNode> iter = nodes.values().iterator();
+				while (iter.hasNext() && nodes.size() > capacity) {
+					CachedNode cached = iter.next();
+					if (cached.used) {
+						cached.used = false;
+					} else {
+						iter.remove();
+					}
+				}
+			}
+		} finally {
+			evictLock.unlock();
+		}
+	}
+
+	private static final class NodeKey {
+		final BTree<?, ?> btree;
+		final int nodeId;
+
+		NodeKey(BTree<?, ?> btree, int nodeId) {
+			this.btree = btree;
+			this.nodeId = nodeId;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(btree) * 31 + nodeId;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof NodeKey)) {
+				return false;
+			}
+			NodeKey key = (NodeKey) obj;
+			return btree == key.btree && nodeId == key.nodeId;
+		}
+	}
+
+	private static final class CachedNode {
+		final BTreeNode<?, ?> node;
+		volatile boolean used;
+
+		CachedNode(BTreeNode<?, ?> node) {
+			this.node = node;
+		}
+	}
+}
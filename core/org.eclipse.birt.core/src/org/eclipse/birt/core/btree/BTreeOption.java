@@ -32,6 +32,7 @@ public class BTreeOption<K, V> {
 
 	int headNodeId;
 	int cacheSize;
+	BTreeNodeCache nodeCache;
 
 	public BTreeOption() {
 		readOnly = false;
@@ -115,4 +116,15 @@ public class BTreeOption<K, V> {
 	public void setCacheSize(int cacheSize) {
 		this.cacheSize = cacheSize;
 	}
+
+	/**
+	 * Set the node cache of a read only tree. The cache can be shared by several
+	 * read only trees. If it is not set, a read only tree uses a cache of
+	 * cacheSize nodes.
+	 *
+	 * @param nodeCache the node cache
+	 */
+	public void setNodeCache(BTreeNodeCache nodeCache) {
+		this.nodeCache = nodeCache;
+	}
 }
@@ -23,10 +23,27 @@ public class FileBTreeFile implements BTreeFile, Closeable {
 
 	private RandomAccessFile file;
 	private int totalBlock;
+	private boolean readOnly;
 
 	public FileBTreeFile(String fileName) throws IOException {
-		new File(fileName).getParentFile().mkdirs();
-		this.file = new RandomAccessFile(fileName, "rw");
+		this(fileName, false);
+	}
+
+	/**
+	 * Open a btree file
+	 *
+	 * @param fileName the file name
+	 * @param readOnly open an existing file to read a read only btree
+	 * @throws IOException
+	 */
+	public FileBTreeFile(String fileName, boolean readOnly) throws IOException {
+		this.readOnly = readOnly;
+		if (readOnly) {
+			this.file = new RandomAccessFile(fileName, "r");
+		} else {
+			new File(fileName).getParentFile().mkdirs();
+			this.file = new RandomAccessFile(fileName, "rw");
+		}
 		this.totalBlock = (int) ((file.length() + BLOCK_SIZE - 1) / BLOCK_SIZE);
 	}
 
@@ -43,6 +60,9 @@ public class FileBTreeFile implements BTreeFile, Closeable {
 
 	@Override
 	public int allocBlock() throws IOException {
+		if (readOnly) {
+			throw new IOException("read only file");
+		}
 		int blockId = totalBlock++;
 		file.setLength((long) blockId * BLOCK_SIZE);
 		return blockId;
@@ -74,6 +94,9 @@ public class FileBTreeFile implements BTreeFile, Closeable {
 
 	@Override
 	public void writeBlock(int blockId, byte[] bytes) throws IOException {
+		if (readOnly) {
+			throw new IOException("read only file");
+		}
 		int writeSize = bytes.length;
 		if (writeSize > BLOCK_SIZE) {
 			writeSize = BLOCK_SIZE;
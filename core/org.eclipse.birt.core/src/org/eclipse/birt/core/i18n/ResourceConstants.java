@@ -56,6 +56,8 @@ public class ResourceConstants {
 	public static final String NULL_SOURCE = "error.NullSource";
 	public static final String OUT_OF_RANGE = "error.OutOfRange";
 	public static final String READ_ONLY_TREE = "error.ReadOnlyTree";
+	public static final String NOT_EMPTY_TREE = "error.NotEmptyTree";
+	public static final String UNSORTED_KEYS = "error.UnsortedKeys";
 	public static final String CANNOT_LOAD_NODE = "error.CannotLoadNode";
 	public static final String KEY_SIZE_ERROR = "error.KeySizeError";
 	public static final String MISMATCH_KEY_LENGTH = "error.MismatchKeyLength";
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.core.script;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of compiled scripts which can be shared by the script contexts of
+ * several tasks, so the same expression is compiled only once.
+ * <p>
+ * A script is identified by its language, the version of the language and the
+ * optimization level it has been compiled for, the class loader its generated
+ * classes depend on, its id, which may define its security domain, its line
+ * number and its text. The cache keeps the most recently used scripts up to its
+ * size. The class loader is only weakly referenced by the cache, so it should be
+ * a loader shared by the tasks, such as the loader of the script engine, and
+ * null if the script is not compiled into classes.
+ */
+public class CompiledScriptCache {
+
+	private final int maxSize;
+
+	private final Map<Key, ICompiledScript> scripts;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	/**
+	 * @param maxSize the maximum number of scripts kept in the cache, 0 disables
+	 *                the cache
+	 */
+	public CompiledScriptCache(final int maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+		this.scripts = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, ICompiledScript> eldest) {
+				return size() > CompiledScriptCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * return a compiled script.
+	 *
+	 * @param language          the script language
+	 * @param version           the version of the language
+	 * @param optimizationLevel the optimization level of the compiler
+	 * @param classLoader       the class loader the compiled classes depend on, may
+	 *                          be null
+	 * @param id                the id of the script
+	 * @param lineNo            the line number of the script
+	 * @param script            the script text
+	 * @return the compiled script, or null if it is not cached
+	 */
+	public ICompiledScript get(String language, int version, int optimizationLevel, ClassLoader classLoader,
+			String id, int lineNo, String script) {
+		ICompiledScript compiledScript = null;
+		if (maxSize > 0 && script != null) {
+			Key key = new Key(language, version, optimizationLevel, classLoader, id, lineNo, script);
+			synchronized (scripts) {
+				compiledScript = scripts.get(key);
+			}
+		}
+		if (compiledScript != null) {
+			hitCount.increment();
+		} else {
+			missCount.increment();
+		}
+		return compiledScript;
+	}
+
+	/**
+	 * add a compiled script into the cache.
+	 *
+	 * @param language          the script language
+	 * @param version           the version of the language
+	 * @param optimizationLevel the optimization level of the compiler
+	 * @param classLoader       the class loader the compiled classes depend on, may
+	 *                          be null
+	 * @param id                the id of the script
+	 * @param lineNo            the line number of the script
+	 * @param script            the script text
+	 * @param compiledScript    the compiled script
+	 */
+	public void put(String language, int version, int optimizationLevel, ClassLoader classLoader, String id,
+			int lineNo, String script, ICompiledScript compiledScript) {
+		if (maxSize > 0 && script != null && compiledScript != null) {
+			Key key = new Key(language, version, optimizationLevel, classLoader, id, lineNo, script);
+			synchronized (scripts) {
+				scripts.put(key, compiledScript);
+			}
+		}
+	}
+
+	/**
+	 * remove all the scripts from the cache.
+	 */
+	public void clear() {
+		synchronized (scripts) {
+			scripts.clear();
+		}
+	}
+
+	/**
+	 * @return the number of scripts in the cache
+	 */
+	public int size() {
+		synchronized (scripts) {
+			return scripts.size();
+		}
+	}
+
+	/**
+	 * @return the maximum number of scripts kept in the cache
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the number of scripts found in the cache
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return the number of scripts looked up and not found in the cache
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	private static final class Key {
+		final String language;
+		final int version;
+		final int optimizationLevel;
+		// compared by identity, the same classes may be loaded by several loaders. A
+		// collected loader leaves a key which is never found again and ages out.
+		final WeakReference<ClassLoader> classLoader;
+		final String id;
+		final int lineNo;
+		final String script;
+		final int hashCode;
+
+		Key(String language, int version, int optimizationLevel, ClassLoader classLoader, String id, int lineNo,
+				String script) {
+			this.language = language;
+			this.version = version;
+			this.optimizationLevel = optimizationLevel;
+			this.classLoader = classLoader == null ? null : new WeakReference<>(classLoader);
+			this.id = id;
+			this.lineNo = lineNo;
+			this.script = script;
+			int hash = language == null ? 0 : language.hashCode();
+			hash = hash * 31 + version;
+			hash = hash * 31 + optimizationLevel;
+			hash = hash * 31 + System.identityHashCode(classLoader);
+			hash = hash * 31 + (id == null ? 0 : id.hashCode());
+			hash = hash * 31 + lineNo;
+			this.hashCode = hash * 31 + script.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) obj;
+			return hashCode == key.hashCode && version == key.version && optimizationLevel == key.optimizationLevel
+					&& lineNo == key.lineNo && script.equals(key.script) && equals(language, key.language)
+					&& equals(id, key.id) && sameClassLoader(key);
+		}
+
+		private boolean sameClassLoader(Key key) {
+			if (classLoader == null || key.classLoader == null) {
+				return classLoader == key.classLoader;
+			}
+			ClassLoader loader = classLoader.get();
+			return loader != null && loader == key.classLoader.get();
+		}
+
+		private static boolean equals(String a, String b) {
+			return a == null ? b == null : a.equals(b);
+		}
+	}
+}
@@ -31,6 +31,7 @@ public class ScriptContext implements IScriptContext {
 	private Locale locale = Locale.getDefault();
 	private TimeZone timeZone = TimeZone.getDefault();
 	private ClassLoader applicationClassLoader;
+	private CompiledScriptCache compiledScriptCache;
 
 	private ScriptContext parent;
 	private Object scope;
@@ -84,6 +85,29 @@ public class ScriptContext implements IScriptContext {
 		}
 	}
 
+	/**
+	 * return the cache of the compiled scripts shared by this context.
+	 *
+	 * @return the cache, or null if the scripts are not cached
+	 */
+	public CompiledScriptCache getCompiledScriptCache() {
+		if (parent != null) {
+			return parent.getCompiledScriptCache();
+		}
+		return compiledScriptCache;
+	}
+
+	/**
+	 * the user can only set the compiled script cache to the top most context.
+	 */
+	public void setCompiledScriptCache(CompiledScriptCache cache) {
+		if (parent != null) {
+			parent.setCompiledScriptCache(cache);
+		} else {
+			this.compiledScriptCache = cache;
+		}
+	}
+
 	public ScriptContext newContext(Object scope) {
 		return newContext(scope, null);
 	}
@@ -65,71 +65,79 @@ public class CategoryWrapper extends ScriptableObject {
 				public Object call(Context cx, final Scriptable scope, Scriptable thisObj, java.lang.Object[] args) {
 					Object[] convertedArgs = JavascriptEvalUtil.convertToJavaObjects(args);
 					try {
-						final IScriptFunctionContext scriptFunctionContext = getIScriptFunctionContext(scope);
-						final Collator collator = getCollator(scope);
-
-						IScriptFunctionContext wrappedScriptFunctionContext = scriptFunctionContext;
-						if (wrappedScriptFunctionContext != null) {
-							wrappedScriptFunctionContext = new IScriptFunctionContext() {
-								@Override
-								public Object findProperty(String name) {
-									if ("compare_locale".equals(name)) //$NON-NLS-1$
-									{
-										return collator;
-									}
-									Object obj = scriptFunctionContext.findProperty(name);
-									if (obj == null) {
-										// If not found, try to get it via
-										// javascript environment
-										Scriptable currentScope = scope;
-										while (currentScope != null) {
-											obj = currentScope.get(name, scope);
-											if (obj != UniqueTag.NOT_FOUND) {
-												return obj;
-											}
-											currentScope = currentScope.getParentScope();
-										}
-									}
-									return obj;
-								}
-							};
-						}
-						return function.execute(convertedArgs, wrappedScriptFunctionContext);
+						return function.execute(convertedArgs, getFunctionContext(scope));
 					} catch (BirtException e) {
 						throw new WrappedException(e);
 					}
 
 				}
+			}, 0);
+		}
+	}
 
-				private IScriptFunctionContext getIScriptFunctionContext(Scriptable scope) {
-					if (scope == null) {
-						return null;
-					}
-					Object obj = scope.get(
-							org.eclipse.birt.core.script.functionservice.IScriptFunctionContext.FUNCTION_BEAN_NAME,
-							scope);
-					if (obj == org.mozilla.javascript.UniqueTag.NOT_FOUND) {
-						return getIScriptFunctionContext(scope.getParentScope());
-					}
-					return (IScriptFunctionContext) JavascriptEvalUtil.convertJavascriptValue(obj);
+	/**
+	 * Returns the context of the script functions called in a scope, which also
+	 * provides the collator of the scope as "compare_locale".
+	 *
+	 * @param scope the scope of the call
+	 * @return the function context, or null if the scope defines none
+	 */
+	public static IScriptFunctionContext getFunctionContext(final Scriptable scope) {
+		final IScriptFunctionContext scriptFunctionContext = getIScriptFunctionContext(scope);
+		if (scriptFunctionContext == null) {
+			return null;
+		}
+		final Collator collator = getCollator(scope);
+		return new IScriptFunctionContext() {
+			@Override
+			public Object findProperty(String name) {
+				if ("compare_locale".equals(name)) //$NON-NLS-1$
+				{
+					return collator;
 				}
-
-				private Collator getCollator(Scriptable scope) {
-					if (scope == null) {
-						return null;
-					}
-					Scriptable prototype = scope.getPrototype();
-					Object obj = org.mozilla.javascript.UniqueTag.NOT_FOUND;
-					if (prototype != null) {
-						obj = prototype.get("compare_locale", prototype);
-					}
-					if (obj == org.mozilla.javascript.UniqueTag.NOT_FOUND) {
-						return getCollator(scope.getParentScope());
+				Object obj = scriptFunctionContext.findProperty(name);
+				if (obj == null) {
+					// If not found, try to get it via
+					// javascript environment
+					Scriptable currentScope = scope;
+					while (currentScope != null) {
+						obj = currentScope.get(name, scope);
+						if (obj != UniqueTag.NOT_FOUND) {
+							return obj;
+						}
+						currentScope = currentScope.getParentScope();
 					}
-					return (Collator) JavascriptEvalUtil.convertJavascriptValue(obj);
 				}
-			}, 0);
+				return obj;
+			}
+		};
+	}
+
+	private static IScriptFunctionContext getIScriptFunctionContext(Scriptable scope) {
+		if (scope == null) {
+			return null;
+		}
+		Object obj = scope.get(org.eclipse.birt.core.script.functionservice.IScriptFunctionContext.FUNCTION_BEAN_NAME,
+				scope);
+		if (obj == org.mozilla.javascript.UniqueTag.NOT_FOUND) {
+			return getIScriptFunctionContext(scope.getParentScope());
+		}
+		return (IScriptFunctionContext) JavascriptEvalUtil.convertJavascriptValue(obj);
+	}
+
+	private static Collator getCollator(Scriptable scope) {
+		if (scope == null) {
+			return null;
+		}
+		Scriptable prototype = scope.getPrototype();
+		Object obj = org.mozilla.javascript.UniqueTag.NOT_FOUND;
+		if (prototype != null) {
+			obj = prototype.get("compare_locale", prototype);
+		}
+		if (obj == org.mozilla.javascript.UniqueTag.NOT_FOUND) {
+			return getCollator(scope.getParentScope());
 		}
+		return (Collator) JavascriptEvalUtil.convertJavascriptValue(obj);
 	}
 
 	@Override
@@ -32,6 +32,7 @@ public class ResourceConstants {
 	public final static String INVALID_TOP_BOTTOM_N = "aggregation.InvalidTopBottomN";//$NON-NLS-1$
 	public final static String INVALID_PERCENTILE_ARGUMENT = "aggregation.InvalidPercentileArgument";//$NON-NLS-1$
 	public final static String INVALID_QUARTILE_ARGUMENT = "aggregation.InvalidQuartileArgument";//$NON-NLS-1$
+	public final static String INVALID_ERROR_BOUND_ARGUMENT = "aggregation.InvalidErrorBoundArgument";//$NON-NLS-1$
 	public final static String ILLEGAL_PARAMETER_FUN = "aggregation.BadAggrFuncParam";//$NON-NLS-1$
 	public final static String RESET_RATE = "aggregation.ResetRateGuess";//$NON-NLS-1$
 
@@ -30,5 +30,7 @@ public class Constants {
 	public static final String MAXLENGTH__DISPLAY_NAME = Messages.getString("TotalConcatenate.param.maxLength");
 	public static final String SHOWALLVALUES_NAME = "Showallvalues";
 	public static final String SHOWALLVALUES_DISPLAY_NAME = Messages.getString("TotalConcatenate.param.showAllValues");
+	public static final String ERRORBOUND_NAME = "Errorbound";
+	public static final String ERRORBOUND_DISPLAY_NAME = Messages.getString("Constants.ErrorBound");
 
 }
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.aggregation.impl;
+
+import java.util.Arrays;
+
+/**
+ * Quantile summary which keeps all the values in a double array. The value of a
+ * rank is found by quickselect, which partitions the array around the rank in
+ * linear time on average instead of sorting it.
+ */
+class ExactQuantileSummary extends QuantileSummary {
+	private static final int INITIAL_CAPACITY = 64;
+
+	private double[] values = new double[INITIAL_CAPACITY];
+	private int count;
+
+	// the array is partitioned around this rank, -1 if it is not
+	private int selectedRank = -1;
+
+	/*
+	 * @see org.eclipse.birt.data.aggregation.impl.QuantileSummary#add(double)
+	 */
+	@Override
+	public void add(double value) {
+		if (count == values.length) {
+			values = Arrays.copyOf(values, values.length + (values.length >> 1));
+		}
+		values[count++] = value;
+		selectedRank = -1;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.aggregation.impl.QuantileSummary#getCount()
+	 */
+	@Override
+	public long getCount() {
+		return count;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.aggregation.impl.QuantileSummary#getValue(long)
+	 */
+	@Override
+	public double getValue(long rank) {
+		if (rank < 0 || rank >= count) {
+			throw new IndexOutOfBoundsException(String.valueOf(rank));
+		}
+		int k = (int) rank;
+		if (k != selectedRank) {
+			if (selectedRank >= 0 && k == selectedRank + 1) {
+				// the values after the last selected rank are not smaller, so the
+				// next rank is their minimum
+				int min = k;
+				for (int i = k + 1; i < count; i++) {
+					if (Double.compare(values[i], values[min]) < 0) {
+						min = i;
+					}
+				}
+				swap(k, min);
+			} else {
+				select(k);
+			}
+			selectedRank = k;
+		}
+		return values[k];
+	}
+
+	/**
+	 * Partition the values so that values[k] is the value of rank k, the values
+	 * before it are not greater and the values after it are not smaller.
+	 *
+	 * @param k
+	 */
+	private void select(int k) {
+		int lo = 0;
+		int hi = count - 1;
+		// fall back on sorting when the pivots are repeatedly bad
+		int budget = 2 * (32 - Integer.numberOfLeadingZeros(count)) + 8;
+		while (hi > lo) {
+			if (budget-- == 0) {
+				Arrays.sort(values, lo, hi + 1);
+				return;
+			}
+
+			int mid = (lo + hi) >>> 1;
+			// median of three as the pivot
+			if (Double.compare(values[mid], values[lo]) < 0) {
+				swap(mid, lo);
+			}
+			if (Double.compare(values[hi], values[lo]) < 0) {
+				swap(hi, lo);
+			}
+			if (Double.compare(values[hi], values[mid]) < 0) {
+				swap(hi, mid);
+			}
+			double pivot = values[mid];
+
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (Double.compare(values[i], pivot) < 0) {
+					i++;
+				}
+				while (Double.compare(values[j], pivot) > 0) {
+					j--;
+				}
+				if (i <= j) {
+					swap(i, j);
+					i++;
+					j--;
+				}
+			}
+
+			// values[lo..j] <= pivot, values[i..hi] >= pivot and the values
+			// between them are equal to pivot
+			if (k <= j) {
+				hi = j;
+			} else if (k >= i) {
+				lo = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private void swap(int i, int j) {
+		double value = values[i];
+		values[i] = values[j];
+		values[j] = value;
+	}
+}
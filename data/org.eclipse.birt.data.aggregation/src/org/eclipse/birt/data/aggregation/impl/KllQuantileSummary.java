@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.aggregation.impl;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Approximate quantile summary based on the KLL sketch (Karnin, Lang and
+ * Liberty, "Optimal Quantile Approximation in Streams"). Values are kept in a
+ * stack of compactors, a value at level h standing for 2^h input values. When
+ * the sketch is full, the lowest level over its capacity is sorted and every
+ * other value of it is promoted to the next level. The capacities shrink by a
+ * factor of 2/3 from the top level down, so the sketch keeps about 3k values
+ * whatever the number of values added is.
+ *
+ * The rank error is about 1.65 / k of the count with high probability, so k is
+ * derived from the error bound. The coin used by the compactions has a fixed
+ * seed, so a report gives the same result each time it is run.
+ */
+class KllQuantileSummary extends QuantileSummary {
+	private static final double CAPACITY_FACTOR = 2.0 / 3.0;
+	private static final double ERROR_FACTOR = 1.65;
+	private static final int MIN_K = 8;
+	private static final int MIN_CAPACITY = 2;
+	private static final long SEED = 0x5DEECE66DL;
+
+	private final int k;
+	private final Random coin = new Random(SEED);
+
+	// values and number of values of every level
+	private double[][] levels = new double[0][];
+	private int[] levelSizes = new int[0];
+
+	private int retainedCount;
+	private int maxRetainedCount;
+	private long count;
+
+	// all retained values sorted with their cumulative weights, built on demand
+	private double[] sortedValues;
+	private long[] cumulativeWeights;
+
+	/**
+	 * @param errorBound the rank error as a fraction of the count, in (0, 1)
+	 */
+	KllQuantileSummary(double errorBound) {
+		this.k = (int) Math.max(MIN_K, Math.min(Integer.MAX_VALUE / 4, Math.ceil(ERROR_FACTOR / errorBound)));
+		addLevel();
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.aggregation.impl.QuantileSummary#add(double)
+	 */
+	@Override
+	public void add(double value) {
+		append(0, value);
+		count++;
+		sortedValues = null;
+		if (retainedCount >= maxRetainedCount) {
+			compress();
+		}
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.aggregation.impl.QuantileSummary#getCount()
+	 */
+	@Override
+	public long getCount() {
+		return count;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.aggregation.impl.QuantileSummary#getValue(long)
+	 */
+	@Override
+	public double getValue(long rank) {
+		if (rank < 0 || rank >= count) {
+			throw new IndexOutOfBoundsException(String.valueOf(rank));
+		}
+		if (sortedValues == null) {
+			buildSortedView();
+		}
+		// the first value whose cumulative weight exceeds the rank
+		int low = 0;
+		int high = cumulativeWeights.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulativeWeights[mid] > rank) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return sortedValues[low];
+	}
+
+	/**
+	 * @return the number of values kept by the sketch
+	 */
+	int getRetainedCount() {
+		return retainedCount;
+	}
+
+	private int capacity(int level) {
+		int depth = levels.length - level - 1;
+		return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_FACTOR, depth)));
+	}
+
+	private void addLevel() {
+		int level = levels.length;
+		levels = Arrays.copyOf(levels, level + 1);
+		levelSizes = Arrays.copyOf(levelSizes, level + 1);
+		levels[level] = new double[MIN_CAPACITY];
+
+		maxRetainedCount = 0;
+		for (int i = 0; i < levels.length; i++) {
+			maxRetainedCount += capacity(i);
+		}
+	}
+
+	private void append(int level, double value) {
+		double[] values = levels[level];
+		int size = levelSizes[level];
+		if (size == values.length) {
+			values = Arrays.copyOf(values, Math.max(size * 2, capacity(level) + 1));
+			levels[level] = values;
+		}
+		values[size] = value;
+		levelSizes[level] = size + 1;
+		retainedCount++;
+	}
+
+	/**
+	 * Compact the lowest level which is over its capacity.
+	 */
+	private void compress() {
+		for (int level = 0; level < levels.length; level++) {
+			if (levelSizes[level] >= capacity(level)) {
+				if (level + 1 == levels.length) {
+					addLevel();
+				}
+				compact(level);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Sort a level and promote every other value of it, starting at a random
+	 * offset. An odd value out stays at the level, which keeps the total weight
+	 * equal to the count.
+	 *
+	 * @param level
+	 */
+	private void compact(int level) {
+		double[] values = levels[level];
+		int size = levelSizes[level];
+		Arrays.sort(values, 0, size);
+
+		int pairs = size / 2;
+		int offset = coin.nextBoolean() ? 1 : 0;
+		for (int i = 0; i < pairs; i++) {
+			append(level + 1, values[2 * i + offset]);
+		}
+		if (size % 2 == 1) {
+			values[0] = values[size - 1];
+			levelSizes[level] = 1;
+		} else {
+			levelSizes[level] = 0;
+		}
+		retainedCount -= 2 * pairs;
+	}
+
+	private void buildSortedView() {
+		int total = retainedCount;
+		double[] values = new double[total];
+		long[] weights = new long[total];
+		int pos = 0;
+		for (int level = 0; level < levels.length; level++) {
+			long weight = 1L << level;
+			for (int i = 0; i < levelSizes[level]; i++) {
+				values[pos] = levels[level][i];
+				weights[pos] = weight;
+				pos++;
+			}
+		}
+
+		// sort the values along with their weights
+		Integer[] order = new Integer[total];
+		for (int i = 0; i < total; i++) {
+			order[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+		sortedValues = new double[total];
+		cumulativeWeights = new long[total];
+		long cumulative = 0;
+		for (int i = 0; i < total; i++) {
+			int index = order[i].intValue();
+			sortedValues[i] = values[index];
+			cumulative += weights[index];
+			cumulativeWeights[i] = cumulative;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.aggregation.impl;
+
+import org.eclipse.birt.core.data.DataTypeUtil;
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.data.aggregation.i18n.ResourceConstants;
+import org.eclipse.birt.data.engine.core.DataException;
+
+/**
+ * Keeps the values of a group as primitive doubles and returns the value of a
+ * given rank, in the order of Double.compare. It is used by the median,
+ * percentile and quartile aggregations.
+ *
+ * With an error bound of 0 all the values are kept and the value of a rank is
+ * selected in place without sorting them. With a positive error bound a
+ * sketch of bounded size is kept instead, and the rank of the value returned is
+ * within errorBound * count of the rank asked for.
+ */
+public abstract class QuantileSummary {
+
+	/**
+	 * @param errorBound 0 for exact results, or the maximum rank error as a
+	 *                   fraction of the number of values
+	 * @return a new quantile summary
+	 */
+	public static QuantileSummary newInstance(double errorBound) {
+		if (errorBound > 0) {
+			return new KllQuantileSummary(errorBound);
+		}
+		return new ExactQuantileSummary();
+	}
+
+	/**
+	 * Convert the error bound argument of an aggregation.
+	 *
+	 * @param arg the argument, null for exact results
+	 * @return the error bound, 0 for exact results
+	 * @throws DataException if the argument is not a number in [0, 1)
+	 */
+	public static double getErrorBound(Object arg) throws DataException {
+		if (arg == null) {
+			return 0;
+		}
+		Double errorBound;
+		try {
+			errorBound = DataTypeUtil.toDouble(arg);
+		} catch (BirtException e) {
+			throw DataException.wrap(new AggrException(ResourceConstants.INVALID_ERROR_BOUND_ARGUMENT));
+		}
+		if (errorBound == null || errorBound.isNaN() || errorBound.doubleValue() < 0
+				|| errorBound.doubleValue() >= 1) {
+			throw DataException.wrap(new AggrException(ResourceConstants.INVALID_ERROR_BOUND_ARGUMENT));
+		}
+		return errorBound.doubleValue();
+	}
+
+	/**
+	 * @param value
+	 */
+	public abstract void add(double value);
+
+	/**
+	 * @return the number of values added
+	 */
+	public abstract long getCount();
+
+	/**
+	 * @param rank 0-based rank, less than getCount()
+	 * @return the value of the rank, as if the values were sorted
+	 */
+	public abstract double getValue(long rank);
+}
@@ -17,6 +17,8 @@
 
 package org.eclipse.birt.data.aggregation.impl;
 
+import java.io.Serializable;
+
 import org.eclipse.birt.core.data.DataType;
 import org.eclipse.birt.data.aggregation.api.IBuildInAggregation;
 import org.eclipse.birt.data.aggregation.i18n.Messages;
@@ -99,6 +101,35 @@ public class TotalCount extends AggrFunction {
 		public Object getSummaryValue() {
 			return Integer.valueOf(count);
 		}
+
+		/*
+		 * @see org.eclipse.birt.data.engine.api.aggregation.Accumulator#isMergeable()
+		 */
+		@Override
+		public boolean isMergeable() {
+			return true;
+		}
+
+		/*
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#getPartialState()
+		 */
+		@Override
+		public Serializable getPartialState() {
+			return new Object[] { Integer.valueOf(count), Boolean.valueOf(countByColumn) };
+		}
+
+		/*
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#mergePartialState(
+		 * java.io.Serializable)
+		 */
+		@Override
+		public void mergePartialState(Serializable state) {
+			Object[] values = (Object[]) state;
+			count += ((Integer) values[0]).intValue();
+			countByColumn = countByColumn && ((Boolean) values[1]).booleanValue();
+		}
 	}
 
 	/*
@@ -17,6 +17,7 @@
 
 package org.eclipse.birt.data.aggregation.impl;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -106,6 +107,35 @@ public class TotalCountDistinct extends AggrFunction {
 		public Object getSummaryValue() {
 			return Integer.valueOf(set.size() + (this.hasNullValue ? 1 : 0));
 		}
+
+		/*
+		 * @see org.eclipse.birt.data.engine.api.aggregation.Accumulator#isMergeable()
+		 */
+		@Override
+		public boolean isMergeable() {
+			return true;
+		}
+
+		/*
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#getPartialState()
+		 */
+		@Override
+		public Serializable getPartialState() {
+			return new Object[] { new HashSet(set), Boolean.valueOf(hasNullValue) };
+		}
+
+		/*
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#mergePartialState(
+		 * java.io.Serializable)
+		 */
+		@Override
+		public void mergePartialState(Serializable state) {
+			Object[] values = (Object[]) state;
+			set.addAll((Set) values[0]);
+			hasNullValue = hasNullValue || ((Boolean) values[1]).booleanValue();
+		}
 	}
 
 	/*
@@ -16,10 +16,6 @@
  */
 package org.eclipse.birt.data.aggregation.impl;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
 import org.eclipse.birt.core.data.DataType;
 import org.eclipse.birt.data.aggregation.api.IBuildInAggregation;
 import org.eclipse.birt.data.aggregation.calculator.CalculatorFactory;
@@ -72,8 +68,11 @@ public class TotalMedian extends AggrFunction {
 	 */
 	@Override
 	public IParameterDefn[] getParameterDefn() {
-		return new IParameterDefn[] { new ParameterDefn(Constants.EXPRESSION_NAME, Constants.EXPRESSION_DISPLAY_NAME,
-				false, true, SupportedDataTypes.CALCULATABLE, "")//$NON-NLS-1$
+		return new IParameterDefn[] {
+				new ParameterDefn(Constants.EXPRESSION_NAME, Constants.EXPRESSION_DISPLAY_NAME, false, true,
+						SupportedDataTypes.CALCULATABLE, ""), //$NON-NLS-1$
+				new ParameterDefn(Constants.ERRORBOUND_NAME, Constants.ERRORBOUND_DISPLAY_NAME, true, false,
+						SupportedDataTypes.CALCULATABLE, Messages.getString("Constants.paramDescription.errorBound")) //$NON-NLS-1$
 		};
 	}
 
@@ -88,7 +87,7 @@ public class TotalMedian extends AggrFunction {
 	}
 
 	private static class MyAccumulator extends SummaryAccumulator {
-		private List list;
+		private QuantileSummary values;
 
 		private Object ret = null;
 
@@ -99,7 +98,7 @@ public class TotalMedian extends AggrFunction {
 		@Override
 		public void start() {
 			super.start();
-			list = new ArrayList();
+			values = null;
 			ret = null;
 		}
 
@@ -113,28 +112,30 @@ public class TotalMedian extends AggrFunction {
 		@Override
 		public void onRow(Object[] args) throws DataException {
 			assert (args.length > 0);
+			if (values == null) {
+				values = QuantileSummary.newInstance(QuantileSummary.getErrorBound(args.length > 1 ? args[1] : null));
+			}
 			if (args[0] != null) {
-				list.add(calculator.getTypedObject(args[0]));
+				Object value = calculator.getTypedObject(args[0]);
+				if (value != null) {
+					values.add(((Number) value).doubleValue());
+				}
 			}
 		}
 
 		@Override
 		public void finish() throws DataException {
-			int size = list.size();
+			long size = values == null ? 0 : values.getCount();
 			if (size > 0) {
-				Object[] values = list.toArray();
-				Arrays.sort(values);
-
 				if (size % 2 == 0) {
-					Object d1 = values[size / 2 - 1];
-					Object d2 = values[size / 2];
-					ret = calculator.divide(
-							calculator.add(calculator.getTypedObject(d1), calculator.getTypedObject(d2)),
-							calculator.getTypedObject(2));
+					Object d1 = Double.valueOf(values.getValue(size / 2 - 1));
+					Object d2 = Double.valueOf(values.getValue(size / 2));
+					ret = calculator.divide(calculator.add(d1, d2), calculator.getTypedObject(2));
 				} else {
-					ret = calculator.getTypedObject(values[size / 2]);
+					ret = Double.valueOf(values.getValue(size / 2));
 				}
 			}
+			values = null;
 			super.finish();
 		}
 
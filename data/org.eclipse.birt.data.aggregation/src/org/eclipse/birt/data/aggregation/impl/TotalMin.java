@@ -16,11 +16,15 @@
  */
 package org.eclipse.birt.data.aggregation.impl;
 
+import java.io.Serializable;
+
 import org.eclipse.birt.core.data.DataType;
 import org.eclipse.birt.data.aggregation.api.IBuildInAggregation;
 import org.eclipse.birt.data.aggregation.i18n.Messages;
 import org.eclipse.birt.data.engine.api.aggregation.Accumulator;
 import org.eclipse.birt.data.engine.api.aggregation.IParameterDefn;
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.i18n.ResourceConstants;
 
 /**
  *
@@ -129,6 +133,57 @@ public class TotalMin extends AggrFunction {
 			return min;
 		}
 
+		/*
+		 * @see org.eclipse.birt.data.engine.api.aggregation.Accumulator#isMergeable()
+		 */
+		@Override
+		public boolean isMergeable() {
+			return true;
+		}
+
+		/*
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#getPartialState()
+		 */
+		@Override
+		public Serializable getPartialState() throws DataException {
+			if (min != null && !(min instanceof Serializable)) {
+				throw new DataException(ResourceConstants.NOT_SERIALIZABLE_CLASS, min.getClass().getName());
+			}
+			return (Serializable) min;
+		}
+
+		/*
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#mergePartialState(
+		 * java.io.Serializable)
+		 */
+		@Override
+		public void mergePartialState(Serializable state) {
+			if (state != null) {
+				onRow(new Object[] { state });
+			}
+		}
+
+		/*
+		 * The values of the other accumulator need not be serializable when they
+		 * are merged in the same process.
+		 *
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#merge(org.eclipse.
+		 * birt.data.engine.api.aggregation.Accumulator)
+		 */
+		@Override
+		public void merge(Accumulator other) throws DataException {
+			if (!(other instanceof MyAccumulator)) {
+				super.merge(other);
+				return;
+			}
+			if (((MyAccumulator) other).min != null) {
+				onRow(new Object[] { ((MyAccumulator) other).min });
+			}
+		}
+
 	}
 
 	/*
@@ -17,6 +17,8 @@
 
 package org.eclipse.birt.data.aggregation.impl;
 
+import java.io.Serializable;
+
 import org.eclipse.birt.core.data.DataType;
 import org.eclipse.birt.data.aggregation.api.IBuildInAggregation;
 import org.eclipse.birt.data.aggregation.calculator.CalculatorFactory;
@@ -140,6 +142,36 @@ public class TotalStdDev extends AggrFunction {
 					calculator.getTypedObject(Math.sqrt(ret.doubleValue())));
 		}
 
+		/*
+		 * @see org.eclipse.birt.data.engine.api.aggregation.Accumulator#isMergeable()
+		 */
+		@Override
+		public boolean isMergeable() {
+			return true;
+		}
+
+		/*
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#getPartialState()
+		 */
+		@Override
+		public Serializable getPartialState() {
+			return new Object[] { sum, squareSum, Integer.valueOf(count) };
+		}
+
+		/*
+		 * @see
+		 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#mergePartialState(
+		 * java.io.Serializable)
+		 */
+		@Override
+		public void mergePartialState(Serializable state) throws DataException {
+			Object[] values = (Object[]) state;
+			sum = calculator.add(sum, values[0]);
+			squareSum = calculator.add(squareSum, values[1]);
+			count += ((Integer) values[2]).intValue();
+		}
+
 	}
 
 	/*
@@ -14,10 +14,8 @@
 
 package org.eclipse.birt.data.aggregation.impl.rank;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.eclipse.birt.data.aggregation.calculator.ICalculator;
+import org.eclipse.birt.data.aggregation.impl.QuantileSummary;
 import org.eclipse.birt.data.aggregation.impl.SummaryAccumulator;
 import org.eclipse.birt.data.engine.core.DataException;
 
@@ -32,12 +30,14 @@ import org.eclipse.birt.data.engine.core.DataException;
  * calculate fraction: ad = a[k]+(f*(a[k+1]-a[k])) //Then we can calculate out
  * the adjustment: result = a[k] + ad;
  *
+ * The values are kept in a QuantileSummary, which is approximate when the
+ * optional third argument gives an error bound.
  */
 abstract class PercentileAccumulator extends SummaryAccumulator {
 
 	//
 	private Double pct;
-	private List cachedValues;
+	private QuantileSummary cachedValues;
 
 	public PercentileAccumulator(ICalculator calc) {
 		super(calc);
@@ -53,7 +53,7 @@ abstract class PercentileAccumulator extends SummaryAccumulator {
 		super.start();
 
 		pct = -1D;
-		cachedValues = new ArrayList();
+		cachedValues = null;
 	}
 
 	/*
@@ -65,11 +65,14 @@ abstract class PercentileAccumulator extends SummaryAccumulator {
 	 */
 	@Override
 	public void onRow(Object[] args) throws DataException {
-		assert (args.length == 2);
+		assert (args.length >= 2);
+		if (cachedValues == null) {
+			cachedValues = QuantileSummary.newInstance(QuantileSummary.getErrorBound(args.length > 2 ? args[2] : null));
+		}
 		if (args[0] != null) {
 			Number d = calculator.add(calculator.getTypedObject(0), calculator.getTypedObject(args[0]));
 			if (d != null) {
-				cachedValues.add(d);
+				cachedValues.add(d.doubleValue());
 			}
 		}
 		if (pct == -1) {
@@ -88,22 +91,22 @@ abstract class PercentileAccumulator extends SummaryAccumulator {
 	 */
 	@Override
 	public Object getSummaryValue() throws DataException {
-		Object[] sortedObjs = this.cachedValues.toArray();
-		if (sortedObjs.length == 0) {
+		long count = cachedValues == null ? 0 : cachedValues.getCount();
+		if (count == 0) {
 			return null;
 		}
-		RankAggregationUtil.sortArray(sortedObjs);
-		double n = pct * (sortedObjs.length - 1) + 1;
-		int k = (int) Math.floor(n);
+		double n = pct * (count - 1) + 1;
+		long k = (long) Math.floor(n);
 		double fraction = n - k;
 
+		Double lower = Double.valueOf(cachedValues.getValue(k - 1));
 		Number adjustment = 0;
 		if (fraction != 0) {
-			adjustment = calculator.multiply(calculator.getTypedObject(fraction), calculator
-					.subtract(calculator.getTypedObject(sortedObjs[k]), calculator.getTypedObject(sortedObjs[k - 1])));
+			adjustment = calculator.multiply(calculator.getTypedObject(fraction),
+					calculator.subtract(Double.valueOf(cachedValues.getValue(k)), lower));
 		}
 
-		return calculator.add(calculator.getTypedObject(sortedObjs[k - 1]), calculator.getTypedObject(adjustment));
+		return calculator.add(lower, calculator.getTypedObject(adjustment));
 	}
 
 }
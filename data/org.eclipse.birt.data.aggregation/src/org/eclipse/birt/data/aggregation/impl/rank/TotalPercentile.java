@@ -78,7 +78,9 @@ public class TotalPercentile extends AggrFunction {
 				new ParameterDefn(Constants.EXPRESSION_NAME, Constants.EXPRESSION_DISPLAY_NAME, false, true,
 						SupportedDataTypes.CALCULATABLE, ""), //$NON-NLS-1$
 				new ParameterDefn("percentage", Messages.getString("TotalPercentile.param.percentage"), false, false, //$NON-NLS-1$ //$NON-NLS-2$
-						SupportedDataTypes.CALCULATABLE, "") //$NON-NLS-1$
+						SupportedDataTypes.CALCULATABLE, ""), //$NON-NLS-1$
+				new ParameterDefn(Constants.ERRORBOUND_NAME, Constants.ERRORBOUND_DISPLAY_NAME, true, false,
+						SupportedDataTypes.CALCULATABLE, Messages.getString("Constants.paramDescription.errorBound")) //$NON-NLS-1$
 		};
 	}
 
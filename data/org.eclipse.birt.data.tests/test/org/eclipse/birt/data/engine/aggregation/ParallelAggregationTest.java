@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.aggregation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.birt.core.data.DataType;
+import org.eclipse.birt.core.framework.PlatformConfig;
+import org.eclipse.birt.data.engine.api.DataEngine;
+import org.eclipse.birt.data.engine.api.DataEngineContext;
+import org.eclipse.birt.data.engine.api.IBinding;
+import org.eclipse.birt.data.engine.api.IResultIterator;
+import org.eclipse.birt.data.engine.api.querydefn.Binding;
+import org.eclipse.birt.data.engine.api.querydefn.ColumnDefinition;
+import org.eclipse.birt.data.engine.api.querydefn.QueryDefinition;
+import org.eclipse.birt.data.engine.api.querydefn.ScriptDataSetDesign;
+import org.eclipse.birt.data.engine.api.querydefn.ScriptDataSourceDesign;
+import org.eclipse.birt.data.engine.api.querydefn.ScriptExpression;
+import org.junit.Test;
+
+import testutil.BaseTestCase;
+
+/**
+ * Test the aggregations which are calculated by several threads
+ */
+public class ParallelAggregationTest extends BaseTestCase {
+	// several batches of rows
+	private static final int ROW_COUNT = 5000;
+
+	private static final String[] AGGREGATIONS = { "sum", "count", "ave", "min", "max", "first", "last" };
+
+	/**
+	 * Run a query which aggregates the row numbers, and the row numbers in a
+	 * CharBuffer, which is comparable but not serializable.
+	 *
+	 * @param parallelism
+	 * @return the aggregation values
+	 * @throws Exception
+	 */
+	private Map<String, Object> aggregate(String parallelism) throws Exception {
+		DataEngineContext context = DataEngineContext.newInstance(DataEngineContext.DIRECT_PRESENTATION,
+				this.scriptContext, null, null, null);
+		context.setTmpdir(BaseTestCase.getTempDir());
+		PlatformConfig platformConfig = new PlatformConfig();
+		platformConfig.setTempDir(BaseTestCase.getTempDir());
+		DataEngine dataEngine = DataEngine.newDataEngine(platformConfig, context);
+
+		ScriptDataSourceDesign dataSource = new ScriptDataSourceDesign("ds");
+		ScriptDataSetDesign dataSet = new ScriptDataSetDesign("test");
+		dataSet.setDataSource("ds");
+		dataSet.addResultSetHint(new ColumnDefinition("column1"));
+		dataSet.setOpenScript("i = 0;");
+		dataSet.setFetchScript("if (i >= " + ROW_COUNT + ") return false; row.column1 = i++; return true;");
+		dataEngine.defineDataSource(dataSource);
+		dataEngine.defineDataSet(dataSet);
+
+		QueryDefinition qd = new QueryDefinition();
+		qd.setDataSetName("test");
+		qd.addBinding(new Binding("column1", new ScriptExpression("dataSetRow[\"column1\"]", DataType.INTEGER_TYPE)));
+		for (int i = 0; i < AGGREGATIONS.length; i++) {
+			IBinding total = new Binding(AGGREGATIONS[i], new ScriptExpression(null));
+			total.setAggrFunction(AGGREGATIONS[i]);
+			total.addArgument(new ScriptExpression("dataSetRow[\"column1\"]"));
+			qd.addBinding(total);
+			if (!"sum".equals(AGGREGATIONS[i]) && !"ave".equals(AGGREGATIONS[i])) {
+				IBinding buffer = new Binding(AGGREGATIONS[i] + "Buffer", new ScriptExpression(null));
+				buffer.setAggrFunction(AGGREGATIONS[i]);
+				buffer.addArgument(
+						new ScriptExpression("java.nio.CharBuffer.wrap(String(dataSetRow[\"column1\"]))"));
+				qd.addBinding(buffer);
+			}
+		}
+
+		Map appContext = new HashMap();
+		appContext.put(DataEngine.AGGREGATION_PARALLELISM, parallelism);
+		IResultIterator ri = dataEngine.prepare(qd, appContext).execute(null).getResultIterator();
+		assertTrue(ri.next());
+		Map<String, Object> values = new HashMap<>();
+		for (int i = 0; i < AGGREGATIONS.length; i++) {
+			values.put(AGGREGATIONS[i], ri.getValue(AGGREGATIONS[i]));
+			if (!"sum".equals(AGGREGATIONS[i]) && !"ave".equals(AGGREGATIONS[i])) {
+				Object value = ri.getValue(AGGREGATIONS[i] + "Buffer");
+				values.put(AGGREGATIONS[i] + "Buffer", value == null ? null : value.toString());
+			}
+		}
+		ri.close();
+		dataEngine.shutdown();
+		return values;
+	}
+
+	@Test
+	public void testParallelAggregation() throws Exception {
+		Map<String, Object> expected = aggregate("1");
+		assertEquals("0", expected.get("firstBuffer"));
+		assertEquals(String.valueOf(ROW_COUNT - 1), expected.get("lastBuffer"));
+		assertEquals("999", expected.get("maxBuffer"));
+		assertEquals(expected, aggregate("4"));
+	}
+}
@@ -888,8 +888,9 @@ public class TotalTest {
 		Accumulator ac = ag.newAccumulator();
 		assertEquals(IBuildInAggregation.TOTAL_MEDIAN_FUNC, ag.getName());
 		assertEquals(IAggrFunction.SUMMARY_AGGR, ag.getType());
-		assertEquals(1, ag.getParameterDefn().length);
+		assertEquals(2, ag.getParameterDefn().length);
 		assertTrue(!ag.getParameterDefn()[0].isOptional());
+		assertTrue(ag.getParameterDefn()[1].isOptional());
 
 		ac.start();
 		for (int i = 0; i < doubleArray1.length; i++) {
@@ -1774,9 +1775,10 @@ public class TotalTest {
 		Accumulator ac = ag.newAccumulator();
 		assertEquals(IBuildInAggregation.TOTAL_PERCENTILE_FUNC, ag.getName());
 		assertEquals(IAggrFunction.SUMMARY_AGGR, ag.getType());
-		assertEquals(2, ag.getParameterDefn().length);
+		assertEquals(3, ag.getParameterDefn().length);
 		assertTrue(!ag.getParameterDefn()[0].isOptional());
 		assertFalse(ag.getParameterDefn()[1].isOptional());
+		assertTrue(ag.getParameterDefn()[2].isOptional());
 
 		ac.start();
 		for (int i = 0; i < doubleArray3.length; i++) {
@@ -1864,9 +1866,10 @@ public class TotalTest {
 		Accumulator ac = ag.newAccumulator();
 		assertEquals(IBuildInAggregation.TOTAL_QUARTILE_FUNC, ag.getName());
 		assertEquals(IAggrFunction.SUMMARY_AGGR, ag.getType());
-		assertEquals(2, ag.getParameterDefn().length);
+		assertEquals(3, ag.getParameterDefn().length);
 		assertTrue(!ag.getParameterDefn()[0].isOptional());
 		assertFalse(ag.getParameterDefn()[1].isOptional());
+		assertTrue(ag.getParameterDefn()[2].isOptional());
 
 		ac.start();
 		for (int i = 0; i < doubleArray3.length; i++) {
@@ -1929,6 +1932,100 @@ public class TotalTest {
 		assertEquals(4.0D, ret);
 	}
 
+	@Test
+	public void testApproximateQuantiles() throws Exception {
+		int count = 200000;
+		double errorBound = 0.01;
+
+		// the values are a permutation of 0..count-1, so a value is its rank
+		IAggrFunction ag = buildInAggrFactory.getAggregation("median");
+		Accumulator ac = ag.newAccumulator();
+		ac.start();
+		for (int i = 0; i < count; i++) {
+			ac.onRow(new Object[] { Double.valueOf((i * 7919L) % count), Double.valueOf(errorBound) });
+		}
+		ac.finish();
+		double median = ((Double) ac.getValue()).doubleValue();
+		assertTrue(Math.abs(median - count / 2) <= errorBound * count);
+
+		ag = buildInAggrFactory.getAggregation("percentile");
+		ac = ag.newAccumulator();
+		ac.start();
+		for (int i = 0; i < count; i++) {
+			ac.onRow(new Object[] { Double.valueOf((i * 7919L) % count), Double.valueOf(0.9),
+					Double.valueOf(errorBound) });
+		}
+		ac.finish();
+		double percentile = ((Double) ac.getValue()).doubleValue();
+		assertTrue(Math.abs(percentile - 0.9 * count) <= errorBound * count);
+
+		ag = buildInAggrFactory.getAggregation("quartile");
+		ac = ag.newAccumulator();
+		ac.start();
+		for (int i = 0; i < count; i++) {
+			ac.onRow(new Object[] { Double.valueOf((i * 7919L) % count), Double.valueOf(1),
+					Double.valueOf(errorBound) });
+		}
+		ac.finish();
+		double quartile = ((Double) ac.getValue()).doubleValue();
+		assertTrue(Math.abs(quartile - 0.25 * count) <= errorBound * count);
+
+		// an error bound of 0 gives the exact result
+		ac.start();
+		for (int i = 0; i < doubleArray3.length; i++) {
+			ac.onRow(new Object[] { doubleArray3[i], Double.valueOf(0), Double.valueOf(0) });
+		}
+		ac.finish();
+		assertEquals(Double.valueOf(10), ac.getValue());
+
+		// the error bound must be in [0, 1)
+		ac.start();
+		try {
+			ac.onRow(new Object[] { Double.valueOf(1), Double.valueOf(1), Double.valueOf(1) });
+			fail();
+		} catch (DataException e) {
+		}
+	}
+
+	@Test
+	public void testMergeAccumulators() throws Exception {
+		String[] names = { "sum", "count", "ave", "min", "max", "variance", "stddev", "countdistinct", "first",
+				"last" };
+		for (int n = 0; n < names.length; n++) {
+			IAggrFunction ag = buildInAggrFactory.getAggregation(names[n]);
+			Accumulator ac = ag.newAccumulator();
+			assertTrue(names[n], ac.isMergeable());
+
+			ac.start();
+			for (int i = 0; i < doubleArray3.length; i++) {
+				ac.onRow(new Object[] { doubleArray3[i] });
+			}
+			ac.finish();
+			Object expected = ac.getValue();
+
+			// every split of the rows, including empty parts, gives the same value
+			for (int split = 0; split <= doubleArray3.length; split++) {
+				Accumulator first = ag.newAccumulator();
+				Accumulator second = ag.newAccumulator();
+				first.start();
+				second.start();
+				for (int i = 0; i < doubleArray3.length; i++) {
+					(i < split ? first : second).onRow(new Object[] { doubleArray3[i] });
+				}
+				Accumulator merged = ag.newAccumulator();
+				merged.start();
+				merged.merge(first);
+				merged.merge(second);
+				merged.finish();
+				assertEquals(names[n] + " split at " + split, expected, merged.getValue());
+			}
+		}
+
+		// the accumulators of other aggregations are not mergeable
+		assertFalse(buildInAggrFactory.getAggregation("median").newAccumulator().isMergeable());
+		assertFalse(buildInAggrFactory.getAggregation("runningsum").newAccumulator().isMergeable());
+	}
+
 	@Test
 	public void testTotalRunningCount() throws Exception {
 		IAggrFunction ag = buildInAggrFactory.getAggregation("runningcount");
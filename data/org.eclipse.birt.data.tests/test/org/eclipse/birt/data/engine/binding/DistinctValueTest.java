@@ -13,7 +13,16 @@
  *******************************************************************************/
 package org.eclipse.birt.data.engine.binding;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.birt.data.engine.api.APITestCase;
+import org.eclipse.birt.data.engine.api.DataEngine;
 import org.eclipse.birt.data.engine.api.IResultIterator;
 import org.eclipse.birt.data.engine.api.querydefn.QueryDefinition;
 import org.eclipse.birt.data.engine.api.querydefn.ScriptExpression;
@@ -26,6 +35,13 @@ import testutil.ConfigText;
  */
 public class DistinctValueTest extends APITestCase {
 
+	private Map appContext;
+
+	@Override
+	protected Map getAppContext() {
+		return appContext;
+	}
+
 	/*
 	 * @see org.eclipse.birt.data.engine.api.APITestCase#getDataSourceInfo()
 	 */
@@ -111,4 +127,43 @@ public class DistinctValueTest extends APITestCase {
 		checkOutputFile();
 	}
 
+	/**
+	 * Test that the distinct rows of a query are the same whether they are kept in
+	 * the columnar memory cache or not.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testQueryDistinctColumnarCache() throws Exception {
+		List rows = getDistinctRows("false");
+		assertFalse(rows.isEmpty());
+		assertEquals(rows, getDistinctRows("true"));
+	}
+
+	private List getDistinctRows(String columnarCache) throws Exception {
+		appContext = new HashMap();
+		appContext.put(DataEngine.COLUMNAR_MEMORY_CACHE, columnarCache);
+		this.dataSet.setDistinctValue(false);
+		QueryDefinition queryDefn = newReportQuery();
+		queryDefn.setDistinctValue(true);
+		String[] name = { "testColumn1", "testColumn2", "testColumn3" };
+		queryDefn.addResultSetExpression(name[0], new ScriptExpression("dataSetRow.COUNTRY"));
+		queryDefn.addResultSetExpression(name[1], new ScriptExpression("dataSetRow.CITY"));
+		queryDefn.addResultSetExpression(name[2], new ScriptExpression("dataSetRow.AMOUNT"));
+
+		List rows = new ArrayList();
+		IResultIterator ri = executeQuery(queryDefn);
+		while (ri.next()) {
+			String str = "";
+			for (int i = 0; i < name.length; i++) {
+				str += ri.getValue(name[i]);
+				if (i < name.length - 1) {
+					str += ", ";
+				}
+			}
+			rows.add(str);
+		}
+		ri.close();
+		return rows;
+	}
 }
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.executor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.birt.data.engine.executor.DataSetCacheConfig.DataSetCacheMode;
+import org.junit.Test;
+
+/**
+ * Test that the sessions missing the same data set in the JVM level cache wait
+ * for the one loading it.
+ */
+public class CacheMapManagerTest {
+
+	private static final DataSetCacheConfig CONFIG = DataSetCacheConfig.getInstance(DataSetCacheMode.IN_MEMORY, -1,
+			false, null);
+
+	private static DataSourceAndDataSet newKey(String cacheID) {
+		return DataSourceAndDataSet.newInstance(null, null, null, cacheID, true);
+	}
+
+	private static FutureTask<Boolean> startLoad(CacheMapManager manager, DataSourceAndDataSet key)
+			throws InterruptedException {
+		long waits = CacheMapManager.getJVMLevelCacheStatistics().getLoadWaitCount();
+		FutureTask<Boolean> load = new FutureTask<>(() -> manager.doesLoadFromCache(key, CONFIG.getCacheCapability()));
+		new Thread(load).start();
+		// wait until the session waits for the data set
+		long end = System.currentTimeMillis() + 10000;
+		while (CacheMapManager.getJVMLevelCacheStatistics().getLoadWaitCount() == waits
+				&& System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertFalse(load.isDone());
+		return load;
+	}
+
+	@Test
+	public void testCoalescedLoad() throws Exception {
+		DataSourceAndDataSet key = newKey(CacheMapManagerTest.class.getName() + ".coalesced");
+		CacheMapManager loader = new CacheMapManager(true);
+		CacheMapManager waiter = new CacheMapManager(true);
+
+		assertFalse(loader.doesLoadFromCache(key, CONFIG.getCacheCapability()));
+		FutureTask<Boolean> load = startLoad(waiter, key);
+
+		assertTrue(loader.doesSaveToCache(key, CONFIG));
+		MemoryDataSetCacheObject cacheObject = (MemoryDataSetCacheObject) loader.getSavedCacheObject(key);
+		ResultClass resultClass = new ResultClass(new ArrayList<>());
+		cacheObject.setResultClass(resultClass);
+		cacheObject.populateResult(new ResultObject(resultClass, new Object[0]));
+		loader.saveFinishOnCache(key, cacheObject);
+
+		// the waiting session loads the saved data set instead of executing it
+		assertTrue(load.get(10, TimeUnit.SECONDS));
+		waiter.loadStart(key);
+		assertSame(cacheObject, waiter.getloadedCacheObject(key));
+		waiter.loadFinishOnCache(key);
+
+		loader.clearCache(key);
+	}
+
+	@Test
+	public void testReleasedLoad() throws Exception {
+		DataSourceAndDataSet key = newKey(CacheMapManagerTest.class.getName() + ".released");
+		CacheMapManager loader = new CacheMapManager(true);
+		CacheMapManager waiter = new CacheMapManager(true);
+
+		assertFalse(loader.doesLoadFromCache(key, CONFIG.getCacheCapability()));
+		assertTrue(loader.doesSaveToCache(key, CONFIG));
+		FutureTask<Boolean> load = startLoad(waiter, key);
+
+		// the execution failed, the waiting session loads the data set itself
+		// without waiting any longer
+		loader.releaseLoad(key);
+		assertFalse(load.get(10, TimeUnit.SECONDS));
+		assertNull(loader.getSavedCacheObject(key));
+
+		// the load of another session is not released
+		loader.releaseLoad(key);
+		CacheMapManager other = new CacheMapManager(true);
+		FutureTask<Boolean> otherLoad = startLoad(other, key);
+		waiter.releaseLoad(key);
+		assertFalse(otherLoad.get(10, TimeUnit.SECONDS));
+		other.releaseLoad(key);
+	}
+
+}
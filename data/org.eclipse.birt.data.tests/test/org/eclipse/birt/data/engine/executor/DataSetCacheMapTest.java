@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Test the bounds and the expiration of the data set cache map.
+ */
+public class DataSetCacheMapTest {
+
+	private static DataSourceAndDataSet newKey(String cacheID) {
+		return DataSourceAndDataSet.newInstance(null, null, null, cacheID, true);
+	}
+
+	@Test
+	public void testEntryBudget() {
+		DataSetCacheMap map = new DataSetCacheMap(0, 2);
+		IDataSetCacheObject object1 = new MemoryDataSetCacheObject(10);
+		map.put(newKey("1"), object1, 10, 0, 0);
+		map.put(newKey("2"), new MemoryDataSetCacheObject(10), 10, 0, 0);
+		Map<DataSourceAndDataSet, IDataSetCacheObject> removed = map.put(newKey("3"),
+				new MemoryDataSetCacheObject(10), 10, 0, 0);
+
+		assertEquals(1, removed.size());
+		assertSame(object1, removed.get(newKey("1")));
+		assertNull(map.get(newKey("1")));
+		DataSetCacheStatistics statistics = map.getStatistics();
+		assertEquals(2, statistics.getEntryCount());
+		assertEquals(20, statistics.getByteSize());
+		assertEquals(1, statistics.getEvictionCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsed() {
+		DataSetCacheMap map = new DataSetCacheMap(0, 2);
+		map.put(newKey("1"), new MemoryDataSetCacheObject(10), 10, 0, 0);
+		IDataSetCacheObject object2 = new MemoryDataSetCacheObject(10);
+		map.put(newKey("2"), object2, 10, 0, 0);
+		map.get(newKey("1"));
+		Map<DataSourceAndDataSet, IDataSetCacheObject> removed = map.put(newKey("3"),
+				new MemoryDataSetCacheObject(10), 10, 0, 0);
+
+		assertSame(object2, removed.get(newKey("2")));
+		assertTrue(map.get(newKey("1")) != null);
+	}
+
+	@Test
+	public void testByteBudget() {
+		DataSetCacheMap map = new DataSetCacheMap(100, 0);
+		map.put(newKey("1"), new MemoryDataSetCacheObject(10), 60, 0, 0);
+		assertEquals(1, map.put(newKey("2"), new MemoryDataSetCacheObject(10), 60, 0, 0).size());
+
+		// the entry just put is kept even if it is larger than the budget
+		IDataSetCacheObject large = new MemoryDataSetCacheObject(10);
+		assertEquals(1, map.put(newKey("3"), large, 200, 0, 0).size());
+		assertSame(large, map.get(newKey("3")));
+		assertEquals(200, map.getStatistics().getByteSize());
+
+		// replacing an entry returns the replaced object
+		IDataSetCacheObject replacing = new MemoryDataSetCacheObject(10);
+		Map<DataSourceAndDataSet, IDataSetCacheObject> removed = map.put(newKey("3"), replacing, 50, 0, 0);
+		assertSame(large, removed.get(newKey("3")));
+		assertEquals(50, map.getStatistics().getByteSize());
+	}
+
+	@Test
+	public void testSetLimits() {
+		DataSetCacheMap map = new DataSetCacheMap(0, 0);
+		for (int i = 0; i < 5; i++) {
+			map.put(newKey(String.valueOf(i)), new MemoryDataSetCacheObject(10), 10, 0, 0);
+		}
+		assertEquals(3, map.setLimits(0, 2).size());
+		assertEquals(2, map.getStatistics().getEntryCount());
+	}
+
+	@Test
+	public void testExpiration() throws InterruptedException {
+		DataSetCacheMap map = new DataSetCacheMap(0, 0);
+		IDataSetCacheObject object = new MemoryDataSetCacheObject(10);
+		map.put(newKey("1"), object, 10, 1, 0);
+		map.put(newKey("2"), new MemoryDataSetCacheObject(10), 10, 0, 0);
+		Thread.sleep(10);
+
+		assertSame(object, map.removeExpired(newKey("1")));
+		assertNull(map.removeExpired(newKey("2")));
+		assertNull(map.get(newKey("1")));
+		assertEquals(1, map.getStatistics().getExpirationCount());
+		assertEquals(10, map.getStatistics().getByteSize());
+	}
+
+	@Test
+	public void testRefresh() throws InterruptedException {
+		DataSetCacheMap map = new DataSetCacheMap(0, 0);
+		map.put(newKey("1"), new MemoryDataSetCacheObject(10), 10, 0, 1);
+		map.put(newKey("2"), new MemoryDataSetCacheObject(10), 10, 0, 0);
+		Thread.sleep(10);
+
+		assertTrue(map.needsRefresh(newKey("1")));
+		assertFalse(map.needsRefresh(newKey("2")));
+		assertFalse(map.needsRefresh(newKey("3")));
+	}
+}
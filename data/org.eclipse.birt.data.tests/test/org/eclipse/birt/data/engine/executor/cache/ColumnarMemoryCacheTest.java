@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.executor.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.birt.core.data.DataType;
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.executor.ResultClass;
+import org.eclipse.birt.data.engine.executor.ResultFieldMetadata;
+import org.eclipse.birt.data.engine.executor.ResultObject;
+import org.eclipse.birt.data.engine.odi.IResultClass;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the columnar storage of ColumnarMemoryCache
+ */
+public class ColumnarMemoryCacheTest {
+	private IResultClass resultClass;
+
+	@Before
+	public void columnarMemoryCacheSetUp() throws DataException {
+		List columnsList = new ArrayList();
+		columnsList.add(new ResultFieldMetadata(1, "id", "id", DataType.getClass(DataType.INTEGER_TYPE), "Integer",
+				true));
+		columnsList.add(new ResultFieldMetadata(2, "amount", "amount", DataType.getClass(DataType.DOUBLE_TYPE),
+				"Double", true));
+		columnsList.add(new ResultFieldMetadata(3, "name", "name", DataType.getClass(DataType.STRING_TYPE),
+				"String", true));
+		columnsList.add(new ResultFieldMetadata(4, "time", "time", Timestamp.class, "Timestamp", true));
+		resultClass = new ResultClass(columnsList);
+	}
+
+	private IResultObject newRow(Object id, Object amount, Object name, Object time) {
+		return new ResultObject(resultClass, new Object[] { id, amount, name, time });
+	}
+
+	/**
+	 * Test that the fields after the last field of a short row are null
+	 */
+	@Test
+	public void testShortRows() throws DataException {
+		List columnsList = new ArrayList();
+		columnsList.add(new ResultFieldMetadata(1, "id", "id", DataType.getClass(DataType.INTEGER_TYPE), "Integer",
+				true));
+		IResultClass shortResultClass = new ResultClass(columnsList);
+
+		ColumnarRowBuffer buffer = new ColumnarRowBuffer(resultClass);
+		buffer.add(newRow(Integer.valueOf(1), Double.valueOf(1.5), "abc", new Timestamp(1000000L)));
+		buffer.add(new ResultObject(shortResultClass, new Object[] { Integer.valueOf(2) }));
+
+		ColumnarMemoryCache cache = new ColumnarMemoryCache(buffer, resultClass, null);
+		assertEquals(2, cache.getCount());
+		cache.fetch();
+		IResultObject row = cache.fetch();
+		assertEquals(Integer.valueOf(2), row.getFieldValue(1));
+		assertNull(row.getFieldValue(2));
+		assertNull(row.getFieldValue(3));
+		assertNull(row.getFieldValue(4));
+	}
+
+	/**
+	 * Test that values, including nulls, are returned unchanged
+	 */
+	@Test
+	public void testValues() throws DataException {
+		assertTrue(ColumnarRowBuffer.isApplicable(resultClass));
+
+		Timestamp time = new Timestamp(1000000L);
+		time.setNanos(123456789);
+		ColumnarRowBuffer buffer = new ColumnarRowBuffer(resultClass);
+		buffer.add(newRow(Integer.valueOf(1), Double.valueOf(1.5), "abc", time));
+		buffer.add(newRow(null, null, null, null));
+		buffer.add(newRow(Integer.valueOf(3), Double.valueOf(-2), "abc", null));
+
+		ColumnarMemoryCache cache = new ColumnarMemoryCache(buffer, resultClass, null);
+		assertEquals(3, cache.getCount());
+
+		IResultObject row = cache.fetch();
+		assertEquals(Integer.valueOf(1), row.getFieldValue(1));
+		assertEquals(Double.valueOf(1.5), row.getFieldValue("amount"));
+		assertEquals("abc", row.getFieldValue(3));
+		assertEquals(time, row.getFieldValue(4));
+		assertEquals(123456789, ((Timestamp) row.getFieldValue(4)).getNanos());
+
+		row = cache.fetch();
+		for (int i = 1; i <= 4; i++) {
+			assertNull(row.getFieldValue(i));
+		}
+
+		row = cache.fetch();
+		assertEquals(Integer.valueOf(3), row.getFieldValue(1));
+		assertEquals("abc", row.getFieldValue(3));
+		assertNull(row.getFieldValue(4));
+
+		assertNull(cache.fetch());
+		cache.moveTo(1);
+		assertNull(cache.getCurrentResult().getFieldValue(1));
+	}
+
+	/**
+	 * Test that a value of an unexpected class is kept as is
+	 */
+	@Test
+	public void testUnexpectedValueClass() throws DataException {
+		ColumnarRowBuffer buffer = new ColumnarRowBuffer(resultClass);
+		buffer.add(newRow(Integer.valueOf(1), Double.valueOf(1), "a", null));
+		buffer.add(newRow(Integer.valueOf(2), new BigDecimal("2.25"), "b", null));
+
+		assertEquals(Double.valueOf(1), buffer.getResultObject(0).getFieldValue(2));
+		assertEquals(new BigDecimal("2.25"), buffer.getResultObject(1).getFieldValue(2));
+	}
+
+	/**
+	 * Test that a columnar row and a result object with the same values are equal
+	 * in either order
+	 */
+	@Test
+	public void testEquals() throws DataException {
+		ColumnarRowBuffer buffer = new ColumnarRowBuffer(resultClass);
+		IResultObject row = newRow(Integer.valueOf(1), Double.valueOf(1.5), "a", new Timestamp(1000L));
+		IResultObject nullRow = newRow(Integer.valueOf(2), null, "b", null);
+		buffer.add(row);
+		buffer.add(nullRow);
+
+		IResultObject columnarRow = buffer.getResultObject(0);
+		assertTrue(columnarRow.equals(row));
+		assertTrue(row.equals(columnarRow));
+		assertEquals(row.hashCode(), columnarRow.hashCode());
+		assertTrue(columnarRow.equals(buffer.getResultObject(0)));
+		assertEquals(columnarRow.hashCode(), buffer.getResultObject(0).hashCode());
+
+		IResultObject columnarNullRow = buffer.getResultObject(1);
+		assertTrue(columnarNullRow.equals(nullRow));
+		assertTrue(nullRow.equals(columnarNullRow));
+		assertFalse(columnarRow.equals(nullRow));
+		assertFalse(nullRow.equals(columnarRow));
+		assertFalse(columnarRow.equals(columnarNullRow));
+	}
+
+	/**
+	 * Test that values set on a result object are written to the buffer
+	 */
+	@Test
+	public void testSetCustomFieldValue() throws DataException {
+		ColumnarRowBuffer buffer = new ColumnarRowBuffer(resultClass);
+		buffer.add(newRow(Integer.valueOf(1), Double.valueOf(1), "a", null));
+
+		buffer.getResultObject(0).setCustomFieldValue("name", "changed");
+		buffer.getResultObject(0).setCustomFieldValue(1, null);
+
+		assertEquals("changed", buffer.getResultObject(0).getFieldValue(3));
+		assertNull(buffer.getResultObject(0).getFieldValue(1));
+	}
+
+	/**
+	 * Test that sorting is stable and keeps the cells of a row together
+	 */
+	@Test
+	public void testSort() throws DataException {
+		ColumnarRowBuffer buffer = new ColumnarRowBuffer(resultClass);
+		int rowCount = 2000;
+		for (int i = 0; i < rowCount; i++) {
+			buffer.add(newRow(Integer.valueOf(i), Double.valueOf(i % 7), "name" + i, null));
+		}
+
+		ColumnarMemoryCache cache = new ColumnarMemoryCache(buffer, resultClass, new Comparator() {
+
+			@Override
+			public int compare(Object o1, Object o2) {
+				try {
+					return ((Double) ((IResultObject) o1).getFieldValue(2))
+							.compareTo((Double) ((IResultObject) o2).getFieldValue(2));
+				} catch (DataException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+
+		double lastAmount = -1;
+		int lastId = -1;
+		int count = 0;
+		while (cache.next()) {
+			IResultObject row = cache.getCurrentResult();
+			double amount = ((Double) row.getFieldValue(2)).doubleValue();
+			int id = ((Integer) row.getFieldValue(1)).intValue();
+			assertEquals(id % 7, (int) amount);
+			assertEquals("name" + id, row.getFieldValue(3));
+			assertTrue(amount >= lastAmount);
+			if (amount == lastAmount) {
+				assertTrue(id > lastId);
+			}
+			lastAmount = amount;
+			lastId = id;
+			count++;
+		}
+		assertEquals(rowCount, count);
+		assertFalse(cache.next());
+	}
+
+	/**
+	 * Test that the columnar storage needs less memory than result objects
+	 */
+	@Test
+	public void testMemorySize() throws DataException {
+		ColumnarRowBuffer buffer = new ColumnarRowBuffer(resultClass);
+		SizeOfUtil sizeOfUtil = new SizeOfUtil(resultClass);
+		long objectSize = 0;
+		for (int i = 0; i < 10000; i++) {
+			IResultObject row = newRow(Integer.valueOf(i), Double.valueOf(i), "name" + (i % 10),
+					new Timestamp(i));
+			objectSize += sizeOfUtil.sizeOf(row);
+			buffer.add(row);
+		}
+		assertTrue(buffer.getMemorySize() < objectSize);
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.executor.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.birt.core.data.DataType;
+import org.eclipse.birt.data.engine.api.DataEngine;
+import org.eclipse.birt.data.engine.api.IResultIterator;
+import org.eclipse.birt.data.engine.api.ISortDefinition;
+import org.eclipse.birt.data.engine.api.querydefn.Binding;
+import org.eclipse.birt.data.engine.api.querydefn.ColumnDefinition;
+import org.eclipse.birt.data.engine.api.querydefn.QueryDefinition;
+import org.eclipse.birt.data.engine.api.querydefn.ScriptDataSetDesign;
+import org.eclipse.birt.data.engine.api.querydefn.ScriptDataSourceDesign;
+import org.eclipse.birt.data.engine.api.querydefn.ScriptExpression;
+import org.eclipse.birt.data.engine.api.querydefn.SortDefinition;
+import org.eclipse.birt.data.engine.regre.SortTest;
+import org.junit.Test;
+
+/**
+ * Test sorting on disk with several sort threads
+ */
+public class ParallelCacheSortTest extends SortTest {
+	// enough rows to be sorted in many runs, which are merged in several levels
+	private static final int ROW_COUNT = 5000;
+
+	@Override
+	protected Map getAppContext() {
+		Map appContext = new HashMap();
+		appContext.put("birt.data.engine.test.memcachesize", "20000");
+		appContext.put(DataEngine.SORT_PARALLELISM, "4");
+		return appContext;
+	}
+
+	/**
+	 * Sort the rows of a scripted data set which do not fit in the memory buffer.
+	 * The values are a permutation of the row numbers, so that no two rows are
+	 * equal on the sort keys.
+	 *
+	 * @param parallelism
+	 * @return the sorted rows
+	 * @throws Exception
+	 */
+	private List<String> sort(String parallelism) throws Exception {
+		ScriptDataSourceDesign scriptSource = new ScriptDataSourceDesign("scriptSource");
+		ScriptDataSetDesign scriptSet = new ScriptDataSetDesign("manyRows");
+		scriptSet.setDataSource("scriptSource");
+		scriptSet.addResultSetHint(new ColumnDefinition("GROUP"));
+		scriptSet.addResultSetHint(new ColumnDefinition("NAME"));
+		scriptSet.setOpenScript("i = 0;");
+		scriptSet.setFetchScript("if (i >= " + ROW_COUNT + ") return false; row.GROUP = i % 7; "
+				+ "row.NAME = \"n\" + (i * 7919 % " + ROW_COUNT + "); i++; return true;");
+		dataEngine.defineDataSource(scriptSource);
+		dataEngine.defineDataSet(scriptSet);
+
+		QueryDefinition qd = new QueryDefinition();
+		qd.setDataSetName("manyRows");
+		qd.addBinding(new Binding("GROUP", new ScriptExpression("dataSetRow.GROUP", DataType.INTEGER_TYPE)));
+		qd.addBinding(new Binding("NAME", new ScriptExpression("dataSetRow.NAME", DataType.STRING_TYPE)));
+		SortDefinition groupSort = new SortDefinition();
+		groupSort.setExpression("dataSetRow.GROUP");
+		groupSort.setSortDirection(ISortDefinition.SORT_DESC);
+		qd.addSort(groupSort);
+		SortDefinition nameSort = new SortDefinition();
+		nameSort.setExpression("dataSetRow.NAME");
+		nameSort.setSortDirection(ISortDefinition.SORT_ASC);
+		qd.addSort(nameSort);
+
+		Map appContext = new HashMap();
+		appContext.put("birt.data.engine.test.memcachesize", "20000");
+		appContext.put(DataEngine.SORT_PARALLELISM, parallelism);
+		IResultIterator ri = dataEngine.prepare(qd, appContext).execute(null).getResultIterator();
+		List<String> rows = new ArrayList<>();
+		while (ri.next()) {
+			rows.add(ri.getInteger("GROUP") + "|" + ri.getString("NAME"));
+		}
+		ri.close();
+		return rows;
+	}
+
+	@Test
+	public void testSortManyRuns() throws Exception {
+		List<String> expected = sort("1");
+		assertEquals(ROW_COUNT, expected.size());
+		for (int i = 1; i < expected.size(); i++) {
+			String[] previous = expected.get(i - 1).split("\\|");
+			String[] current = expected.get(i).split("\\|");
+			int groupOrder = Integer.parseInt(current[0]) - Integer.parseInt(previous[0]);
+			assertTrue(groupOrder < 0 || groupOrder == 0 && previous[1].compareTo(current[1]) < 0);
+		}
+		assertEquals(expected, sort("4"));
+	}
+
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.executor.cache.disk;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test the compression of the blocks of temporary data files.
+ */
+public class BlockCodecTest {
+
+	private static byte[] roundTrip(byte[] src) throws IOException {
+		byte[] compressed = new byte[src.length + src.length / 255 + 16];
+		int compressedLength = new BlockCodec().compress(src, src.length, compressed);
+		assertTrue(compressedLength >= 0);
+		byte[] result = new byte[src.length];
+		BlockCodec.decompress(compressed, compressedLength, result, src.length);
+		return result;
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		Random random = new Random(0);
+		// empty, short, random, repetitive and long run data
+		byte[][] inputs = new byte[5][];
+		inputs[0] = new byte[0];
+		inputs[1] = new byte[] { 1, 2, 3 };
+		inputs[2] = new byte[70000];
+		random.nextBytes(inputs[2]);
+		inputs[3] = new byte[DataFileWriter.BLOCK_SIZE];
+		for (int i = 0; i < inputs[3].length; i++) {
+			inputs[3][i] = (byte) ("row" + (i / 20 % 7)).charAt(i % 4);
+		}
+		inputs[4] = new byte[5000];
+		Arrays.fill(inputs[4], (byte) 7);
+		for (int i = 0; i < inputs.length; i++) {
+			assertArrayEquals(inputs[i], roundTrip(inputs[i]));
+		}
+	}
+
+	@Test
+	public void testCompressRepetitiveData() {
+		byte[] src = new byte[DataFileWriter.BLOCK_SIZE];
+		for (int i = 0; i < src.length; i++) {
+			src[i] = (byte) (i % 16);
+		}
+		byte[] compressed = new byte[src.length];
+		int compressedLength = new BlockCodec().compress(src, src.length, compressed);
+		assertTrue(compressedLength > 0 && compressedLength < src.length / 10);
+	}
+
+	@Test
+	public void testCorruptData() {
+		byte[] src = new byte[1000];
+		Arrays.fill(src, (byte) 3);
+		byte[] compressed = new byte[src.length];
+		int compressedLength = new BlockCodec().compress(src, src.length, compressed);
+		try {
+			BlockCodec.decompress(compressed, compressedLength, new byte[src.length], src.length - 1);
+			fail();
+		} catch (IOException e) {
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.executor.cache.disk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.birt.core.data.DataType;
+import org.eclipse.birt.data.engine.api.DataEngine;
+import org.eclipse.birt.data.engine.api.DataEngineContext;
+import org.eclipse.birt.data.engine.executor.ResultClass;
+import org.eclipse.birt.data.engine.executor.ResultFieldMetadata;
+import org.eclipse.birt.data.engine.executor.ResultObject;
+import org.eclipse.birt.data.engine.executor.cache.ResultObjectUtil;
+import org.eclipse.birt.data.engine.impl.DataEngineImpl;
+import org.eclipse.birt.data.engine.odi.IResultClass;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import testutil.BaseTestCase;
+
+/**
+ * Test seeking in the block data files of the disk cache.
+ */
+public class DataFileReaderTest extends BaseTestCase {
+	// enough rows for several blocks
+	private static final int ROW_COUNT = 5000;
+
+	private DataEngineImpl engine;
+	private IResultClass resultClass;
+	private ResultObjectUtil resultObjectUtil;
+	private File file;
+
+	@Before
+	public void dataFileReaderSetUp() throws Exception {
+		DataEngineContext context = DataEngineContext.newInstance(DataEngineContext.DIRECT_PRESENTATION, null, null,
+				null);
+		context.setTmpdir(getTempDir());
+		engine = (DataEngineImpl) DataEngine.newDataEngine(context);
+		List columnsList = new ArrayList();
+		columnsList.add(new ResultFieldMetadata(1, "id", "id", DataType.getClass(DataType.INTEGER_TYPE), "Integer",
+				true));
+		columnsList.add(new ResultFieldMetadata(2, "name", "name", DataType.getClass(DataType.STRING_TYPE),
+				"String", true));
+		resultClass = new ResultClass(columnsList);
+		resultObjectUtil = ResultObjectUtil.newInstance(resultClass, engine.getSession());
+		file = File.createTempFile("rows", ".data", new File(getTempDir()));
+	}
+
+	@After
+	public void dataFileReaderTearDown() {
+		file.delete();
+		engine.shutdown();
+	}
+
+	private IResultObject newRow(int id) {
+		return new ResultObject(resultClass, new Object[] { Integer.valueOf(id), "name of row " + id });
+	}
+
+	private static void assertRow(int id, IResultObject row) throws Exception {
+		assertEquals(Integer.valueOf(id), row.getFieldValue(1));
+		assertEquals("name of row " + id, row.getFieldValue(2));
+	}
+
+	@Test
+	public void testSeek() throws Exception {
+		DataFileWriter writer = DataFileWriter.newInstance(file, resultObjectUtil);
+		for (int i = 0; i < ROW_COUNT; i++) {
+			writer.write(new IResultObject[] { newRow(i) }, 1);
+		}
+		writer.close();
+
+		DataFileReader reader = DataFileReader.newInstance(file, resultObjectUtil);
+		int[] positions = { 4000, 0, ROW_COUNT - 1, 1, 2500, 2499 };
+		for (int i = 0; i < positions.length; i++) {
+			reader.seek(positions[i]);
+			assertRow(positions[i], reader.read(1)[0]);
+		}
+		reader.seek(10);
+		IResultObject[] rows = reader.read(3000);
+		for (int i = 0; i < rows.length; i++) {
+			assertRow(10 + i, rows[i]);
+		}
+		reader.close();
+	}
+
+	@Test
+	public void testRowFileMoveTo() throws Exception {
+		int cacheSize = 10;
+		RowFile rowFile = new RowFile(file, resultObjectUtil, cacheSize);
+		for (int i = 0; i < ROW_COUNT; i++) {
+			rowFile.write(newRow(i));
+		}
+		rowFile.endWrite();
+		rowFile.reset();
+
+		// move back and forth across the end of the cached rows
+		int[] positions = { 4000, 5, cacheSize - 1, 3000, 0, cacheSize, cacheSize - 2 };
+		for (int i = 0; i < positions.length; i++) {
+			rowFile.moveTo(positions[i]);
+			for (int j = positions[i]; j < positions[i] + 4; j++) {
+				assertRow(j, rowFile.fetch());
+			}
+		}
+		rowFile.moveTo(ROW_COUNT - 1);
+		assertRow(ROW_COUNT - 1, rowFile.fetch());
+		assertNull(rowFile.fetch());
+		rowFile.close();
+	}
+
+	@Test
+	public void testStopWrite() throws Exception {
+		IResultObject[] rows = new IResultObject[100];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = newRow(i);
+		}
+		engine.getSession().getStopSign().stop();
+		DataFileWriter writer = DataFileWriter.newInstance(file, resultObjectUtil);
+		writer.write(rows, rows.length);
+		writer.close();
+
+		// the rows after the stop are not written
+		DataFileReader reader = DataFileReader.newInstance(file, resultObjectUtil);
+		assertRow(0, reader.read(1)[0]);
+		try {
+			reader.read(1);
+			fail();
+		} catch (EOFException e) {
+			// expected
+		}
+		reader.close();
+	}
+
+	@Test
+	public void testDeleteAfterClose() throws Exception {
+		DataFileWriter writer = DataFileWriter.newInstance(file, resultObjectUtil);
+		for (int i = 0; i < ROW_COUNT; i++) {
+			writer.write(new IResultObject[] { newRow(i) }, 1);
+		}
+		writer.close();
+
+		DataFileReader reader = DataFileReader.newInstance(file, resultObjectUtil);
+		reader.seek(ROW_COUNT - 1);
+		assertRow(ROW_COUNT - 1, reader.read(1)[0]);
+		reader.close();
+
+		// the mapped regions are released with the reader
+		assertTrue(file.delete());
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.expression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.birt.core.data.DataType;
+import org.eclipse.birt.core.script.ScriptContext;
+import org.eclipse.birt.data.engine.executor.ResultClass;
+import org.eclipse.birt.data.engine.executor.ResultFieldMetadata;
+import org.eclipse.birt.data.engine.executor.ResultObject;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Test the expressions evaluated without Rhino
+ */
+public class JavaExpressionCompilerTest {
+
+	private ExpressionCompiler compiler;
+	private ScriptContext cx;
+	private Scriptable scope;
+	private ResultClass resultClass;
+
+	@Before
+	public void javaExpressionCompilerSetUp() throws Exception {
+		compiler = new ExpressionCompiler();
+		cx = new ScriptContext();
+		cx.compile("javascript", null, 0, "1 == 1;");
+		scope = Context.getCurrentContext().initStandardObjects();
+
+		List columnsList = new ArrayList();
+		columnsList.add(new ResultFieldMetadata(1, "id", "id", DataType.getClass(DataType.INTEGER_TYPE), "Integer",
+				true));
+		columnsList.add(new ResultFieldMetadata(2, "amount", "amount", DataType.getClass(DataType.DOUBLE_TYPE),
+				"Double", true));
+		columnsList.add(new ResultFieldMetadata(3, "name", "name", DataType.getClass(DataType.STRING_TYPE),
+				"String", true));
+		columnsList.add(new ResultFieldMetadata(4, "time", "time", Timestamp.class, "Timestamp", true));
+		resultClass = new ResultClass(columnsList);
+	}
+
+	@After
+	public void javaExpressionCompilerTearDown() throws Exception {
+		cx.close();
+	}
+
+	private IResultObject newRow(Object id, Object amount, Object name) {
+		return new ResultObject(resultClass, new Object[] { id, amount, name, null });
+	}
+
+	private Object evaluate(String expression, IResultObject row) throws Exception {
+		CompiledExpression expr = compiler.compile(expression, null, cx);
+		assertTrue(expr instanceof ComplexExpression);
+		assertTrue(expression, ((ComplexExpression) expr).hasJavaExpression());
+		return ((ComplexExpression) expr).evaluate(row, cx, scope);
+	}
+
+	private void assertNotCompiled(String expression) {
+		CompiledExpression expr = compiler.compile(expression, null, cx);
+		assertFalse(expression,
+				expr instanceof ComplexExpression && ((ComplexExpression) expr).hasJavaExpression());
+	}
+
+	@Test
+	public void testArithmetic() throws Exception {
+		IResultObject row = newRow(Integer.valueOf(3), Double.valueOf(2.5), "abc");
+		assertEquals(Double.valueOf(5.5), evaluate("row[\"id\"] + row.amount", row));
+		assertEquals(Double.valueOf(7.5), evaluate("row[1] * row[2]", row));
+		assertEquals(Double.valueOf(1), evaluate("row.id % 2", row));
+		assertEquals(Double.valueOf(-3), evaluate("-row.id", row));
+		assertEquals(Double.valueOf(Double.POSITIVE_INFINITY), evaluate("row.id / 0", row));
+		assertTrue(Double.isNaN(((Double) evaluate("row.name - 1", row)).doubleValue()));
+	}
+
+	@Test
+	public void testConcatenation() throws Exception {
+		IResultObject row = newRow(Integer.valueOf(3), Double.valueOf(2.5), "abc");
+		assertEquals("abc3", evaluate("row.name + row.id", row));
+		assertEquals("3abc", evaluate("row.id + row.name", row));
+		assertEquals("2.5-3", evaluate("row.amount + \"-\" + row.id", row));
+		assertEquals("abcnull", evaluate("row.name + null", row));
+	}
+
+	@Test
+	public void testComparison() throws Exception {
+		IResultObject row = newRow(Integer.valueOf(3), Double.valueOf(3), "abc");
+		assertEquals(Boolean.TRUE, evaluate("row.id == row.amount", row));
+		assertEquals(Boolean.FALSE, evaluate("row.id != row.amount", row));
+		assertEquals(Boolean.TRUE, evaluate("row.id == \"3\"", row));
+		assertEquals(Boolean.FALSE, evaluate("row.id === \"3\"", row));
+		assertEquals(Boolean.TRUE, evaluate("row.name < \"abd\"", row));
+		assertEquals(Boolean.TRUE, evaluate("row.id >= 3 && row.amount <= 3", row));
+		assertEquals(Boolean.FALSE, evaluate("row.id > 3", row));
+		assertEquals(Boolean.FALSE, evaluate("row.name > 1", row));
+	}
+
+	@Test
+	public void testNullAndLogic() throws Exception {
+		IResultObject row = newRow(null, Double.valueOf(2), "abc");
+		assertEquals(Boolean.TRUE, evaluate("row.id == null", row));
+		assertEquals(Boolean.TRUE, evaluate("!row.id", row));
+		assertEquals(Double.valueOf(2), evaluate("row.id || row.amount", row));
+		assertNull(evaluate("row.id && row.amount", row));
+		assertEquals("none", evaluate("row.id == null ? \"none\" : row.name", row));
+		assertEquals(Double.valueOf(2), evaluate("row.id + 2", row));
+	}
+
+	@Test
+	public void testNotCompiled() throws Exception {
+		assertNotCompiled("row._rowPosition + 1");
+		assertNotCompiled("row[0] + 1");
+		assertNotCompiled("row.id + x");
+		assertNotCompiled("new Date() > row.time");
+		assertNotCompiled("row.name.length + 1");
+		assertNotCompiled("Math.max(row.id, 1)");
+		assertNotCompiled("var a = row.id; a + 1");
+	}
+}
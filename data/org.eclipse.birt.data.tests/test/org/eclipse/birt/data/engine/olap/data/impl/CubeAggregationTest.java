@@ -14,14 +14,19 @@
 
 package org.eclipse.birt.data.engine.olap.data.impl;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.birt.core.archive.IDocArchiveWriter;
 import org.eclipse.birt.core.archive.compound.ArchiveFile;
@@ -61,6 +66,8 @@ import org.eclipse.birt.data.engine.olap.data.api.cube.IHierarchy;
 import org.eclipse.birt.data.engine.olap.data.api.cube.ILevelDefn;
 import org.eclipse.birt.data.engine.olap.data.document.DocumentManagerFactory;
 import org.eclipse.birt.data.engine.olap.data.document.IDocumentManager;
+import org.eclipse.birt.data.engine.olap.data.impl.aggregation.AggregationResultSet;
+import org.eclipse.birt.data.engine.olap.data.impl.aggregation.AggregationResultSetCache;
 import org.eclipse.birt.data.engine.olap.data.impl.aggregation.filter.LevelFilter;
 import org.eclipse.birt.data.engine.olap.data.impl.dimension.Dimension;
 import org.eclipse.birt.data.engine.olap.data.impl.dimension.DimensionFactory;
@@ -437,6 +444,278 @@ public class CubeAggregationTest extends BaseTestCase {
 		}
 	}
 
+	/**
+	 * The segments of the fact table are scanned concurrently when the
+	 * aggregation parallelism is greater than 1, with the same result.
+	 */
+	@Test
+	public void testCube1ParallelAggregation() throws IOException, DataException, BirtException {
+		AggregationFunctionDefinition[] sumFunctions = {
+				new AggregationFunctionDefinition("measure1", IBuildInAggregation.TOTAL_SUM_FUNC) };
+		AggregationFunctionDefinition[] mixedFunctions = {
+				new AggregationFunctionDefinition("measure1", IBuildInAggregation.TOTAL_MAX_FUNC),
+				new AggregationFunctionDefinition(null, "measure1", new DimLevel("dimension1", "level12"), "col12",
+						IBuildInAggregation.TOTAL_WEIGHTEDAVE_FUNC) };
+		int[] sortType = { IDimensionSortDefn.SORT_ASC };
+		AggregationDefinition[][] aggregations = {
+				{ new AggregationDefinition(new DimLevel[] { dimLevel21 }, sortType, sumFunctions),
+						new AggregationDefinition(new DimLevel[] { dimLevel31 }, sortType, sumFunctions),
+						new AggregationDefinition(null, null, sumFunctions) },
+				{ new AggregationDefinition(new DimLevel[] { dimLevel21 }, sortType, mixedFunctions),
+						new AggregationDefinition(new DimLevel[] { dimLevel31 }, sortType, mixedFunctions) } };
+
+		for (int i = 0; i < aggregations.length; i++) {
+			IAggregationResultSet[] expected = executeCube1Aggregation(aggregations[i], null);
+			Map appContext = new HashMap();
+			appContext.put(DataEngine.AGGREGATION_PARALLELISM, "4");
+			IAggregationResultSet[] resultSet = executeCube1Aggregation(aggregations[i], appContext);
+			assertSameAggregationResult(expected, resultSet);
+			if (i == 0) {
+				resultSet[0].seek(0);
+				assertEquals(new Double(6), resultSet[0].getAggregationValue(0));
+				resultSet[0].seek(1);
+				assertEquals(new Double(22), resultSet[0].getAggregationValue(0));
+				resultSet[2].seek(0);
+				assertEquals(new Double(28), resultSet[2].getAggregationValue(0));
+			}
+			for (int j = 0; j < resultSet.length; j++) {
+				expected[j].close();
+				resultSet[j].close();
+			}
+		}
+	}
+
+	private IAggregationResultSet[] executeCube1Aggregation(AggregationDefinition[] aggregations, Map appContext)
+			throws IOException, DataException, BirtException {
+		CubeQueryExecutorHelper cubeQueryExcutorHelper = new CubeQueryExecutorHelper(
+				CubeQueryExecutorHelper.loadCube("cube1", documentManager, new StopSign()));
+		cubeQueryExcutorHelper.setAppContext(appContext);
+		ISelection[] filter = { SelectionFactory.createRangeSelection(new Object[] { "1" }, new Object[] { "3" },
+				true, false) };
+		cubeQueryExcutorHelper.addFilter(new LevelFilter(dimLevel21, filter));
+		return cubeQueryExcutorHelper.execute(aggregations, new StopSign());
+	}
+
+	/**
+	 * The fact table of cube3 has several segments, which are scanned by
+	 * different threads and merged in the order of the segments.
+	 */
+	@Test
+	public void testMultiSegmentParallelAggregation() throws IOException, DataException, BirtException {
+		createCube3();
+		Cube cube = (Cube) CubeQueryExecutorHelper.loadCube("cube3", documentManager, new StopSign());
+		assertTrue(cube.getFactTable().getSegmentCount() > 1);
+		cube.close();
+
+		DimLevel dimLevel41 = new DimLevel("dimension4", "level41");
+		DimLevel dimLevel42 = new DimLevel("dimension4", "level42");
+		DimLevel dimLevel51 = new DimLevel("dimension5", "level51");
+		String[] functionNames = { IBuildInAggregation.TOTAL_SUM_FUNC, IBuildInAggregation.TOTAL_COUNT_FUNC,
+				IBuildInAggregation.TOTAL_MAX_FUNC, IBuildInAggregation.TOTAL_MIN_FUNC,
+				IBuildInAggregation.TOTAL_FIRST_FUNC, IBuildInAggregation.TOTAL_LAST_FUNC };
+		AggregationFunctionDefinition[] functions = new AggregationFunctionDefinition[functionNames.length];
+		for (int i = 0; i < functions.length; i++) {
+			functions[i] = new AggregationFunctionDefinition("measure1", functionNames[i]);
+		}
+		int[] sortType = { IDimensionSortDefn.SORT_ASC };
+		AggregationDefinition[] aggregations = {
+				new AggregationDefinition(new DimLevel[] { dimLevel41 }, sortType, functions),
+				new AggregationDefinition(new DimLevel[] { dimLevel51 }, new int[] { IDimensionSortDefn.SORT_DESC },
+						functions),
+				new AggregationDefinition(new DimLevel[] { dimLevel42, dimLevel51 },
+						new int[] { IDimensionSortDefn.SORT_ASC, IDimensionSortDefn.SORT_ASC }, functions),
+				new AggregationDefinition(null, null, functions) };
+
+		for (int i = 0; i < 2; i++) {
+			// the second time only the rows of some members are aggregated
+			ISelection[] filter = i == 0 ? null
+					: new ISelection[] { SelectionFactory.createRangeSelection(new Object[] { Integer.valueOf(10) },
+							new Object[] { Integer.valueOf(40) }, true, false) };
+			IAggregationResultSet[] expected = executeCube3Aggregation(aggregations, filter, null);
+			expected[3].seek(0);
+			assertEquals(i == 0 ? MultiSegmentFactTable.ROW_COUNT : 30 * MultiSegmentFactTable.DIM4_LENGTH,
+					((Number) expected[3].getAggregationValue(1)).intValue());
+			Map appContext = new HashMap();
+			appContext.put(DataEngine.AGGREGATION_PARALLELISM, "4");
+			IAggregationResultSet[] resultSet = executeCube3Aggregation(aggregations, filter, appContext);
+			assertSameAggregationResult(expected, resultSet);
+			for (int j = 0; j < resultSet.length; j++) {
+				expected[j].close();
+				resultSet[j].close();
+			}
+		}
+	}
+
+	private IAggregationResultSet[] executeCube3Aggregation(AggregationDefinition[] aggregations,
+			ISelection[] filter, Map appContext) throws IOException, DataException, BirtException {
+		CubeQueryExecutorHelper cubeQueryExcutorHelper = new CubeQueryExecutorHelper(
+				CubeQueryExecutorHelper.loadCube("cube3", documentManager, new StopSign()));
+		cubeQueryExcutorHelper.setAppContext(appContext);
+		if (filter != null) {
+			cubeQueryExcutorHelper.addFilter(new LevelFilter(new DimLevel("dimension5", "level51"), filter));
+		}
+		return cubeQueryExcutorHelper.execute(aggregations, new StopSign());
+	}
+
+	private void assertSameAggregationResult(IAggregationResultSet[] expected, IAggregationResultSet[] resultSet)
+			throws IOException {
+		assertEquals(expected.length, resultSet.length);
+		for (int j = 0; j < resultSet.length; j++) {
+			assertEquals(expected[j].length(), resultSet[j].length());
+			assertEquals(expected[j].getLevelCount(), resultSet[j].getLevelCount());
+			for (int k = 0; k < resultSet[j].length(); k++) {
+				expected[j].seek(k);
+				resultSet[j].seek(k);
+				for (int m = 0; m < resultSet[j].getLevelCount(); m++) {
+					assertArrayEquals(expected[j].getLevelKeyValue(m), resultSet[j].getLevelKeyValue(m));
+				}
+				for (int m = 0; m < resultSet[j].getAggregationCount(); m++) {
+					assertEquals(expected[j].getAggregationValue(m), resultSet[j].getAggregationValue(m));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create a cube whose fact table is too big for one segment.
+	 */
+	private void createCube3() throws IOException, BirtException {
+		Dimension[] dimensions = new Dimension[2];
+
+		// dimension4
+		int[] level41 = new int[MultiSegmentFactTable.DIM4_LENGTH];
+		int[] level42 = new int[MultiSegmentFactTable.DIM4_LENGTH];
+		for (int i = 0; i < level42.length; i++) {
+			level41[i] = i / 10;
+			level42[i] = i;
+		}
+		DimensionForTest iterator = new DimensionForTest(new String[] { "col41", "col42" });
+		iterator.setLevelMember(0, level41);
+		iterator.setLevelMember(1, level42);
+		ILevelDefn[] levelDefs = { new LevelDefinition("level41", new String[] { "col41" }, null),
+				new LevelDefinition("level42", new String[] { "col42" }, null) };
+		dimensions[0] = (Dimension) DimensionFactory.createDimension("dimension4", documentManager, iterator, levelDefs,
+				false, new StopSign());
+		assertEquals(MultiSegmentFactTable.DIM4_LENGTH, dimensions[0].length());
+
+		// dimension5
+		int[] level51 = new int[MultiSegmentFactTable.DIM5_LENGTH];
+		for (int i = 0; i < level51.length; i++) {
+			level51[i] = i;
+		}
+		iterator = new DimensionForTest(new String[] { "level51" });
+		iterator.setLevelMember(0, level51);
+		levelDefs = new ILevelDefn[] { new LevelDefinition("level51", new String[] { "level51" }, null) };
+		dimensions[1] = (Dimension) DimensionFactory.createDimension("dimension5", documentManager, iterator, levelDefs,
+				false, new StopSign());
+		assertEquals(MultiSegmentFactTable.DIM5_LENGTH, dimensions[1].length());
+
+		Cube cube = new Cube("cube3", documentManager);
+		cube.create(CubeUtility.getKeyColNames(dimensions), dimensions, new MultiSegmentFactTable(),
+				new String[] { "measure1" }, new StopSign());
+		cube.close();
+		documentManager.flush();
+	}
+
+	@Test
+	public void testCube1AggregationCache() throws IOException, DataException, BirtException {
+		AggregationFunctionDefinition[] functions = {
+				new AggregationFunctionDefinition("sum", "measure1", IBuildInAggregation.TOTAL_SUM_FUNC),
+				new AggregationFunctionDefinition("count", "measure1", IBuildInAggregation.TOTAL_COUNT_FUNC),
+				new AggregationFunctionDefinition("max", "measure1", IBuildInAggregation.TOTAL_MAX_FUNC) };
+		AggregationDefinition[] fineAggregation = { new AggregationDefinition(
+				new DimLevel[] { dimLevel11, dimLevel21, dimLevel31 },
+				new int[] { IDimensionSortDefn.SORT_ASC, IDimensionSortDefn.SORT_ASC, IDimensionSortDefn.SORT_ASC },
+				functions) };
+		AggregationDefinition[] aggregations = {
+				new AggregationDefinition(new DimLevel[] { dimLevel11, dimLevel21, dimLevel31 },
+						new int[] { IDimensionSortDefn.SORT_ASC, IDimensionSortDefn.SORT_ASC,
+								IDimensionSortDefn.SORT_ASC },
+						new AggregationFunctionDefinition[] { functions[2] }),
+				new AggregationDefinition(new DimLevel[] { dimLevel21 }, new int[] { IDimensionSortDefn.SORT_ASC },
+						functions),
+				new AggregationDefinition(new DimLevel[] { dimLevel31, dimLevel11 },
+						new int[] { IDimensionSortDefn.SORT_DESC, IDimensionSortDefn.SORT_ASC },
+						new AggregationFunctionDefinition[] { functions[0], functions[1] }),
+				new AggregationDefinition(null, null, functions) };
+
+		IAggregationResultSet[] fineResultSet = executeCube1Aggregation(fineAggregation, null);
+		Cube cube = (Cube) CubeQueryExecutorHelper.loadCube("cube1", documentManager, new StopSign());
+		CubeQueryExecutorHelper cubeQueryExcutorHelper = new CubeQueryExecutorHelper(cube);
+		ISelection[] filter = { SelectionFactory.createRangeSelection(new Object[] { "1" }, new Object[] { "3" },
+				true, false) };
+		cubeQueryExcutorHelper.addFilter(new LevelFilter(dimLevel21, filter));
+		Object cubeKey = AggregationResultSetCache.getCubeKey(cube.getFactTable(),
+				cubeQueryExcutorHelper.getFilterResult());
+		AggregationResultSetCache cache = new AggregationResultSetCache();
+		cache.setMaxRows(1000);
+		assertEquals(null, cache.get(cubeKey, aggregations[1]));
+		cache.put(cubeKey, (AggregationResultSet) fineResultSet[0]);
+		fineResultSet[0].close();
+
+		// the aggregations are rolled up from the cached finer aggregation
+		IAggregationResultSet[] expected = executeCube1Aggregation(aggregations, null);
+		for (int i = 0; i < aggregations.length; i++) {
+			IAggregationResultSet resultSet = cache.get(cubeKey, aggregations[i]);
+			assertEquals(expected[i].length(), resultSet.length());
+			for (int j = 0; j < resultSet.length(); j++) {
+				expected[i].seek(j);
+				resultSet.seek(j);
+				for (int k = 0; k < resultSet.getLevelCount(); k++) {
+					assertEquals(expected[i].getLevelKeyValue(k)[0], resultSet.getLevelKeyValue(k)[0]);
+				}
+				for (int k = 0; k < resultSet.getAggregationCount(); k++) {
+					assertEquals(expected[i].getAggregationValue(k), resultSet.getAggregationValue(k));
+				}
+			}
+			expected[i].close();
+			resultSet.close();
+		}
+
+		// an aggregation of another level or of other dimension positions is not
+		// answered by the cache
+		assertEquals(null, cache.get(cubeKey, new AggregationDefinition(new DimLevel[] { dimLevel12 },
+				new int[] { IDimensionSortDefn.SORT_ASC }, functions)));
+		assertEquals(null,
+				cache.get(AggregationResultSetCache.getCubeKey(cube.getFactTable(),
+						new CubeQueryExecutorHelper(cube).getFilterResult()), aggregations[1]));
+		cache.setMaxRows(0);
+		assertEquals(null, cache.get(cubeKey, aggregations[1]));
+	}
+
+	@Test
+	public void testRAAggregationCacheKey() throws IOException, DataException, BirtException {
+		IDocArchiveWriter writer = createRAWriter();
+		materializer.saveCubeToReportDocument("cube1", writer, new StopSign());
+		writer.flush();
+		writer.finish();
+
+		// each query opens the cube of the report document with a new manager
+		IDocumentManager firstManager = createRADocumentManager();
+		Cube firstCube = (Cube) CubeQueryExecutorHelper.loadCube("cube1", firstManager, new StopSign());
+		Object firstKey = AggregationResultSetCache.getCubeKey(firstCube.getFactTable(),
+				new CubeQueryExecutorHelper(firstCube).getFilterResult());
+		firstManager.close();
+
+		IDocumentManager secondManager = createRADocumentManager();
+		Cube secondCube = (Cube) CubeQueryExecutorHelper.loadCube("cube1", secondManager, new StopSign());
+		Object secondKey = AggregationResultSetCache.getCubeKey(secondCube.getFactTable(),
+				new CubeQueryExecutorHelper(secondCube).getFilterResult());
+		assertEquals(firstKey, secondKey);
+		assertEquals(firstKey.hashCode(), secondKey.hashCode());
+		secondManager.close();
+
+		// the report document is written again under the same name
+		File document = new File(pathName + File.separator + "docForTest");
+		assertTrue(document.setLastModified(document.lastModified() + 2000));
+		IDocumentManager thirdManager = createRADocumentManager();
+		Cube thirdCube = (Cube) CubeQueryExecutorHelper.loadCube("cube1", thirdManager, new StopSign());
+		Object thirdKey = AggregationResultSetCache.getCubeKey(thirdCube.getFactTable(),
+				new CubeQueryExecutorHelper(thirdCube).getFilterResult());
+		assertFalse(firstKey.equals(thirdKey));
+		thirdManager.close();
+	}
+
 	@Test
 	public void testCube1AggregationWithFunctionFilter() throws IOException, DataException, BirtException {
 		// query
@@ -1424,6 +1703,58 @@ class TestFactTable implements IDatasetIterator {
 	}
 }
 
+/**
+ * Every combination of the members of dimension4 and dimension5, which is more
+ * than one fact table segment holds. The measure is not ordered like the
+ * members, so that FIRST and LAST depend on the order of the rows.
+ */
+class MultiSegmentFactTable implements IDatasetIterator {
+	static final int DIM4_LENGTH = 100;
+	static final int DIM5_LENGTH = 60;
+	static final int ROW_COUNT = DIM4_LENGTH * DIM5_LENGTH;
+
+	private int ptr = -1;
+
+	@Override
+	public void close() throws BirtException {
+	}
+
+	@Override
+	public int getFieldIndex(String name) throws BirtException {
+		if (name.equals("col42")) {
+			return 0;
+		} else if (name.equals("level51")) {
+			return 1;
+		} else if (name.equals("measure1")) {
+			return 2;
+		}
+		return -1;
+	}
+
+	@Override
+	public int getFieldType(String name) throws BirtException {
+		return getFieldIndex(name) < 0 ? -1 : DataType.INTEGER_TYPE;
+	}
+
+	@Override
+	public Object getValue(int fieldIndex) throws BirtException {
+		if (fieldIndex == 0) {
+			return Integer.valueOf(ptr / DIM5_LENGTH);
+		} else if (fieldIndex == 1) {
+			return Integer.valueOf(ptr % DIM5_LENGTH);
+		} else if (fieldIndex == 2) {
+			return Integer.valueOf(ptr * 7919 % 1009);
+		}
+		return null;
+	}
+
+	@Override
+	public boolean next() throws BirtException {
+		ptr++;
+		return ptr < ROW_COUNT;
+	}
+}
+
 class ComputedMeasureHelper implements IComputedMeasureHelper {
 	private MeasureInfo[] measureInfos = { new MeasureInfo("C_Measure1", DataType.INTEGER_TYPE) };
 
@@ -17,15 +17,18 @@ package org.eclipse.birt.data.engine.olap.data.impl.facttable;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
 import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.impl.StopSign;
 import org.eclipse.birt.data.engine.olap.cursor.CubeUtility;
 import org.eclipse.birt.data.engine.olap.data.api.cube.IDatasetIterator;
@@ -529,6 +532,136 @@ public class FactTableHelperTest {
 		System.out.println("Finish iterator... time: " + (System.currentTimeMillis() - startTime) / 1000);
 	}
 
+	/**
+	 *
+	 * @throws IOException
+	 * @throws BirtException
+	 */
+	@Test
+	public void testFactTableAppend() throws IOException, BirtException {
+		IDocumentManager documentManager = DocumentManagerFactory.createFileDocumentManager();
+		Dimension[] dimensions = new Dimension[2];
+		dimensions[0] = createDimension(documentManager, "dimension1", new String[] { "1", "2", "3" });
+		dimensions[1] = createDimension(documentManager, "dimension2", new String[] { "a", "b" });
+
+		String[] measureColumnName = { "measure1" };
+		FactTableAccessor factTableConstructor = new FactTableAccessor(documentManager);
+		factTableConstructor.saveFactTable("appended", CubeUtility.getKeyColNames(dimensions),
+				CubeUtility.getKeyColNames(dimensions),
+				new FactTableDatasetForTest(new String[] { "1", "2", "3" }, new String[] { "a", "b", "a" },
+						new int[] { 10, 20, 30 }),
+				dimensions, measureColumnName, new StopSign());
+
+		// the existing member 3 is ignored, the new members 4 and 5 are appended
+		DimensionForTest iterator = new DimensionForTest(new String[] { "dimension1" });
+		iterator.setLevelMember(0, new String[] { "3", "4", "5" });
+		dimensions[0].appendMembers(iterator, new StopSign());
+		assertEquals(5, dimensions[0].length());
+		factTableConstructor.appendFactTable("appended", CubeUtility.getKeyColNames(dimensions),
+				CubeUtility.getKeyColNames(dimensions),
+				new FactTableDatasetForTest(new String[] { "4", "5", "1" }, new String[] { "b", "a", "a" },
+						new int[] { 40, 50, 11 }),
+				dimensions, null, new StopSign());
+
+		FactTable factTable = factTableConstructor.load("appended", new StopSign());
+		assertEquals(5, factTable.getDimensionInfo()[0].getDimensionLength());
+		assertEquals(2, factTable.getDimensionInfo()[1].getDimensionLength());
+		IDiskArray[] dimensionPosition = new IDiskArray[1];
+		dimensionPosition[0] = new BufferedPrimitiveDiskArray();
+		for (int i = 0; i < 5; i++) {
+			dimensionPosition[0].add(Integer.valueOf(i));
+		}
+		FactTableRowIterator facttableRowIterator = new FactTableRowIterator(factTable,
+				new String[] { "dimension1" }, dimensionPosition, new StopSign());
+		List<String> rows = new ArrayList<>();
+		while (facttableRowIterator.next()) {
+			rows.add(facttableRowIterator.getDimensionPosition(0) + "," + facttableRowIterator.getDimensionPosition(1)
+					+ "," + facttableRowIterator.getMeasure(0));
+		}
+		Collections.sort(rows);
+		assertEquals(Arrays.asList("0,0,10", "0,0,11", "1,1,20", "2,0,30", "3,1,40", "4,0,50"), rows);
+
+		// a new member which does not sort after the existing members can not be
+		// appended
+		iterator = new DimensionForTest(new String[] { "dimension1" });
+		iterator.setLevelMember(0, new String[] { "0" });
+		try {
+			dimensions[0].appendMembers(iterator, new StopSign());
+			fail();
+		} catch (DataException e) {
+		}
+		documentManager.close();
+	}
+
+	/**
+	 * The rows of appended members are written to new segments, which are counted
+	 * by the saved fact table.
+	 *
+	 * @throws IOException
+	 * @throws BirtException
+	 */
+	@Test
+	public void testFactTableAppendNewSegment() throws IOException, BirtException {
+		IDocumentManager documentManager = DocumentManagerFactory.createFileDocumentManager();
+		Dimension[] dimensions = new Dimension[2];
+		dimensions[0] = createDimension(documentManager, "dimension1", new String[] { "1", "2" });
+		dimensions[1] = createDimension(documentManager, "dimension2", new String[] { "a", "b" });
+
+		String[] measureColumnName = { "measure1" };
+		FactTableAccessor factTableConstructor = new FactTableAccessor(documentManager);
+		factTableConstructor.saveFactTable("newSegment", CubeUtility.getKeyColNames(dimensions),
+				CubeUtility.getKeyColNames(dimensions),
+				new FactTableDatasetForTest(new String[] { "1", "2" }, new String[] { "a", "b" },
+						new int[] { 10, 20 }),
+				dimensions, measureColumnName, new StopSign());
+		assertEquals(1, factTableConstructor.load("newSegment", new StopSign()).getSegmentCount());
+
+		// the rows of existing members are written to the existing segment
+		factTableConstructor.appendFactTable("newSegment", CubeUtility.getKeyColNames(dimensions),
+				CubeUtility.getKeyColNames(dimensions),
+				new FactTableDatasetForTest(new String[] { "2" }, new String[] { "a" }, new int[] { 21 }),
+				dimensions, null, new StopSign());
+		assertEquals(1, factTableConstructor.load("newSegment", new StopSign()).getSegmentCount());
+
+		// the members 3 and 4 are out of the range of the existing sub dimension
+		DimensionForTest iterator = new DimensionForTest(new String[] { "dimension1" });
+		iterator.setLevelMember(0, new String[] { "3", "4" });
+		dimensions[0].appendMembers(iterator, new StopSign());
+		FactTable appended = factTableConstructor.appendFactTable("newSegment",
+				CubeUtility.getKeyColNames(dimensions), CubeUtility.getKeyColNames(dimensions),
+				new FactTableDatasetForTest(new String[] { "3", "4" }, new String[] { "b", "a" },
+						new int[] { 30, 40 }),
+				dimensions, null, new StopSign());
+		assertEquals(2, appended.getSegmentCount());
+
+		FactTable factTable = factTableConstructor.load("newSegment", new StopSign());
+		assertEquals(2, factTable.getSegmentCount());
+		assertEquals(4, factTable.getDimensionInfo()[0].getDimensionLength());
+		IDiskArray[] dimensionPosition = new IDiskArray[1];
+		dimensionPosition[0] = new BufferedPrimitiveDiskArray();
+		dimensionPosition[0].add(Integer.valueOf(2));
+		dimensionPosition[0].add(Integer.valueOf(3));
+		FactTableRowIterator facttableRowIterator = new FactTableRowIterator(factTable,
+				new String[] { "dimension1" }, dimensionPosition, new StopSign());
+		List<String> rows = new ArrayList<>();
+		while (facttableRowIterator.next()) {
+			rows.add(facttableRowIterator.getDimensionPosition(0) + "," + facttableRowIterator.getDimensionPosition(1)
+					+ "," + facttableRowIterator.getMeasure(0));
+		}
+		Collections.sort(rows);
+		assertEquals(Arrays.asList("2,1,30", "3,0,40"), rows);
+		documentManager.close();
+	}
+
+	private static Dimension createDimension(IDocumentManager documentManager, String name, String[] members)
+			throws IOException, BirtException {
+		DimensionForTest iterator = new DimensionForTest(new String[] { name });
+		iterator.setLevelMember(0, members);
+		ILevelDefn[] levelDefs = { new LevelDefinition(name, new String[] { name }, null) };
+		return (Dimension) DimensionFactory.createDimension(name, documentManager, iterator, levelDefs, false,
+				new StopSign());
+	}
+
 	private static String[] distinct(String[] sValues) {
 		Arrays.sort(sValues);
 		List tempList = new ArrayList();
@@ -749,3 +882,58 @@ class BigLevelsAndFactTableDataset implements IDatasetIterator {
 		return true;
 	}
 }
+
+class FactTableDatasetForTest implements IDatasetIterator {
+	private String[] dimension1Col;
+	private String[] dimension2Col;
+	private int[] measure1Col;
+	private int ptr = -1;
+
+	FactTableDatasetForTest(String[] dimension1Col, String[] dimension2Col, int[] measure1Col) {
+		this.dimension1Col = dimension1Col;
+		this.dimension2Col = dimension2Col;
+		this.measure1Col = measure1Col;
+	}
+
+	@Override
+	public void close() throws BirtException {
+	}
+
+	@Override
+	public int getFieldIndex(String name) throws BirtException {
+		if (name.equals("dimension1")) {
+			return 0;
+		} else if (name.equals("dimension2")) {
+			return 1;
+		} else if (name.equals("measure1")) {
+			return 2;
+		}
+		return -1;
+	}
+
+	@Override
+	public int getFieldType(String name) throws BirtException {
+		if (name.equals("measure1")) {
+			return DataType.INTEGER_TYPE;
+		}
+		return DataType.STRING_TYPE;
+	}
+
+	@Override
+	public Object getValue(int fieldIndex) throws BirtException {
+		if (fieldIndex == 0) {
+			return dimension1Col[ptr];
+		} else if (fieldIndex == 1) {
+			return dimension2Col[ptr];
+		} else if (fieldIndex == 2) {
+			return Integer.valueOf(measure1Col[ptr]);
+		}
+		return null;
+	}
+
+	@Override
+	public boolean next() throws BirtException {
+		ptr++;
+		return ptr < dimension1Col.length;
+	}
+}
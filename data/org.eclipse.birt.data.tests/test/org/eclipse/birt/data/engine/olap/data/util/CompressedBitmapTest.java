@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.olap.data.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.olap.data.document.DocumentManagerFactory;
+import org.eclipse.birt.data.engine.olap.data.document.IDocumentManager;
+import org.eclipse.birt.data.engine.olap.data.document.IDocumentObject;
+import org.junit.Test;
+
+/**
+ * Test the compressed bitmap against a bit set.
+ */
+public class CompressedBitmapTest {
+
+	private static CompressedBitmap createBitmap(Random random, BitSet bitSet, int count, int range) {
+		CompressedBitmap bitmap = new CompressedBitmap();
+		for (int i = 0; i < count; i++) {
+			int value = random.nextInt(range);
+			bitmap.add(value);
+			bitSet.set(value);
+		}
+		return bitmap;
+	}
+
+	private static void assertBitmap(BitSet expected, CompressedBitmap bitmap) {
+		assertArrayEquals(expected.stream().toArray(), bitmap.toArray());
+		assertEquals(expected.cardinality(), bitmap.getCardinality());
+	}
+
+	@Test
+	public void testAddAndContains() {
+		CompressedBitmap bitmap = new CompressedBitmap();
+		bitmap.add(70000);
+		bitmap.add(3);
+		bitmap.add(1);
+		bitmap.add(3);
+		assertArrayEquals(new int[] { 1, 3, 70000 }, bitmap.toArray());
+		assertTrue(bitmap.contains(70000));
+		assertFalse(bitmap.contains(2));
+		assertFalse(bitmap.contains(65536 + 3));
+		assertTrue(new CompressedBitmap().isEmpty());
+	}
+
+	@Test
+	public void testAndOr() {
+		Random random = new Random(0);
+		for (int i = 0; i < 50; i++) {
+			// sparse and dense partitions
+			int range = 1 + random.nextInt(200000);
+			BitSet bitSet1 = new BitSet();
+			BitSet bitSet2 = new BitSet();
+			CompressedBitmap bitmap1 = createBitmap(random, bitSet1, random.nextInt(20000), range);
+			CompressedBitmap bitmap2 = createBitmap(random, bitSet2, random.nextInt(20000), range);
+			assertBitmap(bitSet1, bitmap1);
+
+			BitSet and = (BitSet) bitSet1.clone();
+			and.and(bitSet2);
+			assertBitmap(and, bitmap1.and(bitmap2));
+			BitSet or = (BitSet) bitSet1.clone();
+			or.or(bitSet2);
+			assertBitmap(or, bitmap1.or(bitmap2));
+			// the operands are not changed
+			assertBitmap(bitSet1, bitmap1);
+			assertBitmap(bitSet2, bitmap2);
+		}
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException, DataException {
+		IDocumentManager documentManager = DocumentManagerFactory.createFileDocumentManager();
+		Random random = new Random(0);
+		BitSet bitSet = new BitSet();
+		CompressedBitmap bitmap = createBitmap(random, bitSet, 10000, 20000);
+		bitmap = bitmap.or(createBitmap(random, bitSet, 100, 1000000));
+
+		IDocumentObject documentObject = documentManager.createDocumentObject("bitmap");
+		bitmap.write(documentObject);
+		assertEquals(bitmap.getSerializedSize(), documentObject.getFilePointer());
+		documentObject.close();
+		documentObject = documentManager.openDocumentObject("bitmap");
+		assertBitmap(bitSet, CompressedBitmap.read(documentObject));
+		documentObject.close();
+		documentManager.close();
+	}
+}
@@ -69,6 +69,35 @@ abstract public class DataEngine {
 	 */
 	public static String DATA_SET_CACHE_ROW_LIMIT = "org.eclipse.birt.data.cache.RowLimit";
 
+	/**
+	 * The time in milliseconds after which a cached data set expires and is
+	 * executed again. Zero or negative number: the cached data set never expires,
+	 * which is the default.
+	 */
+	public static String DATA_SET_CACHE_TIME_TO_LIVE = "org.eclipse.birt.data.cache.TimeToLive";
+
+	/**
+	 * The time in milliseconds after which a cached data set is executed again by
+	 * the next query using it, while the other queries still use the cached data
+	 * until it is replaced. Zero or negative number: the cached data set is never
+	 * refreshed, which is the default.
+	 */
+	public static String DATA_SET_CACHE_REFRESH_AFTER_WRITE = "org.eclipse.birt.data.cache.RefreshAfterWrite";
+
+	/**
+	 * The system property giving the maximum estimated size in bytes of the data
+	 * sets cached by the JVM, the least recently used data sets are removed first.
+	 * Zero or negative number: unlimited, which is the default.
+	 */
+	public static String DATA_SET_CACHE_MAX_BYTES = "org.eclipse.birt.data.cache.MaxBytes";
+
+	/**
+	 * The system property giving the maximum number of data sets cached by the
+	 * JVM, the least recently used data sets are removed first. Zero or negative
+	 * number: unlimited, which is the default.
+	 */
+	public static String DATA_SET_CACHE_MAX_ENTRIES = "org.eclipse.birt.data.cache.MaxEntries";
+
 	/**
 	 * Indicate the size of data cached for each result set.We only accept
 	 * non-negative integer as input, the unit of which would be MB. If this setting
@@ -83,6 +112,43 @@ abstract public class DataEngine {
 	 */
 	public static String MAX_DATA_OBJECT_ROWS = "org.eclipse.birt.data.query.MaxDataObjectRows";
 
+	/**
+	 * Indicates whether rows cached in memory may be stored column by column, with
+	 * numbers and dates kept as primitive values and strings dictionary encoded.
+	 * The columnar storage is used by default when the column types of a result
+	 * set allow it. Set this property to "false" to always cache rows as objects.
+	 */
+	public static String COLUMNAR_MEMORY_CACHE = "org.eclipse.birt.data.query.ColumnarMemoryCache";
+
+	/**
+	 * The number of threads used to sort a result set which does not fit into
+	 * memory. The sorted runs are then generated and merged concurrently. The
+	 * default value is 1, which sorts the rows on the query thread; values
+	 * greater than the number of available processors are reduced to it.
+	 */
+	public static String SORT_PARALLELISM = "org.eclipse.birt.data.query.SortParallelism";
+
+	/**
+	 * The number of threads used to calculate the summary aggregations of a
+	 * query. The rows of large groups are then split into batches which are
+	 * aggregated concurrently and merged, for the aggregations whose accumulators
+	 * are mergeable. The segments of the fact table of a cube are also scanned
+	 * concurrently for the cube aggregations. The default value is 1, which
+	 * calculates the aggregations on the query thread; values greater than the
+	 * number of available processors are reduced to it.
+	 */
+	public static String AGGREGATION_PARALLELISM = "org.eclipse.birt.data.query.AggregationParallelism";
+
+	/**
+	 * The maximum number of aggregation result rows of the cube queries cached by
+	 * a data engine. A cube aggregation which has been calculated by an earlier
+	 * query of the engine over the same cube and dimension filters, or which can
+	 * be rolled up from such a finer aggregation, is then calculated from the
+	 * cached rows instead of the fact table. Zero or negative number: the
+	 * aggregations are not cached, which is the default.
+	 */
+	public static String CUBE_AGGREGATION_CACHE_ROWS = "org.eclipse.birt.data.query.CubeAggregationCacheRows";
+
 	public static String DATA_SET_CACHE_DELTA_FILE = "org.eclipse.birt.data.cache.DeltaFile";
 
 	/**
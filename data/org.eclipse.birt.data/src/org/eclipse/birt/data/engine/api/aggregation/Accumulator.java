@@ -17,6 +17,8 @@
 
 package org.eclipse.birt.data.engine.api.aggregation;
 
+import java.io.Serializable;
+
 import org.eclipse.birt.data.engine.core.DataException;
 
 /**
@@ -42,6 +44,12 @@ import org.eclipse.birt.data.engine.core.DataException;
  * Each instance of the accumulator can be used to calculate aggregations over
  * multiple groups of data. The implementation should re-initialize the class
  * for a new group in the start() method.
+ * <p>
+ * An accumulator may optionally be mergeable. The rows of a group can then be
+ * split into consecutive partitions, each one passed to its own accumulator,
+ * possibly on different threads, and the partial results merged in the order of
+ * the partitions before finish() is called on the merged accumulator. See
+ * isMergeable(), getPartialState() and mergePartialState().
  */
 abstract public class Accumulator {
 
@@ -103,4 +111,58 @@ abstract public class Accumulator {
 	 */
 	abstract public Object getValue() throws DataException;
 
+	/**
+	 * Returns whether this accumulator supports getPartialState(),
+	 * mergePartialState() and merge(). The default implementation returns false.
+	 *
+	 * @return true if partial results of this accumulator can be merged
+	 */
+	public boolean isMergeable() {
+		return false;
+	}
+
+	/**
+	 * Returns the state accumulated from the rows passed to onRow() since the last
+	 * start() call. This method may be called before finish() only, and does not
+	 * change the accumulator. The state must not be shared with the accumulator,
+	 * since it may be merged on another thread or after it has been serialized.
+	 *
+	 * @return the partial state of this accumulator
+	 * @throws DataException
+	 * @throws UnsupportedOperationException if the accumulator is not mergeable
+	 */
+	public Serializable getPartialState() throws DataException {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Combines a partial state returned by getPartialState() of an accumulator of
+	 * the same aggregation into this one. Afterwards this accumulator is in the
+	 * state it would be in if the rows of the partial state had been passed to
+	 * onRow() after its own rows. This method is called between start() and
+	 * finish(). Results may differ from a sequential calculation within the
+	 * rounding of floating point arithmetic only.
+	 *
+	 * @param state partial state of the rows following the rows of this
+	 *              accumulator
+	 * @throws DataException
+	 * @throws UnsupportedOperationException if the accumulator is not mergeable
+	 */
+	public void mergePartialState(Serializable state) throws DataException {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Merges another accumulator of the same aggregation into this one, as if the
+	 * rows passed to the other accumulator had been passed to this one after its
+	 * own rows. Neither accumulator may have been finished.
+	 *
+	 * @param other
+	 * @throws DataException
+	 * @throws UnsupportedOperationException if the accumulator is not mergeable
+	 */
+	public void merge(Accumulator other) throws DataException {
+		mergePartialState(other.getPartialState());
+	}
+
 }
@@ -16,38 +16,59 @@ package org.eclipse.birt.data.engine.executor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.birt.data.engine.api.DataEngine;
 import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.odi.IResultClass;
 
 /**
  * Manage the cache map
+ * <p>
+ * The JVM level cache is bounded, see <code>setJVMLevelCacheLimits</code>, and
+ * the cached data sets can expire. When several sessions miss the same data
+ * set at the same time, only one of them executes it while the others wait
+ * until it is saved into the cache.
  */
 public class CacheMapManager {
+	/**
+	 * the time in ms a session waits for the data set loaded by another session
+	 * before executing it itself.
+	 */
+	private static final long LOAD_WAIT_TIME = 60000;
+
 	/**
 	 * Please notice that we must use static variable here for the sharing of cached
 	 * data set would be cross data set session.
 	 */
-	private static Map<DataSourceAndDataSet, IDataSetCacheObject> JVMLevelCacheMap = Collections
-			.synchronizedMap(new HashMap<>());
+	private static DataSetCacheMap JVMLevelCacheMap = new DataSetCacheMap(
+			Long.getLong(DataEngine.DATA_SET_CACHE_MAX_BYTES, 0),
+			Integer.getInteger(DataEngine.DATA_SET_CACHE_MAX_ENTRIES, 0));
 	private static Map<DataSourceAndDataSet, Integer> lockedDataSetCacheMap = Collections
 			.synchronizedMap(new HashMap<>());
+	// the cache objects removed while they are locked, they are released once
+	// unlocked. Guarded by lockedDataSetCacheMap
+	private static Map<DataSourceAndDataSet, List<IDataSetCacheObject>> releasedDataSetCacheMap = new HashMap<>();
+	// the data sets being loaded into the JVM level cache and the manager loading
+	// them. Guarded by JVMLevelCacheMap
+	private static Map<DataSourceAndDataSet, CacheMapManager> loadingDataSetMap = new HashMap<>();
 
-	private Map<DataSourceAndDataSet, IDataSetCacheObject> cacheMap;
+	private DataSetCacheMap cacheMap;
 	// use this field temporarily keep the data set object need to be saved in
 	// cache. After the data set result has been cached, saved data set object
 	// into cachedMap
 	private Map<DataSourceAndDataSet, IDataSetCacheObject> tempDataSetCacheMap;
+	private Map<DataSourceAndDataSet, DataSetCacheConfig> tempDataSetCacheConfigMap;
+	// the cache objects this manager has decided to load from
+	private Map<DataSourceAndDataSet, IDataSetCacheObject> loadedDataSetCacheMap;
 
 	private boolean useJVMLevelCache;
 
 	// ensure that JVMLevelCache will be clear when JVM shutdown
 	static {
-		new ShutdownHook(JVMLevelCacheMap);
+		new ShutdownHook(JVMLevelCacheMap, lockedDataSetCacheMap, releasedDataSetCacheMap);
 	}
 
 	/**
@@ -58,9 +79,34 @@ public class CacheMapManager {
 		if (useJVMLevelCache) {
 			cacheMap = JVMLevelCacheMap;
 		} else {
-			cacheMap = new HashMap<>();
+			cacheMap = new DataSetCacheMap(0, 0);
 		}
 		tempDataSetCacheMap = new HashMap<>();
+		tempDataSetCacheConfigMap = new HashMap<>();
+		loadedDataSetCacheMap = new HashMap<>();
+	}
+
+	/**
+	 * Change the budget of the JVM level cache. The least recently used data sets
+	 * are removed to stay in the budget. The initial budget is given by the system
+	 * properties <code>DataEngine.DATA_SET_CACHE_MAX_BYTES</code> and
+	 * <code>DataEngine.DATA_SET_CACHE_MAX_ENTRIES</code>.
+	 *
+	 * @param maxBytes   the maximum estimated size in bytes of the cached data
+	 *                   sets, <=0 for unlimited
+	 * @param maxEntries the maximum number of cached data sets, <=0 for unlimited
+	 */
+	public static void setJVMLevelCacheLimits(long maxBytes, int maxEntries) {
+		releaseWhenUnlocked(JVMLevelCacheMap.setLimits(maxBytes, maxEntries));
+	}
+
+	/**
+	 * Return the statistics of the JVM level cache.
+	 *
+	 * @return the statistics
+	 */
+	public static DataSetCacheStatistics getJVMLevelCacheStatistics() {
+		return JVMLevelCacheMap.getStatistics();
 	}
 
 	/**
@@ -74,12 +120,16 @@ public class CacheMapManager {
 	boolean doesSaveToCache(DataSourceAndDataSet dsAndDs, DataSetCacheConfig dscc) throws DataException {
 		synchronized (cacheMap) {
 			IDataSetCacheObject cacheObject = cacheMap.get(dsAndDs);
-			if (cacheObject != null) {
+			boolean refresh = useJVMLevelCache && loadingDataSetMap.get(dsAndDs) == this;
+			if (cacheObject != null && !refresh) {
 				return cacheObject.needUpdateCache(dscc.getCacheCapability());
 			}
-			if (!tempDataSetCacheMap.containsKey(dsAndDs)) {
+			// the config is kept until the cache object is saved, a cache object saved
+			// before may have been removed and released since, so a new one is used
+			if (!tempDataSetCacheConfigMap.containsKey(dsAndDs)) {
 				IDataSetCacheObject dsco = dscc.createDataSetCacheObject();
 				tempDataSetCacheMap.put(dsAndDs, dsco);
+				tempDataSetCacheConfigMap.put(dsAndDs, dscc);
 			}
 			return true;
 		}
@@ -90,34 +140,69 @@ public class CacheMapManager {
 	 * @return
 	 */
 	boolean doesLoadFromCache(DataSourceAndDataSet dsAndDs, int requiredCapability) {
-		synchronized (cacheMap) {
-			IDataSetCacheObject cacheObject = cacheMap.get(dsAndDs);
-			if (cacheObject != null) {
-				boolean reusable = cacheObject.isCachedDataReusable(requiredCapability);
-				if (!reusable) {
-					if (useJVMLevelCache) {
-						synchronized (lockedDataSetCacheMap) {
-							if (lockedDataSetCacheMap.containsKey(dsAndDs)) {
-								try {
-									// waiting for 60s
-									lockedDataSetCacheMap.wait(60000);
-								} catch (InterruptedException e) {
+		List<IDataSetCacheObject> removed = new ArrayList<>();
+		try {
+			synchronized (cacheMap) {
+				long waitEnd = System.currentTimeMillis() + LOAD_WAIT_TIME;
+				while (true) {
+					IDataSetCacheObject cacheObject = cacheMap.removeExpired(dsAndDs);
+					if (cacheObject != null) {
+						tempDataSetCacheMap.remove(dsAndDs);
+						tempDataSetCacheConfigMap.remove(dsAndDs);
+						removed.add(cacheObject);
+					}
+					cacheObject = cacheMap.get(dsAndDs);
+					if (cacheObject != null) {
+						if (cacheObject.isCachedDataReusable(requiredCapability)) {
+							if (useJVMLevelCache && cacheMap.needsRefresh(dsAndDs)
+									&& !loadingDataSetMap.containsKey(dsAndDs)) {
+								// this session loads the data set again, the others
+								// still use the cached data until it is replaced
+								loadingDataSetMap.put(dsAndDs, this);
+								cacheMap.recordRefresh();
+								cacheMap.recordMiss();
+								return false;
+							}
+							if (this.useJVMLevelCache) {
+								if (!lockedDataSetCacheMap.containsKey(dsAndDs)) {
+									lockedDataSetCacheMap.put(dsAndDs, 0);
 								}
-								lockedDataSetCacheMap.remove(dsAndDs);
 							}
+							loadedDataSetCacheMap.put(dsAndDs, cacheObject);
+							cacheMap.recordHit();
+							return true;
 						}
+						tempDataSetCacheMap.remove(dsAndDs);
+						tempDataSetCacheConfigMap.remove(dsAndDs);
+						cacheMap.remove(dsAndDs);
+						removed.add(cacheObject);
 					}
-					cacheObject.release();
-					tempDataSetCacheMap.remove(dsAndDs);
-					cacheMap.remove(dsAndDs);
-				} else if (this.useJVMLevelCache) {
-					if (!lockedDataSetCacheMap.containsKey(dsAndDs)) {
-						lockedDataSetCacheMap.put(dsAndDs, 0);
+					if (!useJVMLevelCache) {
+						cacheMap.recordMiss();
+						return false;
+					}
+					CacheMapManager loader = loadingDataSetMap.get(dsAndDs);
+					long waitTime = waitEnd - System.currentTimeMillis();
+					if (loader == null || loader == this || waitTime <= 0) {
+						// this session loads the data set, the others wait for it
+						loadingDataSetMap.put(dsAndDs, this);
+						cacheMap.recordMiss();
+						return false;
+					}
+					cacheMap.recordLoadWait();
+					try {
+						cacheMap.wait(waitTime);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						cacheMap.recordMiss();
+						return false;
 					}
 				}
-				return reusable;
 			}
-			return false;
+		} finally {
+			for (IDataSetCacheObject cacheObject : removed) {
+				release(dsAndDs, cacheObject);
+			}
 		}
 	}
 
@@ -131,8 +216,60 @@ public class CacheMapManager {
 	}
 
 	void saveFinishOnCache(DataSourceAndDataSet dsAndDs, IDataSetCacheObject dsco) {
+		long size = DataSetCacheMap.sizeOf(dsco);
+		Map<DataSourceAndDataSet, IDataSetCacheObject> removed;
 		synchronized (cacheMap) {
-			cacheMap.put(dsAndDs, dsco);
+			DataSetCacheConfig dscc = tempDataSetCacheConfigMap.remove(dsAndDs);
+			long timeToLive = dscc == null ? 0 : dscc.getTimeToLive();
+			long refreshAfterWrite = dscc == null ? 0 : dscc.getRefreshAfterWrite();
+			removed = cacheMap.put(dsAndDs, dsco, size, timeToLive, refreshAfterWrite);
+			if (useJVMLevelCache) {
+				if (loadingDataSetMap.get(dsAndDs) == this) {
+					loadingDataSetMap.remove(dsAndDs);
+				}
+				// wake up the sessions waiting for the data set
+				cacheMap.notifyAll();
+			}
+		}
+		for (Map.Entry<DataSourceAndDataSet, IDataSetCacheObject> entry : removed.entrySet()) {
+			release(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Release the data set this manager should load into the JVM level cache if it
+	 * has not been saved, the other sessions needn't wait for it any more.
+	 */
+	void releaseLoad(DataSourceAndDataSet dsAndDs) {
+		if (useJVMLevelCache) {
+			IDataSetCacheObject unsaved = null;
+			synchronized (cacheMap) {
+				if (loadingDataSetMap.get(dsAndDs) != this) {
+					return;
+				}
+				loadingDataSetMap.remove(dsAndDs);
+				// the cache object created for the save is not shared yet
+				if (tempDataSetCacheConfigMap.remove(dsAndDs) != null) {
+					unsaved = tempDataSetCacheMap.remove(dsAndDs);
+				}
+				cacheMap.notifyAll();
+			}
+			if (unsaved != null) {
+				unsaved.release();
+			}
+		}
+	}
+
+	/**
+	 * Release the data sets this manager should load into the JVM level cache,
+	 * the other sessions needn't wait for them any more.
+	 */
+	void releaseLoads() {
+		if (useJVMLevelCache) {
+			synchronized (cacheMap) {
+				loadingDataSetMap.values().removeIf(loader -> loader == this);
+				cacheMap.notifyAll();
+			}
 		}
 	}
 
@@ -153,17 +290,24 @@ public class CacheMapManager {
 	 */
 	void loadFinishOnCache(DataSourceAndDataSet dsAndDs) throws DataException {
 		if (this.useJVMLevelCache) {
+			List<IDataSetCacheObject> released = null;
 			synchronized (lockedDataSetCacheMap) {
 				if (lockedDataSetCacheMap.containsKey(dsAndDs)) {
 					Integer count = lockedDataSetCacheMap.get(dsAndDs);
 					if (count <= 1) {
 						lockedDataSetCacheMap.remove(dsAndDs);
+						released = releasedDataSetCacheMap.remove(dsAndDs);
 						lockedDataSetCacheMap.notifyAll();
 					} else {
 						lockedDataSetCacheMap.put(dsAndDs, count - 1);
 					}
 				}
 			}
+			if (released != null) {
+				for (IDataSetCacheObject cacheObject : released) {
+					cacheObject.release();
+				}
+			}
 		}
 	}
 
@@ -171,7 +315,11 @@ public class CacheMapManager {
 	 * @return
 	 */
 	IDataSetCacheObject getloadedCacheObject(DataSourceAndDataSet dsAndDs) {
-		return cacheMap.get(dsAndDs);
+		synchronized (cacheMap) {
+			// the data set may have been replaced since it was found in the cache
+			IDataSetCacheObject cacheObject = loadedDataSetCacheMap.get(dsAndDs);
+			return cacheObject != null ? cacheObject : cacheMap.get(dsAndDs);
+		}
 	}
 
 	/**
@@ -179,18 +327,19 @@ public class CacheMapManager {
 	 * @param dataSetDesign2
 	 */
 	void clearCache(DataSourceAndDataSet dsAndDs) {
-		List<IDataSetCacheObject> cacheObjects = new ArrayList<>();
+		Map<DataSourceAndDataSet, IDataSetCacheObject> cacheObjects = new HashMap<>();
 		synchronized (cacheMap) {
-			Object key = getKey(dsAndDs);
+			DataSourceAndDataSet key = getKey(dsAndDs);
 			while (key != null) {
-				cacheObjects.add(cacheMap.remove(key));
+				cacheObjects.put(key, cacheMap.remove(key));
 				tempDataSetCacheMap.remove(key);
+				tempDataSetCacheConfigMap.remove(key);
+				loadedDataSetCacheMap.remove(key);
 				key = getKey(dsAndDs);
 			}
 		}
-		for (int i = 0; i < cacheObjects.size(); i++) {
-			IDataSetCacheObject cacheObject = cacheObjects.get(i);
-			cacheObject.release();
+		for (Map.Entry<DataSourceAndDataSet, IDataSetCacheObject> entry : cacheObjects.entrySet()) {
+			release(entry.getKey(), entry.getValue());
 		}
 
 	}
@@ -202,6 +351,8 @@ public class CacheMapManager {
 		synchronized (this) {
 			cacheMap.clear();
 			tempDataSetCacheMap.clear();
+			tempDataSetCacheConfigMap.clear();
+			loadedDataSetCacheMap.clear();
 		}
 	}
 
@@ -216,7 +367,7 @@ public class CacheMapManager {
 	 */
 	IResultClass getCachedResultClass(DataSourceAndDataSet dsAndDs) throws DataException {
 		IDataSetCacheObject cacheObject = null;
-		Object key = getKey(dsAndDs);
+		DataSourceAndDataSet key = getKey(dsAndDs);
 		if (key != null) {
 			cacheObject = cacheMap.get(key);
 		}
@@ -231,24 +382,48 @@ public class CacheMapManager {
 	 * @param dsAndDs
 	 * @return
 	 */
-	private Object getKey(DataSourceAndDataSet dsAndDs) {
-		synchronized (cacheMap) {
-			for (Iterator<DataSourceAndDataSet> it = cacheMap.keySet().iterator(); it.hasNext();) {
-				DataSourceAndDataSet temp = it.next();
-				if (temp.isDataSourceDataSetEqual(dsAndDs, false)) {
-					return temp;
-				}
+	private DataSourceAndDataSet getKey(DataSourceAndDataSet dsAndDs) {
+		for (DataSourceAndDataSet temp : cacheMap.keys()) {
+			if (temp.isDataSourceDataSetEqual(dsAndDs, false)) {
+				return temp;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Release a cache object removed from the cache, the cache objects of the JVM
+	 * level cache are released once no session loads them.
+	 */
+	private void release(DataSourceAndDataSet dsAndDs, IDataSetCacheObject cacheObject) {
+		if (useJVMLevelCache) {
+			releaseWhenUnlocked(dsAndDs, cacheObject);
+		} else {
+			cacheObject.release();
+		}
+	}
+
+	private static void releaseWhenUnlocked(Map<DataSourceAndDataSet, IDataSetCacheObject> cacheObjects) {
+		for (Map.Entry<DataSourceAndDataSet, IDataSetCacheObject> entry : cacheObjects.entrySet()) {
+			releaseWhenUnlocked(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private static void releaseWhenUnlocked(DataSourceAndDataSet dsAndDs, IDataSetCacheObject cacheObject) {
+		synchronized (lockedDataSetCacheMap) {
+			if (lockedDataSetCacheMap.containsKey(dsAndDs)) {
+				releasedDataSetCacheMap.computeIfAbsent(dsAndDs, key -> new ArrayList<>()).add(cacheObject);
+				return;
 			}
-			return null;
 		}
+		cacheObject.release();
 	}
 
 	public static void clearCache(Set<String> cacheIDs) {
 		List<IDataSetCacheObject> removed = new ArrayList<>();
 
-		Object[] keyArray = JVMLevelCacheMap.keySet().toArray(new DataSourceAndDataSet[] {});
-		for (Object dsAndDs : keyArray) {
-			if (cacheIDs.contains(((DataSourceAndDataSet) dsAndDs).getCacheScopeID())) {
+		for (DataSourceAndDataSet dsAndDs : JVMLevelCacheMap.keys()) {
+			if (cacheIDs.contains(dsAndDs.getCacheScopeID())) {
 				// here we do not use while clause to avoid thread suspending if
 				// cached is not properly closed.
 				synchronized (lockedDataSetCacheMap) {
@@ -259,6 +434,10 @@ public class CacheMapManager {
 						} catch (InterruptedException e) {
 						}
 						lockedDataSetCacheMap.remove(dsAndDs);
+						List<IDataSetCacheObject> released = releasedDataSetCacheMap.remove(dsAndDs);
+						if (released != null) {
+							removed.addAll(released);
+						}
 					}
 				}
 				IDataSetCacheObject cacheObj = JVMLevelCacheMap.remove(dsAndDs);
@@ -275,16 +454,17 @@ public class CacheMapManager {
 	}
 
 	void clearCache() {
-		List<IDataSetCacheObject> cacheObjects = new ArrayList<>();
+		Map<DataSourceAndDataSet, IDataSetCacheObject> cacheObjects = new HashMap<>();
 		synchronized (cacheMap) {
-			for (DataSourceAndDataSet dataSetAndSource : cacheMap.keySet().toArray(new DataSourceAndDataSet[0])) {
-				cacheObjects.add(cacheMap.remove(dataSetAndSource));
+			for (DataSourceAndDataSet dataSetAndSource : cacheMap.keys()) {
+				cacheObjects.put(dataSetAndSource, cacheMap.remove(dataSetAndSource));
 				tempDataSetCacheMap.remove(dataSetAndSource);
+				tempDataSetCacheConfigMap.remove(dataSetAndSource);
+				loadedDataSetCacheMap.remove(dataSetAndSource);
 			}
 		}
-		for (int i = 0; i < cacheObjects.size(); i++) {
-			IDataSetCacheObject cacheObject = cacheObjects.get(i);
-			cacheObject.release();
+		for (Map.Entry<DataSourceAndDataSet, IDataSetCacheObject> entry : cacheObjects.entrySet()) {
+			release(entry.getKey(), entry.getValue());
 		}
 	}
 }
@@ -296,19 +476,30 @@ public class CacheMapManager {
  *
  */
 class ShutdownHook implements Runnable {
-	private Map<DataSourceAndDataSet, IDataSetCacheObject> cacheMap;
+	private DataSetCacheMap cacheMap;
+	private Map<DataSourceAndDataSet, Integer> lockedDataSetCacheMap;
+	private Map<DataSourceAndDataSet, List<IDataSetCacheObject>> releasedDataSetCacheMap;
 
-	ShutdownHook(Map<DataSourceAndDataSet, IDataSetCacheObject> jvmLevelCacheMap) {
+	ShutdownHook(DataSetCacheMap jvmLevelCacheMap, Map<DataSourceAndDataSet, Integer> lockedDataSetCacheMap,
+			Map<DataSourceAndDataSet, List<IDataSetCacheObject>> releasedDataSetCacheMap) {
 		cacheMap = jvmLevelCacheMap;
+		this.lockedDataSetCacheMap = lockedDataSetCacheMap;
+		this.releasedDataSetCacheMap = releasedDataSetCacheMap;
 		Runtime.getRuntime().addShutdownHook(new Thread(this));
 	}
 
 	@Override
 	public void run() {
 		List<IDataSetCacheObject> cacheObjects = new ArrayList<>();
-		for (DataSourceAndDataSet dataSetAndSource : cacheMap.keySet().toArray(new DataSourceAndDataSet[0])) {
+		for (DataSourceAndDataSet dataSetAndSource : cacheMap.keys()) {
 			cacheObjects.add(cacheMap.remove(dataSetAndSource));
 		}
+		synchronized (lockedDataSetCacheMap) {
+			for (List<IDataSetCacheObject> released : releasedDataSetCacheMap.values()) {
+				cacheObjects.addAll(released);
+			}
+			releasedDataSetCacheMap.clear();
+		}
 		for (int i = 0; i < cacheObjects.size(); i++) {
 			IDataSetCacheObject cacheObject = cacheObjects.get(i);
 			cacheObject.release();
@@ -25,6 +25,16 @@ public class DataSetCacheConfig {
 	private boolean isIncremental;
 	private String cacheDir;
 
+	/**
+	 * the time in ms after which the cached data expires, <=0 for never
+	 */
+	private long timeToLive;
+
+	/**
+	 * the time in ms after which the cached data is loaded again, <=0 for never
+	 */
+	private long refreshAfterWrite;
+
 	private DataSetCacheConfig(DataSetCacheMode cacheMode, int countConfig, boolean isIncremental, String cacheDir) {
 		assert cacheMode != null && countConfig != 0;
 		this.cacheMode = cacheMode;
@@ -70,6 +80,30 @@ public class DataSetCacheConfig {
 		return cacheDir;
 	}
 
+	long getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * @param timeToLive the time in ms after which the cached data expires, <=0
+	 *                   for never
+	 */
+	public void setTimeToLive(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	long getRefreshAfterWrite() {
+		return refreshAfterWrite;
+	}
+
+	/**
+	 * @param refreshAfterWrite the time in ms after which the cached data is
+	 *                          loaded again, <=0 for never
+	 */
+	public void setRefreshAfterWrite(long refreshAfterWrite) {
+		this.refreshAfterWrite = refreshAfterWrite;
+	}
+
 	IDataSetCacheObject createDataSetCacheObject() {
 		if (cacheMode == DataSetCacheMode.IN_MEMORY) {
 			return new MemoryDataSetCacheObject(getCacheCapability());
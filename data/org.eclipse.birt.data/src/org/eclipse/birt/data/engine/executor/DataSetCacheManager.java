@@ -94,6 +94,8 @@ public class DataSetCacheManager {
 					dteLevelCacheMapManager.clearCache();
 				} catch (Exception e) {
 				}
+				// the other sessions needn't wait for the data sets this session didn't load
+				jvmLevelCacheMapManager.releaseLoads();
 
 			}
 		});
@@ -198,6 +200,24 @@ public class DataSetCacheManager {
 				parameterHints, this.cacheID, this.enableSamplePreview), dscc.getCacheCapability());
 	}
 
+	/**
+	 * Release the data set this session should load into the JVM level cache if it
+	 * has not been saved, when its execution failed for instance. The other
+	 * sessions needn't wait for it any more.
+	 *
+	 * @param dataSourceDesign
+	 * @param dataSetDesign
+	 * @param parameterHints
+	 * @param appContext
+	 */
+	@SuppressWarnings("rawtypes")
+	public void releaseLoad(IBaseDataSourceDesign dataSourceDesign, IBaseDataSetDesign dataSetDesign,
+			Collection parameterHints, Map appContext) {
+		jvmLevelCacheMapManager.releaseLoad(DataSourceAndDataSet.newInstance(dataSourceDesign, dataSetDesign,
+				parameterHints, CacheIDFetcher.getInstance().getCacheID(appContext),
+				CacheIDFetcher.getInstance().enableSampleDataPreivew(appContext)));
+	}
+
 	/**
 	 * @param dataSetDesign
 	 * @param cacheOption
@@ -217,6 +237,7 @@ public class DataSetCacheManager {
 		if (result == null) {
 			result = DataSetCacheUtil.getDteDataSetCacheConfig(queryExecutionHints, dataSetDesign, session, appContext);
 		}
+		DataSetCacheUtil.setExpiration(result, appContext);
 		return result;
 	}
 
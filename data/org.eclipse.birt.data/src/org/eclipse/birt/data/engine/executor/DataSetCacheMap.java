@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.executor;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.core.security.FileSecurity;
+import org.eclipse.birt.data.engine.executor.cache.SizeOfUtil;
+import org.eclipse.birt.data.engine.odi.IResultClass;
+
+/**
+ * The map of the cached data sets.
+ * <p>
+ * The map is bounded by the number of entries and by the estimated size of
+ * the cached data, the memory used by the rows of a memory cache or the size
+ * of the files of a disk cache. The least recently used entries are evicted
+ * first, but the entry just put is always kept. Each entry can expire after a
+ * time to live, and be refreshed after a shorter time while it is still used.
+ * <p>
+ * The map isn't responsible to release the removed cache objects, they are
+ * returned to the caller which must release them once they are no longer read.
+ * All the methods are synchronized on the map.
+ */
+class DataSetCacheMap {
+	private long maxBytes;
+	private int maxEntries;
+
+	// in access order, the eldest entry is the least recently used
+	private LinkedHashMap<DataSourceAndDataSet, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long byteSize;
+
+	private long hitCount;
+	private long missCount;
+	private long loadWaitCount;
+	private long refreshCount;
+	private long evictionCount;
+	private long expirationCount;
+
+	/**
+	 * @param maxBytes   the maximum size of the cached data, <=0 for unlimited
+	 * @param maxEntries the maximum number of entries, <=0 for unlimited
+	 */
+	DataSetCacheMap(long maxBytes, int maxEntries) {
+		this.maxBytes = maxBytes;
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * Change the budget of the map, the entries out of the budget are removed.
+	 *
+	 * @param maxBytes   the maximum size of the cached data, <=0 for unlimited
+	 * @param maxEntries the maximum number of entries, <=0 for unlimited
+	 * @return the removed cache objects
+	 */
+	synchronized Map<DataSourceAndDataSet, IDataSetCacheObject> setLimits(long maxBytes, int maxEntries) {
+		this.maxBytes = maxBytes;
+		this.maxEntries = maxEntries;
+		Map<DataSourceAndDataSet, IDataSetCacheObject> removed = new LinkedHashMap<>();
+		evict(null, removed);
+		return removed;
+	}
+
+	synchronized IDataSetCacheObject get(DataSourceAndDataSet key) {
+		CacheEntry entry = entries.get(key);
+		return entry == null ? null : entry.cacheObject;
+	}
+
+	/**
+	 * Put a cache object into the map.
+	 *
+	 * @param key               the data set
+	 * @param cacheObject       the cache object
+	 * @param size              the estimated size of the cache object
+	 * @param timeToLive        the time in ms after which the entry expires, <=0
+	 *                          for never
+	 * @param refreshAfterWrite the time in ms after which the entry is refreshed,
+	 *                          <=0 for never
+	 * @return the replaced and the evicted cache objects
+	 */
+	synchronized Map<DataSourceAndDataSet, IDataSetCacheObject> put(DataSourceAndDataSet key,
+			IDataSetCacheObject cacheObject, long size, long timeToLive, long refreshAfterWrite) {
+		Map<DataSourceAndDataSet, IDataSetCacheObject> removed = new LinkedHashMap<>();
+		CacheEntry entry = new CacheEntry(cacheObject, size, timeToLive, refreshAfterWrite);
+		CacheEntry old = entries.put(key, entry);
+		byteSize += size;
+		if (old != null) {
+			byteSize -= old.size;
+			if (old.cacheObject != cacheObject) {
+				removed.put(key, old.cacheObject);
+			}
+		}
+		evict(key, removed);
+		return removed;
+	}
+
+	synchronized IDataSetCacheObject remove(DataSourceAndDataSet key) {
+		CacheEntry entry = entries.remove(key);
+		if (entry == null) {
+			return null;
+		}
+		byteSize -= entry.size;
+		return entry.cacheObject;
+	}
+
+	/**
+	 * Remove the entry if it has expired.
+	 *
+	 * @param key the data set
+	 * @return the removed cache object, null if the entry is alive
+	 */
+	synchronized IDataSetCacheObject removeExpired(DataSourceAndDataSet key) {
+		CacheEntry entry = entries.get(key);
+		if (entry != null && entry.expireTime > 0 && System.currentTimeMillis() >= entry.expireTime) {
+			expirationCount++;
+			return remove(key);
+		}
+		return null;
+	}
+
+	/**
+	 * @param key the data set
+	 * @return true if the entry should be loaded again
+	 */
+	synchronized boolean needsRefresh(DataSourceAndDataSet key) {
+		CacheEntry entry = entries.get(key);
+		return entry != null && entry.refreshTime > 0 && System.currentTimeMillis() >= entry.refreshTime;
+	}
+
+	synchronized DataSourceAndDataSet[] keys() {
+		return entries.keySet().toArray(new DataSourceAndDataSet[entries.size()]);
+	}
+
+	synchronized void clear() {
+		entries.clear();
+		byteSize = 0;
+	}
+
+	synchronized void recordHit() {
+		hitCount++;
+	}
+
+	synchronized void recordMiss() {
+		missCount++;
+	}
+
+	synchronized void recordLoadWait() {
+		loadWaitCount++;
+	}
+
+	synchronized void recordRefresh() {
+		refreshCount++;
+	}
+
+	synchronized DataSetCacheStatistics getStatistics() {
+		return new DataSetCacheStatistics(hitCount, missCount, loadWaitCount, refreshCount, evictionCount,
+				expirationCount, entries.size(), byteSize);
+	}
+
+	private void evict(DataSourceAndDataSet keep, Map<DataSourceAndDataSet, IDataSetCacheObject> removed) {
+		Iterator<Map.Entry<DataSourceAndDataSet, CacheEntry>> iter = entries.entrySet().iterator();
+		while (isOverBudget() && iter.hasNext()) {
+			Map.Entry<DataSourceAndDataSet, CacheEntry> eldest = iter.next();
+			if (eldest.getKey() != keep) {
+				iter.remove();
+				byteSize -= eldest.getValue().size;
+				removed.put(eldest.getKey(), eldest.getValue().cacheObject);
+				evictionCount++;
+			}
+		}
+	}
+
+	private boolean isOverBudget() {
+		return (maxEntries > 0 && entries.size() > maxEntries) || (maxBytes > 0 && byteSize > maxBytes);
+	}
+
+	/**
+	 * Estimate the size of a cache object, it should be called once the data has
+	 * been saved into it.
+	 *
+	 * @param cacheObject the cache object
+	 * @return the estimated size in bytes
+	 */
+	static long sizeOf(IDataSetCacheObject cacheObject) {
+		if (cacheObject instanceof DataSetCacheObjectWithDummyData) {
+			return sizeOf(((DataSetCacheObjectWithDummyData) cacheObject).getSourceDataSetCacheObject());
+		}
+		if (cacheObject instanceof MemoryDataSetCacheObject) {
+			MemoryDataSetCacheObject memoryObject = (MemoryDataSetCacheObject) cacheObject;
+			IResultClass resultClass = memoryObject.getResultClass();
+			if (resultClass == null) {
+				return 0;
+			}
+			try {
+				SizeOfUtil sizeOfUtil = new SizeOfUtil(resultClass);
+				long size = 0;
+				for (int i = 0; i < memoryObject.getSize(); i++) {
+					size += sizeOfUtil.sizeOf(memoryObject.getResultObject(i));
+				}
+				return size;
+			} catch (DataException e) {
+				return 0;
+			}
+		}
+		if (cacheObject instanceof DiskDataSetCacheObject) {
+			return sizeOfFiles(new File(((DiskDataSetCacheObject) cacheObject).getCacheDir()));
+		}
+		if (cacheObject instanceof IncreDataSetCacheObject) {
+			return sizeOfFiles(new File(((IncreDataSetCacheObject) cacheObject).getCacheDir()));
+		}
+		return 0;
+	}
+
+	private static long sizeOfFiles(File dir) {
+		File[] files = FileSecurity.fileListFiles(dir);
+		long size = 0;
+		if (files != null) {
+			for (File file : files) {
+				size += file.length();
+			}
+		}
+		return size;
+	}
+
+	private static class CacheEntry {
+		IDataSetCacheObject cacheObject;
+		long size;
+		long expireTime;
+		long refreshTime;
+
+		CacheEntry(IDataSetCacheObject cacheObject, long size, long timeToLive, long refreshAfterWrite) {
+			long now = System.currentTimeMillis();
+			this.cacheObject = cacheObject;
+			this.size = size;
+			this.expireTime = timeToLive > 0 ? now + timeToLive : 0;
+			this.refreshTime = refreshAfterWrite > 0 ? now + refreshAfterWrite : 0;
+		}
+	}
+}
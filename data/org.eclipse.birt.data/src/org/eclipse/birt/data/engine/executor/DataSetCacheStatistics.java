@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.executor;
+
+/**
+ * The statistics of a data set cache at the time they are requested.
+ */
+public class DataSetCacheStatistics {
+	private long hitCount;
+	private long missCount;
+	private long loadWaitCount;
+	private long refreshCount;
+	private long evictionCount;
+	private long expirationCount;
+	private int entryCount;
+	private long byteSize;
+
+	DataSetCacheStatistics(long hitCount, long missCount, long loadWaitCount, long refreshCount, long evictionCount,
+			long expirationCount, int entryCount, long byteSize) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadWaitCount = loadWaitCount;
+		this.refreshCount = refreshCount;
+		this.evictionCount = evictionCount;
+		this.expirationCount = expirationCount;
+		this.entryCount = entryCount;
+		this.byteSize = byteSize;
+	}
+
+	/**
+	 * @return the number of data sets loaded from the cache
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return the number of data sets not found in the cache, which are executed
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return the number of times a data set waited for the same data set being
+	 *         loaded into the cache by another session
+	 */
+	public long getLoadWaitCount() {
+		return loadWaitCount;
+	}
+
+	/**
+	 * @return the number of cached data sets executed again after the refresh
+	 *         time
+	 */
+	public long getRefreshCount() {
+		return refreshCount;
+	}
+
+	/**
+	 * @return the number of cached data sets removed to stay in the budget
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return the number of cached data sets removed after their time to live
+	 */
+	public long getExpirationCount() {
+		return expirationCount;
+	}
+
+	/**
+	 * @return the number of cached data sets
+	 */
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * @return the estimated size in bytes of the cached data sets
+	 */
+	public long getByteSize() {
+		return byteSize;
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + hitCount + ", misses=" + missCount + ", loadWaits=" + loadWaitCount + ", refreshes="
+				+ refreshCount + ", evictions=" + evictionCount + ", expirations=" + expirationCount + ", entries="
+				+ entryCount + ", bytes=" + byteSize;
+	}
+}
@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.eclipse.birt.core.data.DataTypeUtil;
 import org.eclipse.birt.core.exception.BirtException;
@@ -30,6 +31,7 @@ import org.eclipse.birt.data.engine.api.aggregation.IAggrFunction;
 import org.eclipse.birt.data.engine.api.aggregation.IParameterDefn;
 import org.eclipse.birt.data.engine.cache.BasicCachedList;
 import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.executor.cache.CacheUtil;
 import org.eclipse.birt.data.engine.executor.transform.ResultSetPopulator;
 import org.eclipse.birt.data.engine.expression.ExprEvaluateUtil;
 import org.eclipse.birt.data.engine.i18n.ResourceConstants;
@@ -71,6 +73,11 @@ public class AggregationHelper implements IAggrValueHolder {
 	private Map invalidAggrMsg;
 	private Set<String> aggrNames;
 
+	// the shared threads which aggregate batches of rows of large groups, null
+	// when the aggregations are calculated on the query thread only
+	private ExecutorService executor;
+	private int parallelism;
+
 	/**
 	 * For the given odi resultset, calcaulate the value of aggregate from
 	 * aggregateTable
@@ -83,6 +90,8 @@ public class AggregationHelper implements IAggrValueHolder {
 		this.populator = populator;
 		this.manager = manager;
 		this.currentRoundAggrValue = new List[0];
+		this.parallelism = populator.getEventHandler() == null ? 1
+				: CacheUtil.getAggregationParallelism(populator.getEventHandler().getAppContext());
 		this.populateAggregations(populator.getSession().getTempDir());
 	}
 
@@ -124,7 +133,8 @@ public class AggregationHelper implements IAggrValueHolder {
 			} else {
 				populateAggrValue[i] = true;
 			}
-			accumulatorManagers[i] = new AccumulatorManager(this.getAggrInfo(i).getAggregation());
+			accumulatorManagers[i] = new AccumulatorManager(this.getAggrInfo(i).getAggregation(),
+					this.newParallelAccumulator(this.getAggrInfo(i).getAggregation()));
 		}
 
 		while (validAggregations.size() > 0) {
@@ -154,6 +164,24 @@ public class AggregationHelper implements IAggrValueHolder {
 		}
 	}
 
+	/**
+	 * Return an accumulator which aggregates batches of rows concurrently if the
+	 * aggregation supports it and several threads are allowed.
+	 *
+	 * @param aggregation
+	 * @return the parallel accumulator, or null
+	 */
+	private Accumulator newParallelAccumulator(IAggrFunction aggregation) {
+		if (parallelism < 2 || aggregation.getType() != IAggrFunction.SUMMARY_AGGR
+				|| aggregation.getNumberOfPasses() > 1 || !aggregation.newAccumulator().isMergeable()) {
+			return null;
+		}
+		if (executor == null) {
+			executor = CacheUtil.getParallelExecutor();
+		}
+		return new ParallelAccumulator(aggregation, executor, parallelism);
+	}
+
 	/**
 	 * Make a pass to all aggregations. Iterator over entire result set. At each
 	 * row, call each aggregate aggregationtion.
@@ -322,7 +350,17 @@ public class AggregationHelper implements IAggrValueHolder {
 		if (endingGroupLevel <= aggrInfo.getGroupLevel()) {
 			// Current group ends for this aggregate; call finish() on
 			// accumulator
-			acc.finish();
+			if (acc instanceof ParallelAccumulator) {
+				// the rows of the group are only aggregated now
+				try {
+					acc.finish();
+				} catch (DataException e) {
+					wrapException(aggrIndex, e);
+					return false;
+				}
+			} else {
+				acc.finish();
+			}
 
 			// For non-running aggregates, this is the time to call getValue
 			if ((!isRunning) && populateValue) {
@@ -550,13 +588,17 @@ public class AggregationHelper implements IAggrValueHolder {
 		 * Constructor.
 		 *
 		 * @param aggregation
+		 * @param parallelAccumulator the accumulator to use instead of a new one of
+		 *                            the aggregation, or null
 		 */
-		AccumulatorManager(IAggrFunction aggregation) {
+		AccumulatorManager(IAggrFunction aggregation, Accumulator parallelAccumulator) {
 			this.aggregation = aggregation;
 			this.cursor = -1;
 
 			int passNum = aggregation.getNumberOfPasses();
-			if (passNum < 2) {
+			if (parallelAccumulator != null) {
+				this.accumulator = parallelAccumulator;
+			} else if (passNum < 2) {
 				this.accumulator = aggregation.newAccumulator();
 			} else {
 				this.cachedAcc = new ArrayList();
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.executor.aggregation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.eclipse.birt.data.engine.api.aggregation.Accumulator;
+import org.eclipse.birt.data.engine.api.aggregation.IAggrFunction;
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.i18n.ResourceConstants;
+
+/**
+ * Accumulator which splits the rows of a group into batches, aggregates the
+ * batches concurrently with accumulators of a mergeable aggregation, and merges
+ * their partial states in the order of the rows when the group is finished. The
+ * last batch of a group is aggregated on the calling thread, so a group smaller
+ * than a batch never leaves it.
+ *
+ * The arguments of the rows are evaluated by the caller, so the tasks only run
+ * the accumulators and never touch the script context.
+ */
+class ParallelAccumulator extends Accumulator {
+	static final int BATCH_SIZE = 1024;
+
+	private IAggrFunction aggregation;
+	private ExecutorService executor;
+
+	// bounds the number of batches held in memory
+	private Semaphore batchSlots;
+
+	private Object[][] batch;
+	private int batchCount;
+	private List<Future<Accumulator>> partials = new ArrayList<>();
+
+	private Accumulator result;
+
+	/**
+	 * @param aggregation a summary aggregation whose accumulators are mergeable
+	 * @param executor
+	 * @param parallelism the number of batches aggregated at the same time
+	 */
+	ParallelAccumulator(IAggrFunction aggregation, ExecutorService executor, int parallelism) {
+		this.aggregation = aggregation;
+		this.executor = executor;
+		this.batchSlots = new Semaphore(2 * parallelism);
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.api.aggregation.Accumulator#start()
+	 */
+	@Override
+	public void start() throws DataException {
+		discardPartials();
+		batch = new Object[BATCH_SIZE][];
+		batchCount = 0;
+		result = null;
+	}
+
+	/*
+	 * @see
+	 * org.eclipse.birt.data.engine.api.aggregation.Accumulator#onRow(java.lang.
+	 * Object[])
+	 */
+	@Override
+	public void onRow(Object[] args) throws DataException {
+		// the caller reuses its argument array
+		batch[batchCount++] = args == null ? null : args.clone();
+		if (batchCount == BATCH_SIZE) {
+			submitBatch();
+		}
+	}
+
+	private void submitBatch() {
+		final Object[][] rows = batch;
+		batchSlots.acquireUninterruptibly();
+		try {
+			partials.add(executor.submit(new Callable<Accumulator>() {
+
+				@Override
+				public Accumulator call() throws Exception {
+					try {
+						Accumulator partial = aggregation.newAccumulator();
+						partial.start();
+						for (int i = 0; i < rows.length; i++) {
+							partial.onRow(rows[i]);
+						}
+						return partial;
+					} finally {
+						batchSlots.release();
+					}
+				}
+			}));
+		} catch (RuntimeException e) {
+			batchSlots.release();
+			throw e;
+		}
+		batch = new Object[BATCH_SIZE][];
+		batchCount = 0;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.api.aggregation.Accumulator#finish()
+	 */
+	@Override
+	public void finish() throws DataException {
+		Accumulator merged = aggregation.newAccumulator();
+		merged.start();
+		try {
+			for (int i = 0; i < partials.size(); i++) {
+				merged.merge(await(partials.get(i)));
+			}
+		} finally {
+			discardPartials();
+		}
+		for (int i = 0; i < batchCount; i++) {
+			merged.onRow(batch[i]);
+		}
+		batch = null;
+		batchCount = 0;
+		merged.finish();
+		result = merged;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.api.aggregation.Accumulator#getValue()
+	 */
+	@Override
+	public Object getValue() throws DataException {
+		return result == null ? null : result.getValue();
+	}
+
+	/**
+	 * Forget the batches of a group which has not been finished. They are not
+	 * cancelled, since a batch releases its slot when its task completes.
+	 */
+	private void discardPartials() {
+		partials.clear();
+	}
+
+	private static Accumulator await(Future<Accumulator> future) throws DataException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataException(ResourceConstants.UNEXPECTED_ERROR, e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof DataException) {
+				throw (DataException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new DataException(ResourceConstants.UNEXPECTED_ERROR, cause);
+		}
+	}
+}
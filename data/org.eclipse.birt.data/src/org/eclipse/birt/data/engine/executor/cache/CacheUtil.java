@@ -23,6 +23,9 @@ import java.io.ObjectOutputStream;
 import java.io.RandomAccessFile;
 import java.util.Calendar;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.birt.data.engine.api.DataEngine;
 import org.eclipse.birt.data.engine.core.DataException;
@@ -110,6 +113,113 @@ public class CacheUtil {
 		}
 	}
 
+	/**
+	 * Return whether the columnar memory cache may be used. It is enabled unless
+	 * it is explicitly disabled in the application context.
+	 *
+	 * @param appContext
+	 * @return
+	 */
+	public static boolean enableColumnarMemoryCache(Map appContext) {
+		if (appContext == null) {
+			return true;
+		}
+		Object propValue = appContext.get(DataEngine.COLUMNAR_MEMORY_CACHE);
+		return propValue == null || !"false".equalsIgnoreCase(propValue.toString());
+	}
+
+	/**
+	 * Return the number of threads used to sort the rows which are exported to
+	 * disk. It is 1, which means the rows are sorted on the query thread, unless a
+	 * greater value is set in the application context.
+	 *
+	 * @param appContext
+	 * @return
+	 */
+	public static int getSortParallelism(Map appContext) {
+		return getParallelism(appContext, DataEngine.SORT_PARALLELISM);
+	}
+
+	/**
+	 * Return the number of threads used to calculate summary aggregations, which
+	 * is 1 unless a greater value is set in the application context.
+	 *
+	 * @param appContext
+	 * @return
+	 */
+	public static int getAggregationParallelism(Map appContext) {
+		return getParallelism(appContext, DataEngine.AGGREGATION_PARALLELISM);
+	}
+
+	/**
+	 * Return the pool which runs the tasks of the parallel sorts and aggregations
+	 * of all the queries. It has at most one thread per available processor, so
+	 * the number of threads doesn't grow with the number of concurrent queries.
+	 * The pool is never shut down: a query cancels or waits for its own tasks, and
+	 * the idle threads are released after a while.
+	 *
+	 * @return the shared pool
+	 */
+	public static ExecutorService getParallelExecutor() {
+		return ParallelExecutorHolder.EXECUTOR;
+	}
+
+	private static class ParallelExecutorHolder {
+		static final ExecutorService EXECUTOR = createParallelExecutor();
+
+		private static ExecutorService createParallelExecutor() {
+			int threadCount = Runtime.getRuntime().availableProcessors();
+			// no thread is added beyond the processors, the tasks never wait for each other
+			return new ForkJoinPool(threadCount, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false, 0,
+					threadCount, 1, pool -> true, 60, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Return the maximum number of cube aggregation result rows cached by the
+	 * data engine, which is 0 unless a greater value is set in the application
+	 * context.
+	 *
+	 * @param appContext
+	 * @return
+	 */
+	public static int getCubeAggregationCacheRows(Map appContext) {
+		if (appContext == null) {
+			return 0;
+		}
+		Object propValue = appContext.get(DataEngine.CUBE_AGGREGATION_CACHE_ROWS);
+		if (propValue == null) {
+			return 0;
+		}
+		try {
+			return Math.max(0, Integer.parseInt(propValue.toString().trim()));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * @param appContext
+	 * @param key
+	 * @return the number of threads set in the application context, between 1
+	 *         and the number of available processors
+	 */
+	private static int getParallelism(Map appContext, String key) {
+		if (appContext == null) {
+			return 1;
+		}
+		Object propValue = appContext.get(key);
+		if (propValue == null) {
+			return 1;
+		}
+		try {
+			int parallelism = Integer.parseInt(propValue.toString().trim());
+			return Math.max(1, Math.min(parallelism, Runtime.getRuntime().availableProcessors()));
+		} catch (NumberFormatException e) {
+			return 1;
+		}
+	}
+
 	/**
 	 *
 	 * @param propValue
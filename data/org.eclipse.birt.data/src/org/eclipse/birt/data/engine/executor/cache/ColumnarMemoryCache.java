@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.executor.cache;
+
+import java.util.Comparator;
+
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.odi.IResultClass;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+
+/**
+ * Memory implementation of ResultSetCache which keeps the rows in a
+ * ColumnarRowBuffer instead of an array of result objects. Result objects are
+ * created on demand when a row is visited.
+ */
+public class ColumnarMemoryCache extends MemoryCache {
+	private ColumnarRowBuffer rowBuffer;
+
+	/**
+	 * @param rowBuffer
+	 * @param rsMeta
+	 * @param comparator
+	 */
+	public ColumnarMemoryCache(ColumnarRowBuffer rowBuffer, IResultClass rsMeta, Comparator comparator) {
+		super(rsMeta, rowBuffer.getRowCount());
+		this.rowBuffer = rowBuffer;
+
+		if (comparator != null) {
+			this.rowBuffer.sort(comparator);
+		}
+		this.rowBuffer.trimToSize();
+	}
+
+	/*
+	 * @see
+	 * org.eclipse.birt.data.engine.executor.cache.MemoryCache#getResultObject(int)
+	 */
+	@Override
+	protected IResultObject getResultObject(int index) throws DataException {
+		return rowBuffer.getResultObject(index);
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.executor.cache.MemoryCache#close()
+	 */
+	@Override
+	public void close() {
+		super.close();
+		rowBuffer = null;
+	}
+}
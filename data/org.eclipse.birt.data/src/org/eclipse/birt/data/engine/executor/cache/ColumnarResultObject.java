@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.executor.cache;
+
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.i18n.ResourceConstants;
+import org.eclipse.birt.data.engine.odi.IResultClass;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+import org.eclipse.birt.data.engine.olap.data.util.CompareUtil;
+
+/**
+ * Result object which is a view of one row of a ColumnarRowBuffer. Values set
+ * through this object are written back to the buffer.
+ */
+class ColumnarResultObject implements IResultObject {
+	private ColumnarRowBuffer buffer;
+	private int rowIndex;
+
+	/**
+	 * @param buffer
+	 * @param rowIndex 0-based row index
+	 */
+	ColumnarResultObject(ColumnarRowBuffer buffer, int rowIndex) {
+		this.buffer = buffer;
+		this.rowIndex = rowIndex;
+	}
+
+	/**
+	 * Only used while sorting, where two reusable views are compared.
+	 *
+	 * @param rowIndex
+	 */
+	void setRowIndex(int rowIndex) {
+		this.rowIndex = rowIndex;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.odi.IResultObject#getResultClass()
+	 */
+	@Override
+	public IResultClass getResultClass() {
+		return buffer.getResultClass();
+	}
+
+	/*
+	 * @see
+	 * org.eclipse.birt.data.engine.odi.IResultObject#getFieldValue(java.lang.String)
+	 */
+	@Override
+	public Object getFieldValue(String fieldName) throws DataException {
+		return getFieldValue(getFieldIndex(fieldName));
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.odi.IResultObject#getFieldValue(int)
+	 */
+	@Override
+	public Object getFieldValue(int fieldIndex) throws DataException {
+		return buffer.getValue(rowIndex, fieldIndex - 1);
+	}
+
+	/*
+	 * @see
+	 * org.eclipse.birt.data.engine.odi.IResultObject#setCustomFieldValue(java.lang.
+	 * String, java.lang.Object)
+	 */
+	@Override
+	public void setCustomFieldValue(String fieldName, Object value) throws DataException {
+		setCustomFieldValue(getFieldIndex(fieldName), value);
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.odi.IResultObject#setCustomFieldValue(int,
+	 * java.lang.Object)
+	 */
+	@Override
+	public void setCustomFieldValue(int fieldIndex, Object value) throws DataException {
+		if (fieldIndex < 1 || fieldIndex > buffer.getResultClass().getFieldCount()) {
+			throw new DataException(ResourceConstants.INVALID_FIELD_INDEX, Integer.valueOf(fieldIndex));
+		}
+		buffer.setValue(rowIndex, fieldIndex - 1, value);
+	}
+
+	/*
+	 * Rows are equal if their values are equal, the same as ResultObject, so that
+	 * a columnar row and a result object can be compared in either order.
+	 *
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object ob) {
+		if (!(ob instanceof IResultObject)) {
+			return false;
+		}
+
+		IResultObject ob2 = (IResultObject) ob;
+
+		int fieldCount = this.getResultClass().getFieldCount();
+		if (fieldCount != ob2.getResultClass().getFieldCount()) {
+			return false;
+		}
+
+		for (int i = 0; i < fieldCount; i++) {
+			try {
+				Object value1 = this.getFieldValue(i + 1);
+				Object value2 = ob2.getFieldValue(i + 1);
+				if (CompareUtil.compare(value1, value2) != 0) {
+					return false;
+				}
+			} catch (DataException e) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/*
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		int result = 17;
+		int fieldCount = buffer.getResultClass().getFieldCount();
+		for (int i = 0; i < fieldCount; i++) {
+			Object value = buffer.getValue(rowIndex, i);
+			result = 37 * result + (value == null ? 0 : value.hashCode());
+		}
+		return result;
+	}
+
+	private int getFieldIndex(String fieldName) throws DataException {
+		int fieldIndex = buffer.getResultClass().getFieldIndex(fieldName);
+		if (fieldIndex < 1) {
+			throw new DataException(ResourceConstants.INVALID_FIELD_NAME, fieldName);
+		}
+		return fieldIndex;
+	}
+}
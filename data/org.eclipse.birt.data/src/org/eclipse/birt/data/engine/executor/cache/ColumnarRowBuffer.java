@@ -0,0 +1,710 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.executor.cache;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.i18n.ResourceConstants;
+import org.eclipse.birt.data.engine.odi.IResultClass;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+
+/**
+ * Column oriented row storage used by ColumnarMemoryCache. Integer, long,
+ * double and date columns are kept in primitive arrays together with a null
+ * bitmap, string columns are dictionary encoded. Any other column, or a column
+ * which receives a value of an unexpected class, is kept as a plain object
+ * array.
+ */
+public class ColumnarRowBuffer {
+	/** initial row capacity of each column */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/** number of rows before the dictionary ratio of string columns is checked */
+	private static final int DICTIONARY_CHECK_ROWS = 1024;
+
+	private IResultClass rsMeta;
+	private Column[] columns;
+	private int rowCount;
+	private int capacity;
+
+	/**
+	 * @param rsMeta
+	 * @throws DataException
+	 */
+	public ColumnarRowBuffer(IResultClass rsMeta) throws DataException {
+		this.rsMeta = rsMeta;
+		this.capacity = INITIAL_CAPACITY;
+		this.columns = new Column[rsMeta.getFieldCount()];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = newColumn(rsMeta.getFieldValueClass(i + 1), capacity);
+		}
+	}
+
+	/**
+	 * Return whether the rows of the given result class can be stored in a
+	 * ColumnarRowBuffer with benefit, that is no column needs a special
+	 * conversion when a result object is created and at least one column can be
+	 * stored in encoded form.
+	 *
+	 * @param rsMeta
+	 * @return
+	 * @throws DataException
+	 */
+	public static boolean isApplicable(IResultClass rsMeta) throws DataException {
+		if (rsMeta == null || rsMeta.getFieldCount() == 0 || rsMeta.hasAnyTYpe() || rsMeta.hasClobOrBlob()) {
+			return false;
+		}
+		for (int i = 1; i <= rsMeta.getFieldCount(); i++) {
+			if (isEncodable(rsMeta.getFieldValueClass(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isEncodable(Class valueClass) {
+		return Integer.class.equals(valueClass) || Long.class.equals(valueClass) || Double.class.equals(valueClass)
+				|| String.class.equals(valueClass) || isDateClass(valueClass);
+	}
+
+	private static boolean isDateClass(Class valueClass) {
+		return Date.class.equals(valueClass) || java.sql.Date.class.equals(valueClass) || Time.class.equals(valueClass)
+				|| Timestamp.class.equals(valueClass);
+	}
+
+	private static Column newColumn(Class valueClass, int capacity) {
+		if (Integer.class.equals(valueClass)) {
+			return new IntColumn(capacity);
+		} else if (Long.class.equals(valueClass)) {
+			return new LongColumn(capacity);
+		} else if (Double.class.equals(valueClass)) {
+			return new DoubleColumn(capacity);
+		} else if (isDateClass(valueClass)) {
+			return new DateColumn(valueClass, capacity);
+		} else if (String.class.equals(valueClass)) {
+			return new StringColumn(capacity);
+		}
+		return new ObjectColumn(capacity);
+	}
+
+	/**
+	 * Append a row to the end of this buffer. Fields which are not available in
+	 * the result object are stored as null.
+	 *
+	 * @param resultObject
+	 * @throws DataException
+	 */
+	public void add(IResultObject resultObject) throws DataException {
+		if (rowCount == capacity) {
+			ensureCapacity(Math.max(capacity + (capacity >> 1), INITIAL_CAPACITY));
+		}
+		int fieldCount = Math.min(columns.length, resultObject.getResultClass().getFieldCount());
+		for (int i = 0; i < fieldCount; i++) {
+			setValue(rowCount, i, resultObject.getFieldValue(i + 1));
+		}
+		// a new row of a primitive or string column reads as 0 or as the first
+		// dictionary entry until it is set
+		for (int i = fieldCount; i < columns.length; i++) {
+			setValue(rowCount, i, null);
+		}
+		rowCount++;
+
+		if (rowCount == DICTIONARY_CHECK_ROWS) {
+			for (int i = 0; i < columns.length; i++) {
+				if (columns[i] instanceof StringColumn && ((StringColumn) columns[i]).isDictionaryIneffective(rowCount)) {
+					columns[i] = columns[i].toObjectColumn(rowCount, capacity);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of rows in this buffer
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @return the result class of the stored rows
+	 */
+	public IResultClass getResultClass() {
+		return rsMeta;
+	}
+
+	/**
+	 * @return the estimated size in bytes of the memory occupied by this buffer
+	 */
+	public long getMemorySize() {
+		long size = SizeOfUtil.OBJECT_ARRAY_OVERHEAD + (long) columns.length * SizeOfUtil.POINTER_SIZE;
+		for (int i = 0; i < columns.length; i++) {
+			size += columns[i].getMemorySize();
+		}
+		return size;
+	}
+
+	/**
+	 * @param rowIndex 0-based row index
+	 * @param colIndex 0-based column index
+	 * @return the value of the given cell
+	 */
+	Object getValue(int rowIndex, int colIndex) {
+		return columns[colIndex].get(rowIndex);
+	}
+
+	/**
+	 * @param rowIndex 0-based row index
+	 * @param colIndex 0-based column index
+	 * @param value
+	 */
+	void setValue(int rowIndex, int colIndex, Object value) {
+		if (!columns[colIndex].accept(value)) {
+			columns[colIndex] = columns[colIndex].toObjectColumn(rowCount, capacity);
+		}
+		columns[colIndex].set(rowIndex, value);
+	}
+
+	/**
+	 * Return a result object which reads and writes the given row of this buffer.
+	 *
+	 * @param rowIndex 0-based row index
+	 * @return
+	 * @throws DataException
+	 */
+	public IResultObject getResultObject(int rowIndex) throws DataException {
+		if (rowIndex < 0 || rowIndex >= rowCount) {
+			throw new DataException(ResourceConstants.DESTINDEX_OUTOF_RANGE,
+					new Object[] { Integer.valueOf(0), Integer.valueOf(rowCount - 1) });
+		}
+		return new ColumnarResultObject(this, rowIndex);
+	}
+
+	/**
+	 * Materialize all rows of this buffer as result objects. This is used when
+	 * the rows need to be handed over to a cache which works on result objects,
+	 * such as DiskCache.
+	 *
+	 * @return
+	 */
+	public IResultObject[] toResultObjects() {
+		IResultObject[] resultObjects = new IResultObject[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			resultObjects[i] = new ColumnarResultObject(this, i);
+		}
+		return resultObjects;
+	}
+
+	/**
+	 * Sort the rows of this buffer. The sort is stable, the same as sorting an
+	 * array of result objects with java.util.Arrays.
+	 *
+	 * @param comparator comparator of result objects
+	 */
+	public void sort(final Comparator comparator) {
+		if (rowCount < 2) {
+			return;
+		}
+		final ColumnarResultObject left = new ColumnarResultObject(this, 0);
+		final ColumnarResultObject right = new ColumnarResultObject(this, 0);
+		int[] order = new int[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			order[i] = i;
+		}
+		RowComparator rowComparator = (row1, row2) -> {
+			left.setRowIndex(row1);
+			right.setRowIndex(row2);
+			return comparator.compare(left, right);
+		};
+		mergeSort(order.clone(), order, 0, rowCount, rowComparator);
+
+		for (int i = 0; i < columns.length; i++) {
+			columns[i].permute(order, rowCount);
+		}
+	}
+
+	/**
+	 * Release the unused capacity of the columns once no more rows will be added.
+	 */
+	public void trimToSize() {
+		if (capacity > rowCount) {
+			ensureCapacity(rowCount);
+		}
+	}
+
+	private void ensureCapacity(int newCapacity) {
+		for (int i = 0; i < columns.length; i++) {
+			columns[i].resize(newCapacity);
+		}
+		capacity = newCapacity;
+	}
+
+	/**
+	 * Compare two rows by their indexes
+	 */
+	private interface RowComparator {
+		int compare(int row1, int row2);
+	}
+
+	private static final int INSERTION_SORT_THRESHOLD = 7;
+
+	/**
+	 * Stable top-down merge sort of row indexes. The sorted result is put in
+	 * dest; src must hold the same content as dest when called.
+	 */
+	private static void mergeSort(int[] src, int[] dest, int low, int high, RowComparator comparator) {
+		int length = high - low;
+		if (length < INSERTION_SORT_THRESHOLD) {
+			for (int i = low; i < high; i++) {
+				for (int j = i; j > low && comparator.compare(dest[j - 1], dest[j]) > 0; j--) {
+					int t = dest[j];
+					dest[j] = dest[j - 1];
+					dest[j - 1] = t;
+				}
+			}
+			return;
+		}
+
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, low, mid, comparator);
+		mergeSort(dest, src, mid, high, comparator);
+
+		if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+			System.arraycopy(src, low, dest, low, length);
+			return;
+		}
+
+		for (int i = low, p = low, q = mid; i < high; i++) {
+			if (q >= high || p < mid && comparator.compare(src[p], src[q]) <= 0) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+
+	/**
+	 * Storage of a single column
+	 */
+	private static abstract class Column {
+		/**
+		 * @return whether the value can be stored in this column
+		 */
+		abstract boolean accept(Object value);
+
+		abstract Object get(int rowIndex);
+
+		abstract void set(int rowIndex, Object value);
+
+		abstract void resize(int newCapacity);
+
+		/**
+		 * Reorder the first rowCount rows so that the new row i is the old row
+		 * order[i].
+		 */
+		abstract void permute(int[] order, int rowCount);
+
+		abstract long getMemorySize();
+
+		ObjectColumn toObjectColumn(int rowCount, int capacity) {
+			ObjectColumn column = new ObjectColumn(capacity);
+			for (int i = 0; i < rowCount; i++) {
+				column.set(i, get(i));
+			}
+			return column;
+		}
+
+		static long sizeOfBitSet(BitSet bitSet) {
+			return SizeOfUtil.OBJECT_OVERHEAD + SizeOfUtil.PRIMITIVE_ARRAY_OVERHEAD + bitSet.size() / 8;
+		}
+	}
+
+	/**
+	 * Column of primitive values with a null bitmap
+	 */
+	private static abstract class PrimitiveColumn extends Column {
+		protected BitSet nulls = new BitSet();
+
+		@Override
+		void set(int rowIndex, Object value) {
+			if (value == null) {
+				nulls.set(rowIndex);
+			} else {
+				nulls.clear(rowIndex);
+				setValue(rowIndex, value);
+			}
+		}
+
+		@Override
+		Object get(int rowIndex) {
+			return nulls.get(rowIndex) ? null : getValue(rowIndex);
+		}
+
+		abstract void setValue(int rowIndex, Object value);
+
+		abstract Object getValue(int rowIndex);
+
+		@Override
+		void permute(int[] order, int rowCount) {
+			BitSet permuted = new BitSet(rowCount);
+			for (int i = 0; i < rowCount; i++) {
+				if (nulls.get(order[i])) {
+					permuted.set(i);
+				}
+			}
+			nulls = permuted;
+			permuteValues(order, rowCount);
+		}
+
+		abstract void permuteValues(int[] order, int rowCount);
+	}
+
+	private static final class IntColumn extends PrimitiveColumn {
+		private int[] values;
+
+		IntColumn(int capacity) {
+			values = new int[capacity];
+		}
+
+		@Override
+		boolean accept(Object value) {
+			return value == null || value.getClass() == Integer.class;
+		}
+
+		@Override
+		void setValue(int rowIndex, Object value) {
+			values[rowIndex] = ((Integer) value).intValue();
+		}
+
+		@Override
+		Object getValue(int rowIndex) {
+			return Integer.valueOf(values[rowIndex]);
+		}
+
+		@Override
+		void resize(int newCapacity) {
+			values = Arrays.copyOf(values, newCapacity);
+		}
+
+		@Override
+		void permuteValues(int[] order, int rowCount) {
+			int[] permuted = new int[values.length];
+			for (int i = 0; i < rowCount; i++) {
+				permuted[i] = values[order[i]];
+			}
+			values = permuted;
+		}
+
+		@Override
+		long getMemorySize() {
+			return SizeOfUtil.PRIMITIVE_ARRAY_OVERHEAD + 4L * values.length + sizeOfBitSet(nulls);
+		}
+	}
+
+	private static final class LongColumn extends PrimitiveColumn {
+		private long[] values;
+
+		LongColumn(int capacity) {
+			values = new long[capacity];
+		}
+
+		@Override
+		boolean accept(Object value) {
+			return value == null || value.getClass() == Long.class;
+		}
+
+		@Override
+		void setValue(int rowIndex, Object value) {
+			values[rowIndex] = ((Long) value).longValue();
+		}
+
+		@Override
+		Object getValue(int rowIndex) {
+			return Long.valueOf(values[rowIndex]);
+		}
+
+		@Override
+		void resize(int newCapacity) {
+			values = Arrays.copyOf(values, newCapacity);
+		}
+
+		@Override
+		void permuteValues(int[] order, int rowCount) {
+			long[] permuted = new long[values.length];
+			for (int i = 0; i < rowCount; i++) {
+				permuted[i] = values[order[i]];
+			}
+			values = permuted;
+		}
+
+		@Override
+		long getMemorySize() {
+			return SizeOfUtil.PRIMITIVE_ARRAY_OVERHEAD + 8L * values.length + sizeOfBitSet(nulls);
+		}
+	}
+
+	private static final class DoubleColumn extends PrimitiveColumn {
+		private double[] values;
+
+		DoubleColumn(int capacity) {
+			values = new double[capacity];
+		}
+
+		@Override
+		boolean accept(Object value) {
+			return value == null || value.getClass() == Double.class;
+		}
+
+		@Override
+		void setValue(int rowIndex, Object value) {
+			values[rowIndex] = ((Double) value).doubleValue();
+		}
+
+		@Override
+		Object getValue(int rowIndex) {
+			return Double.valueOf(values[rowIndex]);
+		}
+
+		@Override
+		void resize(int newCapacity) {
+			values = Arrays.copyOf(values, newCapacity);
+		}
+
+		@Override
+		void permuteValues(int[] order, int rowCount) {
+			double[] permuted = new double[values.length];
+			for (int i = 0; i < rowCount; i++) {
+				permuted[i] = values[order[i]];
+			}
+			values = permuted;
+		}
+
+		@Override
+		long getMemorySize() {
+			return SizeOfUtil.PRIMITIVE_ARRAY_OVERHEAD + 8L * values.length + sizeOfBitSet(nulls);
+		}
+	}
+
+	/**
+	 * Date values are kept as milliseconds, the nanoseconds of
+	 * java.sql.Timestamp values are kept in a separate array.
+	 */
+	private static final class DateColumn extends PrimitiveColumn {
+		private Class valueClass;
+		private long[] millis;
+		private int[] nanos;
+
+		DateColumn(Class valueClass, int capacity) {
+			this.valueClass = valueClass;
+			this.millis = new long[capacity];
+			if (Timestamp.class.equals(valueClass)) {
+				this.nanos = new int[capacity];
+			}
+		}
+
+		@Override
+		boolean accept(Object value) {
+			return value == null || value.getClass() == valueClass;
+		}
+
+		@Override
+		void setValue(int rowIndex, Object value) {
+			millis[rowIndex] = ((Date) value).getTime();
+			if (nanos != null) {
+				nanos[rowIndex] = ((Timestamp) value).getNanos();
+			}
+		}
+
+		@Override
+		Object getValue(int rowIndex) {
+			long time = millis[rowIndex];
+			if (valueClass == Timestamp.class) {
+				Timestamp timestamp = new Timestamp(time);
+				timestamp.setNanos(nanos[rowIndex]);
+				return timestamp;
+			} else if (valueClass == java.sql.Date.class) {
+				return new java.sql.Date(time);
+			} else if (valueClass == Time.class) {
+				return new Time(time);
+			}
+			return new Date(time);
+		}
+
+		@Override
+		void resize(int newCapacity) {
+			millis = Arrays.copyOf(millis, newCapacity);
+			if (nanos != null) {
+				nanos = Arrays.copyOf(nanos, newCapacity);
+			}
+		}
+
+		@Override
+		void permuteValues(int[] order, int rowCount) {
+			long[] permutedMillis = new long[millis.length];
+			for (int i = 0; i < rowCount; i++) {
+				permutedMillis[i] = millis[order[i]];
+			}
+			millis = permutedMillis;
+			if (nanos != null) {
+				int[] permutedNanos = new int[nanos.length];
+				for (int i = 0; i < rowCount; i++) {
+					permutedNanos[i] = nanos[order[i]];
+				}
+				nanos = permutedNanos;
+			}
+		}
+
+		@Override
+		long getMemorySize() {
+			long size = SizeOfUtil.PRIMITIVE_ARRAY_OVERHEAD + 8L * millis.length + sizeOfBitSet(nulls);
+			if (nanos != null) {
+				size += SizeOfUtil.PRIMITIVE_ARRAY_OVERHEAD + 4L * nanos.length;
+			}
+			return size;
+		}
+	}
+
+	/**
+	 * Dictionary encoded string column. A code of -1 stands for null.
+	 */
+	private static final class StringColumn extends Column {
+		private int[] codes;
+		private List<String> dictionary = new ArrayList<>();
+		private Map<String, Integer> codeMap = new HashMap<>();
+		private long dictionarySize;
+
+		StringColumn(int capacity) {
+			codes = new int[capacity];
+		}
+
+		/**
+		 * @return true if most of the values are distinct, in which case the
+		 *         dictionary only adds overhead
+		 */
+		boolean isDictionaryIneffective(int rowCount) {
+			return dictionary.size() > rowCount / 2;
+		}
+
+		@Override
+		boolean accept(Object value) {
+			return value == null || value.getClass() == String.class;
+		}
+
+		@Override
+		Object get(int rowIndex) {
+			int code = codes[rowIndex];
+			return code < 0 ? null : dictionary.get(code);
+		}
+
+		@Override
+		void set(int rowIndex, Object value) {
+			if (value == null) {
+				codes[rowIndex] = -1;
+				return;
+			}
+			Integer code = codeMap.get(value);
+			if (code == null) {
+				String str = (String) value;
+				code = Integer.valueOf(dictionary.size());
+				dictionary.add(str);
+				codeMap.put(str, code);
+				dictionarySize += SizeOfUtil.sizeOf(String.class, str) + 4 * SizeOfUtil.POINTER_SIZE
+						+ SizeOfUtil.OBJECT_OVERHEAD;
+			}
+			codes[rowIndex] = code.intValue();
+		}
+
+		@Override
+		void resize(int newCapacity) {
+			codes = Arrays.copyOf(codes, newCapacity);
+		}
+
+		@Override
+		void permute(int[] order, int rowCount) {
+			int[] permuted = new int[codes.length];
+			for (int i = 0; i < rowCount; i++) {
+				permuted[i] = codes[order[i]];
+			}
+			codes = permuted;
+		}
+
+		@Override
+		long getMemorySize() {
+			return SizeOfUtil.PRIMITIVE_ARRAY_OVERHEAD + 4L * codes.length + dictionarySize;
+		}
+	}
+
+	/**
+	 * Column of arbitrary values
+	 */
+	private static final class ObjectColumn extends Column {
+		private Object[] values;
+		private long valuesSize;
+
+		ObjectColumn(int capacity) {
+			values = new Object[capacity];
+		}
+
+		@Override
+		boolean accept(Object value) {
+			return true;
+		}
+
+		@Override
+		Object get(int rowIndex) {
+			return values[rowIndex];
+		}
+
+		@Override
+		void set(int rowIndex, Object value) {
+			Object oldValue = values[rowIndex];
+			if (oldValue != null) {
+				valuesSize -= SizeOfUtil.sizeOf(oldValue.getClass(), oldValue);
+			}
+			if (value != null) {
+				valuesSize += SizeOfUtil.sizeOf(value.getClass(), value);
+			}
+			values[rowIndex] = value;
+		}
+
+		@Override
+		void resize(int newCapacity) {
+			values = Arrays.copyOf(values, newCapacity);
+		}
+
+		@Override
+		void permute(int[] order, int rowCount) {
+			Object[] permuted = new Object[values.length];
+			for (int i = 0; i < rowCount; i++) {
+				permuted[i] = values[order[i]];
+			}
+			values = permuted;
+		}
+
+		@Override
+		long getMemorySize() {
+			return SizeOfUtil.OBJECT_ARRAY_OVERHEAD + (long) SizeOfUtil.POINTER_SIZE * values.length + valuesSize;
+		}
+	}
+}
@@ -60,6 +60,29 @@ public class MemoryCache implements ResultSetCache {
 		}
 	}
 
+	/**
+	 * Constructor for subclasses which keep the rows in their own storage and
+	 * provide them through {@link #getResultObject(int)}.
+	 *
+	 * @param rsMeta
+	 * @param countOfResult
+	 */
+	protected MemoryCache(IResultClass rsMeta, int countOfResult) {
+		this.rsMeta = rsMeta;
+		this.countOfResult = countOfResult;
+	}
+
+	/**
+	 * Return the result object at the specified position.
+	 *
+	 * @param index 0-based row index
+	 * @return result object
+	 * @throws DataException
+	 */
+	protected IResultObject getResultObject(int index) throws DataException {
+		return resultObjects[index];
+	}
+
 	/*
 	 * @see
 	 * org.eclipse.birt.data.engine.executor.cache.ResultSetCache#getCurrentIndex()
@@ -94,7 +117,7 @@ public class MemoryCache implements ResultSetCache {
 			if (currResultIndex == countOfResult) {
 				currResultObject = null;
 			} else {
-				currResultObject = resultObjects[currResultIndex];
+				currResultObject = getResultObject(currResultIndex);
 			}
 		}
 
@@ -124,7 +147,7 @@ public class MemoryCache implements ResultSetCache {
 		if (currResultIndex == -1 || currResultIndex == countOfResult) {
 			currResultObject = null;
 		} else {
-			currResultObject = resultObjects[currResultIndex];
+			currResultObject = getResultObject(currResultIndex);
 		}
 	}
 
@@ -181,18 +204,19 @@ public class MemoryCache implements ResultSetCache {
 		Set resultSetNameSet = ResultSetUtil.getRsColumnRequestMap(cacheRequestMap);
 		try {
 			// save data
-			int rowCount = this.resultObjects.length;
+			int rowCount = this.countOfResult;
 			int colCount = getColumnCount(this.rsMeta);
 
 			IOUtil.writeInt(dos, rowCount);
 			long offset = 4;
 			for (int i = 0; i < rowCount; i++) {
+				IResultObject resultObject = getResultObject(i);
 				IOUtil.writeLong(rowLensStream, offset);
-				offset += ResultSetUtil.writeResultObject(dos, resultObjects[i], colCount, resultSetNameSet,
-						stringTable, index, i, version, saveInnerId);
+				offset += ResultSetUtil.writeResultObject(dos, resultObject, colCount, resultSetNameSet, stringTable,
+						index, i, version, saveInnerId);
 				if (auxiliaryIndexCreators != null) {
 					for (IAuxiliaryIndexCreator creator : auxiliaryIndexCreators) {
-						creator.save(resultObjects[i], i);
+						creator.save(resultObject, i);
 					}
 				}
 			}
@@ -225,7 +249,7 @@ public class MemoryCache implements ResultSetCache {
 		Set resultSetNameSet = ResultSetUtil.getRsColumnRequestMap(cacheRequestMap);
 		try {
 			// save data
-			int rowCount = originalRowCount + this.resultObjects.length;
+			int rowCount = originalRowCount + this.countOfResult;
 			int colCount = this.rsMeta.getFieldCount();
 
 			IOUtil.writeInt(outputStream, rowCount);
@@ -243,12 +267,13 @@ public class MemoryCache implements ResultSetCache {
 				offset = ((RAOutputStream) outputStream).length();
 			}
 			for (int i = 0; i < rowCount - originalRowCount; i++) {
+				IResultObject resultObject = getResultObject(i);
 				IOUtil.writeLong(rlos, offset);
-				offset += ResultSetUtil.writeResultObject(dos, resultObjects[i], colCount, resultSetNameSet,
-						stringTable, map, originalRowCount + i, version);
+				offset += ResultSetUtil.writeResultObject(dos, resultObject, colCount, resultSetNameSet, stringTable,
+						map, originalRowCount + i, version);
 				if (auxiliaryIndexCreators != null) {
 					for (IAuxiliaryIndexCreator creator : auxiliaryIndexCreators) {
-						creator.save(resultObjects[i], originalRowCount + i);
+						creator.save(resultObject, originalRowCount + i);
 					}
 				}
 			}
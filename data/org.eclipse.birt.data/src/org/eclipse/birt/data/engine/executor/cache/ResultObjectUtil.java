@@ -250,6 +250,15 @@ public class ResultObjectUtil {
 		}
 	}
 
+	/**
+	 * Returns whether the query whose rows are serialized has been stopped.
+	 *
+	 * @return true if the query has been stopped
+	 */
+	public boolean isStopped() {
+		return session.getStopSign().isStopped();
+	}
+
 	/**
 	 *
 	 * @param bos
@@ -31,6 +31,8 @@ import org.eclipse.birt.data.engine.odi.IResultClass;
 import org.eclipse.birt.data.engine.odi.IResultObject;
 import org.eclipse.birt.data.engine.script.ScriptEvalUtil;
 
+import com.ibm.icu.text.Collator;
+
 /**
  * Help SmartCache to get the ResultSetCache, the real data cache.
  */
@@ -270,7 +272,14 @@ class SmartCacheHelper {
 
 		IResultObject odaObject;
 		IResultObject[] resultObjects;
-		List resultObjectsList = new ArrayList();
+		List resultObjectsList = null;
+		ColumnarRowBuffer rowBuffer = null;
+		if (CacheUtil.enableColumnarMemoryCache(eventHandler == null ? null : eventHandler.getAppContext())
+				&& ColumnarRowBuffer.isApplicable(rsMeta)) {
+			rowBuffer = new ColumnarRowBuffer(rsMeta);
+		} else {
+			resultObjectsList = new ArrayList();
+		}
 
 		int dataCount = 0;
 		long usedMemorySize = 0;
@@ -281,61 +290,144 @@ class SmartCacheHelper {
 				if (maxRows > 0 && dataCount > maxRows) {
 					throw new DataException(ResourceConstants.EXCEED_MAX_DATA_OBJECT_ROWS);
 				}
-				// the followed variable is for performance
-				int odaObjectFieldCount = odaObject.getResultClass().getFieldCount();
-				int metaFieldCount = rsMeta.getFieldCount();
-				if (odaObjectFieldCount < metaFieldCount) {
-					// Populate Data according to the given meta data.
-					Object[] obs = new Object[metaFieldCount];
-					for (int i = 1; i <= odaObjectFieldCount; i++) {
-						obs[i - 1] = odaObject.getFieldValue(i);
-					}
-					ResultObject temp = new ResultObject(rsMeta, obs);
-					resultObjectsList.add(temp);
+				if (rowBuffer != null) {
+					// the row buffer stores the fields after the last field of a short
+					// row as null
+					rowBuffer.add(odaObject);
 					if (memoryCacheSize != 0) {
-						usedMemorySize += sizeOfUtil.sizeOf(temp);
+						usedMemorySize = rowBuffer.getMemorySize();
 					}
 				} else {
-					resultObjectsList.add(odaObject);
-					if (memoryCacheSize != 0) {
-						usedMemorySize += sizeOfUtil.sizeOf(odaObject);
+					// the followed variable is for performance
+					int odaObjectFieldCount = odaObject.getResultClass().getFieldCount();
+					int metaFieldCount = rsMeta.getFieldCount();
+					if (odaObjectFieldCount < metaFieldCount) {
+						// Populate Data according to the given meta data.
+						Object[] obs = new Object[metaFieldCount];
+						for (int i = 1; i <= odaObjectFieldCount; i++) {
+							obs[i - 1] = odaObject.getFieldValue(i);
+						}
+						ResultObject temp = new ResultObject(rsMeta, obs);
+						resultObjectsList.add(temp);
+						if (memoryCacheSize != 0) {
+							usedMemorySize += sizeOfUtil.sizeOf(temp);
+						}
+					} else {
+						resultObjectsList.add(odaObject);
+						if (memoryCacheSize != 0) {
+							usedMemorySize += sizeOfUtil.sizeOf(odaObject);
+						}
 					}
 				}
 
 			} else {
 				logger.fine("DiskCache is used");
 
-				resultObjects = (IResultObject[]) resultObjectsList.toArray(new IResultObject[0]);
+				if (rowBuffer != null) {
+					resultObjects = rowBuffer.toResultObjects();
+				} else {
+					resultObjects = (IResultObject[]) resultObjectsList.toArray(new IResultObject[0]);
+				}
 				// the order is: resultObjects, odaObject, rowResultSet
+				int sortParallelism = getSortParallelism(sortSpec, eventHandler);
 				resultSetCache = new DiskCache(resultObjects, odaObject, rowResultSet, rsMeta,
-						getComparator(sortSpec, eventHandler), dataCount, maxRows, this.session);
+						getComparator(sortSpec, eventHandler, sortParallelism > 1), dataCount, maxRows, this.session,
+						sortParallelism);
 				break;
 			}
 		}
 
 		if (resultSetCache == null) {
-			logger.fine("MemoryCache is used");
+			if (rowBuffer != null) {
+				logger.fine("ColumnarMemoryCache is used");
 
-			resultObjects = (IResultObject[]) resultObjectsList.toArray(new IResultObject[0]);
+				resultSetCache = new ColumnarMemoryCache(rowBuffer, rsMeta, getComparator(sortSpec, eventHandler, false));
+			} else {
+				logger.fine("MemoryCache is used");
 
-			resultSetCache = new MemoryCache(resultObjects, rsMeta, getComparator(sortSpec, eventHandler));
+				resultObjects = (IResultObject[]) resultObjectsList.toArray(new IResultObject[0]);
+
+				resultSetCache = new MemoryCache(resultObjects, rsMeta, getComparator(sortSpec, eventHandler, false));
+			}
 		}
 
 		odaObject = null;
 		resultObjects = null;
 		resultObjectsList = null;
+		rowBuffer = null;
 		rowResultSet = null;
 
 		long consumedTime = (System.currentTimeMillis() - startTime) / 1000;
 		logger.fine("Time consumed by cache is: " + consumedTime + " second");
 	}
 
+	/**
+	 * The comparator can only be used by several threads when it reads the sort
+	 * keys from the rows directly. Keys which are not temporary columns might be
+	 * evaluated by the event handler in the script context of the query thread.
+	 * The key comparators must be collators as well, since only these can be
+	 * frozen for concurrent use.
+	 *
+	 * @param sortSpec
+	 * @param eventHandler
+	 * @return the number of threads which may sort the rows exported to disk
+	 */
+	private static int getSortParallelism(SortSpec sortSpec, IEventHandler eventHandler) {
+		int parallelism = CacheUtil.getSortParallelism(eventHandler == null ? null : eventHandler.getAppContext());
+		if (parallelism == 1 || sortSpec == null || eventHandler == null) {
+			return parallelism;
+		}
+
+		String[] sortKeyColumns = sortSpec.getSortKeyColumns();
+		for (int i = 0; sortKeyColumns != null && i < sortKeyColumns.length; i++) {
+			if (sortKeyColumns[i] == null || !sortKeyColumns[i].startsWith("_{")) {
+				return 1;
+			}
+		}
+		CompareHints[] compareHints = sortSpec.getComparator();
+		for (int i = 0; compareHints != null && i < compareHints.length; i++) {
+			if (compareHints[i] != null && compareHints[i].getComparator() != null
+					&& !(compareHints[i].getComparator() instanceof Collator)) {
+				return 1;
+			}
+		}
+		return parallelism;
+	}
+
+	/**
+	 * A collator is not thread safe unless it is frozen, so the comparator which
+	 * is shared by the sort threads compares with frozen copies of the collators.
+	 *
+	 * @param compareHints
+	 * @return
+	 */
+	private static CompareHints[] getFrozenCompareHints(CompareHints[] compareHints) {
+		if (compareHints == null) {
+			return null;
+		}
+		CompareHints[] result = new CompareHints[compareHints.length];
+		for (int i = 0; i < compareHints.length; i++) {
+			result[i] = compareHints[i];
+			if (compareHints[i] != null && compareHints[i].getComparator() instanceof Collator) {
+				Collator collator = (Collator) compareHints[i].getComparator();
+				if (!collator.isFrozen()) {
+					collator = collator.cloneAsThawed().freeze();
+				}
+				result[i] = new CompareHints(collator, compareHints[i].getNullType());
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * @param sortSpec
+	 * @param eventHandler
+	 * @param concurrent   whether the comparator is used by several threads
 	 * @return Comparator based on specified sortSpec, null indicates there is no
 	 *         need to do sorting
 	 */
-	private static Comparator getComparator(SortSpec sortSpec, final IEventHandler eventHandler) {
+	private static Comparator getComparator(SortSpec sortSpec, final IEventHandler eventHandler,
+			boolean concurrent) {
 		if (sortSpec == null) {
 			return null;
 		}
@@ -348,7 +440,8 @@ class SmartCacheHelper {
 		}
 
 		final int[] sortAscending = sortSpec.getSortAscending();
-		final CompareHints[] comparators = sortSpec.getComparator();
+		final CompareHints[] comparators = concurrent ? getFrozenCompareHints(sortSpec.getComparator())
+				: sortSpec.getComparator();
 		Comparator comparator = new Comparator() {
 
 			/**
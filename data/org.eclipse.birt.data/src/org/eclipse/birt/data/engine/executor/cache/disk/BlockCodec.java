@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.executor.cache.disk;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A lightweight LZ77 codec for the blocks of temporary data files. The encoded
+ * form follows the LZ4 block layout: a sequence of tokens, each one giving a
+ * literal run followed by a back reference of at least four bytes within the
+ * last 64K. It is much cheaper than deflate and typically halves the size of
+ * serialized rows, which have many repeated column markers and values.
+ */
+final class BlockCodec {
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MATCH_FIND_LIMIT = 12;
+	private static final int MAX_OFFSET = 0xFFFF;
+	private static final int HASH_LOG = 12;
+	private static final int RUN_MASK = 0x0F;
+
+	private final int[] hashTable = new int[1 << HASH_LOG];
+
+	/**
+	 * Compress the source bytes into the destination array.
+	 *
+	 * @param src    source bytes
+	 * @param length number of source bytes
+	 * @param dest   destination buffer
+	 * @return number of bytes written to dest, or -1 if the compressed form does
+	 *         not fit into dest
+	 */
+	int compress(byte[] src, int length, byte[] dest) {
+		Arrays.fill(hashTable, -1);
+		int anchor = 0;
+		int srcPos = 0;
+		int destPos = 0;
+		int matchLimit = length - MATCH_FIND_LIMIT;
+
+		while (srcPos < matchLimit) {
+			int sequence = readInt(src, srcPos);
+			int hash = (sequence * -1640531535) >>> (32 - HASH_LOG);
+			int ref = hashTable[hash];
+			hashTable[hash] = srcPos;
+			if (ref < 0 || srcPos - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+				srcPos++;
+				continue;
+			}
+
+			int matchLength = MIN_MATCH;
+			int matchEnd = length - LAST_LITERALS;
+			while (srcPos + matchLength < matchEnd && src[ref + matchLength] == src[srcPos + matchLength]) {
+				matchLength++;
+			}
+
+			destPos = writeSequence(src, anchor, srcPos - anchor, srcPos - ref, matchLength, dest, destPos);
+			if (destPos < 0) {
+				return -1;
+			}
+			srcPos += matchLength;
+			anchor = srcPos;
+		}
+
+		return writeSequence(src, anchor, length - anchor, 0, 0, dest, destPos);
+	}
+
+	/**
+	 * Decompress the source bytes into the destination array.
+	 *
+	 * @param src        compressed bytes
+	 * @param srcLength  number of compressed bytes
+	 * @param dest       destination buffer
+	 * @param destLength expected number of decompressed bytes
+	 * @throws IOException if the compressed data is corrupt
+	 */
+	static void decompress(byte[] src, int srcLength, byte[] dest, int destLength) throws IOException {
+		int srcPos = 0;
+		int destPos = 0;
+		try {
+			while (srcPos < srcLength) {
+				int token = src[srcPos++] & 0xFF;
+
+				int literalLength = token >>> 4;
+				if (literalLength == RUN_MASK) {
+					int b;
+					do {
+						b = src[srcPos++] & 0xFF;
+						literalLength += b;
+					} while (b == 0xFF);
+				}
+				System.arraycopy(src, srcPos, dest, destPos, literalLength);
+				srcPos += literalLength;
+				destPos += literalLength;
+				if (srcPos >= srcLength) {
+					break;
+				}
+
+				int offset = (src[srcPos] & 0xFF) | ((src[srcPos + 1] & 0xFF) << 8);
+				srcPos += 2;
+				int matchLength = token & RUN_MASK;
+				if (matchLength == RUN_MASK) {
+					int b;
+					do {
+						b = src[srcPos++] & 0xFF;
+						matchLength += b;
+					} while (b == 0xFF);
+				}
+				matchLength += MIN_MATCH;
+
+				int ref = destPos - offset;
+				if (offset == 0 || ref < 0) {
+					throw new IOException("Corrupt data block");
+				}
+				// the reference may overlap the bytes being written
+				for (int i = 0; i < matchLength; i++) {
+					dest[destPos++] = dest[ref + i];
+				}
+			}
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Corrupt data block", e);
+		}
+		if (destPos != destLength) {
+			throw new IOException("Corrupt data block");
+		}
+	}
+
+	private static int writeSequence(byte[] src, int literalStart, int literalLength, int offset, int matchLength,
+			byte[] dest, int destPos) {
+		// token, length bytes, literals and offset
+		int required = 1 + literalLength / 255 + 1 + literalLength + 2 + matchLength / 255 + 1;
+		if (destPos + required > dest.length) {
+			return -1;
+		}
+
+		int matchCode = matchLength == 0 ? 0 : matchLength - MIN_MATCH;
+		int token = (Math.min(literalLength, RUN_MASK) << 4) | Math.min(matchCode, RUN_MASK);
+		dest[destPos++] = (byte) token;
+		destPos = writeLength(literalLength, dest, destPos);
+		System.arraycopy(src, literalStart, dest, destPos, literalLength);
+		destPos += literalLength;
+
+		if (matchLength == 0) {
+			return destPos;
+		}
+		dest[destPos++] = (byte) offset;
+		dest[destPos++] = (byte) (offset >>> 8);
+		return writeLength(matchCode, dest, destPos);
+	}
+
+	private static int writeLength(int length, byte[] dest, int destPos) {
+		if (length < RUN_MASK) {
+			return destPos;
+		}
+		length -= RUN_MASK;
+		while (length >= 0xFF) {
+			dest[destPos++] = (byte) 0xFF;
+			length -= 0xFF;
+		}
+		dest[destPos++] = (byte) length;
+		return destPos;
+	}
+
+	private static int readInt(byte[] bytes, int pos) {
+		return (bytes[pos] & 0xFF) | ((bytes[pos + 1] & 0xFF) << 8) | ((bytes[pos + 2] & 0xFF) << 16)
+				| ((bytes[pos + 3] & 0xFF) << 24);
+	}
+}
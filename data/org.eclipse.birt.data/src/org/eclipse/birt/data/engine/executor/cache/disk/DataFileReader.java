@@ -14,10 +14,18 @@
 
 package org.eclipse.birt.data.engine.executor.cache.disk;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.core.security.FileSecurity;
@@ -27,13 +35,70 @@ import org.eclipse.birt.data.engine.odi.IResultObject;
 /**
  * A utility file reader handler, which keeps the file stream and input stream
  * for reading data.
+ *
+ * The blocks written by DataFileWriter are read through memory mapped regions
+ * of the file. An index of the block positions is built from the block headers
+ * the first time the reader seeks, so that a row can be reached by reading a
+ * single block. A mapped region is released as soon as the reader moves to
+ * another region or is closed.
  */
 class DataFileReader {
+	private static final Logger logger = Logger.getLogger(DataFileReader.class.getName());
+
+	/** size of the file region mapped at once */
+	private static final int MAP_WINDOW_SIZE = 16 * 1024 * 1024;
+
+	/** the unsafe instance and its method releasing a mapped region */
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			unsafe = field.get(null);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (Exception | LinkageError e) {
+			// the mapped regions are released by the garbage collector
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	/**
+	 * A mapped file can not be deleted on Windows before the mapping is released,
+	 * so plain positional reads are used there if the mapping can't be released
+	 * explicitly.
+	 */
+	private static final boolean USE_MAPPED_BUFFER = INVOKE_CLEANER != null
+			|| !System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+
 	private File file;
 	private boolean isOpen;
 
-	private FileInputStream fis;
-	private BufferedInputStream bis;
+	private RandomAccessFile raf;
+	private FileChannel channel;
+	private long fileLength;
+
+	private ByteBuffer mappedWindow;
+	private long mappedWindowStart;
+
+	// current block
+	private byte[] blockHeader = new byte[DataFileWriter.BLOCK_HEADER_SIZE];
+	private byte[] blockData;
+	private byte[] storedData;
+	private int blockRowCount;
+	private int blockRowIndex;
+	private int blockOffset;
+	private long nextBlockPosition;
+
+	// block index
+	private long[] blockPositions;
+	private int[] blockFirstRows;
+	private int blockCount = -1;
 
 	private ResultObjectUtil resultObjectUtil;
 
@@ -83,18 +148,195 @@ class DataFileReader {
 	 * @throws DataException
 	 */
 	IResultObject[] read(int length) throws IOException, DataException {
-		if (!isOpen) {
+		open();
+
+		IResultObject[] resultObjects = new IResultObject[length];
+		for (int i = 0; i < length; i++) {
+			if (blockRowIndex >= blockRowCount) {
+				if (nextBlockPosition >= fileLength) {
+					throw new EOFException();
+				}
+				loadBlock(nextBlockPosition);
+			}
+			int rowLength = 4 + readInt(blockData, blockOffset);
+			resultObjects[i] = resultObjectUtil
+					.readData(new ByteArrayInputStream(blockData, blockOffset, rowLength), null, 1)[0];
+			blockOffset += rowLength;
+			blockRowIndex++;
+		}
+		return resultObjects;
+	}
+
+	/**
+	 * Position the reader so that the next read starts with the specified row.
+	 *
+	 * @param rowIndex 0-based index of the row in this file
+	 * @throws IOException
+	 */
+	void seek(int rowIndex) throws IOException {
+		open();
+		buildBlockIndex();
+		if (blockCount == 0 || rowIndex < 0) {
+			throw new EOFException();
+		}
+
+		// find the last block whose first row is not after rowIndex
+		int low = 0;
+		int high = blockCount - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (blockFirstRows[mid] <= rowIndex) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		loadBlock(blockPositions[low]);
+		int skip = rowIndex - blockFirstRows[low];
+		if (skip > blockRowCount) {
+			throw new EOFException();
+		}
+		for (int i = 0; i < skip; i++) {
+			blockOffset += 4 + readInt(blockData, blockOffset);
+		}
+		blockRowIndex = skip;
+	}
+
+	/**
+	 * Open the file if it is not open yet.
+	 *
+	 * @throws IOException
+	 */
+	private void open() throws IOException {
+		if (isOpen) {
+			return;
+		}
+		raf = FileSecurity.createRandomAccessFile(file, "r");
+		channel = raf.getChannel();
+		fileLength = channel.size();
+		mappedWindow = null;
+		blockRowCount = 0;
+		blockRowIndex = 0;
+		nextBlockPosition = 0;
+		blockCount = -1;
+		isOpen = true;
+	}
+
+	/**
+	 * Build the block index by walking through the block headers.
+	 *
+	 * @throws IOException
+	 */
+	private void buildBlockIndex() throws IOException {
+		if (blockCount >= 0) {
+			return;
+		}
+		blockPositions = new long[16];
+		blockFirstRows = new int[16];
+		blockCount = 0;
+
+		long position = 0;
+		int rowIndex = 0;
+		while (position < fileLength) {
+			if (blockCount == blockPositions.length) {
+				blockPositions = Arrays.copyOf(blockPositions, blockCount * 2);
+				blockFirstRows = Arrays.copyOf(blockFirstRows, blockCount * 2);
+			}
+			readFully(position, blockHeader, DataFileWriter.BLOCK_HEADER_SIZE);
+			blockPositions[blockCount] = position;
+			blockFirstRows[blockCount] = rowIndex;
+			blockCount++;
+
+			position += DataFileWriter.BLOCK_HEADER_SIZE + readInt(blockHeader, 4);
+			rowIndex += readInt(blockHeader, 8);
+		}
+	}
+
+	/**
+	 * Read and decompress the block at the specified file position.
+	 *
+	 * @param position
+	 * @throws IOException
+	 */
+	private void loadBlock(long position) throws IOException {
+		readFully(position, blockHeader, DataFileWriter.BLOCK_HEADER_SIZE);
+		int rawLength = readInt(blockHeader, 0);
+		int storedLength = readInt(blockHeader, 4);
+
+		if (blockData == null || blockData.length < rawLength) {
+			blockData = new byte[Math.max(rawLength, DataFileWriter.BLOCK_SIZE)];
+		}
+		if (storedLength == rawLength) {
+			readFully(position + DataFileWriter.BLOCK_HEADER_SIZE, blockData, rawLength);
+		} else {
+			if (storedData == null || storedData.length < storedLength) {
+				storedData = new byte[Math.max(storedLength, DataFileWriter.BLOCK_SIZE)];
+			}
+			readFully(position + DataFileWriter.BLOCK_HEADER_SIZE, storedData, storedLength);
+			BlockCodec.decompress(storedData, storedLength, blockData, rawLength);
+		}
+
+		blockRowCount = readInt(blockHeader, 8);
+		blockRowIndex = 0;
+		blockOffset = 0;
+		nextBlockPosition = position + DataFileWriter.BLOCK_HEADER_SIZE + storedLength;
+	}
+
+	/**
+	 * Read bytes at the specified file position, either from the mapped region
+	 * or directly from the file channel.
+	 *
+	 * @param position
+	 * @param dest
+	 * @param length
+	 * @throws IOException
+	 */
+	private void readFully(long position, byte[] dest, int length) throws IOException {
+		if (position + length > fileLength) {
+			throw new EOFException();
+		}
+		if (USE_MAPPED_BUFFER) {
+			if (mappedWindow == null || position < mappedWindowStart
+					|| position + length > mappedWindowStart + mappedWindow.limit()) {
+				long size = Math.min(Math.max(MAP_WINDOW_SIZE, length), fileLength - position);
+				unmapWindow();
+				mappedWindow = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+				mappedWindowStart = position;
+			}
+			mappedWindow.position((int) (position - mappedWindowStart));
+			mappedWindow.get(dest, 0, length);
+		} else {
+			ByteBuffer buffer = ByteBuffer.wrap(dest, 0, length);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, position + buffer.position()) < 0) {
+					throw new EOFException();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Release the mapped region of the file, if any, without waiting for the
+	 * garbage collector.
+	 */
+	private void unmapWindow() {
+		ByteBuffer window = mappedWindow;
+		mappedWindow = null;
+		if (window != null && INVOKE_CLEANER != null) {
 			try {
-				fis = FileSecurity.createFileInputStream(file);
+				INVOKE_CLEANER.invoke(UNSAFE, window);
 			} catch (Exception e) {
-				// normally this exception will never be thrown
-				// since file will always exist
+				logger.log(Level.FINE, "Failed to unmap the data file", e);
 			}
-			bis = new BufferedInputStream(fis);
-			isOpen = true;
 		}
+	}
 
-		return resultObjectUtil.readData(bis, null, length);
+	/**
+	 * Read a big endian integer, the same format as IOUtil.writeInt
+	 */
+	private static int readInt(byte[] bytes, int pos) {
+		return ((bytes[pos] & 0xFF) << 24) | ((bytes[pos + 1] & 0xFF) << 16) | ((bytes[pos + 2] & 0xFF) << 8)
+				| (bytes[pos + 3] & 0xFF);
 	}
 
 	/**
@@ -105,8 +347,9 @@ class DataFileReader {
 	void close() {
 		if (isOpen) {
 			try {
-				bis.close();
-				fis.close();
+				unmapWindow();
+				channel.close();
+				raf.close();
 				isOpen = false;
 			} catch (IOException e) {
 				// normally this exception will never be thrown
@@ -15,10 +15,12 @@
 package org.eclipse.birt.data.engine.executor.cache.disk;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 
+import org.eclipse.birt.core.util.IOUtil;
 import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.core.security.FileSecurity;
 import org.eclipse.birt.data.engine.executor.cache.ResultObjectUtil;
@@ -27,8 +29,21 @@ import org.eclipse.birt.data.engine.odi.IResultObject;
 /**
  * A utility file writer handler, which keeps the file stream and output stream
  * for reading data.
+ *
+ * Rows are collected into blocks of about BLOCK_SIZE bytes. Each block is
+ * compressed with BlockCodec and written with a header of three integers: the
+ * uncompressed length, the stored length and the row count. A block whose
+ * stored length equals its uncompressed length is stored as is. Inside a
+ * block, every row is written by ResultObjectUtil and prefixed by its length,
+ * which allows DataFileReader to skip rows without deserializing them.
  */
 class DataFileWriter {
+	/** uncompressed size of a block */
+	static final int BLOCK_SIZE = 64 * 1024;
+
+	/** size of the header of a block */
+	static final int BLOCK_HEADER_SIZE = 12;
+
 	private File file;
 	private boolean isOpen;
 
@@ -37,6 +52,11 @@ class DataFileWriter {
 
 	private ResultObjectUtil resultObjectUtil;
 
+	private BlockOutputStream blockStream = new BlockOutputStream();
+	private int blockRowCount;
+	private BlockCodec codec;
+	private byte[] compressBuffer;
+
 	/**
 	 * A util method to new instance of DataFileWriter
 	 *
@@ -79,7 +99,6 @@ class DataFileWriter {
 	 *
 	 * @param resultObjects
 	 * @param count
-	 * @param stopSign
 	 * @throws IOException,  exception of writing file
 	 * @throws DataException
 	 */
@@ -95,7 +114,45 @@ class DataFileWriter {
 			isOpen = true;
 		}
 
-		resultObjectUtil.writeData(bos, resultObjects, count);
+		for (int i = 0; i < count; i++) {
+			resultObjectUtil.writeData(blockStream, resultObjects[i]);
+			blockRowCount++;
+			if (blockStream.size() >= BLOCK_SIZE) {
+				writeBlock();
+			}
+			if (resultObjectUtil.isStopped()) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Compress the rows collected so far and write them as one block.
+	 *
+	 * @throws IOException
+	 */
+	private void writeBlock() throws IOException {
+		int rawLength = blockStream.size();
+		if (codec == null) {
+			codec = new BlockCodec();
+		}
+		if (compressBuffer == null || compressBuffer.length < rawLength) {
+			compressBuffer = new byte[Math.max(rawLength, BLOCK_SIZE)];
+		}
+
+		// only keep the compressed form if it is smaller
+		int storedLength = codec.compress(blockStream.getBuffer(), rawLength, compressBuffer);
+		if (storedLength < 0 || storedLength >= rawLength) {
+			storedLength = rawLength;
+		}
+
+		IOUtil.writeInt(bos, rawLength);
+		IOUtil.writeInt(bos, storedLength);
+		IOUtil.writeInt(bos, blockRowCount);
+		bos.write(storedLength == rawLength ? blockStream.getBuffer() : compressBuffer, 0, storedLength);
+
+		blockStream.reset();
+		blockRowCount = 0;
 	}
 
 	/**
@@ -106,6 +163,9 @@ class DataFileWriter {
 	void close() {
 		if (isOpen) {
 			try {
+				if (blockRowCount > 0) {
+					writeBlock();
+				}
 				bos.close();
 				fos.close();
 				isOpen = false;
@@ -115,4 +175,17 @@ class DataFileWriter {
 		}
 	}
 
+	/**
+	 * Byte array output stream which gives access to its buffer
+	 */
+	private static class BlockOutputStream extends ByteArrayOutputStream {
+		BlockOutputStream() {
+			super(BLOCK_SIZE + BLOCK_SIZE / 4);
+		}
+
+		byte[] getBuffer() {
+			return buf;
+		}
+	}
+
 }
@@ -80,6 +80,9 @@ public class DiskCache implements ResultSetCache {
 	private boolean needCache;
 	private BufferedStructureArray cache;
 
+	// the number of threads used to sort the rows
+	private int sortParallelism = 1;
+
 	/**
 	 * The MemoryCacheRowCount indicates the upper limitation of how many rows can
 	 * be loaded into memory. Note this value is included as well. Look at the start
@@ -101,8 +104,30 @@ public class DiskCache implements ResultSetCache {
 	public DiskCache(IResultObject[] resultObjects, IResultObject resultObject, IRowResultSet rowResultSet,
 			IResultClass rsMeta, Comparator comparator, int MemoryCacheRowCount, int maxRows, DataEngineSession session)
 			throws DataException {
+		this(resultObjects, resultObject, rowResultSet, rsMeta, comparator, MemoryCacheRowCount, maxRows, session, 1);
+	}
+
+	/**
+	 * @param resultObjects
+	 * @param nextResultObject
+	 * @param rowResultSet
+	 * @param rsMeta
+	 * @param comparator
+	 * @param MemoryCacheRowCount
+	 * @param maxRows
+	 * @param session
+	 * @param sortParallelism     the number of threads used to sort the rows, 1
+	 *                            to sort them on the calling thread. The
+	 *                            comparator must be thread safe when it is
+	 *                            greater than 1.
+	 * @throws DataException
+	 */
+	public DiskCache(IResultObject[] resultObjects, IResultObject resultObject, IRowResultSet rowResultSet,
+			IResultClass rsMeta, Comparator comparator, int MemoryCacheRowCount, int maxRows, DataEngineSession session,
+			int sortParallelism) throws DataException {
 		// this.rsMeta = rsMeta;
 		this.MemoryCacheRowCount = MemoryCacheRowCount;
+		this.sortParallelism = sortParallelism;
 		this.rsMeta = rsMeta;
 		this.session = session;
 		this.diskBasedResultSet = new DiskCacheResultSet(getInfoMap(), session);
@@ -203,7 +228,18 @@ public class DiskCache implements ResultSetCache {
 		checkValid(destIndex);
 
 		int advancedStep;
-		if (destIndex >= currResultIndex) {
+		if (destIndex != currResultIndex && !needCache && diskBasedResultSet.isRandomAccessible()) {
+			if (destIndex == -1) {
+				reset();
+			} else if (destIndex < countOfResult) {
+				try {
+					diskBasedResultSet.moveTo(destIndex);
+					currResultObject = diskBasedResultSet.nextRow();
+				} catch (IOException e) {
+					throw new DataException(ResourceConstants.READ_TEMPFILE_ERROR, e);
+				}
+			}
+		} else if (destIndex >= currResultIndex) {
 			advancedStep = destIndex - currResultIndex;
 			for (int i = 0; i < advancedStep; i++) {
 				next();
@@ -319,6 +355,7 @@ public class DiskCache implements ResultSetCache {
 		goalFileStr = getGoalFileStr();
 		infoMap.put("goalFile", goalFileStr);
 		infoMap.put("dataCountOfUnit", "" + MemoryCacheRowCount);
+		infoMap.put("sortParallelism", "" + sortParallelism);
 
 		return infoMap;
 	}
@@ -97,6 +97,24 @@ class DiskCacheResultSet {
 		return rowIterator.fetch();
 	}
 
+	/**
+	 * @return true if the rows of the goal file can be accessed by index
+	 */
+	public boolean isRandomAccessible() {
+		return rowIterator instanceof RowFile;
+	}
+
+	/**
+	 * Move to the specified row, so that the next call of nextRow returns it. This
+	 * can only be called if isRandomAccessible returns true.
+	 *
+	 * @param rowIndex 0-based row index
+	 * @throws IOException
+	 */
+	public void moveTo(int rowIndex) throws IOException {
+		((RowFile) rowIterator).moveTo(rowIndex);
+	}
+
 	/**
 	 * Set the file reader to the start of the goal file
 	 *
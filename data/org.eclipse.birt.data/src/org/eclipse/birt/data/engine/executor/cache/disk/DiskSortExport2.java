@@ -19,8 +19,13 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.executor.cache.CacheUtil;
 import org.eclipse.birt.data.engine.executor.cache.IRowResultSet;
 import org.eclipse.birt.data.engine.executor.cache.ResultObjectUtil;
 import org.eclipse.birt.data.engine.i18n.ResourceConstants;
@@ -29,6 +34,12 @@ import org.eclipse.birt.data.engine.odi.IResultObject;
 /**
  * One implemenation of DataBaseExport. This class will read data from data base
  * and export to file with sort operation done.
+ *
+ * When the sort parallelism is greater than 1, the rows are cut into runs which
+ * are sorted and written to temporary files on the pool shared by the queries
+ * while the next run is being read, and the runs are then merged concurrently
+ * as well. The runs are smaller in that case, so that the rows held in memory
+ * still do not exceed dataCountOfUnit.
  */
 class DiskSortExport2 extends DiskDataExport {
 	private int dataCountOfUnit;
@@ -48,6 +59,13 @@ class DiskSortExport2 extends DiskDataExport {
 	// the goal file
 	private IRowIterator goalRowIterator = null;
 
+	// Used when the sort is done in parallel only. The permits of runSlots are
+	// the runs which may be sorted at the same time while the next run is read.
+	private ExecutorService sortPool;
+	private Semaphore runSlots;
+	private List<Future<?>> runTasks;
+	private int dataCountOfRun;
+
 	/**
 	 * @param dataProvider
 	 */
@@ -59,14 +77,24 @@ class DiskSortExport2 extends DiskDataExport {
 					+ ", and then merge sort on file can not be done");
 		}
 
-		rowBuffer = new IResultObject[dataCountOfUnit];
-
 		tempFileUtil = new MergeTempFileUtil((String) (infoMap.get("tempDir")), resultObjectUtil);
 
 		mergeSortUtil = MergeSortUtil.getUtil(comparator);
 
 		this.currRowFiles = new ArrayList();
 		this.inMemoryPos = -1;
+
+		String parallelism = (String) infoMap.get("sortParallelism");
+		int sortParallelism = parallelism == null ? 1 : Integer.parseInt(parallelism);
+		if (sortParallelism > 1) {
+			sortPool = CacheUtil.getParallelExecutor();
+			runSlots = new Semaphore(sortParallelism);
+			runTasks = new ArrayList<>();
+			dataCountOfRun = Math.max(2, dataCountOfUnit / (sortParallelism + 1));
+			rowBuffer = new IResultObject[dataCountOfRun];
+		} else {
+			rowBuffer = new IResultObject[dataCountOfUnit];
+		}
 	}
 
 	/*
@@ -75,6 +103,16 @@ class DiskSortExport2 extends DiskDataExport {
 	 */
 	@Override
 	public void exportStartDataToDisk(IResultObject[] resultObjects) throws IOException {
+		if (sortPool != null) {
+			for (int start = 0; start < resultObjects.length; start += dataCountOfRun) {
+				IResultObject[] run = new IResultObject[Math.min(dataCountOfRun, resultObjects.length - start)];
+				System.arraycopy(resultObjects, start, run, 0, run.length);
+				submitRun(run);
+			}
+			inMemoryPos = -1;
+			return;
+		}
+
 		System.arraycopy(resultObjects, 0, rowBuffer, 0, resultObjects.length);
 		inMemoryPos = this.dataCountOfUnit - 1;
 	}
@@ -91,14 +129,26 @@ class DiskSortExport2 extends DiskDataExport {
 		int dataCountOfRest;
 		try {
 			dataCountOfRest = innerExportRestData(resultObject, rs, dataCountOfUnit, maxRows);
+			if (sortPool != null) {
+				MergeSortImpl.awaitAll(runTasks);
+				runTasks.clear();
+			}
 			MergeSortImpl mergeSortImpl = new MergeSortImpl(this.dataCountOfUnit, this.mergeSortUtil, this.tempFileUtil,
-					this.currRowFiles, session);
+					this.currRowFiles, session, sortPool);
 			this.goalRowIterator = mergeSortImpl.mergeSortOnUnits();
 		} catch (IOException ie) {
+			if (sortPool != null) {
+				cancelRuns();
+			}
 			for (int i = 0; i < currRowFiles.size(); i++) {
 				((RowFile) currRowFiles.get(i)).close();
 			}
 			throw ie;
+		} catch (DataException de) {
+			if (sortPool != null) {
+				cancelRuns();
+			}
+			throw de;
 		}
 
 		return dataCountOfRest;
@@ -149,6 +199,16 @@ class DiskSortExport2 extends DiskDataExport {
 	 * @throws DataException
 	 */
 	private void addNewRow(IResultObject resultObject) throws IOException, DataException {
+		if (sortPool != null) {
+			rowBuffer[++inMemoryPos] = resultObject;
+			if (inMemoryPos == dataCountOfRun - 1) {
+				submitRun(rowBuffer);
+				rowBuffer = new IResultObject[dataCountOfRun];
+				inMemoryPos = -1;
+			}
+			return;
+		}
+
 		if (inMemoryPos == dataCountOfUnit - 1) {
 			prepareNewTempRowFile(0);
 			mergeSortUtil.sortSelf(rowBuffer);
@@ -166,6 +226,17 @@ class DiskSortExport2 extends DiskDataExport {
 	 * @throws DataException
 	 */
 	private void processLastUnit() throws IOException, DataException {
+		if (sortPool != null) {
+			if (inMemoryPos >= 0) {
+				IResultObject[] run = new IResultObject[inMemoryPos + 1];
+				System.arraycopy(rowBuffer, 0, run, 0, run.length);
+				submitRun(run);
+			}
+			rowBuffer = null;
+			inMemoryPos = -1;
+			return;
+		}
+
 		// Now all the rest rows exist in memory.
 		rowBuffer = interchange(rowBuffer, inMemoryPos);
 		mergeSortUtil.sortSelf(rowBuffer);
@@ -182,6 +253,44 @@ class DiskSortExport2 extends DiskDataExport {
 		getCurrTempFile(currRowFiles).endWrite();
 	}
 
+	/**
+	 * Sort a run and write it to a new temporary file on the sort pool. This
+	 * blocks while the maximum number of runs are being sorted.
+	 *
+	 * @param run
+	 */
+	private void submitRun(final IResultObject[] run) {
+		runSlots.acquireUninterruptibly();
+		final RowFile rowFile = tempFileUtil.newTempFile(0);
+		currRowFiles.add(rowFile);
+		runTasks.add(sortPool.submit(new Callable<Object>() {
+
+			@Override
+			public Object call() throws Exception {
+				try {
+					mergeSortUtil.sortSelf(run);
+					rowFile.writeRows(run, run.length);
+					rowFile.endWrite();
+				} finally {
+					runSlots.release();
+				}
+				return null;
+			}
+		}));
+	}
+
+	/**
+	 * Wait for the runs which are still being written, ignoring their failures.
+	 */
+	private void cancelRuns() {
+		try {
+			MergeSortImpl.awaitAll(runTasks);
+		} catch (IOException | DataException e) {
+			// the first failure has been reported already
+		}
+		runTasks.clear();
+	}
+
 	/**
 	 * To switch the place of rows in array by a postion.
 	 *
@@ -247,6 +356,10 @@ class DiskSortExport2 extends DiskDataExport {
 	 */
 	@Override
 	public void close() {
+		// the pool is shared, only the runs of this sort are waited for
+		if (sortPool != null && !runTasks.isEmpty()) {
+			cancelRuns();
+		}
 		tempFileUtil.clearTempDir();
 	}
 
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.executor.cache.disk;
+
+import java.io.IOException;
+import java.util.Comparator;
+
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+
+/**
+ * K-way merge of sorted row iterators based on a tournament tree of losers.
+ * Each fetch replays one path from a leaf to the root, so it needs about log2(k)
+ * comparisons whatever the number of sources is. Rows with equal keys are
+ * returned in the order of their sources, which keeps the merge stable.
+ */
+class LoserTreeRowIterator implements IRowIterator {
+	private IRowIterator[] sources;
+	private Comparator comparator;
+
+	// current head row of every source, null when the source is exhausted
+	private IResultObject[] heads;
+
+	// tree[0] is the source of the winner, tree[1..k-1] are the losers of the
+	// inner nodes
+	private int[] tree;
+	private boolean initialized;
+
+	/**
+	 * @param sources    sorted row iterators
+	 * @param comparator
+	 */
+	LoserTreeRowIterator(IRowIterator[] sources, Comparator comparator) {
+		assert sources != null && sources.length > 0;
+
+		this.sources = sources;
+		this.comparator = comparator;
+		this.heads = new IResultObject[sources.length];
+		this.tree = new int[sources.length];
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.executor.cache.disk.IRowIterator#reset()
+	 */
+	@Override
+	public void reset() throws DataException {
+		for (int i = 0; i < sources.length; i++) {
+			sources[i].reset();
+		}
+		initialized = false;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.executor.cache.disk.IRowIterator#fetch()
+	 */
+	@Override
+	public IResultObject fetch() throws IOException, DataException {
+		if (!initialized) {
+			initialize();
+		}
+
+		int winner = tree[0];
+		IResultObject value = heads[winner];
+		if (value == null) {
+			return null;
+		}
+
+		heads[winner] = sources[winner].fetch();
+		replay(winner);
+		return value;
+	}
+
+	/**
+	 * Read the first row of every source and play the whole tournament.
+	 *
+	 * @throws IOException
+	 * @throws DataException
+	 */
+	private void initialize() throws IOException, DataException {
+		int k = sources.length;
+		for (int i = 0; i < k; i++) {
+			heads[i] = sources[i].fetch();
+		}
+
+		// the winners of the subtrees, leaves are the nodes k..2k-1
+		int[] winners = new int[2 * k];
+		for (int i = 0; i < k; i++) {
+			winners[k + i] = i;
+		}
+		for (int node = k - 1; node > 0; node--) {
+			int left = winners[2 * node];
+			int right = winners[2 * node + 1];
+			if (beats(left, right)) {
+				winners[node] = left;
+				tree[node] = right;
+			} else {
+				winners[node] = right;
+				tree[node] = left;
+			}
+		}
+		tree[0] = winners[k == 1 ? k : 1];
+		initialized = true;
+	}
+
+	/**
+	 * Move the new head of a source up to the root, swapping it with the losers
+	 * it does not beat.
+	 *
+	 * @param source
+	 */
+	private void replay(int source) {
+		int winner = source;
+		for (int node = (source + sources.length) >>> 1; node > 0; node >>>= 1) {
+			if (beats(tree[node], winner)) {
+				int loser = winner;
+				winner = tree[node];
+				tree[node] = loser;
+			}
+		}
+		tree[0] = winner;
+	}
+
+	/**
+	 * @return true if the head of source a comes before the head of source b
+	 */
+	private boolean beats(int a, int b) {
+		IResultObject valueA = heads[a];
+		IResultObject valueB = heads[b];
+		if (valueA == null) {
+			return false;
+		}
+		if (valueB == null) {
+			return true;
+		}
+		int result = comparator.compare(valueA, valueB);
+		return result < 0 || (result == 0 && a < b);
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.executor.cache.disk.IRowIterator#close()
+	 */
+	@Override
+	public void close() throws DataException {
+		for (int i = 0; i < sources.length; i++) {
+			sources[i].close();
+		}
+		heads = null;
+	}
+}
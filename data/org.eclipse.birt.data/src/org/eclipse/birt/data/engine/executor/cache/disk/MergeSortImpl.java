@@ -14,15 +14,22 @@
 package org.eclipse.birt.data.engine.executor.cache.disk;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.impl.DataEngineSession;
 import org.eclipse.birt.data.engine.odi.IResultObject;
 
 /**
- * Implements the merge sort algorithm.
+ * Implements the merge sort algorithm. When an executor is given, the files of
+ * one merge level are merged concurrently and the last merge reads its files
+ * ahead in the background.
  */
 class MergeSortImpl {
 	private int dataCountOfUnit;
@@ -35,8 +42,16 @@ class MergeSortImpl {
 	// this value, max.
 	private final static int maxOpenFile = 500;
 
+	// The number of rows which are read ahead at one time from every file in
+	// the last merge is between these values.
+	private final static int minReadAheadRows = 16;
+	private final static int maxReadAheadRows = 1024;
+
 	private DataEngineSession session;
 
+	// null when the merge is done on the calling thread only
+	private ExecutorService executor;
+
 	/**
 	 * @param dataCountOfUnit
 	 * @param mergeSortUtil
@@ -45,11 +60,25 @@ class MergeSortImpl {
 	 */
 	MergeSortImpl(int dataCountOfUnit, MergeSortUtil mergeSortUtil, MergeTempFileUtil tempFileUtil, List tempRowFiles,
 			DataEngineSession session) {
+		this(dataCountOfUnit, mergeSortUtil, tempFileUtil, tempRowFiles, session, null);
+	}
+
+	/**
+	 * @param dataCountOfUnit
+	 * @param mergeSortUtil
+	 * @param tempFileUtil
+	 * @param tempFiles
+	 * @param session
+	 * @param executor        used to merge files concurrently, can be null
+	 */
+	MergeSortImpl(int dataCountOfUnit, MergeSortUtil mergeSortUtil, MergeTempFileUtil tempFileUtil, List tempRowFiles,
+			DataEngineSession session, ExecutorService executor) {
 		this.dataCountOfUnit = dataCountOfUnit;
 		this.mergeSortUtil = mergeSortUtil;
 		this.tempFileUtil = tempFileUtil;
 		this.tempRowFiles = tempRowFiles;
 		this.session = session;
+		this.executor = executor;
 	}
 
 	/**
@@ -69,7 +98,7 @@ class MergeSortImpl {
 			tempFileUtil.newMergeLevel();
 			granularity = getMergeGranularity();
 			if (granularity == tempRowFiles.size()) {
-				goalFile = new MergeSortRowFiles(getSubList(tempRowFiles, 0, tempRowFiles.size() - 1), mergeSortUtil);
+				goalFile = newGoalFile(getSubList(tempRowFiles, 0, tempRowFiles.size() - 1));
 				tempRowFiles.clear();
 				finish = true;
 			} else {
@@ -80,6 +109,25 @@ class MergeSortImpl {
 		return goalFile;
 	}
 
+	/**
+	 * @param rowFiles
+	 * @return the iterator on the merged rows of the last level
+	 */
+	private IRowIterator newGoalFile(RowFile[] rowFiles) {
+		if (executor == null) {
+			return new MergeSortRowFiles(rowFiles, mergeSortUtil);
+		}
+
+		// keep the rows which are read ahead within the memory of one unit
+		int batchSize = Math.max(minReadAheadRows,
+				Math.min(maxReadAheadRows, dataCountOfUnit / (2 * rowFiles.length)));
+		IRowIterator[] sources = new IRowIterator[rowFiles.length];
+		for (int i = 0; i < rowFiles.length; i++) {
+			sources[i] = new ReadAheadRowIterator(rowFiles[i], executor, batchSize);
+		}
+		return new LoserTreeRowIterator(sources, mergeSortUtil.getComparator());
+	}
+
 	/**
 	 * @return the granularity of merge unit
 	 */
@@ -97,6 +145,11 @@ class MergeSortImpl {
 	 * @throws DataException
 	 */
 	private void levelMergeSort(int granularity) throws IOException, DataException {
+		if (executor != null) {
+			parallelLevelMergeSort(granularity);
+			return;
+		}
+
 		int mergeCount = 0;
 		List newTempList = new ArrayList();
 
@@ -116,6 +169,106 @@ class MergeSortImpl {
 		tempRowFiles = newTempList;
 	}
 
+	/**
+	 * Same as levelMergeSort, but every group of files is merged by its own task.
+	 *
+	 * @param granularity
+	 * @throws IOException
+	 * @throws DataException
+	 */
+	private void parallelLevelMergeSort(int granularity) throws IOException, DataException {
+		List newTempList = new ArrayList();
+		List<Future<?>> tasks = new ArrayList<>();
+
+		try {
+			for (int start = 0; start < tempRowFiles.size(); start += granularity) {
+				final RowFile[] sourceFiles = getSubList(tempRowFiles, start, start + granularity - 1);
+				final RowFile targetFile = tempFileUtil.newTempFile(0);
+				newTempList.add(targetFile);
+				tasks.add(executor.submit(new Callable<Object>() {
+
+					@Override
+					public Object call() throws Exception {
+						if (!session.getStopSign().isStopped()) {
+							mergeRowFiles(sourceFiles, targetFile);
+						}
+						return null;
+					}
+				}));
+			}
+		} finally {
+			awaitAll(tasks);
+		}
+
+		tempRowFiles.clear();
+		tempRowFiles = newTempList;
+	}
+
+	/**
+	 * Wait for the result of a task submitted by the merge sort.
+	 *
+	 * @param future
+	 * @return the result of the task
+	 * @throws IOException   when the task failed with an IOException, or the wait
+	 *                       is interrupted
+	 * @throws DataException when the task failed with a DataException
+	 */
+	static <T> T await(Future<T> future) throws IOException, DataException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof DataException) {
+				throw (DataException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Wait for all the tasks, and then report the first failure if any.
+	 *
+	 * @param futures
+	 * @throws IOException
+	 * @throws DataException
+	 */
+	static void awaitAll(List<? extends Future<?>> futures) throws IOException, DataException {
+		IOException ioException = null;
+		DataException dataException = null;
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				await(futures.get(i));
+			} catch (IOException e) {
+				if (ioException == null && dataException == null) {
+					ioException = e;
+				}
+			} catch (DataException e) {
+				if (ioException == null && dataException == null) {
+					dataException = e;
+				}
+			}
+		}
+		if (ioException != null) {
+			throw ioException;
+		}
+		if (dataException != null) {
+			throw dataException;
+		}
+	}
+
 	/**
 	 * Get all the temperary row files.
 	 *
@@ -143,7 +296,8 @@ class MergeSortImpl {
 	 * @throws DataException
 	 */
 	private void mergeRowFiles(RowFile[] sourceFiles, RowFile targetFile) throws IOException, DataException {
-		MergeSortRowFiles mergeSortRowSet = new MergeSortRowFiles(sourceFiles, mergeSortUtil);
+		IRowIterator mergeSortRowSet = executor == null ? new MergeSortRowFiles(sourceFiles, mergeSortUtil)
+				: new LoserTreeRowIterator(sourceFiles, mergeSortUtil.getComparator());
 		IResultObject resultObject = mergeSortRowSet.fetch();
 		while (resultObject != null) {
 			targetFile.write(resultObject);
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.executor.cache.disk;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+
+/**
+ * Row iterator which reads the next batch of rows of its source in the
+ * background while the current batch is consumed. The source is only accessed
+ * by one thread at a time, since a new read is submitted after the previous one
+ * has been collected.
+ */
+class ReadAheadRowIterator implements IRowIterator {
+	private static final IResultObject[] EMPTY_BATCH = new IResultObject[0];
+
+	private IRowIterator source;
+	private ExecutorService executor;
+	private int batchSize;
+
+	private IResultObject[] batch;
+	private int batchPos;
+	private Future<IResultObject[]> nextBatch;
+
+	/**
+	 * @param source
+	 * @param executor
+	 * @param batchSize the number of rows read at one time
+	 */
+	ReadAheadRowIterator(IRowIterator source, ExecutorService executor, int batchSize) {
+		assert batchSize > 0;
+
+		this.source = source;
+		this.executor = executor;
+		this.batchSize = batchSize;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.executor.cache.disk.IRowIterator#reset()
+	 */
+	@Override
+	public void reset() throws DataException {
+		cancelReadAhead();
+		source.reset();
+		batch = null;
+		batchPos = 0;
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.executor.cache.disk.IRowIterator#fetch()
+	 */
+	@Override
+	public IResultObject fetch() throws IOException, DataException {
+		if (batch == null) {
+			batch = readBatch();
+			submitReadAhead();
+		} else if (batchPos == batch.length) {
+			if (batch.length < batchSize) {
+				return null;
+			}
+			batch = MergeSortImpl.await(nextBatch);
+			batchPos = 0;
+			nextBatch = null;
+			submitReadAhead();
+		}
+
+		if (batchPos == batch.length) {
+			return null;
+		}
+		IResultObject value = batch[batchPos];
+		batch[batchPos++] = null;
+		return value;
+	}
+
+	/**
+	 * Start reading the batch following the current one, unless the source has
+	 * been exhausted.
+	 */
+	private void submitReadAhead() {
+		if (batch.length == batchSize) {
+			nextBatch = executor.submit(new Callable<IResultObject[]>() {
+
+				@Override
+				public IResultObject[] call() throws Exception {
+					return readBatch();
+				}
+			});
+		}
+	}
+
+	/**
+	 * @return up to batchSize rows, fewer only at the end of the source
+	 * @throws IOException
+	 * @throws DataException
+	 */
+	private IResultObject[] readBatch() throws IOException, DataException {
+		IResultObject[] rows = new IResultObject[batchSize];
+		int count = 0;
+		IResultObject value;
+		while (count < batchSize && (value = source.fetch()) != null) {
+			rows[count++] = value;
+		}
+		if (count == batchSize) {
+			return rows;
+		}
+		if (count == 0) {
+			return EMPTY_BATCH;
+		}
+		IResultObject[] lastRows = new IResultObject[count];
+		System.arraycopy(rows, 0, lastRows, 0, count);
+		return lastRows;
+	}
+
+	/**
+	 * Wait until a pending read has finished, so that the source can be used by
+	 * this thread again.
+	 */
+	private void cancelReadAhead() {
+		if (nextBatch != null) {
+			try {
+				MergeSortImpl.await(nextBatch);
+			} catch (IOException | DataException e) {
+				// the rows are discarded anyway
+			}
+			nextBatch = null;
+		}
+	}
+
+	/*
+	 * @see org.eclipse.birt.data.engine.executor.cache.disk.IRowIterator#close()
+	 */
+	@Override
+	public void close() throws DataException {
+		cancelReadAhead();
+		source.close();
+		batch = null;
+	}
+}
@@ -191,6 +191,30 @@ class RowFile implements IRowIterator, ICloseListener {
 		return resultObject;
 	}
 
+	/**
+	 * Move the read position to the specified row, so that the next fetch returns
+	 * it. The rows in the file are located through the block index of the data
+	 * file, without reading the rows in front of the specified one.
+	 *
+	 * @param rowIndex 0-based row index
+	 * @throws IOException
+	 */
+	void moveTo(int rowIndex) throws IOException {
+		readPos = rowIndex;
+		if (rowCount <= memoryRowCache.length) {
+			return;
+		}
+		if (rowIndex >= memoryRowCache.length && rowIndex < rowCount) {
+			if (dfr == null) {
+				createReader();
+			}
+			dfr.seek(rowIndex - memoryRowCache.length);
+		} else if (rowIndex < memoryRowCache.length && dfr != null) {
+			// the rows after the cached ones are read from the start of the file
+			dfr.seek(0);
+		}
+	}
+
 	/**
 	 * Read one object from cache.
 	 *
@@ -241,9 +241,10 @@ public class DataSetToCache {
 	 */
 	private void saveClose(IDataSetCacheObject dataSetCachedObject) throws DataException {
 		if (saveUtil != null) {
-			getDataSetCacheManager().saveFinished(dataSetCachedObject);
+			// the data must be complete before other sessions can load it
 			saveUtil.close();
 			saveUtil = null;
+			getDataSetCacheManager().saveFinished(dataSetCachedObject);
 		}
 	}
 
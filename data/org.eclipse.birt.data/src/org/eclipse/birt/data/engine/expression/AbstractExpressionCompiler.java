@@ -188,6 +188,9 @@ abstract class AbstractExpressionCompiler {
 			}
 			assert (child != null && parent != null);
 			expr = processChild(context, false, parent, child, tree);
+			if (expr instanceof ComplexExpression) {
+				compileForJavaExpr(child, (ComplexExpression) expr);
+			}
 		} else {
 			// complex expressions
 			// Multiple expressions exist; we should produce complex expressions
@@ -411,6 +414,17 @@ abstract class AbstractExpressionCompiler {
 		((BytecodeExpression) expr).setScript(script);
 	}
 
+	/**
+	 * compile the expression node to Java if it is simple enough, so it is
+	 * evaluated on the rows without Rhino. By default the expressions are only
+	 * compiled to byte code.
+	 *
+	 * @param exprNode
+	 * @param expr
+	 */
+	protected void compileForJavaExpr(Node exprNode, ComplexExpression expr) {
+	}
+
 	/**
 	 * An aggregation expression in the form of Total.xxx for example Total.sum(
 	 * row.x ) This means the first child is a GETPROP node, and its left child is
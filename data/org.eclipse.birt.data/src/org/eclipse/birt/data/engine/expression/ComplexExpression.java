@@ -18,6 +18,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 
+import org.eclipse.birt.core.script.ScriptContext;
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.odi.IResultObject;
+import org.mozilla.javascript.Scriptable;
+
 /**
  * A Javascript expression that cannot be reduced to other simpler types of
  * CompiledExpression. An expression of this type has been compiled to Rhino
@@ -27,6 +32,7 @@ public final class ComplexExpression extends BytecodeExpression {
 	private ArrayList m_subExpressions;
 	private ArrayList m_tokenList;
 	private ArrayList m_constantExpressions;
+	private JavaExpression m_javaExpression;
 
 	ComplexExpression() {
 		logger.entering(ComplexExpression.class.getName(), "ComplexExpression");
@@ -44,6 +50,45 @@ public final class ComplexExpression extends BytecodeExpression {
 		return CompiledExpression.TYPE_COMPLEX_EXPR;
 	}
 
+	/**
+	 * Sets the Java form of this expression, used instead of the Rhino byte code
+	 * to evaluate it on a row.
+	 *
+	 * @param javaExpression the Java expression, or null
+	 */
+	void setJavaExpression(JavaExpression javaExpression) {
+		m_javaExpression = javaExpression;
+	}
+
+	/**
+	 * @return true if the expression can be evaluated without Rhino
+	 */
+	public boolean hasJavaExpression() {
+		return m_javaExpression != null;
+	}
+
+	/**
+	 * Evaluates the expression on a row. The Java form of the expression reads the
+	 * columns from the row, the Rhino byte code is used if there is no Java form
+	 * or if it cannot handle the values of the row.
+	 *
+	 * @param row     the current row
+	 * @param context the script context
+	 * @param scope   the scope of the row
+	 * @return the value of the expression
+	 * @throws DataException
+	 */
+	public Object evaluate(IResultObject row, ScriptContext context, Scriptable scope) throws DataException {
+		if (m_javaExpression != null) {
+			try {
+				return m_javaExpression.evaluate(row, scope);
+			} catch (Exception e) {
+				// Rhino evaluates it or reports the error
+			}
+		}
+		return evaluate(context, scope);
+	}
+
 	/*
 	 * @see java.lang.Object#equals(java.lang.Object)
 	 */
@@ -168,6 +168,8 @@ public class ExprEvaluateUtil {
 					return null;
 				}
 			}
+		} else if (expr instanceof ComplexExpression) {
+			return ((ComplexExpression) expr).evaluate(ro, cx, scope);
 		} else {
 			return expr.evaluate(cx, scope);
 		}
@@ -477,6 +479,8 @@ public class ExprEvaluateUtil {
 			// Direct column reference
 			ColumnReferenceExpression colref = (ColumnReferenceExpression) expr;
 			return evaluateColumnReferenceExpression(roObject, index, colref);
+		} else if (expr instanceof ComplexExpression) {
+			return ((ComplexExpression) expr).evaluate(roObject, cx, scope);
 		} else {
 			return expr.evaluate(cx, scope);
 		}
@@ -103,6 +103,9 @@ public class ExpressionCompiler extends AbstractExpressionCompiler {
 			exprNode.addChildToFront(arg);
 			tree.addChildrenToFront(exprNode);
 			compileForBytecodeExpr(context, tree, expr);
+			if (expr instanceof ComplexExpression) {
+				compileForJavaExpr(arg, (ComplexExpression) expr);
+			}
 			aggregateExpression.addArgument(expr);
 
 			arg = nextArg;
@@ -156,6 +159,16 @@ public class ExpressionCompiler extends AbstractExpressionCompiler {
 		return aggregateExpression;
 	}
 
+	/*
+	 * @see org.eclipse.birt.data.engine.expression.AbstractExpressionCompiler#
+	 * compileForJavaExpr(org.mozilla.javascript.Node,
+	 * org.eclipse.birt.data.engine.expression.ComplexExpression)
+	 */
+	@Override
+	protected void compileForJavaExpr(Node exprNode, ComplexExpression expr) {
+		expr.setJavaExpression(JavaExpressionCompiler.compile(exprNode, rowIndicator));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.expression;
+
+import org.eclipse.birt.data.engine.odi.IResultObject;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * A complex expression compiled to Java by {@link JavaExpressionCompiler}. It
+ * reads the columns from the result object of the row instead of the script
+ * scope, and throws an exception for the values it cannot handle the way Rhino
+ * does, in which case the expression is evaluated by Rhino.
+ */
+interface JavaExpression {
+
+	/**
+	 * @param row   the current row
+	 * @param scope the scope of the script functions called by the expression
+	 * @return the value of the expression
+	 * @throws Exception if the expression must be evaluated by Rhino
+	 */
+	Object evaluate(IResultObject row, Scriptable scope) throws Exception;
+}
@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.data.engine.expression;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.core.script.functionservice.IScriptFunction;
+import org.eclipse.birt.core.script.functionservice.impl.CategoryWrapper;
+import org.eclipse.birt.core.script.functionservice.impl.FunctionProvider;
+import org.eclipse.birt.data.engine.script.JSRowObject;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Node;
+import org.mozilla.javascript.Token;
+
+/**
+ * Compiles the Rhino tree of a complex expression to a {@link JavaExpression}
+ * when it only uses the constants, the columns of the row, the arithmetic,
+ * comparison and logical operators and the calls of the built-in BirtComp,
+ * BirtMath and BirtStr functions.
+ * <p>
+ * The operators follow the JavaScript conversions for the null, boolean, number
+ * and string values. Any other value, such as a date, makes the Java
+ * expression fail, so that the expression is evaluated again by Rhino. The
+ * functions allowed are side effect free, so evaluating them again does no
+ * harm.
+ */
+final class JavaExpressionCompiler {
+
+	private static final Set<String> FUNCTION_CATEGORIES = new HashSet<>(
+			Arrays.asList("BirtComp", "BirtMath", "BirtStr")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	/**
+	 * thrown by the Java expression for a value it does not handle
+	 */
+	private static final UnsupportedValueException UNSUPPORTED_VALUE = new UnsupportedValueException();
+
+	private final String rowIndicator;
+
+	private JavaExpressionCompiler(String rowIndicator) {
+		this.rowIndicator = rowIndicator;
+	}
+
+	/**
+	 * @param node         the node of the expression
+	 * @param rowIndicator the name of the row object
+	 * @return the Java expression, or null if the expression must be evaluated
+	 *         by Rhino
+	 */
+	static JavaExpression compile(Node node, String rowIndicator) {
+		return new JavaExpressionCompiler(rowIndicator).compileNode(node);
+	}
+
+	private JavaExpression compileNode(Node node) {
+		switch (node.getType()) {
+		case Token.NUMBER: {
+			final Double value = Double.valueOf(node.getDouble());
+			return (row, scope) -> value;
+		}
+		case Token.STRING: {
+			final String value = node.getString();
+			return (row, scope) -> value;
+		}
+		case Token.TRUE:
+			return (row, scope) -> Boolean.TRUE;
+		case Token.FALSE:
+			return (row, scope) -> Boolean.FALSE;
+		case Token.NULL:
+			return (row, scope) -> null;
+		case Token.GETPROP:
+		case Token.GETELEM:
+			return compileColumnReference(node);
+		case Token.CALL:
+			return compileCall(node);
+		case Token.NOT:
+		case Token.NEG:
+		case Token.POS:
+			return compileUnary(node);
+		case Token.ADD:
+		case Token.SUB:
+		case Token.MUL:
+		case Token.DIV:
+		case Token.MOD:
+		case Token.EQ:
+		case Token.NE:
+		case Token.SHEQ:
+		case Token.SHNE:
+		case Token.LT:
+		case Token.LE:
+		case Token.GT:
+		case Token.GE:
+		case Token.AND:
+		case Token.OR:
+			return compileBinary(node);
+		case Token.HOOK:
+			return compileConditional(node);
+		default:
+			return null;
+		}
+	}
+
+	private JavaExpression compileColumnReference(Node node) {
+		Node rowName = node.getFirstChild();
+		Node rowColumn = rowName.getNext();
+		if (rowName.getType() != Token.NAME || !rowIndicator.equals(rowName.getString()) || rowColumn == null
+				|| rowColumn.getNext() != null) {
+			return null;
+		}
+		if (rowColumn.getType() == Token.STRING) {
+			final String name = rowColumn.getString();
+			if (!isColumnName(name)) {
+				return null;
+			}
+			return (row, scope) -> {
+				if (row == null) {
+					throw UNSUPPORTED_VALUE;
+				}
+				return checkValue(row.getFieldValue(name));
+			};
+		}
+		if (node.getType() == Token.GETELEM && rowColumn.getType() == Token.NUMBER) {
+			final int index = (int) rowColumn.getDouble();
+			// row[0] is the row id
+			if (index < 1 || index != rowColumn.getDouble()) {
+				return null;
+			}
+			return (row, scope) -> {
+				if (row == null) {
+					throw UNSUPPORTED_VALUE;
+				}
+				return checkValue(row.getFieldValue(index));
+			};
+		}
+		return null;
+	}
+
+	/**
+	 * @return false for the names the row object resolves itself, and for the
+	 *         names JavaScript turns into indexes
+	 */
+	private static boolean isColumnName(String name) {
+		if (name.length() == 0 || name.charAt(0) == '_' || "dataSet".equals(name) //$NON-NLS-1$
+				|| "columnDefns".equals(name) || JSRowObject.ROW_POSITION.equals(name)) { //$NON-NLS-1$
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			if (!Character.isDigit(name.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private JavaExpression compileCall(Node node) {
+		Node target = node.getFirstChild();
+		if (target.getType() != Token.GETPROP) {
+			return null;
+		}
+		Node category = target.getFirstChild();
+		Node name = category.getNext();
+		if (category.getType() != Token.NAME || name == null || name.getType() != Token.STRING
+				|| !FUNCTION_CATEGORIES.contains(category.getString())) {
+			return null;
+		}
+		final IScriptFunction function = findFunction(category.getString(), name.getString());
+		if (function == null) {
+			return null;
+		}
+		List<JavaExpression> args = new ArrayList<>();
+		for (Node arg = target.getNext(); arg != null; arg = arg.getNext()) {
+			JavaExpression expr = compileNode(arg);
+			if (expr == null) {
+				return null;
+			}
+			args.add(expr);
+		}
+		final JavaExpression[] arguments = args.toArray(new JavaExpression[args.size()]);
+		return (row, scope) -> {
+			Object[] values = new Object[arguments.length];
+			for (int i = 0; i < arguments.length; i++) {
+				values[i] = arguments[i].evaluate(row, scope);
+			}
+			return checkValue(function.execute(values, CategoryWrapper.getFunctionContext(scope)));
+		};
+	}
+
+	private static IScriptFunction findFunction(String category, String name) {
+		try {
+			IScriptFunction[] functions = FunctionProvider.getFunctions(category);
+			if (functions != null) {
+				for (IScriptFunction function : functions) {
+					if (name.equals(function.getName())) {
+						return function;
+					}
+				}
+			}
+		} catch (BirtException e) {
+			// let Rhino report the error
+		}
+		return null;
+	}
+
+	private JavaExpression compileUnary(Node node) {
+		final JavaExpression operand = compileNode(node.getFirstChild());
+		if (operand == null) {
+			return null;
+		}
+		switch (node.getType()) {
+		case Token.NOT:
+			return (row, scope) -> Boolean.valueOf(!toBoolean(operand.evaluate(row, scope)));
+		case Token.NEG:
+			return (row, scope) -> Double.valueOf(-toNumber(operand.evaluate(row, scope)));
+		default:
+			return (row, scope) -> Double.valueOf(toNumber(operand.evaluate(row, scope)));
+		}
+	}
+
+	private JavaExpression compileBinary(Node node) {
+		Node leftNode = node.getFirstChild();
+		if (leftNode.getNext() == null || leftNode.getNext().getNext() != null) {
+			return null;
+		}
+		final JavaExpression left = compileNode(leftNode);
+		final JavaExpression right = left == null ? null : compileNode(leftNode.getNext());
+		if (right == null) {
+			return null;
+		}
+		switch (node.getType()) {
+		case Token.ADD:
+			return (row, scope) -> add(left.evaluate(row, scope), right.evaluate(row, scope));
+		case Token.SUB:
+			return (row, scope) -> Double
+					.valueOf(toNumber(left.evaluate(row, scope)) - toNumber(right.evaluate(row, scope)));
+		case Token.MUL:
+			return (row, scope) -> Double
+					.valueOf(toNumber(left.evaluate(row, scope)) * toNumber(right.evaluate(row, scope)));
+		case Token.DIV:
+			return (row, scope) -> Double
+					.valueOf(toNumber(left.evaluate(row, scope)) / toNumber(right.evaluate(row, scope)));
+		case Token.MOD:
+			return (row, scope) -> Double
+					.valueOf(toNumber(left.evaluate(row, scope)) % toNumber(right.evaluate(row, scope)));
+		case Token.EQ:
+			return (row, scope) -> Boolean.valueOf(looseEquals(left.evaluate(row, scope), right.evaluate(row, scope)));
+		case Token.NE:
+			return (row, scope) -> Boolean.valueOf(!looseEquals(left.evaluate(row, scope), right.evaluate(row, scope)));
+		case Token.SHEQ:
+			return (row, scope) -> Boolean
+					.valueOf(strictEquals(left.evaluate(row, scope), right.evaluate(row, scope)));
+		case Token.SHNE:
+			return (row, scope) -> Boolean
+					.valueOf(!strictEquals(left.evaluate(row, scope), right.evaluate(row, scope)));
+		case Token.LT:
+			return (row, scope) -> Boolean.valueOf(lessThan(left.evaluate(row, scope), right.evaluate(row, scope)));
+		case Token.LE:
+			return (row, scope) -> Boolean
+					.valueOf(lessOrEqual(left.evaluate(row, scope), right.evaluate(row, scope)));
+		case Token.GT:
+			return (row, scope) -> {
+				Object value = left.evaluate(row, scope);
+				return Boolean.valueOf(lessThan(right.evaluate(row, scope), value));
+			};
+		case Token.GE:
+			return (row, scope) -> {
+				Object value = left.evaluate(row, scope);
+				return Boolean.valueOf(lessOrEqual(right.evaluate(row, scope), value));
+			};
+		case Token.AND:
+			return (row, scope) -> {
+				Object value = left.evaluate(row, scope);
+				return toBoolean(value) ? right.evaluate(row, scope) : value;
+			};
+		default:
+			return (row, scope) -> {
+				Object value = left.evaluate(row, scope);
+				return toBoolean(value) ? value : right.evaluate(row, scope);
+			};
+		}
+	}
+
+	private JavaExpression compileConditional(Node node) {
+		Node conditionNode = node.getFirstChild();
+		Node trueNode = conditionNode.getNext();
+		Node falseNode = trueNode == null ? null : trueNode.getNext();
+		if (falseNode == null || falseNode.getNext() != null) {
+			return null;
+		}
+		final JavaExpression condition = compileNode(conditionNode);
+		final JavaExpression whenTrue = condition == null ? null : compileNode(trueNode);
+		final JavaExpression whenFalse = whenTrue == null ? null : compileNode(falseNode);
+		if (whenFalse == null) {
+			return null;
+		}
+		return (row, scope) -> toBoolean(condition.evaluate(row, scope)) ? whenTrue.evaluate(row, scope)
+				: whenFalse.evaluate(row, scope);
+	}
+
+	/**
+	 * @return the value if it is a null, boolean, number or string value
+	 */
+	private static Object checkValue(Object value) throws UnsupportedValueException {
+		if (value == null || value instanceof String || value instanceof Boolean
+				|| (value instanceof Number && !(value instanceof BigInteger))) {
+			return value;
+		}
+		throw UNSUPPORTED_VALUE;
+	}
+
+	static boolean toBoolean(Object value) {
+		if (value == null) {
+			return false;
+		}
+		if (value instanceof Boolean) {
+			return ((Boolean) value).booleanValue();
+		}
+		if (value instanceof Number) {
+			double d = ((Number) value).doubleValue();
+			return d == d && d != 0.0;
+		}
+		return ((String) value).length() > 0;
+	}
+
+	static double toNumber(Object value) {
+		if (value == null) {
+			return 0.0;
+		}
+		if (value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		if (value instanceof Boolean) {
+			return ((Boolean) value).booleanValue() ? 1.0 : 0.0;
+		}
+		return Context.toNumber(value);
+	}
+
+	static String toJsString(Object value) {
+		if (value == null) {
+			return "null"; //$NON-NLS-1$
+		}
+		if (value instanceof String) {
+			return (String) value;
+		}
+		return Context.toString(value);
+	}
+
+	static Object add(Object left, Object right) {
+		if (left instanceof String || right instanceof String) {
+			return toJsString(left).concat(toJsString(right));
+		}
+		return Double.valueOf(toNumber(left) + toNumber(right));
+	}
+
+	static boolean looseEquals(Object left, Object right) {
+		if (left == null || right == null) {
+			return left == right;
+		}
+		if ((left instanceof String && right instanceof String)
+				|| (left instanceof Boolean && right instanceof Boolean)) {
+			return left.equals(right);
+		}
+		// numbers, or a number, a string and a boolean compared as numbers
+		return toNumber(left) == toNumber(right);
+	}
+
+	static boolean strictEquals(Object left, Object right) {
+		if (left == null || right == null) {
+			return left == right;
+		}
+		if (left instanceof Number && right instanceof Number) {
+			return ((Number) left).doubleValue() == ((Number) right).doubleValue();
+		}
+		return left.getClass() == right.getClass() && left.equals(right);
+	}
+
+	static boolean lessThan(Object left, Object right) {
+		if (left instanceof String && right instanceof String) {
+			return ((String) left).compareTo((String) right) < 0;
+		}
+		return toNumber(left) < toNumber(right);
+	}
+
+	static boolean lessOrEqual(Object left, Object right) {
+		if (left instanceof String && right instanceof String) {
+			return ((String) left).compareTo((String) right) <= 0;
+		}
+		return toNumber(left) <= toNumber(right);
+	}
+
+	private static final class UnsupportedValueException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedValueException() {
+			super(null, null, false, false);
+		}
+	}
+}
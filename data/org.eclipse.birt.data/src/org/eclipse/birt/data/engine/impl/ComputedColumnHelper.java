@@ -33,6 +33,7 @@ import org.eclipse.birt.data.engine.api.IScriptExpression;
 import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.executor.transform.TransformationConstants;
 import org.eclipse.birt.data.engine.expression.CompiledExpression;
+import org.eclipse.birt.data.engine.expression.ComplexExpression;
 import org.eclipse.birt.data.engine.expression.ExprEvaluateUtil;
 import org.eclipse.birt.data.engine.expression.ExpressionCompilerUtil;
 import org.eclipse.birt.data.engine.i18n.ResourceConstants;
@@ -401,7 +402,7 @@ public class ComputedColumnHelper implements IResultObjectEvent {
 								String exprText = expr.getText();
 								if (exprText != null) {
 									if (expr.getHandle() == null) {
-										expr.setHandle(cx.compile(expr.getScriptId(), null, 0, exprText));
+										expr.setHandle(compile(expr, exprText));
 									}
 									if (expr.getHandle() != null && expr.getHandle() instanceof CompiledExpression) {
 										value = ExprEvaluateUtil.evaluateCompiledExpression(
@@ -455,6 +456,26 @@ public class ComputedColumnHelper implements IResultObjectEvent {
 			return true;
 		}
 
+		/**
+		 * Compile the expression of a data set computed column. The expressions
+		 * which can be evaluated without Rhino are compiled by the expression
+		 * compiler, the others are compiled to Rhino scripts.
+		 *
+		 * @param expr
+		 * @param exprText
+		 * @return
+		 * @throws BirtException
+		 */
+		private Object compile(IScriptExpression expr, String exprText) throws BirtException {
+			if (this.mode == Mode.DataSet) {
+				CompiledExpression compiledExpr = ExpressionCompilerUtil.compile(exprText, cx);
+				if (compiledExpr instanceof ComplexExpression && ((ComplexExpression) compiledExpr).hasJavaExpression()) {
+					return compiledExpr;
+				}
+			}
+			return cx.compile(expr.getScriptId(), null, 0, exprText);
+		}
+
 		private boolean isAggrComputedColumn(IComputedColumn cc) {
 			return cc.getAggregateFunction() != null;
 		}
@@ -41,6 +41,7 @@ import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.executor.DataSetCacheManager;
 import org.eclipse.birt.data.engine.impl.document.NamingRelation;
 import org.eclipse.birt.data.engine.impl.document.QueryResultIDUtil;
+import org.eclipse.birt.data.engine.olap.data.impl.aggregation.AggregationResultSetCache;
 import org.mozilla.javascript.ImporterTopLevel;
 import org.mozilla.javascript.Scriptable;
 
@@ -56,6 +57,7 @@ public class DataEngineSession {
 	private Map context;
 	private Scriptable scope;
 	private DataSetCacheManager dataSetCacheManager;
+	private AggregationResultSetCache aggregationResultSetCache;
 	private DataEngineImpl engine;
 	private String tempDir;
 	private QueryResultIDUtil queryResultIDUtil;
@@ -115,6 +117,7 @@ public class DataEngineSession {
 		tempDir = buffer.toString();
 
 		this.dataSetCacheManager = new DataSetCacheManager(this);
+		this.aggregationResultSetCache = new AggregationResultSetCache();
 		this.cancelManager = new CancelManager();
 		if (engine.getContext().getClassLoader() != null) {
 			classLoaderHolder.set(engine.getContext().getClassLoader());
@@ -135,6 +138,7 @@ public class DataEngineSession {
 				}
 				houseKeepCancelManager();
 				saveGeneralACL();
+				aggregationResultSetCache.clear();
 				if (emtpryIDStream != null) {
 					try {
 						emtpryIDStream.close();
@@ -332,6 +336,14 @@ public class DataEngineSession {
 		return this.dataSetCacheManager;
 	}
 
+	/**
+	 *
+	 * @return the cube aggregation result rows cached by the data engine
+	 */
+	public AggregationResultSetCache getAggregationResultSetCache() {
+		return this.aggregationResultSetCache;
+	}
+
 	public static ClassLoader getCurrentClassLoader() {
 		return classLoaderHolder.get();
 	}
@@ -80,6 +80,27 @@ public class DataSetCacheUtil {
 		return null;
 	}
 
+	/**
+	 * Set the time to live and the refresh time of the cached data set from the
+	 * application context.
+	 *
+	 * @param dscc
+	 * @param appContext
+	 */
+	public static void setExpiration(DataSetCacheConfig dscc, Map appContext) {
+		if (dscc == null || appContext == null) {
+			return;
+		}
+		Object option = appContext.get(DataEngine.DATA_SET_CACHE_TIME_TO_LIVE);
+		if (option != null) {
+			dscc.setTimeToLive(Long.parseLong(option.toString()));
+		}
+		option = appContext.get(DataEngine.DATA_SET_CACHE_REFRESH_AFTER_WRITE);
+		if (option != null) {
+			dscc.setRefreshAfterWrite(Long.parseLong(option.toString()));
+		}
+	}
+
 	/**
 	 * @param queryExecutionHints
 	 * @param dataSetDesign
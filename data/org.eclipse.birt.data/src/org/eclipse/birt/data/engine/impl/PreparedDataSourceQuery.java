@@ -29,6 +29,7 @@ import org.eclipse.birt.data.engine.api.IQueryDefinition;
 import org.eclipse.birt.data.engine.api.IQueryResults;
 import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.executor.DataSetCacheManager;
+import org.eclipse.birt.data.engine.odaconsumer.ParameterHint;
 import org.eclipse.birt.data.engine.odi.IResultIterator;
 import org.mozilla.javascript.Scriptable;
 
@@ -275,15 +276,18 @@ public abstract class PreparedDataSourceQuery implements IPreparedQuery, IPrepar
 		 * @throws DataException
 		 */
 		protected boolean fromCache() throws DataException {
-			return PreparedDataSourceQuery.this.dataEngine.getSession().getDataSetCacheManager().doesLoadFromCache(
-					dataEngine.getDataSourceDesign(this.dataSet.getDesign().getDataSourceName()),
-					this.dataSet.getDesign(),
-					new ParameterUtil(
-							this.tabularOuterResults == null ? null : this.tabularOuterResults.getQueryScope(),
-							this.dataSet, PreparedDataSourceQuery.this.queryDefn, this.getQueryScope(),
-							dataEngine.getSession().getEngineContext().getScriptContext())
-									.resolveDataSetParameters(true),
-					appContext);
+			IBaseDataSourceDesign dataSourceDesign = dataEngine
+					.getDataSourceDesign(this.dataSet.getDesign().getDataSourceName());
+			Collection<ParameterHint> parameterHints = new ParameterUtil(
+					this.tabularOuterResults == null ? null : this.tabularOuterResults.getQueryScope(), this.dataSet,
+					PreparedDataSourceQuery.this.queryDefn, this.getQueryScope(),
+					dataEngine.getSession().getEngineContext().getScriptContext()).resolveDataSetParameters(true);
+			boolean load = PreparedDataSourceQuery.this.dataEngine.getSession().getDataSetCacheManager()
+					.doesLoadFromCache(dataSourceDesign, this.dataSet.getDesign(), parameterHints, appContext);
+			if (!load) {
+				recordLoad(dataSourceDesign, this.dataSet.getDesign(), parameterHints, appContext);
+			}
+			return load;
 		}
 	}
 }
@@ -610,7 +610,12 @@ public class PreparedJointDataSourceQuery extends PreparedDataSourceQuery {
 		 * @throws DataException
 		 */
 		private boolean doesLoadFromCache() throws DataException {
-			return getDataSetCacheManager().doesLoadFromCache(null, dataSetDesign, parameterHints, appContext);
+			boolean load = getDataSetCacheManager().doesLoadFromCache(null, dataSetDesign, parameterHints,
+					appContext);
+			if (!load) {
+				recordLoad(null, dataSetDesign, parameterHints, appContext);
+			}
+			return load;
 		}
 
 		/**
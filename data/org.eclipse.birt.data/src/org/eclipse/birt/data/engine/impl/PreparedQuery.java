@@ -385,7 +385,13 @@ public final class PreparedQuery {
 		// available by
 		// calling getResultClass, and the query is ready for execution.
 		logger.finer("Start to prepare the execution.");
-		executor.prepareExecution(outerResults, scope);
+		try {
+			executor.prepareExecution(outerResults, scope);
+		} catch (DataException | RuntimeException e) {
+			// the other sessions needn't wait for the data set this executor won't load
+			executor.releaseLoad();
+			throw e;
+		}
 		logger.finer("Finish preparing the execution.");
 
 		// Give an opportunity to the QueryExecutor to construct and compose the
@@ -32,6 +32,7 @@ import org.eclipse.birt.core.exception.BirtException;
 import org.eclipse.birt.core.script.ScriptContext;
 import org.eclipse.birt.data.engine.api.DataEngineContext;
 import org.eclipse.birt.data.engine.api.IBaseDataSetDesign;
+import org.eclipse.birt.data.engine.api.IBaseDataSourceDesign;
 import org.eclipse.birt.data.engine.api.IBaseExpression;
 import org.eclipse.birt.data.engine.api.IBaseQueryDefinition;
 import org.eclipse.birt.data.engine.api.IBaseQueryResults;
@@ -102,6 +103,15 @@ public abstract class QueryExecutor implements IQueryExecutor {
 	protected boolean loadFromCache;
 	protected boolean ignoreDataSetFilter = false;
 
+	// the data set this executor should load into the cache, it is released
+	// unless it has been saved
+	private IBaseDataSourceDesign loadDataSourceDesign;
+	private IBaseDataSetDesign loadDataSetDesign;
+	@SuppressWarnings("rawtypes")
+	private Collection loadParameterHints;
+	@SuppressWarnings("rawtypes")
+	private Map loadAppContext;
+
 	@SuppressWarnings("rawtypes")
 	private Map queryAppContext;
 
@@ -381,14 +391,51 @@ public abstract class QueryExecutor implements IQueryExecutor {
 		if ((this.dataSource == null) || !(this.baseQueryDefn instanceof IQueryDefinition)) {
 			return false;
 		}
-		return this.session.getDataSetCacheManager().doesLoadFromCache(
-				((DataEngineImpl) session.getEngine())
-						.getDataSourceDesign(this.dataSet.getDesign().getDataSourceName()),
-				this.dataSet.getDesign(),
-				new ParameterUtil(this.tabularOuterResults == null ? null : this.tabularOuterResults.getQueryScope(),
-						this.dataSet, (IQueryDefinition) this.baseQueryDefn, this.getQueryScope(),
-						session.getEngineContext().getScriptContext()).resolveDataSetParameters(true),
-				this.queryAppContext);
+		IBaseDataSourceDesign dataSourceDesign = ((DataEngineImpl) session.getEngine())
+				.getDataSourceDesign(this.dataSet.getDesign().getDataSourceName());
+		Collection<ParameterHint> parameterHints = new ParameterUtil(
+				this.tabularOuterResults == null ? null : this.tabularOuterResults.getQueryScope(), this.dataSet,
+				(IQueryDefinition) this.baseQueryDefn, this.getQueryScope(),
+				session.getEngineContext().getScriptContext()).resolveDataSetParameters(true);
+		boolean load = this.session.getDataSetCacheManager().doesLoadFromCache(dataSourceDesign,
+				this.dataSet.getDesign(), parameterHints, this.queryAppContext);
+		if (!load) {
+			recordLoad(dataSourceDesign, this.dataSet.getDesign(), parameterHints, this.queryAppContext);
+		}
+		return load;
+	}
+
+	/**
+	 * Record the data set this executor should load into the cache, the other
+	 * sessions may wait for it.
+	 *
+	 * @param dataSourceDesign
+	 * @param dataSetDesign
+	 * @param parameterHints
+	 * @param appContext
+	 */
+	@SuppressWarnings("rawtypes")
+	protected void recordLoad(IBaseDataSourceDesign dataSourceDesign, IBaseDataSetDesign dataSetDesign,
+			Collection parameterHints, Map appContext) {
+		this.loadDataSourceDesign = dataSourceDesign;
+		this.loadDataSetDesign = dataSetDesign;
+		this.loadParameterHints = parameterHints;
+		this.loadAppContext = appContext;
+	}
+
+	/**
+	 * Release the data set this executor should load into the cache if it has not
+	 * been saved, the other sessions needn't wait for it any more.
+	 */
+	void releaseLoad() {
+		if (loadDataSetDesign != null) {
+			session.getDataSetCacheManager().releaseLoad(loadDataSourceDesign, loadDataSetDesign, loadParameterHints,
+					loadAppContext);
+			loadDataSourceDesign = null;
+			loadDataSetDesign = null;
+			loadParameterHints = null;
+			loadAppContext = null;
+		}
 	}
 
 	/**
@@ -1073,7 +1120,12 @@ public abstract class QueryExecutor implements IQueryExecutor {
 		}
 
 		// Execute the query
-		odiResult = executeOdiQuery(eventHandler);
+		try {
+			odiResult = executeOdiQuery(eventHandler);
+		} finally {
+			// the data set is saved by now, unless the execution failed
+			releaseLoad();
+		}
 
 		helper.setScriptable(this.dataSet.getJSResultRowObject());
 
@@ -1106,6 +1158,7 @@ public abstract class QueryExecutor implements IQueryExecutor {
 	 */
 	@Override
 	public void close() {
+		releaseLoad();
 		if (odiQuery == null) {
 			// already closed
 			logger.logp(Level.FINER, QueryExecutor.class.getName(), "close", "executor closed ");
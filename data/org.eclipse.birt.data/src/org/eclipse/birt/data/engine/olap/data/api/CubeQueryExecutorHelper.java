@@ -55,6 +55,7 @@ import org.eclipse.birt.data.engine.olap.data.impl.aggregation.AggregationExecut
 import org.eclipse.birt.data.engine.olap.data.impl.aggregation.AggregationResultRow;
 import org.eclipse.birt.data.engine.olap.data.impl.aggregation.AggregationResultRowComparator;
 import org.eclipse.birt.data.engine.olap.data.impl.aggregation.AggregationResultSet;
+import org.eclipse.birt.data.engine.olap.data.impl.aggregation.AggregationResultSetCache;
 import org.eclipse.birt.data.engine.olap.data.impl.aggregation.CubeDimensionReader;
 import org.eclipse.birt.data.engine.olap.data.impl.aggregation.DataSetFromOriginalCube;
 import org.eclipse.birt.data.engine.olap.data.impl.aggregation.IDataSet4Aggregation;
@@ -832,6 +833,63 @@ public class CubeQueryExecutorHelper implements ICubeQueryExcutorHelper {
 			throws DataException, IOException, BirtException {
 		IDiskArray[] dimPosition = getFilterResult();
 
+		AggregationResultSetCache aggregationResultSetCache = getAggregationResultSetCache(aggregations);
+		if (aggregationResultSetCache == null) {
+			return onePassExecute(aggregations, dimPosition, stopSign);
+		}
+		Object cubeKey = AggregationResultSetCache.getCubeKey(cube.getFactTable(), dimPosition);
+		IAggregationResultSet[] resultSet = new IAggregationResultSet[aggregations.length];
+		List<AggregationDefinition> missingAggregations = new ArrayList<>();
+		List<Integer> missingIndexes = new ArrayList<>();
+		for (int i = 0; i < aggregations.length; i++) {
+			resultSet[i] = aggregationResultSetCache.get(cubeKey, aggregations[i]);
+			if (resultSet[i] == null) {
+				missingAggregations.add(aggregations[i]);
+				missingIndexes.add(i);
+			}
+		}
+		if (!missingAggregations.isEmpty()) {
+			// only scan the fact table for the aggregations which are not cached
+			IAggregationResultSet[] missingResultSet = onePassExecute(
+					missingAggregations.toArray(new AggregationDefinition[missingAggregations.size()]), dimPosition,
+					stopSign);
+			for (int i = 0; i < missingResultSet.length; i++) {
+				// a stopped query may not have aggregated all the fact table rows
+				if (!stopSign.isStopped()) {
+					aggregationResultSetCache.put(cubeKey, (AggregationResultSet) missingResultSet[i]);
+				}
+				resultSet[missingIndexes.get(i)] = missingResultSet[i];
+			}
+		}
+		return resultSet;
+	}
+
+	/**
+	 *
+	 * @param aggregations
+	 * @return the aggregation result rows cached by the data engine if the
+	 *         aggregations can be calculated from them, or null
+	 */
+	private AggregationResultSetCache getAggregationResultSetCache(AggregationDefinition[] aggregations) {
+		int maxRows = CacheUtil.getCubeAggregationCacheRows(this.appContext);
+		if (maxRows <= 0 || cubeQueryExecutor == null || cubeQueryExecutor.getSession() == null
+				|| cube.getClass() != Cube.class || computedMeasureHelper != null || !measureFilters.isEmpty()
+				|| (cubePosFilters != null && !cubePosFilters.isEmpty())) {
+			return null;
+		}
+		for (int i = 0; i < aggregations.length; i++) {
+			if (!AggregationResultSetCache.isCacheable(aggregations[i])) {
+				return null;
+			}
+		}
+		AggregationResultSetCache aggregationResultSetCache = cubeQueryExecutor.getSession()
+				.getAggregationResultSetCache();
+		aggregationResultSetCache.setMaxRows(maxRows);
+		return aggregationResultSetCache;
+	}
+
+	private IAggregationResultSet[] onePassExecute(AggregationDefinition[] aggregations, IDiskArray[] dimPosition,
+			StopSign stopSign) throws DataException, IOException, BirtException {
 		FactTableRowIterator factTableRowIterator = populateFactTableIterator(stopSign, dimPosition);
 		DimensionResultIterator[] dimensionResultIterators = populateDimensionResultIterator(dimPosition, stopSign);
 
@@ -849,6 +907,7 @@ public class CubeQueryExecutorHelper implements ICubeQueryExcutorHelper {
 				dataSet4Aggregation, aggregations, memoryCacheSize);
 
 		aggregationCalculatorExecutor.setMaxDataObjectRows(maxDataObjectRows);
+		aggregationCalculatorExecutor.setParallelism(CacheUtil.getAggregationParallelism(this.appContext));
 
 		return aggregationCalculatorExecutor.execute(stopSign);
 	}
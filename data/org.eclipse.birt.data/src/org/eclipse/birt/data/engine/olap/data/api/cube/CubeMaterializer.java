@@ -216,6 +216,42 @@ public class CubeMaterializer {
 		documentManager.flush();
 	}
 
+	/**
+	 * Append new dimension members and new fact table rows, such as the rows added
+	 * to the data sets since the cube was created, to a cube created by this
+	 * materializer. The existing dimension members keep their positions and the
+	 * existing fact table segments are not sorted again, so appending costs time
+	 * proportional to the appended rows rather than to the whole cube. A new
+	 * member of a dimension has to sort after its existing members, otherwise the
+	 * cube has to be created again.
+	 *
+	 * @param name
+	 * @param factTableJointColumnNames
+	 * @param DimJointColumnNames
+	 * @param dimensionIterators        the appended members of each dimension of
+	 *                                  the cube, or null for a dimension which has
+	 *                                  none
+	 * @param factTable                 the appended fact table rows
+	 * @param measureAggrFunctionNames
+	 * @param cacheSize
+	 * @param stopSign
+	 * @throws IOException
+	 * @throws BirtException
+	 */
+	public void appendCube(String name, String[][] factTableJointColumnNames, String[][] DimJointColumnNames,
+			IDatasetIterator[] dimensionIterators, IDatasetIterator factTable, String[] measureAggrFunctionNames,
+			long cacheSize, StopSign stopSign) throws IOException, BirtException {
+		Cube cube = new Cube(name, documentManager);
+		cube.append(factTableJointColumnNames, DimJointColumnNames, dimensionIterators, factTable,
+				measureAggrFunctionNames, cacheSize, stopSign);
+		cube.close();
+		documentManager.flush();
+		if (dataEngine instanceof DataEngineImpl) {
+			// the cached aggregations of the cube are out of date
+			((DataEngineImpl) dataEngine).getSession().getAggregationResultSetCache().clear();
+		}
+	}
+
 	/**
 	 *
 	 * @param cubeName
@@ -239,6 +275,9 @@ public class CubeMaterializer {
 			String FTSUName = documentObject.readString();
 			while (FTSUName != null) {
 				saveDocObjToReportDocument(FTSUName, writer, stopSign);
+				if (documentManager.exist(NamingUtil.getFTSUIndexName(FTSUName))) {
+					saveDocObjToReportDocument(NamingUtil.getFTSUIndexName(FTSUName), writer, stopSign);
+				}
 				FTSUName = documentObject.readString();
 			}
 		} catch (EOFException e) {
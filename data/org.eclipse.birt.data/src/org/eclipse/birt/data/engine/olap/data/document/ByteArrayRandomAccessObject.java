@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.olap.data.document;
+
+import java.io.IOException;
+
+/**
+ * A read only random access object on bytes in memory.
+ */
+
+class ByteArrayRandomAccessObject implements IRandomAccessObject {
+	private byte[] bytes;
+	private int pos;
+
+	ByteArrayRandomAccessObject(byte[] bytes) {
+		this.bytes = bytes;
+		this.pos = 0;
+	}
+
+	@Override
+	public long getFilePointer() throws IOException {
+		return pos;
+	}
+
+	@Override
+	public void setLength(long newLength) throws IOException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public long length() throws IOException {
+		return bytes.length;
+	}
+
+	@Override
+	public void seek(long pos) throws IOException {
+		this.pos = (int) Math.min(pos, bytes.length);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (pos >= bytes.length) {
+			return -1;
+		}
+		int readLen = Math.min(len, bytes.length - pos);
+		System.arraycopy(bytes, pos, b, off, readLen);
+		pos += readLen;
+		return readLen;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() throws IOException {
+		bytes = new byte[0];
+		pos = 0;
+	}
+
+	@Override
+	public int read(byte[] b) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (pos >= bytes.length) {
+			return -1;
+		}
+		return bytes[pos++] & 0xff;
+	}
+
+	@Override
+	public void flush() throws IOException {
+	}
+}
@@ -16,6 +16,7 @@ package org.eclipse.birt.data.engine.olap.data.document;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Date;
 
 import org.eclipse.birt.core.data.DataTypeUtil;
@@ -30,6 +31,31 @@ import org.eclipse.birt.data.engine.olap.data.util.DataType;
  */
 
 public class DocumentObjectUtil {
+	/**
+	 * Read the remaining bytes of a document object into a new document object in
+	 * memory. The returned document object shares no file with the other document
+	 * objects, so it can be read by another thread.
+	 *
+	 * @param documentObject
+	 * @return
+	 * @throws IOException
+	 */
+	public static IDocumentObject readIntoMemory(IDocumentObject documentObject) throws IOException {
+		long remaining = documentObject.length() - documentObject.getFilePointer();
+		byte[] bytes = new byte[(int) Math.max(remaining, 0)];
+		int n = 0;
+		while (n < bytes.length) {
+			// read in small chunks, which are served by the buffer of the document object
+			int count = documentObject.read(bytes, n, Math.min(1024, bytes.length - n));
+			if (count < 0) {
+				bytes = Arrays.copyOf(bytes, n);
+				break;
+			}
+			n += count;
+		}
+		return new DocumentObject(new BufferedRandomDataAccessObject(new ByteArrayRandomAccessObject(bytes), 8192));
+	}
+
 	/**
 	 *
 	 * @param documentObject
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.birt.data.engine.olap.data.document;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.eclipse.birt.core.archive.IDocArchiveReader;
@@ -99,4 +100,35 @@ public class RADocumentManager implements IDocumentManager {
 
 	}
 
+	/**
+	 * A new manager is created on the same archive for each query.
+	 *
+	 * @return the name of the archive, or null
+	 */
+	public String getArchiveName() {
+		if (archiveReader == null) {
+			return null;
+		}
+		return archiveReader.getName();
+	}
+
+	/**
+	 * The report document may be written again under the same name, which
+	 * changes the modification time or the length of its file or folder.
+	 *
+	 * @return a stamp of the current content of the archive, or 0 if the archive
+	 *         is not stored in a file or folder
+	 */
+	public long getArchiveStamp() {
+		String archiveName = getArchiveName();
+		if (archiveName == null) {
+			return 0;
+		}
+		File file = new File(archiveName);
+		if (!file.exists()) {
+			return 0;
+		}
+		return file.lastModified() * 31 + file.length();
+	}
+
 }
@@ -127,6 +127,40 @@ public class Cube implements ICube {
 				cacheSize, stopSign);
 	}
 
+	/**
+	 * Append the members of the dimension iterators and the rows of the fact table
+	 * iterator to the saved cube, without rebuilding its dimensions and its fact
+	 * table.
+	 *
+	 * @param factTableJointColumnNames
+	 * @param DimJointColumnNames
+	 * @param dimensionIterators        the appended members of each dimension, or
+	 *                                  null for a dimension which has none
+	 * @param iterator                  the appended fact table rows
+	 * @param measureColumnAggregations
+	 * @param cacheSize
+	 * @param stopSign
+	 * @throws IOException
+	 * @throws BirtException
+	 */
+	public void append(String[][] factTableJointColumnNames, String[][] DimJointColumnNames,
+			IDatasetIterator[] dimensionIterators, IDatasetIterator iterator, String[] measureColumnAggregations,
+			long cacheSize, StopSign stopSign) throws IOException, BirtException {
+		load(stopSign);
+		Dimension[] tDimensions = new Dimension[dimension.length];
+		for (int i = 0; i < tDimensions.length; i++) {
+			tDimensions[i] = (Dimension) dimension[i];
+			if (dimensionIterators != null && dimensionIterators[i] != null) {
+				tDimensions[i].appendMembers(dimensionIterators[i], stopSign);
+			}
+		}
+		FactTableAccessor factTableConstructor = new FactTableAccessor(documentManager);
+		factTableConstructor.setMemoryCacheSize(cacheSize);
+		factTable = factTableConstructor.appendFactTable(name, factTableJointColumnNames, DimJointColumnNames,
+				iterator, tDimensions, measureColumnAggregations, stopSign);
+		documentManager.flush();
+	}
+
 	/**
 	 *
 	 * @param stopSign
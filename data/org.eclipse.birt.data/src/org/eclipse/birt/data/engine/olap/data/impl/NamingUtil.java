@@ -128,6 +128,15 @@ public class NamingUtil {
 		return FTSU_LIST + factTableName;
 	}
 
+	/**
+	 *
+	 * @param FTSUName the name of a fact table segment
+	 * @return the name of the bitmap index of the segment
+	 */
+	public static String getFTSUIndexName(String FTSUName) {
+		return FTSUName + "_index";
+	}
+
 	/**
 	 *
 	 * @param ID
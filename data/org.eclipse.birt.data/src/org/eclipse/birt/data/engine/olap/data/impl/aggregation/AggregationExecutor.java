@@ -15,11 +15,20 @@
 package org.eclipse.birt.data.engine.olap.data.impl.aggregation;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.eclipse.birt.core.exception.BirtException;
@@ -27,6 +36,7 @@ import org.eclipse.birt.data.engine.aggregation.AggregationUtil;
 import org.eclipse.birt.data.engine.api.aggregation.AggregationManager;
 import org.eclipse.birt.data.engine.core.DataException;
 import org.eclipse.birt.data.engine.executor.ComparatorUtil;
+import org.eclipse.birt.data.engine.executor.cache.CacheUtil;
 import org.eclipse.birt.data.engine.executor.cache.SizeOfUtil;
 import org.eclipse.birt.data.engine.i18n.DataResourceHandle;
 import org.eclipse.birt.data.engine.i18n.ResourceConstants;
@@ -78,6 +88,7 @@ public class AggregationExecutor {
 	public Row4Aggregation[] aggregationRow;
 	private AggregationFunctionDefinition simpleFunc;
 	private boolean existReferenceDate = false;
+	private int parallelism = 1;
 
 	private static String[] simpleFuncNames = { "SUM", "MAX", "MIN", "FIRST", "LAST" };
 
@@ -554,20 +565,17 @@ public class AggregationExecutor {
 			diskSortedStackWrapper[i] = ((DiskSortedStackWrapper) allSortedFactRows.get(i));
 		}
 		try {
+			if (canScanSegments()) {
+				populateSortedFactRowsFromSegments(stopSign, diskSortedStackWrapper, measureCount);
+				return;
+			}
 			while (dataSet4Aggregation.next() && !stopSign.isStopped()) {
 				for (int i = 0; i < allSortedFactRows.size(); i++) {
 					int[] levelIndex = diskSortedStackWrapper[i].levelIndex;
 					if (!dataSet4Aggregation.isDuplicatedRow()) {
-						Member[] members = getLevelMembers(levelIndex);
+						Member[] members = getLevelMembers(dataSet4Aggregation, levelIndex);
 						if (aggregationRow[i] != null) {
-							if (existReferenceDate) {
-								diskSortedStackWrapper[i].diskSortedStack.push(aggregationRow[i]);
-							} else {
-								Row4Aggregation popRow = this.mergeRow4Aggregations[i].push(aggregationRow[i]);
-								if (popRow != null) {
-									diskSortedStackWrapper[i].diskSortedStack.push(popRow);
-								}
-							}
+							pushRow(diskSortedStackWrapper[i], i, aggregationRow[i]);
 						}
 						aggregationRow[i] = createRow4Aggregation();
 						aggregationRow[i].setLevelMembers(members);
@@ -578,7 +586,7 @@ public class AggregationExecutor {
 						for (int j = 0; j < measureCount; j++) {
 							aggregationRow[i].getMeasures()[j] = dataSet4Aggregation.getMeasureValue(j);
 						}
-						aggregationRow[i].setParameterValues(getParameterValues());
+						aggregationRow[i].setParameterValues(getParameterValues(dataSet4Aggregation));
 
 					} else {
 						Object[] measures = new Object[measureCount];
@@ -596,25 +604,292 @@ public class AggregationExecutor {
 			}
 			for (int i = 0; i < allSortedFactRows.size(); i++) {
 				if (aggregationRow[i] != null) {
-					if (existReferenceDate) {
-						diskSortedStackWrapper[i].diskSortedStack.push(aggregationRow[i]);
-					} else {
-						Row4Aggregation popRow = this.mergeRow4Aggregations[i].push(aggregationRow[i]);
-						if (popRow != null) {
-							diskSortedStackWrapper[i].diskSortedStack.push(popRow);
+					pushRow(diskSortedStackWrapper[i], i, aggregationRow[i]);
+				}
+			}
+			flushMergedRows(diskSortedStackWrapper);
+		} catch (BirtException e) {
+			throw DataException.wrap(e);
+		}
+	}
+
+	/**
+	 * Push a row read from the fact table into its sorted stack, through the
+	 * merger of the stack if the rows are merged.
+	 */
+	private void pushRow(DiskSortedStackWrapper diskSortedStackWrapper, int stackIndex, Row4Aggregation row)
+			throws IOException, DataException {
+		if (existReferenceDate) {
+			diskSortedStackWrapper.diskSortedStack.push(row);
+		} else {
+			Row4Aggregation popRow = this.mergeRow4Aggregations[stackIndex].push(row);
+			if (popRow != null) {
+				diskSortedStackWrapper.diskSortedStack.push(popRow);
+			}
+		}
+	}
+
+	private void flushMergedRows(DiskSortedStackWrapper[] diskSortedStackWrapper) throws IOException, DataException {
+		if (existReferenceDate) {
+			return;
+		}
+		for (int i = 0; i < diskSortedStackWrapper.length; i++) {
+			List<Row4Aggregation> remainRows = this.mergeRow4Aggregations[i].getAll();
+			for (int j = 0; j < remainRows.size(); j++) {
+				diskSortedStackWrapper[i].diskSortedStack.push(remainRows.get(j));
+			}
+			this.mergeRow4Aggregations[i] = null;
+		}
+	}
+
+	/**
+	 * The segments of the fact table are scanned concurrently when more than one
+	 * thread is allowed, and the data set can be read segment by segment. The
+	 * subclasses build the rows from the executor's own data set, so they always
+	 * scan it on the calling thread, as well as the measures of java objects which
+	 * are read with the class loader of the data engine session.
+	 */
+	private boolean canScanSegments() throws IOException {
+		if (parallelism <= 1 || getClass() != AggregationExecutor.class
+				|| !(dataSet4Aggregation instanceof DataSetFromOriginalCube)
+				|| !((DataSetFromOriginalCube) dataSet4Aggregation).canScanSegments()) {
+			return false;
+		}
+		MeasureInfo[] measureInfos = dataSet4Aggregation.getMetaInfo().getMeasureInfos();
+		for (int i = 0; i < measureInfos.length; i++) {
+			if (measureInfos[i].getDataType() == DataType.JAVA_OBJECT_TYPE) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Scan the segments of the fact table concurrently. The segments are read on
+	 * the calling thread, because the document managers share one file between
+	 * their document objects. Each segment is then filtered and turned into rows
+	 * by a task, which merges the rows of equal members when the aggregations
+	 * allow it. The rows of the segments are pushed into the sorted stacks in the
+	 * order of the segments, so the result is the same as a sequential scan. The
+	 * tasks run on the pool shared by the queries, and a scan queues at most twice
+	 * its parallelism of segments.
+	 */
+	private void populateSortedFactRowsFromSegments(StopSign stopSign,
+			DiskSortedStackWrapper[] diskSortedStackWrapper, int measureCount) throws IOException, DataException {
+		DataSetFromOriginalCube dataSet = (DataSetFromOriginalCube) dataSet4Aggregation;
+		int[] dimensionIndexes = getMemberDimensionIndexes(diskSortedStackWrapper);
+		ExecutorService executor = CacheUtil.getParallelExecutor();
+		// bounds the number of segments held in memory
+		Deque<SegmentRows> segments = new ArrayDeque<>();
+		IDataSet4Aggregation segment = null;
+		long factRowCount = 0;
+		try {
+			segment = dataSet.nextSegment(dimensionIndexes);
+			while (segment != null || !segments.isEmpty()) {
+				if (segment != null && segments.size() < 2 * parallelism) {
+					SegmentRows segmentRows = new SegmentRows(segment, diskSortedStackWrapper, measureCount,
+							stopSign);
+					// the segment is closed by its task from now on
+					segment = null;
+					segments.add(segmentRows);
+					segmentRows.future = executor.submit(segmentRows);
+					segment = stopSign.isStopped() ? null : dataSet.nextSegment(dimensionIndexes);
+					continue;
+				}
+				SegmentRows segmentRows = await(segments.poll().future);
+				for (int i = 0; i < diskSortedStackWrapper.length; i++) {
+					for (int j = 0; j < segmentRows.rows[i].size(); j++) {
+						pushRow(diskSortedStackWrapper[i], i, segmentRows.rows[i].get(j));
+					}
+				}
+				factRowCount += segmentRows.factRowCount;
+				if (maxDataObjectRows > 0 && factRowCount > maxDataObjectRows) {
+					throw new DataException(ResourceConstants.EXCEED_MAX_DATA_OBJECT_ROWS);
+				}
+			}
+			flushMergedRows(diskSortedStackWrapper);
+		} finally {
+			discardSegments(segments, segment);
+		}
+	}
+
+	/**
+	 * Close the segments left by a failed scan: the segment read but not submitted
+	 * and the segments of the tasks which have not started. The started tasks close
+	 * their own segments, they are waited for so that no segment is read after the
+	 * scan has returned.
+	 */
+	private static void discardSegments(Deque<SegmentRows> segments, IDataSet4Aggregation segment) {
+		if (segment != null) {
+			closeSegment(segment);
+		}
+		for (SegmentRows segmentRows : segments) {
+			if (segmentRows.started.compareAndSet(false, true)) {
+				if (segmentRows.future != null) {
+					segmentRows.future.cancel(false);
+				}
+				closeSegment(segmentRows.segment);
+			}
+		}
+		for (SegmentRows segmentRows : segments) {
+			try {
+				if (segmentRows.future != null && !segmentRows.future.isCancelled()) {
+					await(segmentRows.future);
+				}
+			} catch (IOException | DataException | RuntimeException e) {
+				// the first failure has been reported already
+			}
+		}
+	}
+
+	private static void closeSegment(IDataSet4Aggregation segment) {
+		try {
+			segment.close();
+		} catch (IOException | DataException e) {
+			logger.log(Level.WARNING, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return the dimensions whose members are read to build the rows
+	 */
+	private int[] getMemberDimensionIndexes(DiskSortedStackWrapper[] diskSortedStackWrapper) {
+		Set<Integer> dimensionIndexes = new TreeSet<>();
+		for (int i = 0; i < diskSortedStackWrapper.length; i++) {
+			for (int j = 0; j < diskSortedStackWrapper[i].levelIndex.length; j += 2) {
+				dimensionIndexes.add(diskSortedStackWrapper[i].levelIndex[j]);
+			}
+		}
+		if (paraInfos != null) {
+			for (int i = 0; i < paraInfos.length; i++) {
+				dimensionIndexes.add(paraInfos[i].getDimIndex());
+			}
+		}
+		int[] result = new int[dimensionIndexes.size()];
+		int pos = 0;
+		for (Integer dimensionIndex : dimensionIndexes) {
+			result[pos++] = dimensionIndex;
+		}
+		return result;
+	}
+
+	private static SegmentRows await(Future<SegmentRows> future) throws IOException, DataException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataException(ResourceConstants.UNEXPECTED_ERROR, e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof DataException) {
+				throw (DataException) cause;
+			}
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new DataException(ResourceConstants.UNEXPECTED_ERROR, cause);
+		}
+	}
+
+	/**
+	 * The rows of one segment of the fact table for every sorted stack. When the
+	 * aggregations are calculated by a simple function, the rows of equal members
+	 * are merged into one row holding the partial result of the segment.
+	 */
+	private class SegmentRows implements Callable<SegmentRows> {
+		private IDataSet4Aggregation segment;
+		// set by the task or by the discarding scan, whichever closes the segment
+		private final AtomicBoolean started = new AtomicBoolean();
+		private Future<SegmentRows> future;
+		private DiskSortedStackWrapper[] diskSortedStackWrapper;
+		private int measureCount;
+		private StopSign stopSign;
+
+		List<Row4Aggregation>[] rows;
+		int factRowCount;
+
+		SegmentRows(IDataSet4Aggregation segment, DiskSortedStackWrapper[] diskSortedStackWrapper, int measureCount,
+				StopSign stopSign) {
+			this.segment = segment;
+			this.diskSortedStackWrapper = diskSortedStackWrapper;
+			this.measureCount = measureCount;
+			this.stopSign = stopSign;
+		}
+
+		@Override
+		public SegmentRows call() throws Exception {
+			if (!started.compareAndSet(false, true)) {
+				return this;
+			}
+			int stackCount = diskSortedStackWrapper.length;
+			Row4Aggregation[] currentRows = new Row4Aggregation[stackCount];
+			MergeRow4Aggregation[] mergers = new MergeRow4Aggregation[stackCount];
+			rows = new List[stackCount];
+			for (int i = 0; i < stackCount; i++) {
+				rows[i] = new ArrayList<>();
+				if (simpleFunc != null) {
+					mergers[i] = new MergeRow4Aggregation(Integer.MAX_VALUE, simpleFunc, measureIndexes4Merge,
+							parameterColIndex4Merge);
+				}
+			}
+			try {
+				while (segment.next() && !stopSign.isStopped()) {
+					for (int i = 0; i < stackCount; i++) {
+						if (!segment.isDuplicatedRow()) {
+							Member[] members = getLevelMembers(segment, diskSortedStackWrapper[i].levelIndex);
+							if (currentRows[i] != null) {
+								addRow(mergers, i, currentRows[i]);
+							}
+							currentRows[i] = new Row4Aggregation();
+							currentRows[i].setDimPos(segment.getDimensionPosition());
+							currentRows[i].setLevelMembers(members);
+							if (members == null) {
+								continue;
+							}
+							currentRows[i].setMeasures(new Object[measureCount]);
+							for (int j = 0; j < measureCount; j++) {
+								currentRows[i].getMeasures()[j] = segment.getMeasureValue(j);
+							}
+							currentRows[i].setParameterValues(getParameterValues(segment));
+						} else {
+							Object[] measures = new Object[measureCount];
+							for (int j = 0; j < measureCount; j++) {
+								measures[j] = segment.getMeasureValue(j);
+							}
+							currentRows[i].addMeasure(measures);
 						}
 					}
+					factRowCount++;
 				}
-				if (!existReferenceDate) {
-					List<Row4Aggregation> remainRows = this.mergeRow4Aggregations[i].getAll();
-					for (int j = 0; j < remainRows.size(); j++) {
-						diskSortedStackWrapper[i].diskSortedStack.push(remainRows.get(j));
+				for (int i = 0; i < stackCount; i++) {
+					if (currentRows[i] != null) {
+						addRow(mergers, i, currentRows[i]);
+					}
+					if (mergers[i] != null) {
+						rows[i] = mergers[i].getAll();
 					}
-					this.mergeRow4Aggregations[i] = null;
 				}
+			} catch (BirtException e) {
+				throw DataException.wrap(e);
+			} finally {
+				segment.close();
+			}
+			return this;
+		}
+
+		private void addRow(MergeRow4Aggregation[] mergers, int stackIndex, Row4Aggregation row)
+				throws DataException {
+			if (mergers[stackIndex] != null) {
+				mergers[stackIndex].push(row);
+			} else {
+				rows[stackIndex].add(row);
 			}
-		} catch (BirtException e) {
-			throw DataException.wrap(e);
 		}
 	}
 
@@ -628,12 +903,12 @@ public class AggregationExecutor {
 		// Implement in sub classes.
 	}
 
-	Member[] getLevelMembers(int[] levelIndex) throws BirtException, IOException {
+	Member[] getLevelMembers(IDataSet4Aggregation dataSet, int[] levelIndex) throws BirtException, IOException {
 		Member[] result = new Member[levelIndex.length / 2];
 		for (int i = 0; i < result.length; i++) {
 			int dim = levelIndex[i * 2];
 			int level = levelIndex[i * 2 + 1];
-			result[i] = dataSet4Aggregation.getMember(dim, level);
+			result[i] = dataSet.getMember(dim, level);
 			if (result[i] == null) {
 				return null;
 			}
@@ -641,13 +916,13 @@ public class AggregationExecutor {
 		return result;
 	}
 
-	Object[] getParameterValues() throws BirtException, IOException {
+	Object[] getParameterValues(IDataSet4Aggregation dataSet) throws BirtException, IOException {
 		if (paraInfos == null || paraInfos.length == 0) {
 			return null;
 		}
 		Object[] reValues = new Object[paraInfos.length];
 		for (int i = 0; i < reValues.length; i++) {
-			Member member = dataSet4Aggregation.getMember(paraInfos[i].getDimIndex(), paraInfos[i].getLevelIndex());
+			Member member = dataSet.getMember(paraInfos[i].getDimIndex(), paraInfos[i].getLevelIndex());
 			if (paraInfos[i].isKey()) {
 				reValues[i] = member.getKeyValues()[paraInfos[i].getColumnIndex()];
 			} else {
@@ -877,6 +1152,20 @@ public class AggregationExecutor {
 		return maxDataObjectRows;
 	}
 
+	/**
+	 * Set the number of threads which scan the segments of the fact table. The
+	 * default value 1 scans the fact table on the calling thread.
+	 *
+	 * @param parallelism
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
 	public void setMemoryCacheSize(long memoryCacheSize) {
 		this.memoryCacheSize = memoryCacheSize;
 	}
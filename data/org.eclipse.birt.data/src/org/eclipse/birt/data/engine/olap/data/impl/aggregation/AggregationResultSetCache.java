@@ -0,0 +1,544 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.olap.data.impl.aggregation;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.eclipse.birt.data.engine.api.aggregation.Accumulator;
+import org.eclipse.birt.data.engine.api.aggregation.AggregationManager;
+import org.eclipse.birt.data.engine.core.DataException;
+import org.eclipse.birt.data.engine.olap.data.api.DimLevel;
+import org.eclipse.birt.data.engine.olap.data.api.IAggregationResultRow;
+import org.eclipse.birt.data.engine.olap.data.api.IDimensionSortDefn;
+import org.eclipse.birt.data.engine.olap.data.document.IDocumentManager;
+import org.eclipse.birt.data.engine.olap.data.document.RADocumentManager;
+import org.eclipse.birt.data.engine.olap.data.impl.AggregationDefinition;
+import org.eclipse.birt.data.engine.olap.data.impl.AggregationFunctionDefinition;
+import org.eclipse.birt.data.engine.olap.data.impl.DimColumn;
+import org.eclipse.birt.data.engine.olap.data.impl.dimension.Member;
+import org.eclipse.birt.data.engine.olap.data.impl.facttable.FactTable;
+import org.eclipse.birt.data.engine.olap.data.util.BufferedStructureArray;
+import org.eclipse.birt.data.engine.olap.data.util.IDiskArray;
+
+/**
+ * The aggregation result rows calculated by the cube queries of a data engine.
+ * The rows are cached by the fact table of the cube, the dimension positions
+ * selected by the dimension filters, the levels and the aggregation functions.
+ * An aggregation is answered by a cached aggregation over the same fact table
+ * and dimension positions which has all its aggregation functions and at least
+ * its levels: the cached rows are grouped by the requested levels, and the
+ * values of SUM, COUNT, MAX and MIN are rolled up. The least recently used
+ * aggregations are removed first when the cached rows exceed the maximum.
+ */
+
+public class AggregationResultSetCache {
+	private static final String SUM_FUNC = "SUM"; //$NON-NLS-1$
+	private static final String COUNT_FUNC = "COUNT"; //$NON-NLS-1$
+	private static final String MAX_FUNC = "MAX"; //$NON-NLS-1$
+	private static final String MIN_FUNC = "MIN"; //$NON-NLS-1$
+
+	private Map<EntryKey, Entry> entries;
+	private int maxRows;
+	private int rowCount;
+
+	public AggregationResultSetCache() {
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+		this.maxRows = 0;
+		this.rowCount = 0;
+	}
+
+	/**
+	 * Set the maximum number of cached rows.
+	 *
+	 * @param maxRows
+	 */
+	public synchronized void setMaxRows(int maxRows) {
+		this.maxRows = maxRows;
+		evict();
+	}
+
+	/**
+	 *
+	 * @param aggregation
+	 * @return whether the result of the aggregation only depends on its fact
+	 *         table rows, so it can be cached
+	 */
+	public static boolean isCacheable(AggregationDefinition aggregation) {
+		if (aggregation.getAggregationTimeFunctions() != null || aggregation.getDrilledInfo() != null) {
+			return false;
+		}
+		AggregationFunctionDefinition[] functions = aggregation.getAggregationFunctions();
+		if (functions != null) {
+			for (int i = 0; i < functions.length; i++) {
+				if (functions[i].getFilterEvalHelper() != null || functions[i].getTimeFunctionFilter() != null) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 *
+	 * @param factTable
+	 * @param dimPosition the selected positions of each dimension, null for a
+	 *                    dimension which is not filtered
+	 * @return the key of the fact table rows selected by the dimension positions
+	 * @throws IOException
+	 */
+	public static Object getCubeKey(FactTable factTable, IDiskArray[] dimPosition) throws IOException {
+		int[][] positions = new int[dimPosition.length][];
+		for (int i = 0; i < dimPosition.length; i++) {
+			if (dimPosition[i] != null) {
+				positions[i] = new int[dimPosition[i].size()];
+				for (int j = 0; j < positions[i].length; j++) {
+					positions[i][j] = ((Integer) dimPosition[i].get(j)).intValue();
+				}
+			}
+		}
+		return new CubeKey(factTable, positions);
+	}
+
+	/**
+	 *
+	 * @param cubeKey
+	 * @param aggregation
+	 * @return a new result set of the aggregation calculated from the cached rows,
+	 *         or null if no cached aggregation answers it
+	 * @throws IOException
+	 * @throws DataException
+	 */
+	public synchronized AggregationResultSet get(Object cubeKey, AggregationDefinition aggregation)
+			throws IOException, DataException {
+		if (!isCacheable(aggregation)) {
+			return null;
+		}
+		EntryKey key = new EntryKey(cubeKey, aggregation);
+		Entry source = null;
+		int[] levelIndex = null;
+		int[] functionIndex = null;
+		for (Entry entry : entries.values()) {
+			if (!entry.key.cubeKey.equals(cubeKey)) {
+				continue;
+			}
+			int[] entryLevelIndex = entry.getLevelIndex(key.levels);
+			if (entryLevelIndex == null) {
+				continue;
+			}
+			int[] entryFunctionIndex = entry.getFunctionIndex(key.functions,
+					entryLevelIndex.length == entry.key.levels.length);
+			if (entryFunctionIndex == null) {
+				continue;
+			}
+			if (source == null || entry.rows.size() < source.rows.size()) {
+				source = entry;
+				levelIndex = entryLevelIndex;
+				functionIndex = entryFunctionIndex;
+			}
+		}
+		if (source == null) {
+			return null;
+		}
+		// mark the source as recently used
+		entries.get(source.key);
+
+		List<AggregationResultRow> rows;
+		if (source.key.levels.length == levelIndex.length && Arrays.equals(source.key.sortTypes, key.sortTypes)
+				&& isIdentity(levelIndex)) {
+			rows = new ArrayList<>(source.rows.size());
+			for (int i = 0; i < source.rows.size(); i++) {
+				AggregationResultRow row = source.rows.get(i);
+				rows.add(new AggregationResultRow(copyOf(row.getLevelMembers()),
+						project(row.getAggregationValues(), functionIndex)));
+			}
+		} else {
+			rows = rollUp(source, levelIndex, functionIndex, key);
+		}
+		IDiskArray resultRows = new BufferedStructureArray(AggregationResultRow.getCreator(), rows.size());
+		for (int i = 0; i < rows.size(); i++) {
+			resultRows.add(rows.get(i));
+		}
+		return new AggregationResultSet(aggregation, resultRows, project(source.keyNames, levelIndex),
+				project(source.attributeNames, levelIndex));
+	}
+
+	/**
+	 * Cache a copy of the rows of an aggregation result set.
+	 *
+	 * @param cubeKey
+	 * @param resultSet
+	 * @throws IOException
+	 */
+	public synchronized void put(Object cubeKey, AggregationResultSet resultSet) throws IOException {
+		AggregationDefinition aggregation = resultSet.getAggregationDefinition();
+		IDiskArray resultRows = resultSet.getAggregationResultRows();
+		if (!isCacheable(aggregation) || resultRows.size() > maxRows) {
+			return;
+		}
+		List<AggregationResultRow> rows = new ArrayList<>(resultRows.size());
+		for (int i = 0; i < resultRows.size(); i++) {
+			IAggregationResultRow row = (IAggregationResultRow) resultRows.get(i);
+			rows.add(new AggregationResultRow(copyOf(row.getLevelMembers()), copyOf(row.getAggregationValues())));
+		}
+		Entry entry = new Entry(new EntryKey(cubeKey, aggregation), rows, resultSet.getKeyNames(),
+				resultSet.getAttributeNames());
+		Entry old = entries.put(entry.key, entry);
+		if (old != null) {
+			rowCount -= old.rows.size();
+		}
+		rowCount += rows.size();
+		evict();
+	}
+
+	/**
+	 * Remove all the cached rows.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		rowCount = 0;
+	}
+
+	private void evict() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (rowCount > maxRows && iterator.hasNext()) {
+			rowCount -= iterator.next().rows.size();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Group the rows of a cached aggregation by the requested levels.
+	 *
+	 * @param source
+	 * @param levelIndex    the indexes of the requested levels in the source
+	 * @param functionIndex the indexes of the requested functions in the source
+	 * @param key
+	 * @return the sorted rows of the requested aggregation
+	 * @throws DataException
+	 */
+	private static List<AggregationResultRow> rollUp(Entry source, int[] levelIndex, int[] functionIndex,
+			EntryKey key) throws DataException {
+		int[] keyLevelIndex = new int[levelIndex.length];
+		for (int i = 0; i < keyLevelIndex.length; i++) {
+			keyLevelIndex[i] = i;
+		}
+		boolean sameLevels = levelIndex.length == source.key.levels.length;
+		TreeMap<IAggregationResultRow, Object[]> groups = new TreeMap<>(
+				new AggregationResultRowComparator(keyLevelIndex, key.sortTypes));
+		for (int i = 0; i < source.rows.size(); i++) {
+			AggregationResultRow row = source.rows.get(i);
+			Member[] members = new Member[levelIndex.length];
+			for (int j = 0; j < levelIndex.length; j++) {
+				members[j] = row.getLevelMembers()[levelIndex[j]];
+			}
+			Object[] values = project(row.getAggregationValues(), functionIndex);
+			if (sameLevels || values == null) {
+				groups.put(new AggregationResultRow(members, null), values);
+				continue;
+			}
+			AggregationResultRow groupRow = new AggregationResultRow(members, null);
+			Object[] group = groups.get(groupRow);
+			if (group == null) {
+				group = new Object[values.length];
+				for (int j = 0; j < group.length; j++) {
+					if (!COUNT_FUNC.equals(key.functions[j].functionName)) {
+						Accumulator accumulator = AggregationManager.getInstance()
+								.getAggregation(key.functions[j].functionName).newAccumulator();
+						accumulator.start();
+						group[j] = accumulator;
+					}
+				}
+				groups.put(groupRow, group);
+			}
+			for (int j = 0; j < group.length; j++) {
+				if (group[j] instanceof Accumulator) {
+					if (values[j] != null) {
+						((Accumulator) group[j]).mergePartialState((Serializable) values[j]);
+					}
+				} else {
+					long count = group[j] == null ? 0 : ((Long) group[j]).longValue();
+					group[j] = Long.valueOf(count + (values[j] == null ? 0 : ((Number) values[j]).longValue()));
+				}
+			}
+		}
+
+		List<AggregationResultRow> rows = new ArrayList<>(groups.size());
+		for (Map.Entry<IAggregationResultRow, Object[]> group : groups.entrySet()) {
+			Object[] values = group.getValue();
+			if (values != null && !sameLevels) {
+				for (int j = 0; j < values.length; j++) {
+					if (values[j] instanceof Accumulator) {
+						((Accumulator) values[j]).finish();
+						values[j] = ((Accumulator) values[j]).getValue();
+					} else if (values[j] instanceof Long) {
+						values[j] = toCount(((Long) values[j]).longValue());
+					}
+				}
+			}
+			rows.add(new AggregationResultRow(levelIndex.length == 0 ? null : group.getKey().getLevelMembers(),
+					values));
+		}
+		return rows;
+	}
+
+	/**
+	 * The counts of the sub groups are summed as long, so that the count of a
+	 * group does not overflow. It is an Integer like the count of the fact table
+	 * rows unless it is too big for one.
+	 */
+	private static Number toCount(long count) {
+		if (count >= Integer.MIN_VALUE && count <= Integer.MAX_VALUE) {
+			return Integer.valueOf((int) count);
+		}
+		return Long.valueOf(count);
+	}
+
+	private static boolean isIdentity(int[] index) {
+		for (int i = 0; i < index.length; i++) {
+			if (index[i] != i) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Object[] project(Object[] values, int[] index) {
+		if (values == null) {
+			return null;
+		}
+		Object[] result = new Object[index.length];
+		for (int i = 0; i < index.length; i++) {
+			result[i] = values[index[i]];
+		}
+		return result;
+	}
+
+	private static String[][] project(String[][] names, int[] index) {
+		if (names == null) {
+			return null;
+		}
+		String[][] result = new String[index.length][];
+		for (int i = 0; i < index.length; i++) {
+			result[i] = names[index[i]];
+		}
+		return result;
+	}
+
+	private static <T> T[] copyOf(T[] array) {
+		return array == null ? null : array.clone();
+	}
+
+	/**
+	 * The fact table rows selected by the dimension positions.
+	 */
+	private static class CubeKey {
+		private Object document;
+		private String factTableName;
+		private int[][] positions;
+		private int hashCode;
+
+		CubeKey(FactTable factTable, int[][] positions) {
+			this.document = getDocument(factTable.getDocumentManager());
+			this.factTableName = factTable.getName();
+			this.positions = positions;
+			this.hashCode = 31 * (31 * document.hashCode() + factTableName.hashCode())
+					+ Arrays.deepHashCode(positions);
+		}
+
+		/**
+		 * The cube of a report document is opened by a new document manager for each
+		 * query, so it is identified by the name of the report document and the
+		 * stamp of its content, which changes when the document is written again.
+		 * The other document managers are kept as long as their cubes.
+		 */
+		private static Object getDocument(IDocumentManager documentManager) {
+			if (documentManager instanceof RADocumentManager) {
+				RADocumentManager raDocumentManager = (RADocumentManager) documentManager;
+				String archiveName = raDocumentManager.getArchiveName();
+				long archiveStamp = raDocumentManager.getArchiveStamp();
+				if (archiveName != null && archiveStamp != 0) {
+					return Arrays.asList(archiveName, Long.valueOf(archiveStamp));
+				}
+			}
+			return documentManager;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CubeKey)) {
+				return false;
+			}
+			CubeKey other = (CubeKey) obj;
+			return document.equals(other.document) && factTableName.equals(other.factTableName)
+					&& Arrays.deepEquals(positions, other.positions);
+		}
+	}
+
+	/**
+	 * An aggregation function, without its result name.
+	 */
+	private static class FunctionKey {
+		private String measureName;
+		private String functionName;
+		private DimColumn paraCol;
+		private Object paraValue;
+
+		FunctionKey(AggregationFunctionDefinition function) {
+			this.measureName = function.getMeasureName();
+			this.functionName = function.getFunctionName() == null ? null : function.getFunctionName().toUpperCase();
+			this.paraCol = function.getParaCol();
+			this.paraValue = function.getParaValue();
+		}
+
+		/**
+		 *
+		 * @return whether the function of a group can be calculated from the
+		 *         function of its sub groups
+		 */
+		boolean canRollUp() {
+			return paraCol == null && paraValue == null && (SUM_FUNC.equals(functionName)
+					|| COUNT_FUNC.equals(functionName) || MAX_FUNC.equals(functionName)
+					|| MIN_FUNC.equals(functionName));
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(measureName, functionName, paraCol, paraValue);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FunctionKey)) {
+				return false;
+			}
+			FunctionKey other = (FunctionKey) obj;
+			return Objects.equals(measureName, other.measureName) && Objects.equals(functionName, other.functionName)
+					&& Objects.equals(paraCol, other.paraCol) && Objects.equals(paraValue, other.paraValue);
+		}
+	}
+
+	private static class EntryKey {
+		private Object cubeKey;
+		private DimLevel[] levels;
+		private int[] sortTypes;
+		private FunctionKey[] functions;
+
+		EntryKey(Object cubeKey, AggregationDefinition aggregation) {
+			this.cubeKey = cubeKey;
+			this.levels = aggregation.getLevels() == null ? new DimLevel[0] : aggregation.getLevels();
+			// only the descending sort makes a difference in the order of the rows
+			this.sortTypes = new int[levels.length];
+			for (int i = 0; i < sortTypes.length; i++) {
+				if (aggregation.getSortTypes() != null && i < aggregation.getSortTypes().length
+						&& aggregation.getSortTypes()[i] == IDimensionSortDefn.SORT_DESC) {
+					sortTypes[i] = IDimensionSortDefn.SORT_DESC;
+				} else {
+					sortTypes[i] = IDimensionSortDefn.SORT_ASC;
+				}
+			}
+			AggregationFunctionDefinition[] functions = aggregation.getAggregationFunctions();
+			this.functions = new FunctionKey[functions == null ? 0 : functions.length];
+			for (int i = 0; i < this.functions.length; i++) {
+				this.functions[i] = new FunctionKey(functions[i]);
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(cubeKey, Arrays.hashCode(levels), Arrays.hashCode(sortTypes),
+					Arrays.hashCode(functions));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof EntryKey)) {
+				return false;
+			}
+			EntryKey other = (EntryKey) obj;
+			return cubeKey.equals(other.cubeKey) && Arrays.equals(levels, other.levels)
+					&& Arrays.equals(sortTypes, other.sortTypes) && Arrays.equals(functions, other.functions);
+		}
+	}
+
+	private static class Entry {
+		private EntryKey key;
+		private List<AggregationResultRow> rows;
+		private String[][] keyNames;
+		private String[][] attributeNames;
+
+		Entry(EntryKey key, List<AggregationResultRow> rows, String[][] keyNames, String[][] attributeNames) {
+			this.key = key;
+			this.rows = rows;
+			this.keyNames = keyNames;
+			this.attributeNames = attributeNames;
+		}
+
+		/**
+		 *
+		 * @param levels
+		 * @return the indexes of the levels in this aggregation, or null if it has
+		 *         not all of them or a level is repeated
+		 */
+		int[] getLevelIndex(DimLevel[] levels) {
+			int[] result = new int[levels.length];
+			boolean[] used = new boolean[key.levels.length];
+			for (int i = 0; i < levels.length; i++) {
+				result[i] = Arrays.asList(key.levels).indexOf(levels[i]);
+				if (result[i] < 0 || used[result[i]]) {
+					return null;
+				}
+				used[result[i]] = true;
+			}
+			return result;
+		}
+
+		/**
+		 *
+		 * @param functions
+		 * @param sameLevels whether the rows are not grouped
+		 * @return the indexes of the functions in this aggregation, or null if it has
+		 *         not all of them
+		 */
+		int[] getFunctionIndex(FunctionKey[] functions, boolean sameLevels) {
+			int[] result = new int[functions.length];
+			for (int i = 0; i < functions.length; i++) {
+				if (!sameLevels && !functions[i].canRollUp()) {
+					return null;
+				}
+				result[i] = Arrays.asList(key.functions).indexOf(functions[i]);
+				if (result[i] < 0) {
+					return null;
+				}
+			}
+			return result;
+		}
+	}
+}
@@ -30,7 +30,9 @@ import org.eclipse.birt.data.engine.olap.data.api.ILevel;
 import org.eclipse.birt.data.engine.olap.data.api.MeasureInfo;
 import org.eclipse.birt.data.engine.olap.data.api.cube.TimeDimensionUtil;
 import org.eclipse.birt.data.engine.olap.data.impl.DimColumn;
+import org.eclipse.birt.data.engine.olap.data.impl.dimension.DimensionResultIterator;
 import org.eclipse.birt.data.engine.olap.data.impl.dimension.Member;
+import org.eclipse.birt.data.engine.olap.data.impl.facttable.FactTableRowIterator;
 import org.eclipse.birt.data.engine.olap.data.impl.facttable.IFactTableRowIterator;
 import org.eclipse.birt.data.engine.olap.util.filter.IFacttableRow;
 
@@ -192,6 +194,49 @@ public class DataSetFromOriginalCube implements IDataSet4Aggregation {
 		return factTableRowIterator.next();
 	}
 
+	/**
+	 * Return whether the segments of the fact table can be read by
+	 * <code>nextSegment()</code>.
+	 *
+	 * @return
+	 */
+	public boolean canScanSegments() {
+		if (computedMeasureHelper != null || !(factTableRowIterator instanceof FactTableRowIterator)
+				|| !((FactTableRowIterator) factTableRowIterator).canScanSegments()) {
+			return false;
+		}
+		for (int i = 0; i < dimensionResultIterators.length; i++) {
+			if (!(dimensionResultIterators[i] instanceof DimensionResultIterator)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Read the next segment of the fact table and return a data set on its rows,
+	 * which can be read by another thread. This data set must not be moved by
+	 * <code>next()</code> any more.
+	 *
+	 * @param dimensionIndexes the dimensions whose members are read from the
+	 *                         returned data set
+	 * @return the data set on the rows of the segment, or null if there is no more
+	 *         segment
+	 * @throws IOException
+	 */
+	public IDataSet4Aggregation nextSegment(int[] dimensionIndexes) throws IOException {
+		FactTableRowIterator segmentIterator = ((FactTableRowIterator) factTableRowIterator).nextSegmentIterator();
+		if (segmentIterator == null) {
+			return null;
+		}
+		IDimensionResultIterator[] iterators = new IDimensionResultIterator[dimensionResultIterators.length];
+		for (int i = 0; i < dimensionIndexes.length; i++) {
+			iterators[dimensionIndexes[i]] = ((DimensionResultIterator) dimensionResultIterators[dimensionIndexes[i]])
+					.copy();
+		}
+		return new DataSetFromOriginalCube(segmentIterator, iterators, null);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -331,6 +376,9 @@ public class DataSetFromOriginalCube implements IDataSet4Aggregation {
 		factTableRowIterator.close();
 		factTableRowIterator = null;
 		for (int i = 0; i < dimensionResultIterators.length; i++) {
+			if (dimensionResultIterators[i] == null) {
+				continue;
+			}
 			try {
 				dimensionResultIterators[i].close();
 			} catch (BirtException e) {
@@ -23,6 +23,7 @@ import org.eclipse.birt.data.engine.i18n.ResourceConstants;
 import org.eclipse.birt.data.engine.impl.StopSign;
 import org.eclipse.birt.data.engine.olap.data.api.ILevel;
 import org.eclipse.birt.data.engine.olap.data.api.ISelection;
+import org.eclipse.birt.data.engine.olap.data.api.cube.IDatasetIterator;
 import org.eclipse.birt.data.engine.olap.data.api.cube.IDimension;
 import org.eclipse.birt.data.engine.olap.data.api.cube.IHierarchy;
 import org.eclipse.birt.data.engine.olap.data.document.IDocumentManager;
@@ -114,6 +115,20 @@ public class Dimension implements IDimension {
 		documentObj = null;
 	}
 
+	/**
+	 * Append the members of an iterator to the dimension. The positions of the
+	 * existing members do not change.
+	 *
+	 * @param iterator
+	 * @param stopSign
+	 * @throws IOException
+	 * @throws BirtException
+	 */
+	public void appendMembers(IDatasetIterator iterator, StopSign stopSign) throws IOException, BirtException {
+		hierarchy.appendAndSaveHierarchy(iterator, stopSign);
+		length = hierarchy.size();
+	}
+
 	protected Hierarchy loadHierarchy(String hierarchyName) {
 		return new Hierarchy(documentManager, name, hierarchyName);
 	}
@@ -42,6 +42,8 @@ public class DimensionResultIterator implements IDimensionResultIterator {
 	private ILevel[] levels;
 	private static Logger logger = Logger.getLogger(DimensionResultIterator.class.getName());
 	private int[] memoryDimensionPosition;
+	// the rows are shared with the iterator this one was copied from
+	private boolean sharedRows;
 
 	public DimensionResultIterator(Dimension dimension, IDiskArray dimensionPosition, StopSign stopSign)
 			throws IOException {
@@ -70,6 +72,23 @@ public class DimensionResultIterator implements IDimensionResultIterator {
 		}
 	}
 
+	/**
+	 * Create an iterator on the same dimension rows with its own cursor. The rows
+	 * are loaded into memory by this call, then the copy only reads them, so it
+	 * can be used by another thread. Closing the copy doesn't release the rows.
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public DimensionResultIterator copy() throws IOException {
+		initDimensionRows();
+		DimensionResultIterator copy = new DimensionResultIterator(dimension, dimensionPosition, null);
+		copy.dimensionRows = dimensionRows;
+		copy.memoryDimensionPosition = memoryDimensionPosition;
+		copy.sharedRows = true;
+		return copy;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -77,6 +96,9 @@ public class DimensionResultIterator implements IDimensionResultIterator {
 	 */
 	@Override
 	public void close() throws BirtException, IOException {
+		if (sharedRows) {
+			return;
+		}
 		if (dimensionPosition != null) {
 			dimensionPosition.close();
 		}
@@ -117,6 +139,9 @@ public class DimensionResultIterator implements IDimensionResultIterator {
 	@Override
 	public int getDimesionPosition() throws BirtException, IOException {
 		initDimensionRows();
+		if (memoryDimensionPosition != null) {
+			return memoryDimensionPosition[currentPosition];
+		}
 		return ((Integer) (dimensionPosition.get(currentPosition))).intValue();
 	}
 
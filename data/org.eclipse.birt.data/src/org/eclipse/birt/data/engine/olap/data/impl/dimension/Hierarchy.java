@@ -121,9 +121,6 @@ public class Hierarchy implements IHierarchy {
 
 		DiskSortedStack sortedDimensionSet = getSortedDimRows(datasetIterator, levelDefs);
 
-		documentObj.seek(4);
-		saveHierarchyMetadata(datasetIterator, levelDefs);
-
 		int[][] keyDataType = new int[levelDefs.length][];
 		int[][] attributesDataType = new int[levelDefs.length][];
 		for (int i = 0; i < levelDefs.length; i++) {
@@ -139,6 +136,101 @@ public class Hierarchy implements IHierarchy {
 			}
 		}
 
+		documentObj.seek(4);
+		saveHierarchyMetadata(levelDefs, keyDataType, attributesDataType);
+		saveHierarchyRowsAndSize(levelDefs, keyDataType, attributesDataType, sortedDimensionSet, stopSign);
+	}
+
+	/**
+	 * Append the members of an iterator to the saved hierarchy. A member equal to
+	 * a saved member is ignored, and a new member has to sort after all the saved
+	 * members, as new dates or increasing ids do. So the positions of the saved
+	 * members do not change, and the fact tables which refer to them stay valid.
+	 *
+	 * @param datasetIterator
+	 * @param stopSign
+	 * @throws IOException
+	 * @throws BirtException
+	 */
+	public void appendAndSaveHierarchy(IDatasetIterator datasetIterator, StopSign stopSign)
+			throws IOException, BirtException {
+		IDiskArray savedRows = readAllRows(stopSign);
+
+		ILevelDefn[] levelDefs = new ILevelDefn[levels.length];
+		int[][] keyDataType = new int[levels.length][];
+		int[][] attributesDataType = new int[levels.length][];
+		for (int i = 0; i < levels.length; i++) {
+			LevelDefinition levelDef = new LevelDefinition(levels[i].getName(), levels[i].getKeyColNames(),
+					levels[i].getAttributeColNames());
+			levelDef.setTimeType(levels[i].getLeveType());
+			levelDefs[i] = levelDef;
+			keyDataType[i] = levels[i].getKeyDataType();
+			attributesDataType[i] = levels[i].getAttributeDataTypes();
+		}
+
+		DiskSortedStack appendedRows = getSortedDimRows(datasetIterator, levelDefs);
+		DiskSortedStack sortedDimensionSet = new DiskSortedStack(Constants.MAX_DIMENSION_LENGTH / 2, true, true,
+				DimensionRow.getCreator());
+		for (int i = 0; i < savedRows.size(); i++) {
+			sortedDimensionSet.push(savedRows.get(i));
+		}
+		DimensionRow lastRow = savedRows.size() == 0 ? null : (DimensionRow) savedRows.get(savedRows.size() - 1);
+		Object obj = appendedRows.pop();
+		while (obj != null) {
+			DimensionRow dimRow = (DimensionRow) obj;
+			if (lastRow == null || dimRow.compareTo(lastRow) > 0) {
+				sortedDimensionSet.push(dimRow);
+			} else if (!contains(savedRows, dimRow)) {
+				throw new DataException(ResourceConstants.CANNOT_APPEND_DIMENSION_MEMBER,
+						new Object[] { dimensionName, dimRow.getMembers()[levels.length - 1].getKeyValues()[0] });
+			}
+			obj = appendedRows.pop();
+		}
+
+		close();
+		documentObj = createHierarchyDocumentObject();
+		offsetDocObj = createLevelOffsetDocumentObject();
+		documentObj.seek(4);
+		saveHierarchyMetadata(levelDefs, keyDataType, attributesDataType);
+		saveHierarchyRowsAndSize(levelDefs, keyDataType, attributesDataType, sortedDimensionSet, stopSign);
+	}
+
+	/**
+	 *
+	 * @param sortedRows
+	 * @param row
+	 * @return whether the sorted rows contain a row equal to the row
+	 * @throws IOException
+	 */
+	private static boolean contains(IDiskArray sortedRows, DimensionRow row) throws IOException {
+		int low = 0;
+		int high = sortedRows.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int result = ((DimensionRow) sortedRows.get(mid)).compareTo(row);
+			if (result < 0) {
+				low = mid + 1;
+			} else if (result > 0) {
+				high = mid - 1;
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 *
+	 * @param levelDefs
+	 * @param keyDataType
+	 * @param attributesDataType
+	 * @param sortedDimensionSet
+	 * @param stopSign
+	 * @throws IOException
+	 * @throws BirtException
+	 */
+	private void saveHierarchyRowsAndSize(ILevelDefn[] levelDefs, int[][] keyDataType, int[][] attributesDataType,
+			DiskSortedStack sortedDimensionSet, StopSign stopSign) throws IOException, BirtException {
 		int size = saveHierarchyRows(levelDefs, keyDataType, attributesDataType, sortedDimensionSet, stopSign);
 		// save dimension member size
 		int savedPointer = (int) documentObj.getFilePointer();
@@ -149,7 +241,6 @@ public class Hierarchy implements IHierarchy {
 		closeWriteDocuemntObject();
 
 		openReadDocuemntObject();
-
 	}
 
 	/**
@@ -237,43 +328,35 @@ public class Hierarchy implements IHierarchy {
 	}
 
 	/**
+	 * Save the levels of the hierarchy, with the data types of their key and
+	 * attribute columns. It is shared by the created and the appended hierarchies,
+	 * which are loaded by loadFromDisk.
 	 *
-	 * @param iterator
 	 * @param levelDefs
+	 * @param keyDataType
+	 * @param attributesDataType
 	 * @throws IOException
-	 * @throws BirtException
 	 */
-	private void saveHierarchyMetadata(IDatasetIterator iterator, ILevelDefn[] levelDefs)
-			throws IOException, BirtException {
+	private void saveHierarchyMetadata(ILevelDefn[] levelDefs, int[][] keyDataType, int[][] attributesDataType)
+			throws IOException {
 		documentObj.writeInt(levelDefs.length);
 		for (int i = 0; i < levelDefs.length; i++) {
-			saveLevelMetadata(iterator, levelDefs[i]);
-		}
-	}
-
-	/**
-	 *
-	 * @param iterator
-	 * @param levelDef
-	 * @throws IOException
-	 * @throws BirtException
-	 */
-	private void saveLevelMetadata(IDatasetIterator iterator, ILevelDefn levelDef) throws IOException, BirtException {
-		documentObj.writeString(levelDef.getLevelName());
-		documentObj.writeInt(levelDef.getKeyColumns().length);
-		for (int i = 0; i < levelDef.getKeyColumns().length; i++) {
-			documentObj.writeString(levelDef.getKeyColumns()[i]);
-			documentObj.writeInt(iterator.getFieldType(levelDef.getKeyColumns()[i]));
-		}
-		String[] attributes = levelDef.getAttributeColumns();
-		if (attributes != null) {
-			documentObj.writeInt(attributes.length);
-			for (int j = 0; j < attributes.length; j++) {
-				documentObj.writeString(attributes[j]);
-				documentObj.writeInt(iterator.getFieldType(attributes[j]));
+			documentObj.writeString(levelDefs[i].getLevelName());
+			documentObj.writeInt(levelDefs[i].getKeyColumns().length);
+			for (int j = 0; j < levelDefs[i].getKeyColumns().length; j++) {
+				documentObj.writeString(levelDefs[i].getKeyColumns()[j]);
+				documentObj.writeInt(keyDataType[i][j]);
+			}
+			String[] attributes = levelDefs[i].getAttributeColumns();
+			if (attributes != null) {
+				documentObj.writeInt(attributes.length);
+				for (int j = 0; j < attributes.length; j++) {
+					documentObj.writeString(attributes[j]);
+					documentObj.writeInt(attributesDataType[i][j]);
+				}
+			} else {
+				documentObj.writeInt(0);
 			}
-		} else {
-			documentObj.writeInt(0);
 		}
 	}
 
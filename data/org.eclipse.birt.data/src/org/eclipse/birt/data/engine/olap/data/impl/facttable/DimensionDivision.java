@@ -62,6 +62,41 @@ public class DimensionDivision {
 		logger.exiting(DimensionDivision.class.getName(), "DimensionDivision");
 	}
 
+	/**
+	 *
+	 * @param ranges the saved ranges of the sub dimensions
+	 */
+	DimensionDivision(IntRange[] ranges) {
+		setRanges(ranges);
+	}
+
+	/**
+	 * Divide the members appended to the dimension to new sub dimensions. The new
+	 * sub dimensions are not longer than the first one, which is the longest, so
+	 * neither the existing sub dimensions nor the bit length of the combined
+	 * positions relative to them change.
+	 *
+	 * @param dimensionMemberCount the member count of the dimension, which is not
+	 *                             less than the member count of the divided
+	 *                             dimension
+	 */
+	void extend(int dimensionMemberCount) {
+		IntRange[] ranges = getRanges();
+		int start = ranges.length == 0 ? 0 : ranges[ranges.length - 1].end + 1;
+		if (dimensionMemberCount <= start) {
+			return;
+		}
+		int subDimensionLength = ranges.length == 0 ? 1 : ranges[0].end - ranges[0].start + 1;
+		int appendedCount = (dimensionMemberCount - start + subDimensionLength - 1) / subDimensionLength;
+		IntRange[] result = new IntRange[ranges.length + appendedCount];
+		System.arraycopy(ranges, 0, result, 0, ranges.length);
+		for (int i = ranges.length; i < result.length; i++) {
+			result[i] = new IntRange(start, Math.min(start + subDimensionLength, dimensionMemberCount) - 1);
+			start = result[i].end + 1;
+		}
+		setRanges(result);
+	}
+
 	int getSubDimensionIndex(int dimensionIndex) {
 		for (int i = 0; i < getRanges().length; i++) {
 			if (getRanges()[i].contains(dimensionIndex)) {
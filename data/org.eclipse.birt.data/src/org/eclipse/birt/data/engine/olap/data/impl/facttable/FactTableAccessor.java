@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -101,11 +102,119 @@ public class FactTableAccessor {
 		MeasureInfo[] measureInfo = getMeasureInfo(iterator, measureColumnName);
 		MeasureInfo[] calMeasureInfo = getCalculatedMeasureInfo(calculatedMeasure);
 
-		saveFactTableMetadata(factTableName, dimensionInfo, measureInfo, calMeasureInfo, segmentCount);
-
 		DimensionDivision[] subDimensions = calculateDimensionDivision(getDimensionMemberCount(dimensions),
 				segmentCount);
 
+		saveFactTableMetadata(factTableName, dimensionInfo, measureInfo, calMeasureInfo, segmentCount,
+				subDimensions);
+
+		FTSUNameSaveHelper saveHelper = new FTSUNameSaveHelper(documentManager, factTableName);
+		saveFactTableRows(factTableName, factTableJointColumnNames, DimJointColumnNames, sortedFactTableRows,
+				dimensions, measureInfo, subDimensions, saveHelper, stopSign);
+		return new FactTable(factTableName, documentManager, dimensionInfo, measureInfo, calMeasureInfo, segmentCount,
+				subDimensions);
+
+	}
+
+	/**
+	 * Append the rows of an iterator to a saved fact table. The dimensions may
+	 * have gained members since the fact table was saved, but the positions of
+	 * their existing members must not have changed, which
+	 * <code>Dimension.appendMembers</code> guarantees. The appended members are
+	 * divided to new sub dimensions, so the saved segments stay valid: the
+	 * appended rows are written to the end of their segments and only the bitmap
+	 * indexes of these segments are rebuilt, while the saved rows are neither read
+	 * nor sorted again.
+	 * <p>
+	 * If the measures are aggregated, the appended rows are only aggregated among
+	 * themselves. A dimension key which is both in the saved rows and in the
+	 * appended rows then has more than one row, which the cube queries aggregate
+	 * again.
+	 *
+	 * @param factTableName
+	 * @param factTableJointColumnNames
+	 * @param DimJointColumnNames
+	 * @param iterator                  the appended rows
+	 * @param dimensions                the dimensions of the fact table, with the
+	 *                                  appended members
+	 * @param measureColumnAggregations
+	 * @param stopSign
+	 * @return
+	 * @throws BirtException
+	 * @throws IOException
+	 */
+	public FactTable appendFactTable(String factTableName, String[][] factTableJointColumnNames,
+			String[][] DimJointColumnNames, IDatasetIterator iterator, Dimension[] dimensions,
+			String[] measureColumnAggregations, StopSign stopSign) throws BirtException, IOException {
+		FactTable factTable = load(factTableName, stopSign);
+		DimensionInfo[] savedDimensionInfo = factTable.getDimensionInfo();
+		if (savedDimensionInfo.length != dimensions.length) {
+			throw new DataException(ResourceConstants.CANNOT_APPEND_TO_FACTTABLE, factTableName);
+		}
+		for (int i = 0; i < dimensions.length; i++) {
+			if (!savedDimensionInfo[i].dimensionName.equals(dimensions[i].getName())
+					|| savedDimensionInfo[i].dimensionLength > dimensions[i].length()) {
+				throw new DataException(ResourceConstants.CANNOT_APPEND_TO_FACTTABLE, factTableName);
+			}
+		}
+
+		String[] measureColumnName = factTable.getMeasureNames();
+		FacttableRowContainer sortedFactTableRows = null;
+		if (measureColumnAggregations == null || measureColumnAggregations.length == 0) {
+			sortedFactTableRows = populateSortedFacttableRowsWithoutAggregationCalculation(factTableJointColumnNames,
+					iterator, measureColumnName, stopSign);
+		} else {
+			sortedFactTableRows = populatedSortedFacttableRowsWithAggregationCalculation(factTableJointColumnNames,
+					iterator, measureColumnName, measureColumnAggregations, stopSign);
+		}
+
+		DimensionInfo[] dimensionInfo = getDimensionInfo(dimensions);
+		DimensionDivision[] subDimensions = factTable.getDimensionDivision();
+		for (int i = 0; i < subDimensions.length; i++) {
+			subDimensions[i].extend(dimensionInfo[i].dimensionLength);
+		}
+		// the saved names of the calculated measures have the derived measure prefix
+		MeasureInfo[] calMeasureInfo = factTable.getCalcualtedMeasureInfo();
+		MeasureInfo[] savedCalMeasureInfo = new MeasureInfo[calMeasureInfo.length];
+		for (int i = 0; i < calMeasureInfo.length; i++) {
+			savedCalMeasureInfo[i] = new MeasureInfo(
+					NamingUtil.getDerivedMeasureName(calMeasureInfo[i].getMeasureName()),
+					calMeasureInfo[i].getDataType());
+		}
+
+		FTSUNameSaveHelper saveHelper = new FTSUNameSaveHelper(documentManager, factTableName);
+		saveHelper.loadSavedNames();
+		saveFactTableRows(factTableName, factTableJointColumnNames, DimJointColumnNames, sortedFactTableRows,
+				dimensions, factTable.getMeasureInfo(), subDimensions, saveHelper, stopSign);
+		// the appended rows of new members may have been written to new segments
+		int segmentCount = factTable.getSegmentCount() + saveHelper.getNewSegmentCount();
+		saveFactTableMetadata(factTableName, dimensionInfo, factTable.getMeasureInfo(), savedCalMeasureInfo,
+				segmentCount, subDimensions);
+		documentManager.flush();
+		return new FactTable(factTableName, documentManager, dimensionInfo, factTable.getMeasureInfo(),
+				calMeasureInfo, segmentCount, subDimensions);
+	}
+
+	/**
+	 * Write the rows to the end of their segments, then save the segment list and
+	 * build the bitmap indexes of the written segments.
+	 *
+	 * @param factTableName
+	 * @param factTableJointColumnNames
+	 * @param DimJointColumnNames
+	 * @param sortedFactTableRows
+	 * @param dimensions
+	 * @param measureInfo
+	 * @param subDimensions
+	 * @param saveHelper
+	 * @param stopSign
+	 * @throws BirtException
+	 * @throws IOException
+	 */
+	private void saveFactTableRows(String factTableName, String[][] factTableJointColumnNames,
+			String[][] DimJointColumnNames, FacttableRowContainer sortedFactTableRows, Dimension[] dimensions,
+			MeasureInfo[] measureInfo, DimensionDivision[] subDimensions, FTSUNameSaveHelper saveHelper,
+			StopSign stopSign) throws BirtException, IOException {
 		int[][][] columnIndex = getColumnIndex(DimJointColumnNames, dimensions);
 		DimensionPositionSeeker[] dimensionSeekers = new DimensionPositionSeeker[dimensions.length];
 		for (int i = 0; i < dimensionSeekers.length; i++) {
@@ -118,7 +227,6 @@ public class FactTableAccessor {
 				(long) (memoryCacheSize * 0.25));
 		CombinedPositionContructor combinedPositionCalculator = new CombinedPositionContructor(subDimensions);
 
-		FTSUNameSaveHelper saveHelper = new FTSUNameSaveHelper(documentManager, factTableName);
 		FactTableRow currentRow = sortedFactTableRows.pop();
 		boolean invalidDimensionKey = false;
 		int invalidRowNumber = 0;
@@ -143,7 +251,7 @@ public class FactTableAccessor {
 			int[] subDimensionIndex = getSubDimensionIndex(dimensionPosition, subDimensions);
 			String FTSUDocName = FTSUDocumentObjectNamingUtil
 					.getDocumentObjectName(NamingUtil.getFactTableName(factTableName), subDimensionIndex);
-			saveHelper.add(FTSUDocName);
+			saveHelper.add(FTSUDocName, subDimensionIndex);
 
 			IDocumentObject documentObject = documentObjectManager.getIDocumentObject(FTSUDocName);
 			documentObject.writeBytes(new Bytes(combinedPositionCalculator
@@ -160,10 +268,8 @@ public class FactTableAccessor {
 					+ "invalid rows where the value of dimension key does not exist in dimension.");
 		}
 		documentObjectManager.closeAll();
+		saveHelper.saveIndexes(combinedPositionCalculator, measureInfo, stopSign);
 		documentManager.flush();
-		return new FactTable(factTableName, documentManager, dimensionInfo, measureInfo, calMeasureInfo, segmentCount,
-				subDimensions);
-
 	}
 
 	private FacttableRowContainer populatedSortedFacttableRowsWithAggregationCalculation(
@@ -406,11 +512,13 @@ public class FactTableAccessor {
 	 * @param dimensionInfo
 	 * @param measureInfo
 	 * @param segmentNumber
+	 * @param subDimensions
 	 * @throws IOException
 	 * @throws BirtException
 	 */
 	private void saveFactTableMetadata(String factTableName, DimensionInfo[] dimensionInfo, MeasureInfo[] measureInfo,
-			MeasureInfo[] calculatedMeasureInfo, int segmentNumber) throws IOException, BirtException {
+			MeasureInfo[] calculatedMeasureInfo, int segmentNumber, DimensionDivision[] subDimensions)
+			throws IOException, BirtException {
 		IDocumentObject documentObject = documentManager
 				.createDocumentObject(NamingUtil.getFactTableName(factTableName));
 		// write dimension name and dimension member count
@@ -431,6 +539,15 @@ public class FactTableAccessor {
 		}
 		// write segment count
 		documentObject.writeInt(segmentNumber);
+		// write the end of each sub dimension, which can not be calculated from the
+		// dimension member count after members are appended
+		for (int i = 0; i < subDimensions.length; i++) {
+			IntRange[] ranges = subDimensions[i].getRanges();
+			documentObject.writeInt(ranges.length);
+			for (int j = 0; j < ranges.length; j++) {
+				documentObject.writeInt(ranges[j].end);
+			}
+		}
 		documentObject.close();
 	}
 
@@ -607,11 +724,24 @@ public class FactTableAccessor {
 
 		segmentNumber = documentObject.readInt();
 
-		int[] dimensionMemberCount = new int[dimensionInfo.length];
-		for (int i = 0; i < dimensionInfo.length; i++) {
-			dimensionMemberCount[i] = dimensionInfo[i].dimensionLength;
+		DimensionDivision[] subDimensions;
+		if (documentObject.getFilePointer() < documentObject.length()) {
+			subDimensions = new DimensionDivision[dimensionInfo.length];
+			for (int i = 0; i < subDimensions.length; i++) {
+				IntRange[] ranges = new IntRange[documentObject.readInt()];
+				for (int j = 0; j < ranges.length; j++) {
+					ranges[j] = new IntRange(j == 0 ? 0 : ranges[j - 1].end + 1, documentObject.readInt());
+				}
+				subDimensions[i] = new DimensionDivision(ranges);
+			}
+		} else {
+			// the fact table is saved by an earlier version
+			int[] dimensionMemberCount = new int[dimensionInfo.length];
+			for (int i = 0; i < dimensionInfo.length; i++) {
+				dimensionMemberCount[i] = dimensionInfo[i].dimensionLength;
+			}
+			subDimensions = calculateDimensionDivision(dimensionMemberCount, segmentNumber);
 		}
-		DimensionDivision[] subDimensions = calculateDimensionDivision(dimensionMemberCount, segmentNumber);
 		documentObject.close();
 		return new FactTable(factTableName, documentManager, dimensionInfo, measureInfo, calMeasureInfo, segmentNumber,
 				subDimensions);
@@ -673,6 +803,7 @@ interface FacttableRowContainer {
  */
 class FTSUNameSaveHelper {
 	private HashMap map;
+	private Set<String> savedNames;
 	private IDocumentManager documentManager;
 	private String factTableName;
 
@@ -685,16 +816,55 @@ class FTSUNameSaveHelper {
 		this.documentManager = documentManager;
 		this.factTableName = factTableName;
 		this.map = new HashMap();
+		this.savedNames = new LinkedHashSet<>();
+	}
+
+	/**
+	 * Load the names of the saved segments, which are kept when the list is saved
+	 * again.
+	 *
+	 * @throws IOException
+	 */
+	void loadSavedNames() throws IOException {
+		IDocumentObject FTSUNameSave = documentManager.openDocumentObject(NamingUtil.getFTSUListName(factTableName));
+		if (FTSUNameSave == null) {
+			return;
+		}
+		try {
+			long length = FTSUNameSave.length();
+			while (FTSUNameSave.getFilePointer() < length) {
+				savedNames.add(FTSUNameSave.readString());
+			}
+		} finally {
+			FTSUNameSave.close();
+		}
 	}
 
 	/**
 	 *
 	 * @param name
+	 * @param subDimensionIndex
 	 */
-	void add(String name) {
+	void add(String name, int[] subDimensionIndex) {
 		if (!map.containsKey(name)) {
-			map.put(name, null);
+			map.put(name, subDimensionIndex);
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of segments which have been added since the saved names
+	 *         were loaded
+	 */
+	int getNewSegmentCount() {
+		int count = 0;
+		Iterator nameIterator = map.keySet().iterator();
+		while (nameIterator.hasNext()) {
+			if (!savedNames.contains(nameIterator.next())) {
+				count++;
+			}
 		}
+		return count;
 	}
 
 	/**
@@ -704,12 +874,36 @@ class FTSUNameSaveHelper {
 	void save() throws IOException {
 		IDocumentObject FTSUNameSave = documentManager.createDocumentObject(NamingUtil.getFTSUListName(factTableName));
 
+		for (String name : savedNames) {
+			FTSUNameSave.writeString(name);
+		}
 		Iterator nameIterator = map.keySet().iterator();
 		while (nameIterator.hasNext()) {
-			FTSUNameSave.writeString((String) nameIterator.next());
+			String name = (String) nameIterator.next();
+			if (!savedNames.contains(name)) {
+				FTSUNameSave.writeString(name);
+			}
 		}
 		FTSUNameSave.close();
 	}
+
+	/**
+	 * Build the bitmap index of each saved segment.
+	 *
+	 * @param combinedPositionCalculator
+	 * @param measureInfo
+	 * @param stopSign
+	 * @throws IOException
+	 */
+	void saveIndexes(CombinedPositionContructor combinedPositionCalculator, MeasureInfo[] measureInfo,
+			StopSign stopSign) throws IOException {
+		Iterator nameIterator = map.entrySet().iterator();
+		while (nameIterator.hasNext() && !stopSign.isStopped()) {
+			Map.Entry entry = (Map.Entry) nameIterator.next();
+			FactTableSegmentIndex.build(documentManager, (String) entry.getKey(), (int[]) entry.getValue(),
+					combinedPositionCalculator, measureInfo);
+		}
+	}
 }
 
 class DimensionDivider {
@@ -36,6 +36,7 @@ import org.eclipse.birt.data.engine.olap.data.impl.Traversalor;
 import org.eclipse.birt.data.engine.olap.data.impl.dimension.Dimension;
 import org.eclipse.birt.data.engine.olap.data.impl.dimension.DimensionResultIterator;
 import org.eclipse.birt.data.engine.olap.data.impl.dimension.Member;
+import org.eclipse.birt.data.engine.olap.data.impl.facttable.DimensionDivision.IntRange;
 import org.eclipse.birt.data.engine.olap.data.impl.facttable.FactTableAccessor.FTSUDocumentObjectNamingUtil;
 import org.eclipse.birt.data.engine.olap.data.util.Bytes;
 import org.eclipse.birt.data.engine.olap.data.util.DataType;
@@ -68,6 +69,9 @@ public class FactTableRowIterator implements IFactTableRowIterator {
 	private StopSign stopSign;
 
 	private int[][] selectedPosOfCurSegment;
+	// the offsets of the rows of the current segment selected by its index
+	private long[] selectedRowOffsets;
+	private int selectedRowIndex;
 
 	private IComputedMeasureHelper computedMeasureHelper;
 
@@ -156,6 +160,33 @@ public class FactTableRowIterator implements IFactTableRowIterator {
 		logger.exiting(FactTableRowIterator.class.getName(), "FactTableRowIterator");
 	}
 
+	/**
+	 * Create an iterator which scans the rows of one segment, filtered as the
+	 * rows of the iterator.
+	 *
+	 * @param iterator
+	 * @param segment  the segment read into memory
+	 */
+	private FactTableRowIterator(FactTableRowIterator iterator, IDocumentObject segment) {
+		this.factTable = iterator.factTable;
+		this.stopSign = iterator.stopSign;
+		this.dimensionIndex = iterator.dimensionIndex;
+		this.subDimensionIndex = iterator.subDimensionIndex;
+		this.selectedPosOfCurSegment = iterator.selectedPosOfCurSegment.clone();
+		this.selectedRowOffsets = iterator.selectedRowOffsets;
+		this.measureSize = iterator.measureSize;
+		this.measureFilters = new ArrayList();
+		this.cubePosFilters = new ArrayList();
+		for (int i = 0; i < iterator.cubePosFilters.size(); i++) {
+			this.cubePosFilters.add(new CubePosFilterHelper((CubePosFilterHelper) iterator.cubePosFilters.get(i)));
+		}
+		this.currentPos = new int[factTable.getDimensionInfo().length];
+		this.currentMeasureValues = new Object[factTable.getMeasureInfo().length];
+		this.currentMeasureMap = new MeasureMap(this.factTable.getMeasureInfo());
+		this.allMeasureInfo = iterator.allMeasureInfo;
+		this.currentSegment = segment;
+	}
+
 	/**
 	 * Filter sub dimensions by dimension position array. The filter result is saved
 	 * in the variable selectedSubDim.
@@ -220,6 +251,12 @@ public class FactTableRowIterator implements IFactTableRowIterator {
 				if (currentSegment == null) {
 					return false;
 				}
+				if (selectedRowOffsets != null) {
+					if (selectedRowIndex >= selectedRowOffsets.length) {
+						break;
+					}
+					currentSegment.seek(selectedRowOffsets[selectedRowIndex++]);
+				}
 				Bytes combinedDimensionPosition = currentSegment.readBytes();
 				if (this.lastCombinedDimensionPosition == null) {
 					this.lastCombinedDimensionPosition = combinedDimensionPosition;
@@ -439,7 +476,7 @@ public class FactTableRowIterator implements IFactTableRowIterator {
 	 */
 	private boolean nextSegment() throws IOException {
 		while (true) {
-			if (stopSign.isStopped() || !traversalor.next()) {
+			if (stopSign.isStopped() || traversalor == null || !traversalor.next()) {
 				return false;
 			}
 			currentSubDim = traversalor.getIntArray();
@@ -450,12 +487,6 @@ public class FactTableRowIterator implements IFactTableRowIterator {
 				continue;
 			}
 
-			if (currentSegment != null) {
-				currentSegment.close();
-			}
-
-			currentSegment = factTable.getDocumentManager().openDocumentObject(FTSUDocName);
-
 			for (int i = 0; i < dimensionIndex.length; i++) {
 				if (dimensionIndex[i] != -1) {
 					SelectedSubDimension selectedSubDimension = ((SelectedSubDimension) selectedSubDim[i]
@@ -467,11 +498,85 @@ public class FactTableRowIterator implements IFactTableRowIterator {
 					}
 				}
 			}
+			int[][] filteredPos = getFilteredPosOfCurSegment();
+			selectedRowOffsets = filteredPos == null ? null
+					: FactTableSegmentIndex.selectRows(factTable.getDocumentManager(), FTSUDocName, filteredPos);
+			if (selectedRowOffsets != null && selectedRowOffsets.length == 0) {
+				continue;
+			}
+			selectedRowIndex = 0;
+
+			if (currentSegment != null) {
+				currentSegment.close();
+			}
+
+			currentSegment = factTable.getDocumentManager().openDocumentObject(FTSUDocName);
+			// the combined positions are relative to the segment
+			lastCombinedDimensionPosition = null;
 			break;
 		}
 		return true;
 	}
 
+	/**
+	 * Return the selected positions of the dimensions which filter the rows of
+	 * the current segment, null for the dimensions whose positions in the segment
+	 * are all selected.
+	 *
+	 * @return null if no dimension filters the rows
+	 */
+	private int[][] getFilteredPosOfCurSegment() {
+		int[][] result = null;
+		for (int i = 0; i < dimensionIndex.length; i++) {
+			if (dimensionIndex[i] == -1) {
+				continue;
+			}
+			IntRange range = factTable.getDimensionDivision()[i].getRanges()[subDimensionIndex[i]];
+			if (selectedPosOfCurSegment[i].length < range.end - range.start + 1) {
+				if (result == null) {
+					result = new int[dimensionIndex.length][];
+				}
+				result[i] = selectedPosOfCurSegment[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return whether the segments can be scanned by other threads. The measure
+	 * filters and the computed measures are evaluated by scripts, which only run
+	 * on the query thread.
+	 *
+	 * @return
+	 */
+	public boolean canScanSegments() {
+		return !existMeasureFilter && computedMeasureHelper == null;
+	}
+
+	/**
+	 * Read the current segment into memory and move to the next segment. The
+	 * returned iterator scans the rows of the read segment. It shares no file and
+	 * no cursor with this iterator, so it can be scanned by another thread while
+	 * the next segments are read. This iterator must not be moved by
+	 * <code>next()</code> any more.
+	 *
+	 * @return the iterator on the rows of the segment, or null if there is no more
+	 *         segment
+	 * @throws IOException
+	 */
+	public FactTableRowIterator nextSegmentIterator() throws IOException {
+		if (currentSegment == null || stopSign.isStopped()) {
+			return null;
+		}
+		FactTableRowIterator result = new FactTableRowIterator(this,
+				DocumentObjectUtil.readIntoMemory(currentSegment));
+		if (!nextSegment()) {
+			currentSegment.close();
+			currentSegment = null;
+		}
+		return result;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -750,6 +855,12 @@ class CubePosFilterHelper {
 		this.filterDimPos = new int[filterDimensionNames.length];
 	}
 
+	CubePosFilterHelper(CubePosFilterHelper helper) {
+		this.filterDimensionIndexes = helper.filterDimensionIndexes;
+		this.cubePosFilter = helper.cubePosFilter;
+		this.filterDimPos = new int[helper.filterDimPos.length];
+	}
+
 	boolean getFilterResult(int[] dimensionPositions) {
 		for (int i = 0; i < filterDimensionIndexes.length; i++) {
 			filterDimPos[i] = dimensionPositions[filterDimensionIndexes[i]];
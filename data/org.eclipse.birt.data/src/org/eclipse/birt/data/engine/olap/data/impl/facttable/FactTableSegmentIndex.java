@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.olap.data.impl.facttable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.birt.data.engine.olap.data.api.MeasureInfo;
+import org.eclipse.birt.data.engine.olap.data.document.DocumentObjectUtil;
+import org.eclipse.birt.data.engine.olap.data.document.IDocumentManager;
+import org.eclipse.birt.data.engine.olap.data.document.IDocumentObject;
+import org.eclipse.birt.data.engine.olap.data.impl.NamingUtil;
+import org.eclipse.birt.data.engine.olap.data.impl.facttable.DimensionDivider.CombinedPositionContructor;
+import org.eclipse.birt.data.engine.olap.data.util.CompressedBitmap;
+
+/**
+ * The bitmap index of a fact table segment. For each dimension, it maps the
+ * dimension positions in the segment to the bitmap of the numbers of the rows
+ * which refer to them, and it keeps the offset of each row in the segment. So
+ * the rows selected by the dimension positions are found by ORing the bitmaps
+ * of the selected positions of each dimension and ANDing the results, and are
+ * read without reading the other rows.
+ * <p>
+ * The index document is written as:
+ *
+ * <pre>
+ * row count, dimension count
+ * offset of the section of each dimension (long)
+ * offset of each row in the segment (long)
+ * for each dimension:
+ *     position count, the sorted positions
+ *     offset of the bitmap of each position (long)
+ *     the bitmaps
+ * </pre>
+ */
+
+class FactTableSegmentIndex {
+
+	private FactTableSegmentIndex() {
+	}
+
+	/**
+	 * Build the index of a segment which has been saved.
+	 *
+	 * @param documentManager
+	 * @param FTSUName                 the name of the segment
+	 * @param subDimensionIndex        the sub dimensions of the segment
+	 * @param combinedPositionCalculator
+	 * @param measureInfo
+	 * @throws IOException
+	 */
+	static void build(IDocumentManager documentManager, String FTSUName, int[] subDimensionIndex,
+			CombinedPositionContructor combinedPositionCalculator, MeasureInfo[] measureInfo) throws IOException {
+		long[] rowOffsets = new long[16];
+		Map<Integer, CompressedBitmap>[] dimensionBitmaps = new Map[subDimensionIndex.length];
+		for (int i = 0; i < dimensionBitmaps.length; i++) {
+			dimensionBitmaps[i] = new HashMap<>();
+		}
+		int rowCount = 0;
+		IDocumentObject segment = documentManager.openDocumentObject(FTSUName);
+		try {
+			long length = segment.length();
+			while (segment.getFilePointer() < length) {
+				if (rowCount == rowOffsets.length) {
+					rowOffsets = Arrays.copyOf(rowOffsets, rowCount * 2);
+				}
+				rowOffsets[rowCount] = segment.getFilePointer();
+				int[] dimensionPosition = combinedPositionCalculator.calculateDimensionPosition(subDimensionIndex,
+						segment.readBytes().bytesValue());
+				for (int i = 0; i < dimensionPosition.length; i++) {
+					CompressedBitmap bitmap = dimensionBitmaps[i].get(dimensionPosition[i]);
+					if (bitmap == null) {
+						bitmap = new CompressedBitmap();
+						dimensionBitmaps[i].put(dimensionPosition[i], bitmap);
+					}
+					bitmap.add(rowCount);
+				}
+				for (int i = 0; i < measureInfo.length; i++) {
+					DocumentObjectUtil.readValue(segment, measureInfo[i].getDataType());
+				}
+				rowCount++;
+			}
+		} finally {
+			segment.close();
+		}
+
+		IDocumentObject index = documentManager.createDocumentObject(NamingUtil.getFTSUIndexName(FTSUName));
+		try {
+			index.writeInt(rowCount);
+			index.writeInt(dimensionBitmaps.length);
+			long[] sectionOffsets = new long[dimensionBitmaps.length];
+			long sectionOffset = 8 + 8L * dimensionBitmaps.length + 8L * rowCount;
+			for (int i = 0; i < dimensionBitmaps.length; i++) {
+				sectionOffsets[i] = sectionOffset;
+				writeLong(index, sectionOffset);
+				sectionOffset += 4 + 12L * dimensionBitmaps[i].size();
+				for (CompressedBitmap bitmap : dimensionBitmaps[i].values()) {
+					sectionOffset += bitmap.getSerializedSize();
+				}
+			}
+			for (int i = 0; i < rowCount; i++) {
+				writeLong(index, rowOffsets[i]);
+			}
+			for (int i = 0; i < dimensionBitmaps.length; i++) {
+				Integer[] positions = dimensionBitmaps[i].keySet().toArray(new Integer[0]);
+				Arrays.sort(positions);
+				index.writeInt(positions.length);
+				for (int j = 0; j < positions.length; j++) {
+					index.writeInt(positions[j]);
+				}
+				long bitmapOffset = sectionOffsets[i] + 4 + 12L * positions.length;
+				for (int j = 0; j < positions.length; j++) {
+					writeLong(index, bitmapOffset);
+					bitmapOffset += dimensionBitmaps[i].get(positions[j]).getSerializedSize();
+				}
+				for (int j = 0; j < positions.length; j++) {
+					dimensionBitmaps[i].get(positions[j]).write(index);
+				}
+			}
+		} finally {
+			index.close();
+		}
+	}
+
+	/**
+	 * Find the rows of a segment selected by the dimension positions.
+	 *
+	 * @param documentManager
+	 * @param FTSUName          the name of the segment
+	 * @param selectedPositions the sorted selected positions of each dimension,
+	 *                          null for a dimension which is not filtered
+	 * @return the sorted offsets of the selected rows in the segment, or null if
+	 *         the segment has no index or all its rows are selected
+	 * @throws IOException
+	 */
+	static long[] selectRows(IDocumentManager documentManager, String FTSUName, int[][] selectedPositions)
+			throws IOException {
+		String indexName = NamingUtil.getFTSUIndexName(FTSUName);
+		if (!documentManager.exist(indexName)) {
+			return null;
+		}
+		IDocumentObject index = documentManager.openDocumentObject(indexName);
+		try {
+			index.readInt();
+			long[] sectionOffsets = new long[index.readInt()];
+			if (sectionOffsets.length != selectedPositions.length) {
+				return null;
+			}
+			for (int i = 0; i < sectionOffsets.length; i++) {
+				sectionOffsets[i] = readLong(index);
+			}
+			long rowOffsetsOffset = 8 + 8L * sectionOffsets.length;
+
+			CompressedBitmap selectedRows = null;
+			for (int i = 0; i < selectedPositions.length; i++) {
+				if (selectedPositions[i] == null) {
+					continue;
+				}
+				CompressedBitmap dimensionRows = selectRows(index, sectionOffsets[i], selectedPositions[i]);
+				if (dimensionRows == null) {
+					continue;
+				}
+				selectedRows = selectedRows == null ? dimensionRows : selectedRows.and(dimensionRows);
+				if (selectedRows.isEmpty()) {
+					return new long[0];
+				}
+			}
+			if (selectedRows == null) {
+				return null;
+			}
+			int[] rows = selectedRows.toArray();
+			long[] result = new long[rows.length];
+			for (int i = 0; i < rows.length; i++) {
+				index.seek(rowOffsetsOffset + 8L * rows[i]);
+				result[i] = readLong(index);
+			}
+			return result;
+		} finally {
+			index.close();
+		}
+	}
+
+	/**
+	 *
+	 * @param index
+	 * @param sectionOffset     the offset of the section of the dimension
+	 * @param selectedPositions
+	 * @return the rows of the selected positions of a dimension, or null if all
+	 *         the positions in the segment are selected
+	 * @throws IOException
+	 */
+	private static CompressedBitmap selectRows(IDocumentObject index, long sectionOffset, int[] selectedPositions)
+			throws IOException {
+		index.seek(sectionOffset);
+		int[] positions = new int[index.readInt()];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = index.readInt();
+		}
+		long bitmapOffsetsOffset = sectionOffset + 4 + 4L * positions.length;
+		CompressedBitmap result = new CompressedBitmap();
+		int matched = 0;
+		int i = 0, j = 0;
+		while (i < selectedPositions.length && j < positions.length) {
+			if (selectedPositions[i] < positions[j]) {
+				i++;
+			} else if (selectedPositions[i] > positions[j]) {
+				j++;
+			} else {
+				index.seek(bitmapOffsetsOffset + 8L * j);
+				index.seek(readLong(index));
+				result = result.or(CompressedBitmap.read(index));
+				matched++;
+				i++;
+				j++;
+			}
+		}
+		return matched == positions.length ? null : result;
+	}
+
+	private static void writeLong(IDocumentObject documentObject, long value) throws IOException {
+		documentObject.writeInt((int) (value >>> 32));
+		documentObject.writeInt((int) value);
+	}
+
+	private static long readLong(IDocumentObject documentObject) throws IOException {
+		long high = documentObject.readInt();
+		return (high << 32) | (documentObject.readInt() & 0xffffffffL);
+	}
+}
@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+package org.eclipse.birt.data.engine.olap.data.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.birt.data.engine.olap.data.document.IDocumentObject;
+
+/**
+ * A compressed bitmap of non negative int values.
+ * <p>
+ * As in a roaring bitmap, the values are partitioned by their high 16 bits.
+ * The low 16 bits of the values of a partition are kept in a sorted array
+ * while the partition has at most 4096 values, and in a bit set of 65536 bits
+ * otherwise. So a bitmap takes at most 2 bytes for a value, and the
+ * intersection and the union of two bitmaps cost time proportional to their
+ * compressed size.
+ */
+public class CompressedBitmap {
+	private static final int MAX_ARRAY_SIZE = 4096;
+	private static final int BIT_SET_SIZE = 1024;
+
+	// the sorted high 16 bits of the partitions
+	private int[] keys;
+	private Container[] containers;
+	private int size;
+
+	public CompressedBitmap() {
+		this.keys = new int[4];
+		this.containers = new Container[4];
+		this.size = 0;
+	}
+
+	/**
+	 * Add a value to the bitmap. Adding the values in increasing order is the
+	 * fastest.
+	 *
+	 * @param value a non negative value
+	 */
+	public void add(int value) {
+		int key = value >>> 16;
+		int index;
+		if (size > 0 && keys[size - 1] == key) {
+			index = size - 1;
+		} else {
+			index = Arrays.binarySearch(keys, 0, size, key);
+			if (index < 0) {
+				index = -index - 1;
+				insert(index, key, new Container());
+			}
+		}
+		containers[index].add((char) value);
+	}
+
+	/**
+	 *
+	 * @param value
+	 * @return whether the value is in the bitmap
+	 */
+	public boolean contains(int value) {
+		int index = Arrays.binarySearch(keys, 0, size, value >>> 16);
+		return index >= 0 && containers[index].contains((char) value);
+	}
+
+	/**
+	 *
+	 * @return the number of values in the bitmap
+	 */
+	public int getCardinality() {
+		int cardinality = 0;
+		for (int i = 0; i < size; i++) {
+			cardinality += containers[i].cardinality;
+		}
+		return cardinality;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 *
+	 * @param other
+	 * @return a new bitmap of the values in both bitmaps
+	 */
+	public CompressedBitmap and(CompressedBitmap other) {
+		CompressedBitmap result = new CompressedBitmap();
+		int i = 0, j = 0;
+		while (i < size && j < other.size) {
+			if (keys[i] < other.keys[j]) {
+				i++;
+			} else if (keys[i] > other.keys[j]) {
+				j++;
+			} else {
+				Container container = containers[i].and(other.containers[j]);
+				if (container.cardinality > 0) {
+					result.insert(result.size, keys[i], container);
+				}
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @param other
+	 * @return a new bitmap of the values in any of the bitmaps
+	 */
+	public CompressedBitmap or(CompressedBitmap other) {
+		CompressedBitmap result = new CompressedBitmap();
+		int i = 0, j = 0;
+		while (i < size || j < other.size) {
+			if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+				result.insert(result.size, keys[i], containers[i].copy());
+				i++;
+			} else if (i >= size || keys[i] > other.keys[j]) {
+				result.insert(result.size, other.keys[j], other.containers[j].copy());
+				j++;
+			} else {
+				result.insert(result.size, keys[i], containers[i].or(other.containers[j]));
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @return the values of the bitmap in increasing order
+	 */
+	public int[] toArray() {
+		int[] result = new int[getCardinality()];
+		int offset = 0;
+		for (int i = 0; i < size; i++) {
+			offset = containers[i].toArray(keys[i] << 16, result, offset);
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @return the number of bytes written by <code>write</code>
+	 */
+	public int getSerializedSize() {
+		int serializedSize = 4;
+		for (int i = 0; i < size; i++) {
+			serializedSize += 8 + (containers[i].bits == null ? 2 * containers[i].cardinality : 8 * BIT_SET_SIZE);
+		}
+		return serializedSize;
+	}
+
+	/**
+	 *
+	 * @param documentObject
+	 * @throws IOException
+	 */
+	public void write(IDocumentObject documentObject) throws IOException {
+		documentObject.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			Container container = containers[i];
+			documentObject.writeInt(keys[i]);
+			documentObject.writeInt(container.cardinality);
+			if (container.bits == null) {
+				for (int j = 0; j < container.cardinality; j++) {
+					documentObject.writeShort(container.array[j]);
+				}
+			} else {
+				for (int j = 0; j < BIT_SET_SIZE; j++) {
+					documentObject.writeInt((int) (container.bits[j] >>> 32));
+					documentObject.writeInt((int) container.bits[j]);
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param documentObject
+	 * @return the bitmap written by <code>write</code>
+	 * @throws IOException
+	 */
+	public static CompressedBitmap read(IDocumentObject documentObject) throws IOException {
+		CompressedBitmap result = new CompressedBitmap();
+		int size = documentObject.readInt();
+		for (int i = 0; i < size; i++) {
+			int key = documentObject.readInt();
+			Container container = new Container();
+			container.cardinality = documentObject.readInt();
+			if (container.cardinality <= MAX_ARRAY_SIZE) {
+				container.array = new char[container.cardinality];
+				for (int j = 0; j < container.cardinality; j++) {
+					container.array[j] = (char) documentObject.readShort();
+				}
+			} else {
+				container.array = null;
+				container.bits = new long[BIT_SET_SIZE];
+				for (int j = 0; j < BIT_SET_SIZE; j++) {
+					long high = documentObject.readInt();
+					container.bits[j] = (high << 32) | (documentObject.readInt() & 0xffffffffL);
+				}
+			}
+			result.insert(i, key, container);
+		}
+		return result;
+	}
+
+	private void insert(int index, int key, Container container) {
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			containers = Arrays.copyOf(containers, size * 2);
+		}
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(containers, index, containers, index + 1, size - index);
+		keys[index] = key;
+		containers[index] = container;
+		size++;
+	}
+
+	/**
+	 * The low 16 bits of the values of a partition, in a sorted array or in a bit
+	 * set.
+	 */
+	private static class Container {
+		private char[] array;
+		private long[] bits;
+		private int cardinality;
+
+		Container() {
+			this.array = new char[4];
+		}
+
+		void add(char value) {
+			if (bits != null) {
+				long mask = 1L << value;
+				if ((bits[value >>> 6] & mask) == 0) {
+					bits[value >>> 6] |= mask;
+					cardinality++;
+				}
+				return;
+			}
+			int index;
+			if (cardinality == 0 || array[cardinality - 1] < value) {
+				index = cardinality;
+			} else {
+				index = Arrays.binarySearch(array, 0, cardinality, value);
+				if (index >= 0) {
+					return;
+				}
+				index = -index - 1;
+			}
+			if (cardinality == MAX_ARRAY_SIZE) {
+				bits = toBitSet();
+				array = null;
+				add(value);
+				return;
+			}
+			if (cardinality == array.length) {
+				array = Arrays.copyOf(array, Math.min(Math.max(cardinality * 2, 4), MAX_ARRAY_SIZE));
+			}
+			System.arraycopy(array, index, array, index + 1, cardinality - index);
+			array[index] = value;
+			cardinality++;
+		}
+
+		boolean contains(char value) {
+			if (bits != null) {
+				return (bits[value >>> 6] & (1L << value)) != 0;
+			}
+			return Arrays.binarySearch(array, 0, cardinality, value) >= 0;
+		}
+
+		Container and(Container other) {
+			if (bits != null && other.bits != null) {
+				long[] result = new long[BIT_SET_SIZE];
+				for (int i = 0; i < BIT_SET_SIZE; i++) {
+					result[i] = bits[i] & other.bits[i];
+				}
+				return fromBitSet(result);
+			}
+			Container sparse = bits == null ? this : other;
+			Container dense = sparse == this ? other : this;
+			Container result = new Container();
+			result.array = new char[sparse.cardinality];
+			for (int i = 0; i < sparse.cardinality; i++) {
+				if (dense.contains(sparse.array[i])) {
+					result.array[result.cardinality++] = sparse.array[i];
+				}
+			}
+			return result;
+		}
+
+		Container or(Container other) {
+			if (bits == null && other.bits == null && cardinality + other.cardinality <= MAX_ARRAY_SIZE) {
+				Container result = new Container();
+				result.array = new char[cardinality + other.cardinality];
+				int i = 0, j = 0;
+				while (i < cardinality || j < other.cardinality) {
+					char value;
+					if (j >= other.cardinality || (i < cardinality && array[i] < other.array[j])) {
+						value = array[i++];
+					} else if (i >= cardinality || array[i] > other.array[j]) {
+						value = other.array[j++];
+					} else {
+						value = array[i++];
+						j++;
+					}
+					result.array[result.cardinality++] = value;
+				}
+				return result;
+			}
+			long[] result = toBitSet();
+			if (other.bits != null) {
+				for (int i = 0; i < BIT_SET_SIZE; i++) {
+					result[i] |= other.bits[i];
+				}
+			} else {
+				for (int i = 0; i < other.cardinality; i++) {
+					result[other.array[i] >>> 6] |= 1L << other.array[i];
+				}
+			}
+			return fromBitSet(result);
+		}
+
+		Container copy() {
+			Container result = new Container();
+			result.array = array == null ? null : Arrays.copyOf(array, cardinality);
+			result.bits = bits == null ? null : bits.clone();
+			result.cardinality = cardinality;
+			return result;
+		}
+
+		int toArray(int high, int[] result, int offset) {
+			if (bits == null) {
+				for (int i = 0; i < cardinality; i++) {
+					result[offset++] = high | array[i];
+				}
+				return offset;
+			}
+			for (int i = 0; i < BIT_SET_SIZE; i++) {
+				long word = bits[i];
+				while (word != 0) {
+					result[offset++] = high | (i << 6) | Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+				}
+			}
+			return offset;
+		}
+
+		private long[] toBitSet() {
+			if (bits != null) {
+				return bits.clone();
+			}
+			long[] result = new long[BIT_SET_SIZE];
+			for (int i = 0; i < cardinality; i++) {
+				result[array[i] >>> 6] |= 1L << array[i];
+			}
+			return result;
+		}
+
+		private static Container fromBitSet(long[] bits) {
+			Container result = new Container();
+			for (int i = 0; i < BIT_SET_SIZE; i++) {
+				result.cardinality += Long.bitCount(bits[i]);
+			}
+			if (result.cardinality > MAX_ARRAY_SIZE) {
+				result.array = null;
+				result.bits = bits;
+				return result;
+			}
+			result.array = new char[result.cardinality];
+			int offset = 0;
+			for (int i = 0; i < BIT_SET_SIZE; i++) {
+				long word = bits[i];
+				while (word != 0) {
+					result.array[offset++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.data.oda.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.eclipse.birt.report.data.oda.jdbc.connectionpool.ConnectionPoolManager;
+import org.eclipse.datatools.connectivity.oda.OdaException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the connection pool of the ODA JDBC driver
+ */
+public class ConnectionPoolTest {
+
+	@Before
+	public void connectionPoolSetUp() throws Exception {
+		TestUtil.createTestData();
+	}
+
+	@After
+	public void connectionPoolTearDown() throws Exception {
+		ConnectionPoolFactory.close();
+		TestUtil.deleteTestData();
+	}
+
+	private Connection openPooledConnection(String maxWait) throws OdaException {
+		return openPooledConnection(maxWait, null);
+	}
+
+	private Connection openPooledConnection(String maxWait, String idleTimeout) throws OdaException {
+		Map appContext = new HashMap();
+		appContext.put(ConnectionPoolManager.CONNECTION_POOL_ENABLED, Boolean.TRUE);
+		appContext.put(ConnectionPoolManager.CONNECTION_POOL_MAX_SIZE, "2");
+		appContext.put(ConnectionPoolManager.CONNECTION_POOL_MAX_WAIT, maxWait);
+		if (idleTimeout != null) {
+			appContext.put(ConnectionPoolManager.CONNECTION_POOL_IDLE_TIMEOUT, idleTimeout);
+		}
+		Connection conn = new Connection();
+		conn.setAppContext(appContext);
+		Properties props = new Properties();
+		props.setProperty(Connection.Constants.ODAURL, TestUtil.getURL());
+		props.setProperty(Connection.Constants.ODADriverClass, TestUtil.getDriverClassName());
+		props.setProperty(Connection.Constants.ODAUser, TestUtil.getUser());
+		props.setProperty(Connection.Constants.ODAPassword, TestUtil.getPassword());
+		conn.open(props);
+		return conn;
+	}
+
+	@Test
+	public void testReuseConnection() throws Exception {
+		Connection conn = openPooledConnection("100");
+		java.sql.Connection pooledConn = conn.jdbcConn;
+		assertTrue(ConnectionPoolManager.isPooledConnection(pooledConn));
+		java.sql.Connection physicalConn = pooledConn.unwrap(java.sql.Connection.class);
+		conn.close();
+		assertTrue(pooledConn.isClosed());
+		assertFalse(physicalConn.isClosed());
+		try {
+			pooledConn.createStatement();
+			fail("a closed pooled connection must not be used");
+		} catch (SQLException e) {
+			// expected
+		}
+
+		conn = openPooledConnection("100");
+		assertNotSame(pooledConn, conn.jdbcConn);
+		assertSame(physicalConn, conn.jdbcConn.unwrap(java.sql.Connection.class));
+		conn.close();
+
+		// connections are not pooled unless it is enabled
+		conn = TestUtil.openConnection();
+		assertFalse(ConnectionPoolManager.isPooledConnection(conn.jdbcConn));
+		conn.close();
+	}
+
+	@Test
+	public void testMaxSize() throws Exception {
+		Connection conn1 = openPooledConnection("100");
+		Connection conn2 = openPooledConnection("100");
+		try {
+			openPooledConnection("100");
+			fail("the pool is exhausted");
+		} catch (OdaException e) {
+			// expected
+		}
+		conn1.close();
+		Connection conn3 = openPooledConnection("100");
+		assertTrue(ConnectionPoolManager.isPooledConnection(conn3.jdbcConn));
+		conn2.close();
+		conn3.close();
+	}
+
+	@Test
+	public void testStatementCache() throws Exception {
+		Connection conn = openPooledConnection("100");
+		String sql = "select * from " + TestUtil.TABLE_NAME + " where col0 = ?";
+		PreparedStatement stmt = conn.jdbcConn.prepareStatement(sql);
+		PreparedStatement physicalStmt = stmt.unwrap(PreparedStatement.class);
+		stmt.setMaxRows(1);
+		stmt.close();
+		assertTrue(stmt.isClosed());
+		assertFalse(physicalStmt.isClosed());
+
+		stmt = conn.jdbcConn.prepareStatement(sql);
+		assertSame(physicalStmt, stmt.unwrap(PreparedStatement.class));
+		assertEquals(0, stmt.getMaxRows());
+
+		// the statement in use is not shared
+		PreparedStatement stmt2 = conn.jdbcConn.prepareStatement(sql);
+		assertNotSame(physicalStmt, stmt2.unwrap(PreparedStatement.class));
+		stmt2.close();
+
+		// the statements are closed with the connection
+		conn.close();
+		assertTrue(stmt.isClosed());
+	}
+
+	@Test
+	public void testLogicalConnection() throws Exception {
+		Connection conn = openPooledConnection("100");
+		java.sql.Connection pooledConn = conn.jdbcConn;
+		java.sql.Statement stmt = pooledConn.createStatement();
+		assertSame(pooledConn, stmt.getConnection());
+		assertSame(pooledConn, pooledConn.getMetaData().getConnection());
+		PreparedStatement prepared = pooledConn.prepareStatement("select * from " + TestUtil.TABLE_NAME,
+				java.sql.Statement.NO_GENERATED_KEYS);
+		assertSame(pooledConn, prepared.getConnection());
+		prepared.close();
+		assertTrue(prepared.isClosed());
+
+		// the statements left open are closed with the connection
+		conn.close();
+		assertTrue(stmt.isClosed());
+	}
+
+	@Test
+	public void testEvictIdleConnection() throws Exception {
+		Connection conn = openPooledConnection("100", "100");
+		java.sql.Connection physicalConn = conn.jdbcConn.unwrap(java.sql.Connection.class);
+		conn.close();
+		assertFalse(physicalConn.isClosed());
+
+		// the idle connection is closed without any other request to the pool
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!physicalConn.isClosed() && System.currentTimeMillis() < timeout) {
+			Thread.sleep(100);
+		}
+		assertTrue(physicalConn.isClosed());
+	}
+
+	@Test
+	public void testClosePool() throws Exception {
+		Connection conn1 = openPooledConnection("100");
+		Connection conn2 = openPooledConnection("100");
+		java.sql.Connection physicalConn1 = conn1.jdbcConn.unwrap(java.sql.Connection.class);
+		java.sql.Connection physicalConn2 = conn2.jdbcConn.unwrap(java.sql.Connection.class);
+		conn1.close();
+
+		ConnectionPoolFactory.close();
+		assertTrue(physicalConn1.isClosed());
+		assertFalse(physicalConn2.isClosed());
+
+		// the connection in use is closed once it is released
+		conn2.close();
+		assertTrue(physicalConn2.isClosed());
+
+		// a new pool is started
+		Connection conn3 = openPooledConnection("100");
+		assertTrue(ConnectionPoolManager.isPooledConnection(conn3.jdbcConn));
+		conn3.close();
+	}
+}
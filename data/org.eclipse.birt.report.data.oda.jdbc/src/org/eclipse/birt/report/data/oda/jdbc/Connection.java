@@ -16,6 +16,7 @@ package org.eclipse.birt.report.data.oda.jdbc;
 
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
@@ -210,6 +211,10 @@ public class Connection implements IConnection {
 				if ("28000".equals(e1.getSQLState())) {
 					throw new JDBCException(ResourceConstants.CONN_CANNOT_GET, e1);
 				}
+				// the connection pool is exhausted, don't open one more connection
+				if (e1 instanceof SQLTransientConnectionException) {
+					throw new JDBCException(ResourceConstants.CONN_CANNOT_GET, e1);
+				}
 			} else {
 				logger.log(Level.SEVERE, "JDBC connection throws exception: " + e.getLocalizedMessage());
 			}
@@ -42,4 +42,17 @@ class ConnectionPoolFactory {
 
 		return mgr_instance;
 	}
+
+	/**
+	 * close the connections of the connection manager, if it has been loaded
+	 */
+	static void close() {
+		IConnectionPoolManager manager;
+		synchronized (ConnectionPoolFactory.class) {
+			manager = mgr_instance;
+		}
+		if (manager != null) {
+			manager.close();
+		}
+	}
 }
@@ -38,4 +38,10 @@ public interface IConnectionPoolManager {
 			Collection<String> driverClassPath, Map appContext) throws SQLException, OdaException;
 
 	void closeConnection(java.sql.Connection connection) throws OdaException, SQLException;
+
+	/**
+	 * Close the connections kept by the IConnectionPoolManager.
+	 */
+	default void close() {
+	}
 }
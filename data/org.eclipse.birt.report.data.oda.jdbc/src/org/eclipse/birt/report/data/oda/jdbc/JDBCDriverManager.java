@@ -161,6 +161,9 @@ public class JDBCDriverManager {
 	 * Release all the resources
 	 */
 	public void close() {
+		// the pooled connections are opened by the drivers to be released
+		ConnectionPoolFactory.close();
+
 		if (this.extraDriverLoader != null) {
 			this.extraDriverLoader.close();
 			this.extraDriverLoader = null;
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.data.oda.jdbc.connectionpool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.birt.report.data.oda.jdbc.JDBCDriverManager;
+import org.eclipse.datatools.connectivity.oda.OdaException;
+
+/**
+ * The pool of the connections of a data source.
+ * <p>
+ * A permit of the pool is held by every connection in use, so no more than the
+ * maximum size of connections are open; the idle connections are reused most
+ * recently released first, so the connections which are not needed any more
+ * reach the idle timeout.
+ */
+class ConnectionPool {
+
+	private static Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+
+	private final String driverClass;
+	private final String url;
+	private final Properties connectionProps;
+	private final List<String> driverClassPath;
+
+	private final long maxWait;
+	private final long idleTimeout;
+	private final String validationQuery;
+	private final int statementCacheSize;
+
+	private final Semaphore permits;
+
+	// the idle connections, the most recently released first
+	private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+
+	// the pool is closed, the connections released are closed as well
+	private boolean closed;
+
+	ConnectionPool(String driverClass, String url, Properties connectionProps, List<String> driverClassPath,
+			int maxSize, long maxWait, long idleTimeout, String validationQuery, int statementCacheSize) {
+		this.driverClass = driverClass;
+		this.url = url;
+		this.connectionProps = connectionProps;
+		this.driverClassPath = driverClassPath;
+		this.maxWait = Math.max(0, maxWait);
+		this.idleTimeout = idleTimeout;
+		this.validationQuery = validationQuery == null || validationQuery.length() == 0 ? null : validationQuery;
+		this.statementCacheSize = Math.max(0, statementCacheSize);
+		this.permits = new Semaphore(Math.max(1, maxSize), true);
+	}
+
+	/**
+	 * return a connection of the pool, waiting for one to be released if they are
+	 * all in use.
+	 *
+	 * @return the connection
+	 * @throws SQLException
+	 * @throws OdaException
+	 */
+	Connection getConnection() throws SQLException, OdaException {
+		try {
+			if (!permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+				throw new SQLTransientConnectionException(
+						"Timed out waiting for a connection of the pool after " + maxWait + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted waiting for a connection of the pool", e); //$NON-NLS-1$
+		}
+		boolean succeeded = false;
+		try {
+			PooledConnection connection;
+			while ((connection = pollIdleConnection()) != null) {
+				if ((idleTimeout <= 0 || System.currentTimeMillis() - connection.getLastUsed() < idleTimeout)
+						&& connection.isValid(validationQuery)) {
+					break;
+				}
+				connection.destroy();
+			}
+			if (connection == null) {
+				Connection physicalConnection = JDBCDriverManager.getInstance().getConnection(driverClass, url,
+						connectionProps, driverClassPath);
+				if (physicalConnection == null) {
+					return null;
+				}
+				connection = new PooledConnection(this, physicalConnection, statementCacheSize);
+			}
+			Connection logicalConnection = connection.open();
+			succeeded = true;
+			return logicalConnection;
+		} finally {
+			if (!succeeded) {
+				permits.release();
+			}
+		}
+	}
+
+	/**
+	 * put a connection back into the pool once it is closed by its user.
+	 *
+	 * @param connection the connection
+	 */
+	void release(PooledConnection connection) {
+		try {
+			boolean pooled = false;
+			if (connection.reset()) {
+				synchronized (idleConnections) {
+					if (!closed) {
+						idleConnections.addFirst(connection);
+						pooled = true;
+					}
+				}
+			}
+			if (!pooled) {
+				connection.destroy();
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * close the connections idle for longer than the idle timeout.
+	 *
+	 * @param now the current time
+	 */
+	void evictIdleConnections(long now) {
+		if (idleTimeout <= 0) {
+			return;
+		}
+		List<PooledConnection> expired = new ArrayList<>();
+		synchronized (idleConnections) {
+			// the oldest connections are at the end of the queue
+			Iterator<PooledConnection> iter = idleConnections.descendingIterator();
+			while (iter.hasNext()) {
+				PooledConnection connection = iter.next();
+				if (now - connection.getLastUsed() < idleTimeout) {
+					break;
+				}
+				iter.remove();
+				expired.add(connection);
+			}
+		}
+		for (PooledConnection connection : expired) {
+			logger.log(Level.FINE, "Close idle pooled connection: " + connection); //$NON-NLS-1$
+			connection.destroy();
+		}
+	}
+
+	/**
+	 * close all the idle connections.
+	 */
+	void closeIdleConnections() {
+		List<PooledConnection> connections;
+		synchronized (idleConnections) {
+			connections = new ArrayList<>(idleConnections);
+			idleConnections.clear();
+		}
+		for (PooledConnection connection : connections) {
+			connection.destroy();
+		}
+	}
+
+	/**
+	 * close the pool and its idle connections. The connections in use are closed
+	 * once they are released.
+	 */
+	void close() {
+		synchronized (idleConnections) {
+			closed = true;
+		}
+		closeIdleConnections();
+	}
+
+	private PooledConnection pollIdleConnection() {
+		synchronized (idleConnections) {
+			return idleConnections.pollFirst();
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.data.oda.jdbc.connectionpool;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.birt.report.data.oda.jdbc.IConnectionPoolManager;
+import org.eclipse.datatools.connectivity.oda.OdaException;
+
+/**
+ * Connection pool manager of the ODA JDBC driver, loaded by
+ * <code>ConnectionPoolFactory</code>.
+ * <p>
+ * The connections are pooled by driver class, url, connection properties (which
+ * include the user and the password) and driver class path. A pool keeps up to
+ * its maximum size of connections; a task which needs a connection while all of
+ * them are in use waits for one to be released. The idle connections are
+ * closed after the idle timeout, and validated before they are reused. Every
+ * pooled connection keeps its prepared statements, so the queries run again on
+ * a connection are not prepared again.
+ * <p>
+ * Pooling is disabled unless the application context or the system property
+ * {@link #CONNECTION_POOL_ENABLED} is set to true. While it is disabled,
+ * {@link #getConnection} returns null and the driver opens its own connection.
+ * The other settings are read from the application context or the system
+ * properties when the pool of a data source is created.
+ * <p>
+ * The idle connections are closed by a background timer, which runs while
+ * there are pools. {@link #close()} closes all the pools, and is called when
+ * the JDBC driver manager is closed.
+ */
+public class ConnectionPoolManager implements IConnectionPoolManager {
+
+	/** enable the connection pool */
+	public static final String CONNECTION_POOL_ENABLED = "OdaJDBCDriverConnectionPoolEnabled"; //$NON-NLS-1$
+
+	/** the maximum number of connections of a pool */
+	public static final String CONNECTION_POOL_MAX_SIZE = "OdaJDBCDriverConnectionPoolMaxSize"; //$NON-NLS-1$
+
+	/** the time to wait for a connection when the pool is exhausted, in ms */
+	public static final String CONNECTION_POOL_MAX_WAIT = "OdaJDBCDriverConnectionPoolMaxWait"; //$NON-NLS-1$
+
+	/** the time after which an idle connection is closed, in ms */
+	public static final String CONNECTION_POOL_IDLE_TIMEOUT = "OdaJDBCDriverConnectionPoolIdleTimeout"; //$NON-NLS-1$
+
+	/**
+	 * the query run to validate an idle connection, Connection.isValid() is used
+	 * if it is not set
+	 */
+	public static final String CONNECTION_POOL_VALIDATION_QUERY = "OdaJDBCDriverConnectionPoolValidationQuery"; //$NON-NLS-1$
+
+	/** the number of prepared statements kept by a connection, 0 disables it */
+	public static final String CONNECTION_POOL_STATEMENT_CACHE_SIZE = "OdaJDBCDriverConnectionPoolStatementCacheSize"; //$NON-NLS-1$
+
+	static final int DEFAULT_MAX_SIZE = 10;
+	static final long DEFAULT_MAX_WAIT = 30000;
+	static final long DEFAULT_IDLE_TIMEOUT = 600000;
+	static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+	// the interval of the eviction of the idle connections, in ms
+	static final long EVICTION_INTERVAL = 1000;
+
+	private static Logger logger = Logger.getLogger(ConnectionPoolManager.class.getName());
+
+	private final Map<PoolKey, ConnectionPool> pools = new ConcurrentHashMap<>();
+
+	// the timer evicting the idle connections, null if there is no pool
+	private Timer evictionTimer;
+
+	@Override
+	public Connection getConnection(String driverClass, String url, Properties connectionProps,
+			Collection<String> driverClassPath, Map appContext) throws SQLException, OdaException {
+		if (!Boolean.parseBoolean(getSetting(appContext, CONNECTION_POOL_ENABLED))) {
+			return null;
+		}
+
+		Properties props = new Properties();
+		if (connectionProps != null) {
+			props.putAll(connectionProps);
+		}
+		List<String> classPath = driverClassPath == null ? null : new ArrayList<>(driverClassPath);
+		PoolKey key = new PoolKey(driverClass, url, props, classPath);
+		ConnectionPool pool = pools.computeIfAbsent(key,
+				k -> new ConnectionPool(driverClass, url, props, classPath,
+						getIntSetting(appContext, CONNECTION_POOL_MAX_SIZE, DEFAULT_MAX_SIZE),
+						getLongSetting(appContext, CONNECTION_POOL_MAX_WAIT, DEFAULT_MAX_WAIT),
+						getLongSetting(appContext, CONNECTION_POOL_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT),
+						getSetting(appContext, CONNECTION_POOL_VALIDATION_QUERY),
+						getIntSetting(appContext, CONNECTION_POOL_STATEMENT_CACHE_SIZE,
+								DEFAULT_STATEMENT_CACHE_SIZE)));
+		startEvictionTimer();
+		return pool.getConnection();
+	}
+
+	@Override
+	public void closeConnection(Connection connection) throws OdaException, SQLException {
+		// the pooled connections return to their pool when they are closed
+		if (connection != null) {
+			connection.close();
+		}
+	}
+
+	/**
+	 * close the idle connections of all the pools.
+	 */
+	public void closeIdleConnections() {
+		for (ConnectionPool pool : pools.values()) {
+			pool.closeIdleConnections();
+		}
+	}
+
+	/**
+	 * close all the pools. The idle connections are closed at once, and the
+	 * connections in use once they are released. A connection requested
+	 * afterwards starts a new pool.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (evictionTimer != null) {
+				evictionTimer.cancel();
+				evictionTimer = null;
+			}
+		}
+		for (PoolKey key : new ArrayList<>(pools.keySet())) {
+			ConnectionPool pool = pools.remove(key);
+			if (pool != null) {
+				pool.close();
+			}
+		}
+	}
+
+	/**
+	 * return whether a connection comes from a connection pool.
+	 *
+	 * @param connection the connection
+	 * @return true if the connection is pooled
+	 */
+	public static boolean isPooledConnection(Connection connection) {
+		return connection != null && Proxy.isProxyClass(connection.getClass())
+				&& Proxy.getInvocationHandler(connection) instanceof PooledConnection.LogicalConnection;
+	}
+
+	/**
+	 * start the timer evicting the idle connections if it is not running.
+	 */
+	private synchronized void startEvictionTimer() {
+		if (evictionTimer != null) {
+			return;
+		}
+		evictionTimer = new Timer("ODA JDBC connection pool eviction", true); //$NON-NLS-1$
+		evictionTimer.schedule(new TimerTask() {
+
+			@Override
+			public void run() {
+				evictIdleConnections();
+			}
+		}, EVICTION_INTERVAL, EVICTION_INTERVAL);
+	}
+
+	/**
+	 * close the connections idle for longer than the idle timeout.
+	 */
+	private void evictIdleConnections() {
+		long now = System.currentTimeMillis();
+		for (ConnectionPool pool : pools.values()) {
+			try {
+				pool.evictIdleConnections(now);
+			} catch (RuntimeException e) {
+				// keep the timer running
+				logger.log(Level.WARNING, "Failed to evict idle pooled connections", e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static String getSetting(Map appContext, String name) {
+		Object value = appContext == null ? null : appContext.get(name);
+		if (value == null) {
+			value = System.getProperty(name);
+		}
+		return value == null ? null : value.toString().trim();
+	}
+
+	private static int getIntSetting(Map appContext, String name, int defaultValue) {
+		return (int) getLongSetting(appContext, name, defaultValue);
+	}
+
+	private static long getLongSetting(Map appContext, String name, long defaultValue) {
+		String value = getSetting(appContext, name);
+		if (value != null && value.length() > 0) {
+			try {
+				return Long.parseLong(value);
+			} catch (NumberFormatException e) {
+				logger.log(Level.WARNING, "Invalid value of " + name + ": " + value); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return defaultValue;
+	}
+
+	private static final class PoolKey {
+		final String driverClass;
+		final String url;
+		final Properties props;
+		final List<String> driverClassPath;
+
+		PoolKey(String driverClass, String url, Properties props, List<String> driverClassPath) {
+			this.driverClass = driverClass;
+			this.url = url;
+			this.props = props;
+			this.driverClassPath = driverClassPath;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = driverClass == null ? 0 : driverClass.hashCode();
+			hash = hash * 31 + (url == null ? 0 : url.hashCode());
+			hash = hash * 31 + props.hashCode();
+			return hash * 31 + (driverClassPath == null ? 0 : driverClassPath.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof PoolKey)) {
+				return false;
+			}
+			PoolKey key = (PoolKey) obj;
+			return equals(driverClass, key.driverClass) && equals(url, key.url) && props.equals(key.props)
+					&& equals(driverClassPath, key.driverClassPath);
+		}
+
+		private static boolean equals(Object a, Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+	}
+}
@@ -0,0 +1,534 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.data.oda.jdbc.connectionpool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A physical connection of a connection pool.
+ * <p>
+ * Every user of the connection gets its own logical connection, a proxy which
+ * puts the physical connection back into the pool when it is closed and which
+ * can't be used any more afterwards. The statements prepared with
+ * <code>prepareStatement(sql)</code> and <code>prepareCall(sql)</code>, with or
+ * without the result set type and concurrency, are kept by the physical
+ * connection when they are closed, and reused when the same statement is
+ * prepared again. The other statements and the database metadata are wrapped
+ * as well, so that they return the logical connection rather than the physical
+ * one.
+ */
+class PooledConnection {
+
+	private static Logger logger = Logger.getLogger(PooledConnection.class.getName());
+
+	// the time allowed to the validation of a connection, in seconds
+	private static final int VALIDATION_TIMEOUT = 5;
+
+	private final ConnectionPool pool;
+	private final Connection physicalConnection;
+	private final int statementCacheSize;
+
+	// the idle prepared statements, the least recently used first
+	private final Map<List<Object>, CachedStatement> statementCache;
+
+	// the state restored when the connection returns to the pool
+	private final boolean defaultAutoCommit;
+	private final int defaultTransactionIsolation;
+	private final boolean defaultReadOnly;
+	private final String defaultCatalog;
+
+	private volatile long lastUsed;
+
+	PooledConnection(ConnectionPool pool, Connection physicalConnection, int statementCacheSize) throws SQLException {
+		this.pool = pool;
+		this.physicalConnection = physicalConnection;
+		this.statementCacheSize = statementCacheSize;
+		this.statementCache = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<List<Object>, CachedStatement> eldest) {
+				if (size() > PooledConnection.this.statementCacheSize) {
+					closeStatement(eldest.getValue().statement);
+					return true;
+				}
+				return false;
+			}
+		};
+		this.defaultAutoCommit = physicalConnection.getAutoCommit();
+		this.defaultTransactionIsolation = physicalConnection.getTransactionIsolation();
+		this.defaultReadOnly = physicalConnection.isReadOnly();
+		this.defaultCatalog = physicalConnection.getCatalog();
+		this.lastUsed = System.currentTimeMillis();
+	}
+
+	/**
+	 * @return a new logical connection to this physical connection
+	 */
+	Connection open() {
+		LogicalConnection handler = new LogicalConnection();
+		handler.proxy = (Connection) Proxy.newProxyInstance(PooledConnection.class.getClassLoader(),
+				new Class[] { Connection.class }, handler);
+		return handler.proxy;
+	}
+
+	/**
+	 * @return the last time the connection has been released
+	 */
+	long getLastUsed() {
+		return lastUsed;
+	}
+
+	/**
+	 * check that an idle connection can be reused.
+	 *
+	 * @param validationQuery the validation query, or null to ask the driver
+	 * @return true if the connection is valid
+	 */
+	boolean isValid(String validationQuery) {
+		try {
+			if (physicalConnection.isClosed()) {
+				return false;
+			}
+			if (validationQuery == null) {
+				try {
+					return physicalConnection.isValid(VALIDATION_TIMEOUT);
+				} catch (SQLFeatureNotSupportedException | AbstractMethodError e) {
+					// the driver can't tell, the connection is not closed
+					return true;
+				}
+			}
+			try (Statement statement = physicalConnection.createStatement()) {
+				statement.setQueryTimeout(VALIDATION_TIMEOUT);
+				statement.execute(validationQuery);
+			}
+			return true;
+		} catch (SQLException e) {
+			logger.log(Level.FINE, "Pooled connection " + physicalConnection + " is not valid", e); //$NON-NLS-1$ //$NON-NLS-2$
+			return false;
+		}
+	}
+
+	/**
+	 * restore the state of the connection before it returns to the pool, rolling
+	 * back the transaction left open.
+	 *
+	 * @return false if the connection can't be reused
+	 */
+	boolean reset() {
+		try {
+			if (physicalConnection.isClosed()) {
+				return false;
+			}
+			if (!physicalConnection.getAutoCommit()) {
+				physicalConnection.rollback();
+			}
+			if (physicalConnection.getAutoCommit() != defaultAutoCommit) {
+				physicalConnection.setAutoCommit(defaultAutoCommit);
+			}
+			if (physicalConnection.getTransactionIsolation() != defaultTransactionIsolation) {
+				physicalConnection.setTransactionIsolation(defaultTransactionIsolation);
+			}
+			if (physicalConnection.isReadOnly() != defaultReadOnly) {
+				physicalConnection.setReadOnly(defaultReadOnly);
+			}
+			if (defaultCatalog != null && !defaultCatalog.equals(physicalConnection.getCatalog())) {
+				physicalConnection.setCatalog(defaultCatalog);
+			}
+			physicalConnection.clearWarnings();
+			lastUsed = System.currentTimeMillis();
+			return true;
+		} catch (SQLException e) {
+			logger.log(Level.FINE, "Failed to reset pooled connection " + physicalConnection, e); //$NON-NLS-1$
+			return false;
+		}
+	}
+
+	/**
+	 * close the physical connection and its statements.
+	 */
+	void destroy() {
+		List<CachedStatement> statements;
+		synchronized (this) {
+			statements = new ArrayList<>(statementCache.values());
+			statementCache.clear();
+		}
+		for (CachedStatement statement : statements) {
+			closeStatement(statement.statement);
+		}
+		try {
+			physicalConnection.close();
+		} catch (SQLException e) {
+			logger.log(Level.FINE, "Failed to close pooled connection " + physicalConnection, e); //$NON-NLS-1$
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(physicalConnection);
+	}
+
+	/**
+	 * put a prepared statement back into the cache once it is closed.
+	 */
+	private void releaseStatement(List<Object> key, CachedStatement cachedStatement) {
+		if (!cachedStatement.reset()) {
+			closeStatement(cachedStatement.statement);
+			return;
+		}
+		CachedStatement duplicate;
+		synchronized (this) {
+			duplicate = statementCache.putIfAbsent(key, cachedStatement);
+		}
+		if (duplicate != null) {
+			// the same statement has been prepared twice
+			closeStatement(cachedStatement.statement);
+		}
+	}
+
+	private static void closeStatement(Statement statement) {
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			logger.log(Level.FINE, "Failed to close pooled statement", e); //$NON-NLS-1$
+		}
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * A prepared statement of the cache, with the settings restored when it
+	 * returns to the cache.
+	 */
+	private static final class CachedStatement {
+		final PreparedStatement statement;
+		final int maxRows;
+		final int maxFieldSize;
+		final int fetchSize;
+		final int queryTimeout;
+
+		CachedStatement(PreparedStatement statement) throws SQLException {
+			this.statement = statement;
+			this.maxRows = statement.getMaxRows();
+			this.maxFieldSize = statement.getMaxFieldSize();
+			this.fetchSize = statement.getFetchSize();
+			this.queryTimeout = statement.getQueryTimeout();
+		}
+
+		boolean reset() {
+			try {
+				if (statement.isClosed()) {
+					return false;
+				}
+				ResultSet resultSet = statement.getResultSet();
+				if (resultSet != null) {
+					resultSet.close();
+				}
+				statement.clearParameters();
+				statement.clearWarnings();
+				if (statement.getMaxRows() != maxRows) {
+					statement.setMaxRows(maxRows);
+				}
+				if (statement.getMaxFieldSize() != maxFieldSize) {
+					statement.setMaxFieldSize(maxFieldSize);
+				}
+				if (statement.getFetchSize() != fetchSize) {
+					statement.setFetchSize(fetchSize);
+				}
+				if (statement.getQueryTimeout() != queryTimeout) {
+					statement.setQueryTimeout(queryTimeout);
+				}
+				return true;
+			} catch (SQLException e) {
+				logger.log(Level.FINE, "Failed to reset pooled statement", e); //$NON-NLS-1$
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * The connection used by a user of the physical connection.
+	 */
+	final class LogicalConnection implements InvocationHandler {
+
+		private Connection proxy;
+		private boolean closed;
+
+		// the statements to close with the connection
+		private final List<LogicalStatement> preparedStatements = new ArrayList<>();
+		private final List<UncachedStatement> statements = new ArrayList<>();
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "equals": //$NON-NLS-1$
+				return proxy == args[0];
+			case "hashCode": //$NON-NLS-1$
+				return System.identityHashCode(proxy);
+			case "toString": //$NON-NLS-1$
+				return "Pooled " + physicalConnection; //$NON-NLS-1$
+			case "isClosed": //$NON-NLS-1$
+				return isClosed() || physicalConnection.isClosed();
+			case "close": //$NON-NLS-1$
+				close();
+				return null;
+			default:
+				break;
+			}
+			if (isClosed()) {
+				throw new SQLException("Connection is closed"); //$NON-NLS-1$
+			}
+			if (isCacheable(method)) {
+				return prepare(method, args);
+			}
+			Object result = PooledConnection.invoke(physicalConnection, method, args);
+			if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+				UncachedStatement handler = new UncachedStatement(this, (Statement) result);
+				synchronized (this) {
+					statements.add(handler);
+				}
+				return Proxy.newProxyInstance(PooledConnection.class.getClassLoader(),
+						new Class[] { method.getReturnType() }, handler);
+			}
+			if (result instanceof DatabaseMetaData) {
+				return Proxy.newProxyInstance(PooledConnection.class.getClassLoader(),
+						new Class[] { DatabaseMetaData.class }, new LogicalMetaData(this, (DatabaseMetaData) result));
+			}
+			return result;
+		}
+
+		private synchronized boolean isClosed() {
+			return closed;
+		}
+
+		private boolean isCacheable(Method method) {
+			if (statementCacheSize <= 0) {
+				return false;
+			}
+			String name = method.getName();
+			if (!"prepareStatement".equals(name) && !"prepareCall".equals(name)) { //$NON-NLS-1$ //$NON-NLS-2$
+				return false;
+			}
+			Class<?>[] types = method.getParameterTypes();
+			return Arrays.equals(types, new Class[] { String.class })
+					|| Arrays.equals(types, new Class[] { String.class, int.class, int.class });
+		}
+
+		private Object prepare(Method method, Object[] args) throws Throwable {
+			List<Object> key = new ArrayList<>(args.length + 1);
+			key.add(method.getName());
+			key.addAll(Arrays.asList(args));
+			CachedStatement cachedStatement;
+			synchronized (PooledConnection.this) {
+				cachedStatement = statementCache.remove(key);
+			}
+			if (cachedStatement == null) {
+				PreparedStatement statement = (PreparedStatement) PooledConnection.invoke(physicalConnection, method,
+						args);
+				try {
+					cachedStatement = new CachedStatement(statement);
+				} catch (SQLException e) {
+					closeStatement(statement);
+					throw e;
+				}
+			}
+			LogicalStatement handler = new LogicalStatement(this, key, cachedStatement);
+			synchronized (this) {
+				preparedStatements.add(handler);
+			}
+			Class<?> type = "prepareCall".equals(method.getName()) ? CallableStatement.class //$NON-NLS-1$
+					: PreparedStatement.class;
+			return Proxy.newProxyInstance(PooledConnection.class.getClassLoader(), new Class[] { type }, handler);
+		}
+
+		private synchronized void remove(LogicalStatement statement) {
+			preparedStatements.remove(statement);
+		}
+
+		private synchronized void remove(UncachedStatement statement) {
+			statements.remove(statement);
+		}
+
+		private void close() {
+			List<LogicalStatement> openPreparedStatements;
+			List<UncachedStatement> openStatements;
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				openPreparedStatements = new ArrayList<>(preparedStatements);
+				openStatements = new ArrayList<>(statements);
+				preparedStatements.clear();
+				statements.clear();
+			}
+			for (LogicalStatement statement : openPreparedStatements) {
+				statement.close();
+			}
+			for (UncachedStatement statement : openStatements) {
+				closeStatement(statement.statement);
+			}
+			pool.release(PooledConnection.this);
+		}
+	}
+
+	/**
+	 * A prepared statement used by a user of a cached statement.
+	 */
+	private final class LogicalStatement implements InvocationHandler {
+
+		private final LogicalConnection connection;
+		private final List<Object> key;
+		private final CachedStatement cachedStatement;
+		private boolean closed;
+
+		LogicalStatement(LogicalConnection connection, List<Object> key, CachedStatement cachedStatement) {
+			this.connection = connection;
+			this.key = key;
+			this.cachedStatement = cachedStatement;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "equals": //$NON-NLS-1$
+				return proxy == args[0];
+			case "hashCode": //$NON-NLS-1$
+				return System.identityHashCode(proxy);
+			case "toString": //$NON-NLS-1$
+				return "Pooled " + cachedStatement.statement; //$NON-NLS-1$
+			case "isClosed": //$NON-NLS-1$
+				return isClosed();
+			case "close": //$NON-NLS-1$
+				connection.remove(this);
+				close();
+				return null;
+			case "getConnection": //$NON-NLS-1$
+				return connection.proxy;
+			default:
+				break;
+			}
+			if (isClosed()) {
+				throw new SQLException("Statement is closed"); //$NON-NLS-1$
+			}
+			return PooledConnection.invoke(cachedStatement.statement, method, args);
+		}
+
+		private synchronized boolean isClosed() {
+			return closed;
+		}
+
+		private void close() {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+			}
+			releaseStatement(key, cachedStatement);
+		}
+	}
+
+	/**
+	 * A statement which is not cached, used by a user of the physical connection.
+	 */
+	private static final class UncachedStatement implements InvocationHandler {
+
+		private final LogicalConnection connection;
+		private final Statement statement;
+
+		UncachedStatement(LogicalConnection connection, Statement statement) {
+			this.connection = connection;
+			this.statement = statement;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "equals": //$NON-NLS-1$
+				return proxy == args[0];
+			case "hashCode": //$NON-NLS-1$
+				return System.identityHashCode(proxy);
+			case "toString": //$NON-NLS-1$
+				return "Pooled " + statement; //$NON-NLS-1$
+			case "close": //$NON-NLS-1$
+				connection.remove(this);
+				statement.close();
+				return null;
+			case "getConnection": //$NON-NLS-1$
+				return connection.proxy;
+			default:
+				break;
+			}
+			return PooledConnection.invoke(statement, method, args);
+		}
+	}
+
+	/**
+	 * The database metadata of a logical connection.
+	 */
+	private static final class LogicalMetaData implements InvocationHandler {
+
+		private final LogicalConnection connection;
+		private final DatabaseMetaData metaData;
+
+		LogicalMetaData(LogicalConnection connection, DatabaseMetaData metaData) {
+			this.connection = connection;
+			this.metaData = metaData;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "equals": //$NON-NLS-1$
+				return proxy == args[0];
+			case "hashCode": //$NON-NLS-1$
+				return System.identityHashCode(proxy);
+			case "toString": //$NON-NLS-1$
+				return "Pooled " + metaData; //$NON-NLS-1$
+			case "getConnection": //$NON-NLS-1$
+				return connection.proxy;
+			default:
+				break;
+			}
+			return PooledConnection.invoke(metaData, method, args);
+		}
+	}
+}
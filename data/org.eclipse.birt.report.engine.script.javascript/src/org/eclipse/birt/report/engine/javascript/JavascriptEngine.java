@@ -23,6 +23,7 @@ import java.util.logging.Logger;
 import org.eclipse.birt.core.exception.BirtException;
 import org.eclipse.birt.core.exception.CoreException;
 import org.eclipse.birt.core.i18n.ResourceConstants;
+import org.eclipse.birt.core.script.CompiledScriptCache;
 import org.eclipse.birt.core.script.CoreJavaScriptInitializer;
 import org.eclipse.birt.core.script.CoreJavaScriptWrapper;
 import org.eclipse.birt.core.script.ICompiledScript;
@@ -207,10 +208,32 @@ public class JavascriptEngine implements IScriptEngine, IDataScriptEngine {
 		return factory;
 	}
 
-	@SuppressWarnings("unused")
 	@Override
 	public CompiledJavascript compile(ScriptContext scriptContext, final String id, final int lineNumber,
 			final String script) throws BirtException {
+		CompiledScriptCache cache = scriptContext != null ? scriptContext.getCompiledScriptCache() : null;
+		if (cache != null) {
+			// an interpreted script depends on no class loader. The classes generated for
+			// a compiled script are defined under the loader of Rhino and refer only to
+			// Rhino classes, the java classes called by the script are resolved through
+			// the scope at run time, so the task loaders don't belong to the key.
+			int languageVersion = version.getECMAScriptVersion();
+			int optimizationLevel = context.getOptimizationLevel();
+			ClassLoader classLoader = optimizationLevel >= 0 ? Context.class.getClassLoader() : null;
+			ICompiledScript cached = cache.get(JavascriptEngineFactory.SCRIPT_JAVASCRIPT, languageVersion,
+					optimizationLevel, classLoader, id, lineNumber, script);
+			if (cached instanceof CompiledJavascript) {
+				return (CompiledJavascript) cached;
+			}
+			CompiledJavascript compiledScript = compileScript(id, lineNumber, script);
+			cache.put(JavascriptEngineFactory.SCRIPT_JAVASCRIPT, languageVersion, optimizationLevel, classLoader, id,
+					lineNumber, script, compiledScript);
+			return compiledScript;
+		}
+		return compileScript(id, lineNumber, script);
+	}
+
+	private CompiledJavascript compileScript(String id, int lineNumber, String script) {
 		Script scriptObject = context.compileString(script, id, lineNumber, ScriptUtil.getSecurityDomain(id));
 		return new CompiledJavascript(id, lineNumber, script, scriptObject);
 	}
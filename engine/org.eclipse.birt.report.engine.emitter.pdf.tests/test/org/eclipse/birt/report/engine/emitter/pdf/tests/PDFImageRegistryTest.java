@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.birt.report.engine.emitter.pdf.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.birt.report.engine.emitter.pdf.PDFPageDevice;
+import org.eclipse.birt.report.engine.layout.emitter.IPage;
+import org.junit.Test;
+import org.openpdf.text.pdf.PdfName;
+import org.openpdf.text.pdf.PdfObject;
+import org.openpdf.text.pdf.PdfReader;
+import org.openpdf.text.pdf.PdfStream;
+
+/**
+ * Test that the images drawn several times are written into the PDF document
+ * once.
+ */
+public class PDFImageRegistryTest {
+
+	private static class TestPageDevice extends PDFPageDevice {
+
+		TestPageDevice(OutputStream output) {
+			super(output);
+		}
+
+		void closeDocument() {
+			doc.close();
+		}
+	}
+
+	private static byte[] createImage(int rgb) throws IOException {
+		BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+		for (int x = 0; x < 16; x++) {
+			for (int y = 0; y < 16; y++) {
+				image.setRGB(x, y, x == y ? 0 : rgb);
+			}
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out); //$NON-NLS-1$
+		return out.toByteArray();
+	}
+
+	private static int countImages(byte[] pdf) throws IOException {
+		PdfReader reader = new PdfReader(pdf);
+		int count = 0;
+		for (int i = 1; i < reader.getXrefSize(); i++) {
+			PdfObject object = reader.getPdfObject(i);
+			if (object instanceof PdfStream && PdfName.IMAGE.equals(((PdfStream) object).get(PdfName.SUBTYPE))) {
+				count++;
+			}
+		}
+		reader.close();
+		return count;
+	}
+
+	@Test
+	public void testRepeatedImage() throws Exception {
+		byte[] image = createImage(0xFF0000);
+		// the same data, read from another source
+		byte[] copy = image.clone();
+		byte[] other = createImage(0x00FF00);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TestPageDevice device = new TestPageDevice(out);
+		for (int i = 0; i < 2; i++) {
+			IPage page = device.newPage(595000, 842000, null);
+			page.drawImage("image.png", image, "png", 10000, 10000, 20000, 20000, null, null); //$NON-NLS-1$
+			page.drawImage(null, image, "png", 10000, 40000, 20000, 20000, null, null);
+			page.drawImage(null, copy, "png", 10000, 70000, 20000, 20000, null, null);
+			page.drawImage(null, other, "png", 10000, 100000, 20000, 20000, null, null);
+			page.dispose();
+		}
+		assertEquals(2, device.getImageRegistry().getImageCount());
+		device.closeDocument();
+
+		assertEquals(2, countImages(out.toByteArray()));
+	}
+}
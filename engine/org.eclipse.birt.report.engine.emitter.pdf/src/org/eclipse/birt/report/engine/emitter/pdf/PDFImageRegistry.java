@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.emitter.pdf;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openpdf.text.pdf.PdfTemplate;
+
+/**
+ * The images written into a PDF document, identified by the digest of their
+ * content and their size.
+ * <p>
+ * An image is decoded and written into the document once, as a template
+ * XObject, and all the other occurrences of the same image data at the same
+ * size refer to that template, whatever the URL of the image, or if it has no
+ * URL at all, like the images of blob columns and embedded images.
+ */
+public class PDFImageRegistry {
+
+	private final Map<Key, PdfTemplate> templates = new HashMap<>();
+
+	private MessageDigest digest;
+
+	private int imageCount;
+
+	private int reuseCount;
+
+	private long reusedBytes;
+
+	/**
+	 * Create the key which identifies an image in the registry. The key is
+	 * computed from the image data once, and is passed to get() and put().
+	 *
+	 * @param imageData image data
+	 * @param width     width of the image
+	 * @param height    height of the image
+	 * @return the key of the image, or null if the image can't be registered
+	 */
+	public Key createKey(byte[] imageData, float width, float height) {
+		if (imageData == null || imageData.length == 0) {
+			return null;
+		}
+		if (digest == null) {
+			try {
+				digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			} catch (NoSuchAlgorithmException e) {
+				return null;
+			}
+		}
+		return new Key(digest.digest(imageData), imageData.length, width, height);
+	}
+
+	/**
+	 * Get the template of an image written before
+	 *
+	 * @param key key of the image, may be null
+	 * @return the template of the image, or null if the image is not written yet
+	 */
+	public PdfTemplate get(Key key) {
+		if (key == null) {
+			return null;
+		}
+		PdfTemplate template = templates.get(key);
+		if (template != null) {
+			reuseCount++;
+			reusedBytes += key.length;
+		}
+		return template;
+	}
+
+	/**
+	 * Register the template an image is written into
+	 *
+	 * @param key      key of the image, may be null
+	 * @param template template of the image
+	 */
+	public void put(Key key, PdfTemplate template) {
+		if (key != null && templates.put(key, template) == null) {
+			imageCount++;
+		}
+	}
+
+	/**
+	 * Get the number of the distinct images written into the document
+	 *
+	 * @return the number of images
+	 */
+	public int getImageCount() {
+		return imageCount;
+	}
+
+	/**
+	 * Get the number of the images drawn with the template of an image written
+	 * before
+	 *
+	 * @return the number of the reused images
+	 */
+	public int getReuseCount() {
+		return reuseCount;
+	}
+
+	/**
+	 * Get the size of the image data which are not decoded and written again
+	 *
+	 * @return the size in bytes
+	 */
+	public long getReusedBytes() {
+		return reusedBytes;
+	}
+
+	/**
+	 * The digest of the data and the size of an image
+	 */
+	public static final class Key {
+		private final byte[] digest;
+		private final int length;
+		private final float width;
+		private final float height;
+		private final int hash;
+
+		Key(byte[] digest, int length, float width, float height) {
+			this.digest = digest;
+			this.length = length;
+			this.width = width;
+			this.height = height;
+			this.hash = ((Arrays.hashCode(digest) * 31 + length) * 31 + Float.floatToIntBits(width)) * 31
+					+ Float.floatToIntBits(height);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) obj;
+			return length == key.length && Float.compare(width, key.width) == 0
+					&& Float.compare(height, key.height) == 0 && Arrays.equals(digest, key.digest);
+		}
+	}
+}
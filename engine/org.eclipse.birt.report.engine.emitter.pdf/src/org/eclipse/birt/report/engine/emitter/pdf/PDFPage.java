@@ -273,14 +273,23 @@ public class PDFPage extends AbstractPage {
 			if (pageDevice.getImageCache().containsKey(imageId)) {
 				template = pageDevice.getImageCache().get(imageId);
 			}
-			if (template != null) {
-				drawImage(template, imageX, imageY, height, width, helpText);
-				if (isTagged && artifactDepth == 0) {
-					contentByte.endMarkedContentSequence();
-				}
-				return;
+		}
+		PDFImageRegistry.Key imageKey = null;
+		if (template == null) {
+			// the same image may be drawn with another URL or without URL
+			imageKey = pageDevice.getImageRegistry().createKey(imageData, width, height);
+			template = pageDevice.getImageRegistry().get(imageKey);
+			if (template != null && imageId != null) {
+				pageDevice.getImageCache().put(imageId, template);
 			}
 		}
+		if (template != null) {
+			drawImage(template, imageX, imageY, height, width, helpText);
+			if (isTagged && artifactDepth == 0) {
+				contentByte.endMarkedContentSequence();
+			}
+			return;
+		}
 
 		// Not cached yet
 		if (SvgFile.isSvg(null, null, extension)) {
@@ -299,20 +308,15 @@ public class PDFPage extends AbstractPage {
 				}
 			}
 
-			if (imageId == null) {
-				// image without imageId, not able to cache.
-				drawImage(image, imageX, imageY, height, width, helpText);
-				if (isTagged && artifactDepth == 0) {
-					contentByte.endMarkedContentSequence();
-				}
-				return;
-			}
 			template = contentByte.createTemplate(width, height);
 			template.addImage(image, width, 0, 0, height, 0, 0);
 		}
 		// Cache the image
-		if (imageId != null && template != null) {
-			pageDevice.getImageCache().put(imageId, template);
+		if (template != null) {
+			if (imageId != null) {
+				pageDevice.getImageCache().put(imageId, template);
+			}
+			pageDevice.getImageRegistry().put(imageKey, template);
 		}
 		if (template != null) {
 			drawImage(template, imageX, imageY, height, width, helpText);
@@ -167,6 +167,8 @@ public class PDFPageDevice implements IPageDevice {
 
 	protected HashMap<String, PdfTemplate> imageCache = new HashMap<>();
 
+	protected PDFImageRegistry imageRegistry = new PDFImageRegistry();
+
 	/**
 	 * the iText and Birt engine version info.
 	 */
@@ -497,6 +499,15 @@ public class PDFPageDevice implements IPageDevice {
 		return imageCache;
 	}
 
+	/**
+	 * Get the images written into the document
+	 *
+	 * @return Return the image registry
+	 */
+	public PDFImageRegistry getImageRegistry() {
+		return imageRegistry;
+	}
+
 	@Override
 	public void close() throws Exception {
 		if (!doc.isOpen()) {
@@ -603,6 +614,11 @@ public class PDFPageDevice implements IPageDevice {
 		if (doc.isOpen()) {
 			doc.close();
 		}
+		if (logger.isLoggable(Level.FINE)) {
+			logger.log(Level.FINE, "{0} images written, {1} images reused, {2} bytes of image data reused", //$NON-NLS-1$
+					new Object[] { imageRegistry.getImageCount(), imageRegistry.getReuseCount(),
+							imageRegistry.getReusedBytes() });
+		}
 	}
 
 	@Override
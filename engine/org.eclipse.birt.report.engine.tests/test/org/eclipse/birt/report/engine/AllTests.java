@@ -50,6 +50,8 @@ public class AllTests {
 		suite.addTestSuite(org.eclipse.birt.report.engine.api.impl.ParameterPromptTextTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.api.impl.ReportDocumentReaderTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.api.impl.ReportDocumentTest.class);
+		suite.addTestSuite(org.eclipse.birt.report.engine.api.impl.ReportRunnableCacheTest.class);
+		suite.addTestSuite(org.eclipse.birt.report.engine.api.impl.CompiledScriptSharingTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.api.iv.IVTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.api.iv.IVViewTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.api.script.element.ElementTest.class);
@@ -88,6 +90,7 @@ public class AllTests {
 		suite.addTestSuite(org.eclipse.birt.report.engine.api.TimeZoneTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.content.ReportContentReaderAndWriterTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.css.dom.StyleDeclarationTest.class);
+		suite.addTestSuite(org.eclipse.birt.report.engine.css.dom.StyleDeclarationPoolTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.css.engine.PerfectHashTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.css.CSSPaserTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.data.dte.DataEngineTest.class);
@@ -155,6 +158,7 @@ public class AllTests {
 		suite.addTestSuite(org.eclipse.birt.report.engine.layout.html.HTMLLayoutTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.layout.pdf.font.CharSegmentTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.layout.pdf.font.FontConfigReaderTest.class);
+		suite.addTestSuite(org.eclipse.birt.report.engine.layout.pdf.font.GlyphAdvanceTableTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.layout.pdf.hyphen.DefaultWordRecognizerTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.layout.pdf.PDFImageLMTest.class);
 		suite.addTestSuite(org.eclipse.birt.report.engine.layout.pdf.PDFLineAreaLMTest.class);
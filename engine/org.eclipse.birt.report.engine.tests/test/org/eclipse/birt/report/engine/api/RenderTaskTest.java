@@ -22,12 +22,18 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.birt.core.archive.compound.ArchiveFile;
 import org.eclipse.birt.core.archive.compound.ArchiveReader;
 import org.eclipse.birt.core.archive.compound.ArchiveWriter;
 import org.eclipse.birt.report.engine.EngineCase;
 import org.eclipse.birt.report.engine.api.impl.ReportDocumentConstants;
+import org.openpdf.text.pdf.PdfReader;
+import org.openpdf.text.pdf.SimpleBookmark;
+import org.openpdf.text.pdf.SimpleNamedDestination;
+import org.openpdf.text.pdf.parser.PdfTextExtractor;
 
 public class RenderTaskTest extends EngineCase {
 
@@ -333,6 +339,87 @@ public class RenderTaskTest extends EngineCase {
 		reportDoc.close();
 	}
 
+	public void testRenderPDFInParallel() throws Exception {
+		String outputFileName = ".render_pdf_in_parallel.pdf";
+		createReportDocument();
+
+		IReportDocument reportDoc = engine.openReportDocument(REPORT_DOCUMENT);
+		IRenderTask task = engine.createRenderTask(reportDoc);
+
+		IRenderOption option = new PDFRenderOption();
+		option.setOutputFormat("pdf"); //$NON-NLS-1$
+		option.setOutputFileName(outputFileName);
+		option.setOption(IPDFRenderOption.RENDER_THREADS, 2);
+		task.setRenderOption(option);
+		task.setPageRange("2-3"); //$NON-NLS-1$
+		task.render();
+		assertEquals(2, task.getPageCount());
+		assertTrue(task.getErrors().isEmpty());
+		File pdfFile = new File(outputFileName);
+		assertTrue(pdfFile.exists());
+		assertTrue(pdfFile.length() != 0);
+
+		PdfReader reader = new PdfReader(outputFileName);
+		try {
+			// the pages of the ranges are merged in order
+			assertEquals(2, reader.getNumberOfPages());
+			PdfTextExtractor extractor = new PdfTextExtractor(reader);
+			assertTrue(extractor.getTextFromPage(1).contains("start of second page")); //$NON-NLS-1$
+			assertTrue(extractor.getTextFromPage(2).contains("start of third page")); //$NON-NLS-1$
+
+			// the outline refers to the destinations of the merged pages
+			Map<String, String> destinations = new HashMap<>();
+			destinations.putAll(SimpleNamedDestination.getNamedDestination(reader, false));
+			destinations.putAll(SimpleNamedDestination.getNamedDestination(reader, true));
+			Map<String, Integer> outlinePages = new HashMap<>();
+			List<Map<String, Object>> outlines = SimpleBookmark.getBookmarkList(reader);
+			assertNotNull(outlines);
+			for (Map<String, Object> outline : outlines) {
+				String destination = destinations.get(outline.get("Named")); //$NON-NLS-1$
+				assertNotNull(destination);
+				outlinePages.put((String) outline.get("Title"), //$NON-NLS-1$
+						Integer.valueOf(destination.trim().split(" ")[0])); //$NON-NLS-1$
+			}
+			assertEquals(Integer.valueOf(1), outlinePages.get("second page")); //$NON-NLS-1$
+			assertEquals(Integer.valueOf(2), outlinePages.get("third page")); //$NON-NLS-1$
+		} finally {
+			reader.close();
+		}
+		task.close();
+
+		// the document info is the same as the one of the sequential render
+		String sequentialFileName = ".render_pdf_in_sequence.pdf";
+		task = engine.createRenderTask(reportDoc);
+		option = new PDFRenderOption();
+		option.setOutputFormat("pdf"); //$NON-NLS-1$
+		option.setOutputFileName(sequentialFileName);
+		task.setRenderOption(option);
+		task.setPageRange("2-3"); //$NON-NLS-1$
+		task.render();
+		task.close();
+		Map<String, String> info = getDocumentInfo(outputFileName);
+		assertEquals("Render task test report", info.get("Description")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(getDocumentInfo(sequentialFileName), info);
+
+		removeFile(outputFileName);
+		removeFile(sequentialFileName);
+		reportDoc.close();
+	}
+
+	private Map<String, String> getDocumentInfo(String fileName) throws IOException {
+		PdfReader reader = new PdfReader(fileName);
+		try {
+			Map<String, String> info = new HashMap<>(reader.getInfo());
+			// set by the writer of each file
+			info.remove("Producer"); //$NON-NLS-1$
+			info.remove("CreationDate"); //$NON-NLS-1$
+			info.remove("ModDate"); //$NON-NLS-1$
+			return info;
+		} finally {
+			reader.close();
+		}
+	}
+
 	public void testCloseOnExitRenderOption() throws EngineException {
 		String design = "org/eclipse/birt/report/engine/api/testCloseOnExit.rptdesign";
 		IReportDocument document = createReportDocument(design);
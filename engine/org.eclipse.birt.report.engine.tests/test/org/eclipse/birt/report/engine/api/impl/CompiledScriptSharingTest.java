@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.api.impl;
+
+import java.io.ByteArrayOutputStream;
+
+import org.eclipse.birt.core.script.CompiledScriptCache;
+import org.eclipse.birt.report.engine.EngineCase;
+import org.eclipse.birt.report.engine.api.HTMLRenderOption;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+import org.eclipse.birt.report.engine.api.IRunAndRenderTask;
+
+public class CompiledScriptSharingTest extends EngineCase {
+
+	static final String REPORT_DESIGN_RESOURCE = "org/eclipse/birt/report/engine/api/run_task_design.xml";
+
+	@Override
+	public void setUp() throws Exception {
+		removeFile(REPORT_DESIGN);
+		copyResource(REPORT_DESIGN_RESOURCE, REPORT_DESIGN);
+		engine = createReportEngine();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		engine.destroy();
+		removeFile(REPORT_DESIGN);
+	}
+
+	public void testSharedByTasks() throws Exception {
+		CompiledScriptCache cache = ((ReportEngine) engine).getCompiledScriptCache();
+		IReportRunnable runnable = engine.openReportDesign(REPORT_DESIGN);
+
+		runTask(runnable);
+		long firstMisses = cache.getMissCount();
+		long firstHits = cache.getHitCount();
+		assertTrue(firstMisses > 0);
+
+		// every task has its own application class loader, the scripts compiled by
+		// the first task are still used by the second one
+		runTask(runnable);
+		assertTrue(cache.getHitCount() > firstHits);
+		assertTrue(cache.getMissCount() - firstMisses < firstMisses);
+	}
+
+	private void runTask(IReportRunnable runnable) throws Exception {
+		IRunAndRenderTask task = engine.createRunAndRenderTask(runnable);
+		try {
+			HTMLRenderOption options = new HTMLRenderOption();
+			options.setOutputStream(new ByteArrayOutputStream());
+			options.setOutputFormat("html");
+			task.setRenderOption(options);
+			task.run();
+		} finally {
+			task.close();
+		}
+	}
+}
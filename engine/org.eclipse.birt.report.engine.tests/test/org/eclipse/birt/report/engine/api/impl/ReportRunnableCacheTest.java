@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.api.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.eclipse.birt.report.engine.EngineCase;
+import org.eclipse.birt.report.engine.api.EngineConfig;
+import org.eclipse.birt.report.engine.api.EngineConstants;
+import org.eclipse.birt.report.engine.api.IReportRunnable;
+
+public class ReportRunnableCacheTest extends EngineCase {
+
+	static final String REPORT_DESIGN_RESOURCE = "org/eclipse/birt/report/engine/api/ReportRunnableTest.rptdesign";
+
+	@Override
+	public void setUp() throws Exception {
+		removeFile(REPORT_DESIGN);
+		copyResource(REPORT_DESIGN_RESOURCE, REPORT_DESIGN);
+		EngineConfig config = new EngineConfig();
+		config.setProperty(EngineConstants.PROPERTY_REPORT_RUNNABLE_CACHE_SIZE, "4");
+		engine = createReportEngine(config);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		engine.destroy();
+		removeFile(REPORT_DESIGN);
+	}
+
+	public void testOpenCachedDesign() throws Exception {
+		ReportRunnableCache cache = ((ReportEngine) engine).getReportRunnableCache();
+		IReportRunnable runnable1 = engine.openReportDesign(REPORT_DESIGN);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.size());
+
+		IReportRunnable runnable2 = engine.openReportDesign(REPORT_DESIGN);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(runnable1.getReportName(), runnable2.getReportName());
+
+		// every runnable has its own design
+		assertNotSame(runnable1.getDesignHandle(), runnable2.getDesignHandle());
+		assertEquals(runnable1.getDesignHandle().getModuleHandle().getAllElements().size(),
+				runnable2.getDesignHandle().getModuleHandle().getAllElements().size());
+	}
+
+	public void testModifiedDesign() throws Exception {
+		ReportRunnableCache cache = ((ReportEngine) engine).getReportRunnableCache();
+		engine.openReportDesign(REPORT_DESIGN);
+
+		File file = new File(REPORT_DESIGN);
+		file.setLastModified(file.lastModified() - 10000);
+		engine.openReportDesign(REPORT_DESIGN);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+
+		engine.openReportDesign(REPORT_DESIGN);
+		assertEquals(1, cache.getHitCount());
+	}
+
+	public void testOpenDesignStream() throws Exception {
+		ReportRunnableCache cache = ((ReportEngine) engine).getReportRunnableCache();
+		engine.openReportDesign(REPORT_DESIGN);
+
+		// a stream is always parsed, even if its name is the one of a cached design
+		String systemId = new File(REPORT_DESIGN).toURI().toURL().toString();
+		InputStream in = new FileInputStream(REPORT_DESIGN);
+		try {
+			IReportRunnable runnable = engine.openReportDesign(systemId, in);
+			assertEquals(systemId, runnable.getReportName());
+		} finally {
+			in.close();
+		}
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.size());
+	}
+
+	public void testDisabledCache() throws Exception {
+		engine.destroy();
+		engine = createReportEngine();
+		ReportRunnableCache cache = ((ReportEngine) engine).getReportRunnableCache();
+		engine.openReportDesign(REPORT_DESIGN);
+		engine.openReportDesign(REPORT_DESIGN);
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.css.dom;
+
+import org.eclipse.birt.report.engine.css.engine.BIRTCSSEngine;
+import org.eclipse.birt.report.engine.css.engine.CSSEngine;
+
+import junit.framework.TestCase;
+
+public class StyleDeclarationPoolTest extends TestCase {
+
+	private CSSEngine engine = new BIRTCSSEngine();
+
+	private StyleDeclaration createStyle(String color) {
+		StyleDeclaration style = new StyleDeclaration(engine);
+		style.setCssText("color: " + color + "; font-weight: bold; font-size: 10pt; font-family: Arial");
+		return style;
+	}
+
+	public void testHashCode() {
+		StyleDeclaration style1 = createStyle("red");
+		StyleDeclaration style2 = createStyle("red");
+		assertEquals(style1, style2);
+		assertEquals(style1.hashCode(), style2.hashCode());
+		assertFalse(style1.equals(createStyle("blue")));
+	}
+
+	public void testPooledStyle() {
+		StyleDeclarationPool pool = new StyleDeclarationPool(16);
+		StyleDeclaration pooled = pool.getPooledStyle(createStyle("red"));
+		assertSame(pooled, pool.getPooledStyle(createStyle("red")));
+		assertNotSame(pooled, pool.getPooledStyle(createStyle("blue")));
+		assertEquals(2, pool.size());
+	}
+
+	public void testIntern() {
+		StyleDeclarationPool pool = new StyleDeclarationPool(16);
+		StyleDeclaration style1 = pool.intern(createStyle("red"));
+		StyleDeclaration style2 = pool.intern(createStyle("red"));
+		assertNotSame(style1, style2);
+		assertEquals(style1, style2);
+
+		// the interned styles copy the shared values before the first change
+		style1.setCssText("color: blue; font-weight: bold; font-size: 10pt; font-family: Arial");
+		assertEquals(createStyle("blue"), style1);
+		assertEquals(createStyle("red"), style2);
+		assertEquals(createStyle("red"), pool.getPooledStyle(style2));
+
+		// empty styles are not pooled
+		StyleDeclaration empty = new StyleDeclaration(engine);
+		assertSame(empty, pool.intern(empty));
+		assertEquals(1, pool.size());
+	}
+
+	public void testCapacity() {
+		StyleDeclarationPool pool = new StyleDeclarationPool(1);
+		assertNotNull(pool.getPooledStyle(createStyle("red")));
+		assertNull(pool.getPooledStyle(createStyle("blue")));
+		StyleDeclaration style = createStyle("blue");
+		assertSame(style, pool.intern(style));
+	}
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.layout.pdf.font;
+
+import org.openpdf.text.Font;
+import org.openpdf.text.pdf.BaseFont;
+
+import junit.framework.TestCase;
+
+public class GlyphAdvanceTableTest extends TestCase {
+
+	static final String[] TEXTS = { "", "BIRT", "Hello, World!", "caf\u00e9 \u20ac 12.50", "\u00ad", "\u4e2d\u6587",
+			"\ud83d\ude00 x" };
+
+	public void testGetWidth() throws Exception {
+		BaseFont bf = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+		GlyphAdvanceTable table = GlyphAdvanceTable.getInstance(bf);
+		assertSame(table, GlyphAdvanceTable.getInstance(bf));
+
+		for (String text : TEXTS) {
+			assertEquals(text, bf.getWidth(text), table.getWidth(bf, text));
+			// the second time the widths are read from the table
+			assertEquals(text, bf.getWidth(text), table.getWidth(bf, text));
+		}
+
+		String text = TEXTS[2];
+		assertEquals(bf.getWidth(text.substring(7, 12)), table.getWidth(bf, text, 7, 12));
+	}
+
+	public void testGetWordWidth() throws Exception {
+		BaseFont bf = BaseFont.createFont(BaseFont.TIMES_ROMAN, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+		FontInfo fontInfo = new FontInfo(bf, 10.5f, Font.NORMAL, Font.NORMAL, false);
+		for (String text : TEXTS) {
+			assertEquals(bf.getWidthPoint(text, 10.5f), fontInfo.getWordWidth(text), 0f);
+		}
+		assertEquals(bf.getWidthPoint("World", 10.5f), fontInfo.getWordWidth(TEXTS[2], 7, 12), 0f);
+		assertEquals(fontInfo.getWordWidth("BIRT"), new FontInfo(fontInfo).getWordWidth("BIRT"), 0f);
+	}
+}
@@ -84,4 +84,18 @@ public class EngineConstants {
 	 * The Engine task owning the application context
 	 */
 	public final static String APPCONTEXT_ENGINE_TASK = "EngineTask";
+
+	/**
+	 * This property is a key for putting the maximum number of compiled scripts
+	 * the report engine shares between its tasks in the engine configuration or
+	 * the system properties. 0 disables the cache.
+	 */
+	public final static String PROPERTY_SCRIPT_CACHE_SIZE = "SCRIPT_CACHE_SIZE"; //$NON-NLS-1$
+
+	/**
+	 * This property is a key for putting the maximum number of report designs the
+	 * report engine keeps once they are opened from a file in the engine
+	 * configuration or the system properties. 0, the default, disables the cache.
+	 */
+	public final static String PROPERTY_REPORT_RUNNABLE_CACHE_SIZE = "REPORT_RUNNABLE_CACHE_SIZE"; //$NON-NLS-1$
 }
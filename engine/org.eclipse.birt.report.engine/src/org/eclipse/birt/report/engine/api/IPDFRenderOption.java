@@ -122,6 +122,15 @@ public interface IPDFRenderOption extends IRenderOption {
 	 */
 	String DISABLE_PRINT = "pdfRenderOption.disablePrint";
 
+	/**
+	 * The number of threads used to render the pages of a report document into
+	 * PDF. The pages are split into ranges rendered concurrently and copied in
+	 * order into the output. It is 1 by default, rendering the pages in sequence.
+	 * The pages are only rendered in parallel if they are rendered page by page
+	 * anyway, as for the fixed layout reports.
+	 */
+	String RENDER_THREADS = "pdfRenderOption.renderThreads";
+
 	/**
 	 * @deprecated
 	 * @param isEmbededFont
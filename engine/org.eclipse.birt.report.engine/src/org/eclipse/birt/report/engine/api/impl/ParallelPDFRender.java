@@ -0,0 +1,541 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.api.impl;
+
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.birt.core.exception.BirtException;
+import org.eclipse.birt.report.engine.api.EngineException;
+import org.eclipse.birt.report.engine.api.IPDFRenderOption;
+import org.eclipse.birt.report.engine.api.IRenderOption;
+import org.eclipse.birt.report.engine.api.ITOCTree;
+import org.eclipse.birt.report.engine.api.RenderOption;
+import org.eclipse.birt.report.engine.api.TOCNode;
+import org.eclipse.birt.report.engine.api.script.instance.IScriptStyle;
+import org.eclipse.birt.report.engine.executor.ExecutionContext;
+import org.eclipse.birt.report.engine.i18n.MessageConstants;
+import org.eclipse.birt.report.engine.ir.Expression;
+import org.eclipse.birt.report.engine.layout.pdf.util.PropertyUtil;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.openpdf.text.Document;
+import org.openpdf.text.Font;
+import org.openpdf.text.pdf.PdfCopy;
+import org.openpdf.text.pdf.PdfReader;
+import org.openpdf.text.pdf.PdfWriter;
+import org.openpdf.text.pdf.SimpleNamedDestination;
+
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Renders the pages of a report document into PDF on several threads.
+ * <p>
+ * The requested pages are split into as many ranges of consecutive pages as
+ * there are threads. Every range is rendered by its own render task, with its
+ * own emitter and layout engine, into a temporary file, and the files are
+ * copied in order into the output. The outline is created from the TOC of the
+ * report document once all the pages are copied.
+ * <p>
+ * A page is rendered the same way whatever the range it belongs to only if the
+ * pages are rendered page by page, so the render task renders in parallel only
+ * in this case, and only if the PDF document is not post processed by the
+ * emitter: no PDF/A or PDF/UA conformance and no prepended or appended
+ * documents.
+ */
+class ParallelPDFRender {
+
+	private static final Logger logger = Logger.getLogger(ParallelPDFRender.class.getName());
+
+	/**
+	 * the user properties and design configurations handled by the PDF emitter
+	 * once all the pages are written.
+	 */
+	private static final String[] POST_PROCESS_PROPERTIES = { "PdfEmitter.Conformance", //$NON-NLS-1$
+			"PdfEmitter.PDFUAConformance", "PdfEmitter.PrependDocumentList", "PrependList", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"PdfEmitter.AppendDocumentList", "AppendList" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final String PDF_STANDARD = "PDF.Standard"; //$NON-NLS-1$
+	private static final String PDF_UA_NONE = "none"; //$NON-NLS-1$
+
+	/**
+	 * the max number of pdf outline, same as the PDF emitter.
+	 */
+	private static final long MAX_OUTLINE_COUNT = 70000l;
+
+	private final RenderTask task;
+	private final int threadCount;
+	private final List<RenderTask> workers = new ArrayList<>();
+	private volatile boolean canceled;
+
+	private long outlineCount;
+
+	ParallelPDFRender(RenderTask task, int threadCount) {
+		this.task = task;
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * Get the number of threads used to render the pages.
+	 *
+	 * @param options render options
+	 * @return the number of threads, 1 to render the pages in sequence
+	 */
+	static int getThreadCount(IRenderOption options) {
+		Object value = options.getOption(IPDFRenderOption.RENDER_THREADS);
+		int threadCount = 1;
+		if (value instanceof Number) {
+			threadCount = ((Number) value).intValue();
+		} else if (value instanceof String) {
+			try {
+				threadCount = Integer.parseInt(((String) value).trim());
+			} catch (NumberFormatException e) {
+				logger.log(Level.WARNING, "Invalid number of render threads {0}.", value); //$NON-NLS-1$
+			}
+		}
+		return Math.max(1, threadCount);
+	}
+
+	/**
+	 * Check if the PDF document of the report can be written from parts rendered
+	 * separately.
+	 *
+	 * @param context execution context of the render task
+	 * @return true if the pages can be rendered in parallel
+	 */
+	static boolean isSupported(ExecutionContext context) {
+		IRenderOption options = context.getRenderOption();
+		if (Boolean.TRUE.equals(options.getOption(IPDFRenderOption.DISABLE_PRINT))) {
+			return false;
+		}
+		Map<String, Expression> userProperties = context.getReport().getUserProperties();
+		if (userProperties != null) {
+			for (String name : POST_PROCESS_PROPERTIES) {
+				if (userProperties.containsKey(name)) {
+					return false;
+				}
+			}
+		}
+		ReportDesignHandle design = context.getReportDesign();
+		String conformance = design.getPdfConformance();
+		if (conformance != null && !PDF_STANDARD.equalsIgnoreCase(conformance)) {
+			return false;
+		}
+		String uaConformance = design.getPdfUAConformance();
+		if (uaConformance != null && !PDF_UA_NONE.equalsIgnoreCase(uaConformance)) {
+			return false;
+		}
+		return isEmpty(design.getPdfDocumentsPrepend()) && isEmpty(design.getPdfDocumentsAppend());
+	}
+
+	private static boolean isEmpty(String value) {
+		return value == null || value.trim().length() == 0;
+	}
+
+	/**
+	 * Render the pages
+	 *
+	 * @param pageSequences the logical page ranges to render
+	 * @return the number of pages written into the output
+	 * @throws Exception
+	 */
+	long render(List<long[]> pageSequences) throws Exception {
+		List<List<long[]>> ranges = splitPageSequences(pageSequences);
+		List<File> files = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(ranges.size());
+		boolean rendered = false;
+		try {
+			List<Future<RenderTask>> futures = new ArrayList<>();
+			for (List<long[]> range : ranges) {
+				File file = createTempFile();
+				files.add(file);
+				final RenderTask worker = createWorker(range, file);
+				futures.add(executor.submit(new Callable<RenderTask>() {
+
+					@Override
+					public RenderTask call() throws Exception {
+						worker.render();
+						return worker;
+					}
+				}));
+			}
+
+			for (Future<RenderTask> future : futures) {
+				RenderTask worker;
+				try {
+					worker = future.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof Exception) {
+						throw (Exception) cause;
+					}
+					throw new EngineException(MessageConstants.REPORT_RUN_ERROR, cause);
+				}
+				for (Object error : worker.getErrors()) {
+					if (error instanceof BirtException) {
+						task.executionContext.addException((BirtException) error);
+					}
+				}
+			}
+			rendered = true;
+			if (canceled || task.executionContext.isCanceled()) {
+				return 0;
+			}
+			return merge(files);
+		} finally {
+			if (!rendered) {
+				// stop the other ranges before closing their tasks
+				cancel();
+			}
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			synchronized (workers) {
+				for (RenderTask worker : workers) {
+					worker.close();
+				}
+				workers.clear();
+			}
+			for (File file : files) {
+				if (!file.delete()) {
+					file.deleteOnExit();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Cancel the render tasks of the page ranges
+	 */
+	void cancel() {
+		canceled = true;
+		synchronized (workers) {
+			for (RenderTask worker : workers) {
+				worker.cancel();
+			}
+		}
+	}
+
+	/**
+	 * Split the pages into ranges of consecutive pages of about the same size
+	 */
+	private List<List<long[]>> splitPageSequences(List<long[]> pageSequences) {
+		long pageCount = 0;
+		for (long[] pages : pageSequences) {
+			pageCount += pages[1] - pages[0] + 1;
+		}
+		int rangeCount = (int) Math.min(threadCount, pageCount);
+		List<List<long[]>> ranges = new ArrayList<>(rangeCount);
+		List<long[]> range = new ArrayList<>();
+		long rangeSize = 0;
+		long pageIndex = 0;
+		long rangeEnd = pageCount / rangeCount;
+		for (long[] pages : pageSequences) {
+			long start = pages[0];
+			while (start <= pages[1]) {
+				long end = Math.min(pages[1], start + (rangeEnd - pageIndex) - 1);
+				range.add(new long[] { start, end });
+				rangeSize += end - start + 1;
+				pageIndex += end - start + 1;
+				start = end + 1;
+				if (pageIndex == rangeEnd) {
+					ranges.add(range);
+					range = new ArrayList<>();
+					rangeSize = 0;
+					rangeEnd = pageCount * (ranges.size() + 1) / rangeCount;
+				}
+			}
+		}
+		if (rangeSize > 0) {
+			ranges.add(range);
+		}
+		return ranges;
+	}
+
+	private File createTempFile() throws IOException {
+		String tempDir = task.engine.getConfig().getTempDir();
+		File dir = tempDir == null ? null : new File(tempDir);
+		if (dir != null && !dir.exists()) {
+			dir.mkdirs();
+		}
+		return File.createTempFile("render", ".pdf", dir); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private RenderTask createWorker(List<long[]> range, File file) throws Exception {
+		RenderTask worker = new RenderTask(task.engine, task.reportDocument);
+		worker.setAppContext(task.getAppContext());
+		worker.setLocale(task.ulocale);
+		worker.setTimeZone(task.timeZone);
+		if (task.dataSource != null) {
+			worker.setDataSource(task.dataSource);
+		}
+
+		Map<String, Object> rangeOptions = new HashMap<>(task.renderOptions.getOptions());
+		rangeOptions.remove(IRenderOption.OUTPUT_FILE_NAME);
+		RenderOption options = new RenderOption(rangeOptions);
+		options.setOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		options.setOption(IRenderOption.CLOSE_OUTPUTSTREAM_ON_EXIT, Boolean.TRUE);
+		options.setOption(IPDFRenderOption.RENDER_THREADS, 1);
+		worker.setRenderOption(options);
+		worker.innerRender = worker.new PageRangeRender(range);
+
+		synchronized (workers) {
+			workers.add(worker);
+			if (canceled) {
+				worker.cancel();
+			}
+		}
+		return worker;
+	}
+
+	/**
+	 * Copy the pages of the files in order into the output
+	 *
+	 * @param files the files of the page ranges
+	 * @return the number of pages
+	 */
+	private long merge(List<File> files) throws Exception {
+		OutputStream out = getOutputStream();
+		Document document = new Document();
+		Map<String, String> destinations = new HashMap<>();
+		int pageCount = 0;
+		try {
+			PdfCopy copy = new PdfCopy(document, out);
+			for (File file : files) {
+				PdfReader reader = new PdfReader(file.getPath());
+				try {
+					if (!document.isOpen()) {
+						copy.setPdfVersion(reader.getPdfVersion());
+						copyInfo(document, reader.getInfo());
+						document.open();
+					}
+					addDestinations(destinations, SimpleNamedDestination.getNamedDestination(reader, false),
+							pageCount);
+					addDestinations(destinations, SimpleNamedDestination.getNamedDestination(reader, true),
+							pageCount);
+					int pages = reader.getNumberOfPages();
+					for (int i = 1; i <= pages; i++) {
+						copy.addPage(copy.getImportedPage(reader, i));
+					}
+					copy.freeReader(reader);
+					pageCount += pages;
+				} finally {
+					reader.close();
+				}
+			}
+			if (pageCount > 0) {
+				copy.addNamedDestinations(destinations, 0);
+				List<Map<String, Object>> outlines = createOutlines(destinations);
+				if (outlines.isEmpty()) {
+					copy.setViewerPreferences(PdfWriter.PageModeUseNone);
+				} else {
+					copy.setViewerPreferences(PdfWriter.PageModeUseOutlines);
+					copy.setOutlines(outlines);
+				}
+			}
+		} finally {
+			if (document.isOpen()) {
+				document.close();
+			} else {
+				out.close();
+			}
+		}
+		return pageCount;
+	}
+
+	private OutputStream getOutputStream() throws EngineException {
+		IRenderOption options = task.renderOptions;
+		Object fileName = options.getOption(IRenderOption.OUTPUT_FILE_NAME);
+		try {
+			if (fileName != null) {
+				File file = new File(fileName.toString());
+				File parent = file.getParentFile();
+				if (parent != null && !parent.exists()) {
+					parent.mkdirs();
+				}
+				return new BufferedOutputStream(new FileOutputStream(file));
+			}
+			Object value = options.getOption(IRenderOption.OUTPUT_STREAM);
+			if (value instanceof OutputStream) {
+				boolean closeOnExit = Boolean.TRUE.equals(options.getOption(IRenderOption.CLOSE_OUTPUTSTREAM_ON_EXIT));
+				return closeOnExit ? (OutputStream) value : new UnclosedOutputStream((OutputStream) value);
+			}
+			return new BufferedOutputStream(new FileOutputStream("report.pdf")); //$NON-NLS-1$
+		} catch (IOException e) {
+			throw new EngineException(MessageConstants.FAILED_TO_INITIALIZE_EMITTER, e);
+		}
+	}
+
+	/**
+	 * Copy the document info written by the PDF emitter, including the custom
+	 * entries such as the description. The producer and the dates are set by the
+	 * writer of the assembled document.
+	 */
+	private void copyInfo(Document document, Map<String, String> info) {
+		for (Map.Entry<String, String> entry : info.entrySet()) {
+			String key = entry.getKey();
+			String value = entry.getValue();
+			if (value == null) {
+				continue;
+			}
+			switch (key) {
+			case "Title": //$NON-NLS-1$
+				document.addTitle(value);
+				break;
+			case "Author": //$NON-NLS-1$
+				document.addAuthor(value);
+				break;
+			case "Subject": //$NON-NLS-1$
+				document.addSubject(value);
+				break;
+			case "Keywords": //$NON-NLS-1$
+				document.addKeywords(value);
+				break;
+			case "Creator": //$NON-NLS-1$
+				document.addCreator(value);
+				break;
+			case "Producer": //$NON-NLS-1$
+			case "CreationDate": //$NON-NLS-1$
+			case "ModDate": //$NON-NLS-1$
+				break;
+			default:
+				document.addHeader(key, value);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Add the named destinations of a page range, the destinations are like
+	 * "page XYZ left top zoom"
+	 */
+	private void addDestinations(Map<String, String> destinations, Map<String, String> rangeDestinations,
+			int pageOffset) {
+		for (Map.Entry<String, String> entry : rangeDestinations.entrySet()) {
+			String destination = entry.getValue().trim();
+			int index = destination.indexOf(' ');
+			try {
+				int page = Integer.parseInt(index == -1 ? destination : destination.substring(0, index));
+				destinations.put(entry.getKey(),
+						(page + pageOffset) + (index == -1 ? "" : destination.substring(index))); //$NON-NLS-1$
+			} catch (NumberFormatException e) {
+				logger.log(Level.FINE, "Ignore the destination {0}.", destination); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Create the outlines from the TOC of the report document, the same way as
+	 * the PDF emitter
+	 */
+	private List<Map<String, Object>> createOutlines(Map<String, String> destinations) {
+		List<Map<String, Object>> outlines = new ArrayList<>();
+		if (destinations.isEmpty()) {
+			return outlines;
+		}
+		Locale locale = task.executionContext.getLocale();
+		ULocale ulocale = locale == null ? ULocale.getDefault() : ULocale.forLocale(locale);
+		ITOCTree tocTree = task.reportDocument.getTOCTree("pdf", ulocale); //$NON-NLS-1$
+		if (tocTree != null && tocTree.getRoot() != null) {
+			outlineCount = 0;
+			createOutlines(tocTree.getRoot(), outlines, outlines, destinations);
+		}
+		return outlines;
+	}
+
+	private void createOutlines(TOCNode tocNode, List<Map<String, Object>> parent, List<Map<String, Object>> root,
+			Map<String, String> destinations) {
+		if (outlineCount > MAX_OUTLINE_COUNT || tocNode.getChildren() == null) {
+			return;
+		}
+		for (Object child : tocNode.getChildren()) {
+			TOCNode node = (TOCNode) child;
+			if (!destinations.containsKey(node.getBookmark())) {
+				// as the PDF emitter, the children of a node not in the output are
+				// added to the root outline
+				createOutlines(node, root, root, destinations);
+				continue;
+			}
+			Map<String, Object> outline = new HashMap<>();
+			outline.put("Title", node.getDisplayString()); //$NON-NLS-1$
+			outline.put("Action", "GoTo"); //$NON-NLS-1$ //$NON-NLS-2$
+			outline.put("Named", node.getBookmark()); //$NON-NLS-1$
+			outlineCount++;
+
+			IScriptStyle style = node.getTOCStyle();
+			String color = style.getColor();
+			Color awtColor = PropertyUtil.getColor(color == null ? null : color.toLowerCase());
+			if (awtColor != null) {
+				outline.put("Color", awtColor.getRed() / 255f + " " + awtColor.getGreen() / 255f + " " //$NON-NLS-1$ //$NON-NLS-2$
+						+ awtColor.getBlue() / 255f);
+			}
+			int fontStyle = PropertyUtil.getFontStyle(style.getFontStyle(), style.getFontWeight());
+			if ((fontStyle & Font.BOLDITALIC) == Font.BOLDITALIC) {
+				outline.put("Style", "bold italic"); //$NON-NLS-1$ //$NON-NLS-2$
+			} else if ((fontStyle & Font.BOLD) != 0) {
+				outline.put("Style", "bold"); //$NON-NLS-1$ //$NON-NLS-2$
+			} else if ((fontStyle & Font.ITALIC) != 0) {
+				outline.put("Style", "italic"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			parent.add(outline);
+
+			List<Map<String, Object>> kids = new ArrayList<>();
+			createOutlines(node, kids, root, destinations);
+			if (!kids.isEmpty()) {
+				outline.put("Kids", kids); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * The output stream of the user which is not closed with the PDF document.
+	 */
+	private static class UnclosedOutputStream extends FilterOutputStream {
+
+		UnclosedOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
+}
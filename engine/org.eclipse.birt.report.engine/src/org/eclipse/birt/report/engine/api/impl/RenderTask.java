@@ -94,6 +94,9 @@ public class RenderTask extends EngineTask implements IRenderTask {
 	// the html layout engine
 	private IReportLayoutEngine layoutEngine = null;
 
+	// the render of the pages on several threads
+	private volatile ParallelPDFRender parallelRender = null;
+
 	/**
 	 * @param engine         the report engine
 	 * @param reportDocument the report document instance
@@ -359,6 +362,10 @@ public class RenderTask extends EngineTask implements IRenderTask {
 		if (layoutEngine != null) {
 			layoutEngine.cancel();
 		}
+		ParallelPDFRender render = parallelRender;
+		if (render != null) {
+			render.cancel();
+		}
 	}
 
 	private interface InnerRender {
@@ -468,10 +475,38 @@ public class RenderTask extends EngineTask implements IRenderTask {
 			}
 		}
 
+		/**
+		 * Render the pages on several threads if it is enabled by the render
+		 * options and the output is the same as rendering the pages in sequence.
+		 *
+		 * @return true if the pages are rendered
+		 */
+		protected boolean renderInParallel() throws Exception {
+			int threadCount = ParallelPDFRender.getThreadCount(renderOptions);
+			if (threadCount <= 1 || getPageCount() <= 1 || !IRenderOption.OUTPUT_EMITTERID_PDF.equals(emitterID)) {
+				return false;
+			}
+			pagination = ExtensionManager.getInstance().getPagination(emitterID);
+			if (!needPagedExecutor(getPhysicalPageSequence(pageSequences))
+					|| !ParallelPDFRender.isSupported(executionContext)) {
+				return false;
+			}
+			parallelRender = new ParallelPDFRender(RenderTask.this, threadCount);
+			try {
+				outputPageCount = parallelRender.render(pageSequences);
+			} finally {
+				parallelRender = null;
+			}
+			return true;
+		}
+
 		@Override
 		public void render() throws Exception {
 			// start the render
 			setupRenderOption();
+			if (renderInParallel()) {
+				return;
+			}
 			startRender();
 			IContentEmitter emitter = createContentEmitter();
 			supportHtmlPagination();
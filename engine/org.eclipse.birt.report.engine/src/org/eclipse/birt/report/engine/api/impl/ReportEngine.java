@@ -28,6 +28,7 @@ import java.util.logging.Logger;
 import org.eclipse.birt.core.archive.IDocArchiveReader;
 import org.eclipse.birt.core.archive.compound.IArchiveFile;
 import org.eclipse.birt.core.framework.URLClassLoader;
+import org.eclipse.birt.core.script.CompiledScriptCache;
 import org.eclipse.birt.report.engine.api.DataExtractionFormatInfo;
 import org.eclipse.birt.report.engine.api.EmitterInfo;
 import org.eclipse.birt.report.engine.api.EngineConfig;
@@ -83,6 +84,16 @@ public class ReportEngine implements IReportEngine {
 
 	static protected Logger logger = Logger.getLogger(ReportEngine.class.getName());
 
+	/**
+	 * the default maximum number of compiled scripts shared by the tasks
+	 */
+	static final int DEFAULT_SCRIPT_CACHE_SIZE = 1024;
+
+	/**
+	 * the default maximum number of report designs kept by the engine
+	 */
+	static final int DEFAULT_REPORT_RUNNABLE_CACHE_SIZE = 0;
+
 	/**
 	 * engine configuration object
 	 */
@@ -111,6 +122,16 @@ public class ReportEngine implements IReportEngine {
 
 	private LoggerSetting loggerSetting;
 
+	/**
+	 * the compiled scripts shared by the tasks of the engine
+	 */
+	private CompiledScriptCache compiledScriptCache;
+
+	/**
+	 * the report designs opened by the engine
+	 */
+	private ReportRunnableCache reportRunnableCache;
+
 	/**
 	 * Create a Report Engine using a configuration.
 	 *
@@ -137,6 +158,11 @@ public class ReportEngine implements IReportEngine {
 		}
 
 		registerCustomFontConfig();
+
+		compiledScriptCache = new CompiledScriptCache(
+				getIntProperty(EngineConstants.PROPERTY_SCRIPT_CACHE_SIZE, DEFAULT_SCRIPT_CACHE_SIZE));
+		reportRunnableCache = new ReportRunnableCache(getIntProperty(
+				EngineConstants.PROPERTY_REPORT_RUNNABLE_CACHE_SIZE, DEFAULT_REPORT_RUNNABLE_CACHE_SIZE));
 	}
 
 	private void mergeConfigToAppContext() {
@@ -185,6 +211,24 @@ public class ReportEngine implements IReportEngine {
 		}
 	}
 
+	private int getIntProperty(String name, int defaultValue) {
+		Object value = config.getProperty(name);
+		if (value == null) {
+			value = SecurityUtil.getSystemProperty(name);
+		}
+		if (value instanceof Number) {
+			return ((Number) value).intValue();
+		}
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.toString().trim());
+			} catch (NumberFormatException ex) {
+				logger.log(Level.WARNING, "Invalid value of {0}: {1}", new Object[] { name, value });
+			}
+		}
+		return defaultValue;
+	}
+
 	/**
 	 * set up engine logging
 	 */
@@ -401,6 +445,10 @@ public class ReportEngine implements IReportEngine {
 		}
 		EngineLogger.removeSetting(loggerSetting);
 
+		// the compiled scripts may hold the class loaders of the engine
+		compiledScriptCache.clear();
+		reportRunnableCache.clear();
+
 		if (engineClassLoader != null) {
 			engineClassLoader.close();
 		}
@@ -560,6 +608,26 @@ public class ReportEngine implements IReportEngine {
 		}
 	}
 
+	/**
+	 * return the cache of the compiled scripts shared by the tasks of the engine,
+	 * its hit and miss counts tell how often the scripts are compiled again.
+	 *
+	 * @return the compiled script cache
+	 */
+	public CompiledScriptCache getCompiledScriptCache() {
+		return compiledScriptCache;
+	}
+
+	/**
+	 * return the cache of the report designs opened by the engine, its hit and
+	 * miss counts tell how often the designs are parsed again.
+	 *
+	 * @return the report runnable cache
+	 */
+	public ReportRunnableCache getReportRunnableCache() {
+		return reportRunnableCache;
+	}
+
 	public ClassLoader getEngineClassLoader() {
 		if (engineClassLoader != null) {
 			return engineClassLoader;
@@ -104,15 +104,41 @@ public class ReportEngineHelper {
 			throw new EngineException(MessageConstants.DESIGN_FILE_NOT_FOUND_EXCEPTION, designName);
 		}
 
+		String systemId = designName;
+		try {
+			systemId = file.toURI().toURL().toString();
+		} catch (MalformedURLException ue) {
+			systemId = designName;
+		}
+		HashMap options = new HashMap();
+		if (locator != null) {
+			options.put(ModuleOption.RESOURCE_LOCATOR_KEY, locator);
+		}
+
+		ReportRunnableCache cache = engine.getReportRunnableCache();
+		Map cacheOptions = null;
+		long lastModified = 0;
+		long length = 0;
+		if (cache != null && cache.isEnabled()) {
+			intializeModuleOptions(options);
+			// the parser may change the options
+			cacheOptions = new HashMap(options);
+			ReportRunnable runnable = cache.get(systemId, cacheOptions);
+			if (runnable != null) {
+				return runnable;
+			}
+			// the file may be changed while it is parsed
+			lastModified = file.lastModified();
+			length = file.length();
+		}
+
 		try {
 			InputStream in = new FileInputStream(file);
-			String systemId = designName;
-			try {
-				systemId = file.toURI().toURL().toString();
-			} catch (MalformedURLException ue) {
-				systemId = designName;
+			ReportRunnable runnable = (ReportRunnable) openReportDesign(systemId, in, options);
+			if (cacheOptions != null) {
+				cache.put(systemId, cacheOptions, runnable, lastModified, length);
 			}
-			return openReportDesign(systemId, in, locator);
+			return runnable;
 		} catch (FileNotFoundException ioe) {
 			logger.log(Level.SEVERE, "{0} not found!", file.getAbsolutePath()); //$NON-NLS-1$
 			throw new EngineException(MessageConstants.DESIGN_FILE_NOT_FOUND_EXCEPTION, designName);
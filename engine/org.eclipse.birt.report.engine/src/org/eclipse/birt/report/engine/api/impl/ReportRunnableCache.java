@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.api.impl;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.birt.report.model.api.LibraryHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+
+/**
+ * Cache of the report designs opened by a report engine.
+ * <p>
+ * A design is identified by its name and the module options it is opened with.
+ * Only the designs read from a file are cached, and a cached design is used
+ * only as long as the last modified time and the length of the design file and
+ * of the files of all the libraries it includes have not changed.
+ * <p>
+ * The cached runnables are never handed out: every hit returns a copy of the
+ * cached design, so a task which modifies its design doesn't change the design
+ * of the other tasks. Copying a design is much cheaper than parsing it and
+ * resolving its libraries. The cache keeps the most recently used designs up
+ * to its size.
+ */
+public class ReportRunnableCache {
+
+	private final int maxSize;
+
+	private final Map<Key, Entry> runnables;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	/**
+	 * @param maxSize the maximum number of designs kept in the cache, 0 disables
+	 *                the cache
+	 */
+	public ReportRunnableCache(final int maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+		this.runnables = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > ReportRunnableCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * @return true if the cache keeps designs
+	 */
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * return a copy of a cached design.
+	 *
+	 * @param designName the name of the design
+	 * @param options    the module options
+	 * @return the runnable of the copy, or null if the design is not cached or has
+	 *         been modified
+	 */
+	ReportRunnable get(String designName, Map options) {
+		if (maxSize == 0 || getFile(designName) == null) {
+			return null;
+		}
+		Key key = new Key(designName, options);
+		Entry entry;
+		synchronized (runnables) {
+			entry = runnables.get(key);
+		}
+		if (entry != null && !entry.isModified()) {
+			hitCount.increment();
+			// the design is not modified by the copy, but the model is not
+			// meant to be read by several threads
+			synchronized (entry) {
+				return entry.runnable.cloneRunnable();
+			}
+		}
+		if (entry != null) {
+			synchronized (runnables) {
+				runnables.remove(key, entry);
+			}
+		}
+		missCount.increment();
+		return null;
+	}
+
+	/**
+	 * add a copy of a design into the cache.
+	 *
+	 * @param designName   the name of the design
+	 * @param options      the module options
+	 * @param runnable     the runnable of the design
+	 * @param lastModified the last modified time of the design file before the
+	 *                     design was read
+	 * @param length       the length of the design file before the design was
+	 *                     read
+	 */
+	void put(String designName, Map options, ReportRunnable runnable, long lastModified, long length) {
+		if (maxSize == 0) {
+			return;
+		}
+		List<File> files = getFiles(designName, runnable.getReport());
+		if (files == null) {
+			return;
+		}
+		Entry entry = new Entry(runnable.cloneRunnable(), files);
+		// the design file is checked against the state it was read in, so a change
+		// made while it was parsed invalidates the entry
+		entry.lastModified[0] = lastModified;
+		entry.lengths[0] = length;
+		if (entry.isModified()) {
+			return;
+		}
+		synchronized (runnables) {
+			runnables.put(new Key(designName, options), entry);
+		}
+	}
+
+	/**
+	 * remove all the designs from the cache.
+	 */
+	public void clear() {
+		synchronized (runnables) {
+			runnables.clear();
+		}
+	}
+
+	/**
+	 * @return the maximum number of designs kept in the cache
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the number of designs in the cache
+	 */
+	public int size() {
+		synchronized (runnables) {
+			return runnables.size();
+		}
+	}
+
+	/**
+	 * @return the number of designs found in the cache
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return the number of designs looked up and not found in the cache
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return the files of the design and of its libraries, or null if one of
+	 *         them is not a file
+	 */
+	private static List<File> getFiles(String designName, ReportDesignHandle design) {
+		List<File> files = new ArrayList<>();
+		File designFile = getFile(designName);
+		if (designFile == null) {
+			return null;
+		}
+		files.add(designFile);
+		List libraries = design.getAllLibraries();
+		if (libraries != null) {
+			for (Object library : libraries) {
+				File libraryFile = getFile(((LibraryHandle) library).getFileName());
+				if (libraryFile == null) {
+					return null;
+				}
+				files.add(libraryFile);
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * @param name a file name or a file URL
+	 * @return the file, or null if the name is not a file
+	 */
+	private static File getFile(String name) {
+		if (name == null) {
+			return null;
+		}
+		File file = null;
+		if (name.startsWith("file:")) { //$NON-NLS-1$
+			try {
+				file = new File(new URI(name));
+			} catch (URISyntaxException | IllegalArgumentException e) {
+				return null;
+			}
+		} else if (name.indexOf(':') <= 1) {
+			// a path, which may start with a drive letter
+			file = new File(name);
+		}
+		return file != null && file.isFile() ? file : null;
+	}
+
+	private static final class Key {
+		final String designName;
+		final Map options;
+
+		Key(String designName, Map options) {
+			this.designName = designName;
+			this.options = options == null ? new HashMap() : new HashMap(options);
+		}
+
+		@Override
+		public int hashCode() {
+			return designName.hashCode() * 31 + options.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) obj;
+			return designName.equals(key.designName) && options.equals(key.options);
+		}
+	}
+
+	private static final class Entry {
+		final ReportRunnable runnable;
+		final File[] files;
+		final long[] lastModified;
+		final long[] lengths;
+
+		Entry(ReportRunnable runnable, List<File> files) {
+			this.runnable = runnable;
+			this.files = files.toArray(new File[files.size()]);
+			this.lastModified = new long[this.files.length];
+			this.lengths = new long[this.files.length];
+			for (int i = 0; i < this.files.length; i++) {
+				lastModified[i] = this.files[i].lastModified();
+				lengths[i] = this.files[i].length();
+			}
+		}
+
+		boolean isModified() {
+			for (int i = 0; i < files.length; i++) {
+				if (files[i].lastModified() != lastModified[i] || files[i].length() != lengths[i]) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -329,12 +329,37 @@ abstract public class AbstractContent extends AbstractElement implements IConten
 				}
 				computedStyle = cs;
 			} else {
-				computedStyle = new ComputedStyle(this);
+				StyleDeclaration pooledStyle = getPooledInlineStyle();
+				if (pooledStyle != null) {
+					String styleClass = getStyleClass();
+					ComputedStyle pcs = (ComputedStyle) ((IContent) parent).getComputedStyle();
+					ComputedStyle cs = pcs.getCachedStyle(styleClass, pooledStyle);
+					if (cs == null) {
+						cs = new ComputedStyle(this);
+						pcs.addCachedStyle(styleClass, pooledStyle, cs);
+					}
+					computedStyle = cs;
+				} else {
+					computedStyle = new ComputedStyle(this);
+				}
 			}
 		}
 		return computedStyle;
 	}
 
+	/**
+	 * Get the pooled style equal to the inline style. The contents with the same
+	 * style class and equal inline styles share the computed style.
+	 *
+	 * @return the pooled inline style, or null if the inline style isn't pooled
+	 */
+	protected StyleDeclaration getPooledInlineStyle() {
+		if (inlineStyle instanceof StyleDeclaration && report instanceof ReportContent) {
+			return ((ReportContent) report).getStylePool().getPooledStyle((StyleDeclaration) inlineStyle);
+		}
+		return null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -730,12 +755,14 @@ abstract public class AbstractContent extends AbstractElement implements IConten
 			}
 			break;
 		case FIELD_INLINESTYLE_VERSION_1:
-			IStyle style = new StyleDeclaration(cssEngine);
-			if (null != style) {
-				style.read(in);
-				if (!style.isEmpty()) {
-					inlineStyle = style;
+			StyleDeclaration style = new StyleDeclaration(cssEngine);
+			style.read(in);
+			if (!style.isEmpty()) {
+				if (report instanceof ReportContent) {
+					// the contents of the same design element share the style values
+					style = ((ReportContent) report).getStylePool().intern(style);
 				}
+				inlineStyle = style;
 			}
 			break;
 		case FIELD_INSTANCE_ID:
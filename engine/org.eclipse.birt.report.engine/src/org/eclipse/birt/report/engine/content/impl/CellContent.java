@@ -30,6 +30,7 @@ import org.eclipse.birt.report.engine.content.IStyle;
 import org.eclipse.birt.report.engine.content.ITableContent;
 import org.eclipse.birt.report.engine.css.dom.CellComputedStyle;
 import org.eclipse.birt.report.engine.css.dom.ComputedStyle;
+import org.eclipse.birt.report.engine.css.dom.StyleDeclaration;
 import org.eclipse.birt.report.engine.executor.ExecutionContext;
 import org.eclipse.birt.report.engine.ir.CellDesign;
 import org.eclipse.birt.report.engine.ir.DimensionType;
@@ -232,7 +233,13 @@ public class CellContent extends AbstractContent implements ICellContent {
 	@Override
 	public IStyle getComputedStyle() {
 		if (computedStyle == null) {
-			if (inlineStyle == null || inlineStyle.isEmpty()) {
+			StyleDeclaration pooledStyle = null;
+			boolean shared = inlineStyle == null || inlineStyle.isEmpty();
+			if (!shared) {
+				pooledStyle = getPooledInlineStyle();
+				shared = pooledStyle != null;
+			}
+			if (shared) {
 				String cacheKey = getStyleClass();
 				ITableContent table = ((IRowContent) parent).getTable();
 				int column = getColumn();
@@ -247,10 +254,15 @@ public class CellContent extends AbstractContent implements ICellContent {
 				}
 
 				ComputedStyle pcs = (ComputedStyle) ((IContent) parent).getComputedStyle();
-				ComputedStyle cs = pcs.getCachedStyle(cacheKey);
+				ComputedStyle cs = pooledStyle == null ? pcs.getCachedStyle(cacheKey)
+						: pcs.getCachedStyle(cacheKey, pooledStyle);
 				if (cs == null) {
 					cs = new CellComputedStyle(this);
-					pcs.addCachedStyle(cacheKey, cs);
+					if (pooledStyle == null) {
+						pcs.addCachedStyle(cacheKey, cs);
+					} else {
+						pcs.addCachedStyle(cacheKey, pooledStyle, cs);
+					}
 				}
 				computedStyle = cs;
 			} else {
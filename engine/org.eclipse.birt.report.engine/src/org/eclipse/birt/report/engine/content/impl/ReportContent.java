@@ -47,6 +47,7 @@ import org.eclipse.birt.report.engine.content.ITableContent;
 import org.eclipse.birt.report.engine.content.ITableGroupContent;
 import org.eclipse.birt.report.engine.content.ITextContent;
 import org.eclipse.birt.report.engine.css.dom.StyleDeclaration;
+import org.eclipse.birt.report.engine.css.dom.StyleDeclarationPool;
 import org.eclipse.birt.report.engine.css.engine.BIRTCSSEngine;
 import org.eclipse.birt.report.engine.css.engine.CSSEngine;
 import org.eclipse.birt.report.engine.executor.ExecutionContext;
@@ -65,6 +66,8 @@ import com.ibm.icu.util.ULocale;
  */
 public class ReportContent implements IReportContent {
 
+	private static final int STYLE_POOL_SIZE = 4096;
+
 	/**
 	 * css engine used by this report.
 	 */
@@ -99,6 +102,11 @@ public class ReportContent implements IReportContent {
 
 	private String title;
 
+	/**
+	 * the distinct inline styles of the contents.
+	 */
+	private StyleDeclarationPool stylePool = new StyleDeclarationPool(STYLE_POOL_SIZE);
+
 	/**
 	 * default constructor.
 	 */
@@ -175,6 +183,15 @@ public class ReportContent implements IReportContent {
 		return new StyleDeclaration(cssEngine);
 	}
 
+	/**
+	 * get the pool of the inline styles of the contents.
+	 *
+	 * @return style declaration pool
+	 */
+	public StyleDeclarationPool getStylePool() {
+		return stylePool;
+	}
+
 	@Override
 	public ICellContent createCellContent() {
 		return new CellContent(this);
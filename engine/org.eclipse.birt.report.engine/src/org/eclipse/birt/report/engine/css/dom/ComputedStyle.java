@@ -29,6 +29,7 @@ import org.w3c.dom.css.CSSValue;
  */
 public class ComputedStyle extends AbstractStyle {
 	Map<String, ComputedStyle> cachedStyles = new HashMap<>();
+	Map<CachedStyleKey, ComputedStyle> cachedInlineStyles;
 	boolean[] caculated;
 	CSSStylableElement elt;
 	CSSValue[] values;
@@ -110,4 +111,61 @@ public class ComputedStyle extends AbstractStyle {
 	public ComputedStyle getCachedStyle(String styleClass) {
 		return cachedStyles.get(styleClass);
 	}
+
+	/**
+	 * Add cached style of the elements with an inline style
+	 *
+	 * @param styleClass  style class names
+	 * @param inlineStyle the pooled inline style
+	 * @param style       computed style
+	 */
+	public void addCachedStyle(String styleClass, StyleDeclaration inlineStyle, ComputedStyle style) {
+		if (cachedInlineStyles == null) {
+			cachedInlineStyles = new HashMap<>();
+		}
+		cachedInlineStyles.put(new CachedStyleKey(styleClass, inlineStyle), style);
+	}
+
+	/**
+	 * Get the cached style of the elements with an inline style
+	 *
+	 * @param styleClass  style class name
+	 * @param inlineStyle the pooled inline style
+	 * @return Return the cached style
+	 */
+	public ComputedStyle getCachedStyle(String styleClass, StyleDeclaration inlineStyle) {
+		if (cachedInlineStyles == null) {
+			return null;
+		}
+		return cachedInlineStyles.get(new CachedStyleKey(styleClass, inlineStyle));
+	}
+
+	/**
+	 * the pooled inline styles are never changed and compared by identity.
+	 */
+	private static final class CachedStyleKey {
+		final String styleClass;
+		final StyleDeclaration inlineStyle;
+
+		CachedStyleKey(String styleClass, StyleDeclaration inlineStyle) {
+			this.styleClass = styleClass;
+			this.inlineStyle = inlineStyle;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = styleClass == null ? 0 : styleClass.hashCode();
+			return hash * 31 + System.identityHashCode(inlineStyle);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CachedStyleKey)) {
+				return false;
+			}
+			CachedStyleKey key = (CachedStyleKey) obj;
+			return inlineStyle == key.inlineStyle
+					&& (styleClass == null ? key.styleClass == null : styleClass.equals(key.styleClass));
+		}
+	}
 }
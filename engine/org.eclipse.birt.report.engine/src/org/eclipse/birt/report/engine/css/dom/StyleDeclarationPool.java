@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.css.dom;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The pool of the distinct style declarations of a report.
+ * <p>
+ * The contents generated from the same design element usually have equal
+ * inline styles. The pool keeps one private instance of each distinct style,
+ * the contents share its values through a copy on write style declaration, and
+ * the computed styles can be cached by the pooled instance. The pool is bounded
+ * by the number of distinct styles, a style not in the pool once it is full is
+ * not shared.
+ *
+ * @since 4.24
+ */
+public class StyleDeclarationPool {
+
+	private final int capacity;
+
+	private final ConcurrentHashMap<StyleDeclaration, StyleDeclaration> styles;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity the maximum number of distinct styles in the pool
+	 */
+	public StyleDeclarationPool(int capacity) {
+		this.capacity = capacity;
+		this.styles = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Get the pooled style equal to the style, the style is added into the pool
+	 * if there is no such style. The pooled style must not be changed.
+	 *
+	 * @param style style declaration
+	 * @return the pooled style, or null if the pool is full
+	 */
+	public StyleDeclaration getPooledStyle(StyleDeclaration style) {
+		StyleDeclaration pooled = styles.get(style);
+		if (pooled == null && styles.size() < capacity) {
+			// the pool owns a private copy, later changes of the style are not seen
+			StyleDeclaration copy = new StyleDeclaration(style);
+			copy.decouple();
+			pooled = styles.putIfAbsent(copy, copy);
+			if (pooled == null) {
+				pooled = copy;
+			}
+		}
+		return pooled;
+	}
+
+	/**
+	 * Get a style equal to the style which shares the values of the pooled
+	 * style. The returned style can be changed, it copies the values before the
+	 * first change.
+	 *
+	 * @param style style declaration
+	 * @return the shared style, or the style itself if it can't be shared
+	 */
+	public StyleDeclaration intern(StyleDeclaration style) {
+		if (style == null || style.isEmpty()) {
+			return style;
+		}
+		StyleDeclaration pooled = getPooledStyle(style);
+		if (pooled == null) {
+			return style;
+		}
+		return new StyleDeclaration(pooled);
+	}
+
+	/**
+	 * Get the number of distinct styles in the pool
+	 *
+	 * @return the number of styles
+	 */
+	public int size() {
+		return styles.size();
+	}
+}
@@ -360,6 +360,12 @@ public class FloatValue extends Value implements CSSPrimitiveValue {
 		}
 	}
 
+	@Override
+	public int hashCode() {
+		// 0f and -0f are equal values
+		return Float.floatToIntBits(floatValue == 0f ? 0f : floatValue) * 31 + unitType;
+	}
+
 	@Override
 	public boolean equals(Object value) {
 		if (value instanceof FloatValue) {
@@ -174,6 +174,16 @@ public class ListValue extends Value implements CSSValueList {
 		items[length++] = v;
 	}
 
+	@Override
+	public int hashCode() {
+		int hash = length;
+		for (int i = 0; i < length; i++) {
+			CSSValue item = items[i];
+			hash = hash * 31 + (item == null ? 0 : item.hashCode());
+		}
+		return hash;
+	}
+
 	@Override
 	public boolean equals(Object value) {
 		if (value instanceof ListValue) {
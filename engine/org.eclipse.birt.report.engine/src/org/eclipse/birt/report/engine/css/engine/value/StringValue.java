@@ -50,6 +50,11 @@ public class StringValue extends Value {
 		return unitType;
 	}
 
+	@Override
+	public int hashCode() {
+		return (value == null ? 0 : value.hashCode()) * 31 + unitType;
+	}
+
 	/**
 	 * Indicates whether some other object is "equal to" this one.
 	 *
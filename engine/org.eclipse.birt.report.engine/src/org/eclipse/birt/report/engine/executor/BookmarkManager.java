@@ -156,9 +156,8 @@ public class BookmarkManager {
 					inlineMap.entrySet());
 			Collections.sort(entries, Comparator.comparing(Entry::getKey));
 
-			for (Map.Entry<String, Integer> entry : entries) {
-				btree.insert(entry.getKey(), VALUE);
-			}
+			// the btree is empty, build it from the sorted bookmarks
+			btree.load(entries.iterator());
 		}
 
 		protected BTree<String, Integer> createBtree() throws IOException {
@@ -354,6 +354,7 @@ public class ExecutionContext {
 			if (statusHandler != null) {
 				scriptContext.setAttribute("statusHandle", statusHandler);
 			}
+			scriptContext.setCompiledScriptCache(engine.getCompiledScriptCache());
 		}
 		Locale locale = getLocale();
 		if (locale != null) {
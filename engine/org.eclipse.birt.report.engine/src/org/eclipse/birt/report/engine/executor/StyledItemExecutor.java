@@ -24,6 +24,7 @@ import org.eclipse.birt.report.engine.adapter.ExpressionUtil;
 import org.eclipse.birt.report.engine.content.IColumn;
 import org.eclipse.birt.report.engine.content.IContent;
 import org.eclipse.birt.report.engine.content.IDataContent;
+import org.eclipse.birt.report.engine.content.impl.ReportContent;
 import org.eclipse.birt.report.engine.css.dom.StyleDeclaration;
 import org.eclipse.birt.report.engine.ir.ColumnDesign;
 import org.eclipse.birt.report.engine.ir.Expression;
@@ -77,6 +78,10 @@ public abstract class StyledItemExecutor extends ReportItemExecutor {
 			populateExpressionStyles(inlineStyle, expressionStyles);
 		}
 		if (inlineStyle != null) {
+			if (report instanceof ReportContent) {
+				// the contents of the same design element share the style values
+				inlineStyle = ((ReportContent) report).getStylePool().intern(inlineStyle);
+			}
 			content.setInlineStyle(inlineStyle);
 		}
 	}
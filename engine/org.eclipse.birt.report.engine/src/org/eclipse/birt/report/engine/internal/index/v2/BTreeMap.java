@@ -28,6 +28,7 @@ import org.eclipse.birt.core.archive.RAInputStream;
 import org.eclipse.birt.core.archive.RAOutputStream;
 import org.eclipse.birt.core.btree.BTree;
 import org.eclipse.birt.core.btree.BTreeFile;
+import org.eclipse.birt.core.btree.BTreeNodeCache;
 import org.eclipse.birt.core.btree.BTreeOption;
 import org.eclipse.birt.core.btree.BTreeSerializer;
 import org.eclipse.birt.report.engine.content.impl.BookmarkContent;
@@ -41,8 +42,14 @@ class BTreeMap extends BTree<String, Object> {
 	int indexType;
 
 	static public BTreeMap openTreeMap(IDocArchiveReader archive, String name, int valueType) throws IOException {
+		return openTreeMap(archive, name, valueType, null);
+	}
+
+	static public BTreeMap openTreeMap(IDocArchiveReader archive, String name, int valueType,
+			BTreeNodeCache nodeCache) throws IOException {
 		BTreeOption<String, Object> option = new BTreeOption<>();
 		option.setReadOnly(true);
+		option.setNodeCache(nodeCache);
 		option.setKeySerializer(new StringSerializer());
 		option.setHasValue(true);
 		option.setAllowDuplicate(false);
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.birt.core.archive.IDocArchiveReader;
+import org.eclipse.birt.core.btree.BTreeNodeCache;
 import org.eclipse.birt.report.engine.api.impl.ReportDocumentConstants;
 import org.eclipse.birt.report.engine.content.impl.BookmarkContent;
 import org.eclipse.birt.report.engine.internal.index.IDocumentIndexReader;
@@ -32,6 +33,14 @@ public class DocumentIndexReaderV2 implements IDocumentIndexReader, ReportDocume
 
 	private IDocArchiveReader archive;
 
+	/**
+	 * the number of the btree nodes cached for all the indexes of the document
+	 */
+	private static final int NODE_CACHE_SIZE = 256;
+
+	// the indexes of the document share the node cache
+	private BTreeNodeCache nodeCache = new BTreeNodeCache(NODE_CACHE_SIZE);
+
 	public DocumentIndexReaderV2(IDocArchiveReader archive) throws IOException {
 		this.archive = archive;
 	}
@@ -174,6 +183,6 @@ public class DocumentIndexReaderV2 implements IDocumentIndexReader, ReportDocume
 	}
 
 	private IndexReader createIndexReader(String stream) throws IOException {
-		return new IndexReader(archive, stream);
+		return new IndexReader(archive, stream, nodeCache);
 	}
 }
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import org.eclipse.birt.core.archive.IDocArchiveReader;
 import org.eclipse.birt.core.archive.RAInputStream;
 import org.eclipse.birt.core.btree.BTreeCursor;
+import org.eclipse.birt.core.btree.BTreeNodeCache;
 import org.eclipse.birt.core.util.IOUtil;
 import org.eclipse.birt.report.engine.api.impl.ReportDocumentConstants;
 import org.eclipse.birt.report.engine.content.impl.BookmarkContent;
@@ -42,6 +43,19 @@ public class IndexReader implements IndexConstants {
 	BTreeMap btree;
 
 	public IndexReader(IDocArchiveReader archive, String name) throws IOException {
+		this(archive, name, null);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param archive   the archive of the index
+	 * @param name      the stream name of the index
+	 * @param nodeCache the node cache shared with the other indexes of the
+	 *                  archive, it can be null.
+	 * @throws IOException
+	 */
+	public IndexReader(IDocArchiveReader archive, String name, BTreeNodeCache nodeCache) throws IOException {
 		if (archive.exists(name)) {
 			RAInputStream input = archive.getInputStream(name);
 			try (input) {
@@ -62,7 +76,7 @@ public class IndexReader implements IndexConstants {
 							map.put(key, new Long(offset));
 						}
 					} else {
-						btree = BTreeMap.openTreeMap(archive, name, valueType);
+						btree = BTreeMap.openTreeMap(archive, name, valueType, nodeCache);
 					}
 					break;
 				}
@@ -80,7 +94,7 @@ public class IndexReader implements IndexConstants {
 							map.put(key, bookmark);
 						}
 					} else {
-						btree = BTreeMap.openTreeMap(archive, name, valueType);
+						btree = BTreeMap.openTreeMap(archive, name, valueType, nodeCache);
 					}
 					break;
 				}
@@ -108,12 +108,15 @@ public class IndexWriter implements IndexConstants {
 	}
 
 	protected void flushBtree() throws IOException {
-		if (btree == null) {
-			btree = BTreeMap.createTreeMap(archive, name, type);
-		}
 		ArrayList<Map.Entry<String, Object>> entries = new ArrayList<>(inlineMap.entrySet());
 		Collections.sort(entries, Comparator.comparing(Entry::getKey));
 
+		if (btree == null) {
+			// the first entries are loaded into the empty btree at once
+			btree = BTreeMap.createTreeMap(archive, name, type);
+			btree.load(entries.iterator());
+			return;
+		}
 		for (Map.Entry<String, Object> entry : entries) {
 			btree.insert(entry.getKey(), entry.getValue());
 		}
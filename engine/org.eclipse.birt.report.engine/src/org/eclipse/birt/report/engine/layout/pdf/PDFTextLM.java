@@ -347,7 +347,7 @@ public class PDFTextLM extends PDFLeafItemLM implements ITextLayoutManager {
 
 			int prevAreaWidth = 0;
 			int areaWidth = (int) (chunk.getFontInfo()
-					.getWordWidth(chunk.getText().substring(currentPos, currentPos + str.length()))
+					.getWordWidth(chunk.getText(), currentPos, currentPos + str.length())
 					* PDFConstants.LAYOUT_TO_PDF_RATIO) + letterSpacing * str.length() + wordSpacing;
 
 			// holds space for inline text to draw the right border, padding etc.
@@ -394,7 +394,7 @@ public class PDFTextLM extends PDFLeafItemLM implements ITextLayoutManager {
 				str = currentWord.getValue();
 				prevAreaWidth = areaWidth;
 				areaWidth += (int) (chunk.getFontInfo()
-						.getWordWidth(chunk.getText().substring(currentPos, currentPos + str.length()))
+						.getWordWidth(chunk.getText(), currentPos, currentPos + str.length())
 						* PDFConstants.LAYOUT_TO_PDF_RATIO) + letterSpacing * str.length() + wordSpacing;
 
 				// holds space for inline text to draw the border, padding etc.
@@ -30,6 +30,8 @@ import org.openpdf.text.pdf.BaseFont;
 public class FontInfo {
 	private BaseFont bf;
 
+	private GlyphAdvanceTable advances;
+
 	private float fontSize;
 
 	private int fontStyle;
@@ -60,6 +62,9 @@ public class FontInfo {
 		this.simulation = simulation;
 		this.fontSize = fontSize;
 		this.fontWeight = fontWeight;
+		if (bf != null) {
+			this.advances = GlyphAdvanceTable.getInstance(bf);
+		}
 		setupFontSize();
 	}
 
@@ -74,6 +79,7 @@ public class FontInfo {
 		this.simulation = fontInfo.simulation;
 		this.fontSize = fontInfo.fontSize;
 		this.fontWeight = fontInfo.fontWeight;
+		this.advances = fontInfo.advances;
 		setupFontSize();
 	}
 
@@ -250,7 +256,27 @@ public class FontInfo {
 			return word.length() * (fontSize / 2);
 		}
 
-		return bf.getWidthPoint(word, fontSize);
+		// same as BaseFont.getWidthPoint, with the glyph widths read once
+		return advances.getWidth(bf, word) * 0.001f * fontSize;
+	}
+
+	/**
+	 * Gets the width of a part of the specified word.
+	 *
+	 * @param word  the word
+	 * @param start the index of the first character
+	 * @param end   the index after the last character
+	 * @return the points of the width
+	 */
+	public float getWordWidth(String word, int start, int end) {
+		if (word == null) {
+			return 0;
+		}
+		if (bf == null) {
+			return (end - start) * (fontSize / 2);
+		}
+
+		return advances.getWidth(bf, word, start, end) * 0.001f * fontSize;
 	}
 
 	/**
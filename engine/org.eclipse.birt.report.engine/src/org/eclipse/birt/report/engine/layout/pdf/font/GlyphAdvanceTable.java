@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.engine.layout.pdf.font;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openpdf.text.pdf.BaseFont;
+
+/**
+ * The advance widths of the glyphs of a base font, in the glyph space units of
+ * 1/1000 of the font size.
+ * <p>
+ * The widths are read from the font once and shared by all the layout threads
+ * and tasks using the font, so measuring a word is a sum over its characters
+ * without creating any object. The widths of the BMP characters are kept in
+ * pages of 256 entries created on demand, the widths of the supplementary
+ * characters in a map.
+ * <p>
+ * An entry holds the width plus one, so the zero of an entry not computed yet
+ * can be told from a zero width without any locking: a thread which reads an
+ * entry before another thread writes it just reads the width from the font
+ * again.
+ */
+final class GlyphAdvanceTable {
+
+	private static final int PAGE_SHIFT = 8;
+	private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+	/**
+	 * the tables of the base fonts. The base fonts are cached by OpenPDF, the
+	 * tables don't refer to them so the fonts can still be collected.
+	 */
+	private static final Map<BaseFont, GlyphAdvanceTable> tables = Collections
+			.synchronizedMap(new WeakHashMap<BaseFont, GlyphAdvanceTable>());
+
+	private final int[][] pages = new int[(Character.MAX_VALUE + 1) >> PAGE_SHIFT][];
+
+	private final Map<Integer, Integer> supplementaryWidths = new ConcurrentHashMap<>();
+
+	private GlyphAdvanceTable() {
+	}
+
+	/**
+	 * Get the advance table of a base font
+	 *
+	 * @param bf base font
+	 * @return the advance table of the font
+	 */
+	static GlyphAdvanceTable getInstance(BaseFont bf) {
+		GlyphAdvanceTable table = tables.get(bf);
+		if (table == null) {
+			synchronized (tables) {
+				table = tables.get(bf);
+				if (table == null) {
+					table = new GlyphAdvanceTable();
+					tables.put(bf, table);
+				}
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Get the width of a text, same as {@link BaseFont#getWidth(String)}
+	 *
+	 * @param bf   base font of the table
+	 * @param text text
+	 * @return the width in the glyph space units
+	 */
+	int getWidth(BaseFont bf, String text) {
+		return getWidth(bf, text, 0, text.length());
+	}
+
+	/**
+	 * Get the width of a part of a text, same as {@link BaseFont#getWidth(String)}
+	 * of the substring
+	 *
+	 * @param bf    base font of the table
+	 * @param text  text
+	 * @param start the index of the first character
+	 * @param end   the index after the last character
+	 * @return the width in the glyph space units
+	 */
+	int getWidth(BaseFont bf, String text, int start, int end) {
+		int total = 0;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+				total += getSupplementaryWidth(bf, text, i);
+				i++;
+			} else {
+				total += getCharWidth(bf, c);
+			}
+		}
+		return total;
+	}
+
+	private int getCharWidth(BaseFont bf, char c) {
+		int[] page = pages[c >> PAGE_SHIFT];
+		if (page == null) {
+			page = new int[PAGE_SIZE];
+			pages[c >> PAGE_SHIFT] = page;
+		}
+		int width = page[c & PAGE_MASK];
+		if (width == 0) {
+			width = bf.getWidth(c) + 1;
+			page[c & PAGE_MASK] = width;
+		}
+		return width - 1;
+	}
+
+	private int getSupplementaryWidth(BaseFont bf, String text, int index) {
+		Integer codePoint = text.codePointAt(index);
+		Integer width = supplementaryWidths.get(codePoint);
+		if (width == null) {
+			// the fonts which don't support the supplementary characters measure
+			// the surrogates one by one
+			width = bf.getWidth(text.substring(index, index + 2));
+			supplementaryWidths.put(codePoint, width);
+		}
+		return width;
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package uk.co.spudsoft.birt.emitters.excel.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.FileOutputStream;
+import java.io.InputStream;
+
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.eclipse.birt.report.engine.api.RenderOption;
+import org.junit.Test;
+
+import uk.co.spudsoft.birt.emitters.excel.ExcelEmitter;
+
+public class StreamingColumnWidthsTest extends ReportRunner {
+
+	private boolean streaming;
+	private Object rowWindow;
+
+	@Override
+	protected RenderOption prepareRenderOptions(String outputFormat, FileOutputStream outputStream) {
+		RenderOption options = super.prepareRenderOptions(outputFormat, outputStream);
+		options.setOption(ExcelEmitter.FORCEAUTOCOLWIDTHS_PROP, true);
+		if (streaming) {
+			options.setOption(ExcelEmitter.STREAMING_XLSX, true);
+			options.setOption(ExcelEmitter.STREAMING_XLSX_ROW_WINDOW, rowWindow);
+		}
+		return options;
+	}
+
+	private int[] renderColumnWidths() throws Exception {
+		debug = false;
+		disableGrouping = true;
+		InputStream inputStream = runAndRenderReport("Issue55.rptdesign", "xlsx");
+		assertNotNull(inputStream);
+		try {
+			XSSFWorkbook workbook = new XSSFWorkbook(inputStream);
+			assertNotNull(workbook);
+
+			XSSFSheet sheet0 = workbook.getSheetAt(0);
+			int[] widths = new int[3];
+			for (int col = 0; col < widths.length; ++col) {
+				widths[col] = sheet0.getColumnWidth(col);
+			}
+			return widths;
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	@Test
+	public void testSampledColumnWidths() throws Exception {
+
+		streaming = false;
+		int[] expected = renderColumnWidths();
+
+		// the sample rows are flushed long before the end of the table
+		streaming = true;
+		rowWindow = 2;
+		int[] widths = renderColumnWidths();
+
+		for (int col = 0; col < expected.length; ++col) {
+			assertNotEquals("Column " + col, 256 * 8, widths[col]);
+			assertEquals("Column " + col, expected[col], widths[col]);
+		}
+	}
+
+	@Test
+	public void testMalformedRowWindow() throws Exception {
+
+		streaming = false;
+		int[] expected = renderColumnWidths();
+
+		// a malformed row window falls back to the default one
+		streaming = true;
+		rowWindow = "two";
+		int[] widths = renderColumnWidths();
+
+		for (int col = 0; col < expected.length; ++col) {
+			assertEquals("Column " + col, expected[col], widths[col]);
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package uk.co.spudsoft.birt.emitters.excel.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.InputStream;
+
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+public class StyleSharingTest extends ReportRunner {
+
+	@Test
+	public void testEqualStylesShareCellStyle() throws Exception {
+
+		debug = false;
+		groupSummaryHeader = true;
+		InputStream inputStream = runAndRenderReport("Issue55.rptdesign", "xlsx");
+		assertNotNull(inputStream);
+		try {
+			XSSFWorkbook workbook = new XSSFWorkbook(inputStream);
+			assertNotNull(workbook);
+
+			XSSFSheet sheet0 = workbook.getSheetAt(0);
+
+			// rows 2 to 6 are the detail rows of the first group, all centred
+			short detailStyle = sheet0.getRow(2).getCell(0).getCellStyle().getIndex();
+			for (int row = 2; row <= 6; ++row) {
+				for (int col = 0; col < 3; ++col) {
+					assertEquals("Row " + row + ", column " + col, detailStyle,
+							sheet0.getRow(row).getCell(col).getCellStyle().getIndex());
+				}
+			}
+
+			// the bold labels of the header row have a style of their own
+			short headerStyle = sheet0.getRow(0).getCell(0).getCellStyle().getIndex();
+			assertNotEquals(detailStyle, headerStyle);
+			assertEquals(headerStyle, sheet0.getRow(0).getCell(1).getCellStyle().getIndex());
+			assertEquals(headerStyle, sheet0.getRow(0).getCell(2).getCellStyle().getIndex());
+
+		} finally {
+			inputStream.close();
+		}
+	}
+
+}
@@ -25,6 +25,7 @@ import org.eclipse.birt.report.engine.ir.Expression;
 import org.eclipse.birt.report.engine.ir.ReportElementDesign;
 
 import uk.co.spudsoft.birt.emitters.excel.framework.ExcelEmitterPlugin;
+import uk.co.spudsoft.birt.emitters.excel.framework.Logger;
 
 /**
  * Emitter service to handle the emitter configuration options
@@ -244,7 +245,6 @@ public class EmitterServices {
 	 * @return an integer, or the defaultValue
 	 */
 	public static int integerOption(ITaskOption options, IContent birtContent, String name, int defaultValue) {
-		int result = defaultValue;
 		Object value = null;
 
 		IElement currentElement = birtContent;
@@ -286,16 +286,42 @@ public class EmitterServices {
 			value = getReportDesignConfiguration(birtContent.getReportContent(), name);
 		}
 
-		if (value instanceof Number) {
-			result = ((Number) value).intValue();
-		} else if (value != null) {
-			try {
-				result = Integer.parseInt(value.toString());
-			} catch (Exception ex) {
+		return integerValue(name, value, defaultValue);
+	}
+
+	/**
+	 * Search for an emitter option and return it as an integer
+	 *
+	 * @param options       The task options to extract the value from.
+	 * @param reportContent The report
+	 * @param name          The name of the value to extract from options.
+	 * @param defaultValue  Value to return if value is null.
+	 * @return an integer, or the defaultValue
+	 */
+	public static int integerOption(ITaskOption options, IReportContent reportContent, String name,
+			int defaultValue) {
+		Object value = null;
+
+		if (reportContent != null) {
+			Map<String, Expression> userProperties = reportContent.getDesign().getUserProperties();
+			if (userProperties != null) {
+				Expression expression = userProperties.get(name);
+				if (expression instanceof Expression.Constant) {
+					Expression.Constant constant = (Expression.Constant) expression;
+					value = constant.getValue();
+				}
 			}
 		}
 
-		return result;
+		if ((value == null) && (options != null)) {
+			value = options.getOption(name);
+		}
+
+		if (reportContent != null && value == null) {
+			value = getReportDesignConfiguration(reportContent, name);
+		}
+
+		return integerValue(name, value, defaultValue);
 	}
 
 	/**
@@ -321,6 +347,26 @@ public class EmitterServices {
 		return defaultValue;
 	}
 
+	/*
+	 * Convert the value of an integer option, a malformed value is logged and
+	 * replaced by the default value
+	 */
+	private static int integerValue(String name, Object value, int defaultValue) {
+		if (value instanceof Number) {
+			return ((Number) value).intValue();
+		}
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.toString());
+			} catch (NumberFormatException ex) {
+				Logger log = (ExcelEmitterPlugin.getDefault() != null) ? ExcelEmitterPlugin.getDefault().getLogger()
+						: new Logger(EmitterServices.class.getPackage().getName());
+				log.warn(0, "Option \"" + name + "\" is not an integer: \"" + value + "\"", ex);
+			}
+		}
+		return defaultValue;
+	}
+
 	/**
 	 * Get the symbolic name for the plugin.
 	 *
@@ -163,6 +163,24 @@ public abstract class ExcelEmitter implements IContentEmitter {
 	/** property: ExcelEmitter.StreamingXlsx */
 	public static final String STREAMING_XLSX = "ExcelEmitter.StreamingXlsx";
 
+	/**
+	 * property: ExcelEmitter.StreamingXlsxRowWindow, the number of rows kept in
+	 * memory by a streaming workbook before they are flushed to disk
+	 */
+	public static final String STREAMING_XLSX_ROW_WINDOW = "ExcelEmitter.StreamingXlsxRowWindow";
+
+	/**
+	 * property: ExcelEmitter.StreamingXlsxSharedStrings, write the strings of a
+	 * streaming workbook into the shared strings table instead of inline
+	 */
+	public static final String STREAMING_XLSX_SHARED_STRINGS = "ExcelEmitter.StreamingXlsxSharedStrings";
+
+	/**
+	 * property: ExcelEmitter.StreamingXlsxCompressTempFiles, compress the temporary
+	 * files of the rows flushed by a streaming workbook
+	 */
+	public static final String STREAMING_XLSX_COMPRESS_TEMP_FILES = "ExcelEmitter.StreamingXlsxCompressTempFiles";
+
 	/** property: ExcelEmitter.ForceRecalculation */
 	public static final String FORCE_RECALCULATION = "ExcelEmitter.ForceRecalculation";
 
@@ -297,6 +315,23 @@ public abstract class ExcelEmitter implements IContentEmitter {
 	 */
 	protected abstract Workbook createSWorkbook();
 
+	/**
+	 * Constructs a new streaming workbook keeping a bounded number of rows in
+	 * memory.
+	 *
+	 * @param rowAccessWindowSize   The number of rows kept in memory, the older
+	 *                              rows are flushed to disk.
+	 * @param compressTempFiles     Compress the temporary files of the flushed
+	 *                              rows.
+	 * @param useSharedStringsTable Write the strings into the shared strings table
+	 *                              instead of inline, the table is kept in memory.
+	 * @return The new (streaming) workbook.
+	 */
+	protected Workbook createSWorkbook(int rowAccessWindowSize, boolean compressTempFiles,
+			boolean useSharedStringsTable) {
+		return createSWorkbook();
+	}
+
 	/**
 	 * Constructs a new workbook to be processed by the emitter.
 	 *
@@ -344,7 +379,16 @@ public abstract class ExcelEmitter implements IContentEmitter {
 			}
 		} else {
 			if (EmitterServices.booleanOption(renderOptions, report, ExcelEmitter.STREAMING_XLSX, false)) {
-				wb = createSWorkbook();
+				int rowAccessWindowSize = EmitterServices.integerOption(renderOptions, report,
+						ExcelEmitter.STREAMING_XLSX_ROW_WINDOW, SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+				boolean compressTempFiles = EmitterServices.booleanOption(renderOptions, report,
+						ExcelEmitter.STREAMING_XLSX_COMPRESS_TEMP_FILES, true);
+				boolean useSharedStringsTable = EmitterServices.booleanOption(renderOptions, report,
+						ExcelEmitter.STREAMING_XLSX_SHARED_STRINGS, false);
+				if (rowAccessWindowSize <= 0) {
+					rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+				}
+				wb = createSWorkbook(rowAccessWindowSize, compressTempFiles, useSharedStringsTable);
 			} else {
 				wb = createWorkbook();
 			}
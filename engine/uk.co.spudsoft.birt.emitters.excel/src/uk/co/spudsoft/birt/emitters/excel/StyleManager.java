@@ -16,8 +16,11 @@
 package uk.co.spudsoft.birt.emitters.excel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Font;
@@ -30,8 +33,10 @@ import org.eclipse.birt.report.engine.css.engine.CSSEngine;
 import org.eclipse.birt.report.engine.css.engine.StyleConstants;
 import org.eclipse.birt.report.engine.css.engine.value.DataFormatValue;
 import org.eclipse.birt.report.engine.css.engine.value.FloatValue;
+import org.eclipse.birt.report.engine.css.engine.value.StringValue;
 import org.eclipse.birt.report.engine.css.engine.value.css.CSSConstants;
 import org.eclipse.birt.report.engine.ir.DimensionType;
+import org.w3c.dom.css.CSSPrimitiveValue;
 import org.w3c.dom.css.CSSValue;
 
 import uk.co.spudsoft.birt.emitters.excel.framework.Logger;
@@ -39,6 +44,12 @@ import uk.co.spudsoft.birt.emitters.excel.framework.Logger;
 /**
  * StyleManager is a cache of POI CellStyles to enable POI CellStyles to be
  * reused based upon their BIRT styles.
+ * <p>
+ * The CellStyles are indexed by a key whose hash is computed over the BIRT
+ * properties compared by stylesEquivalent, so finding the CellStyle of a BIRT
+ * style doesn't depend on the number of CellStyles already created. The
+ * CellStyles derived from a CellStyle by adding borders or an extra style are
+ * cached too.
  *
  * @author Jim Talbut
  *
@@ -64,6 +75,9 @@ public class StyleManager {
 	private Workbook workbook;
 	private FontManager fm;
 	private List<StylePair> styles = new ArrayList<>();
+	private Map<StyleKey, StylePair> styleIndex = new HashMap<>();
+	private Map<Integer, StylePair> cellStyleIndex = new HashMap<>();
+	private Map<DerivedStyleKey, CellStyle> derivedStyles = new HashMap<>();
 	private StyleManagerUtils smu;
 	private CSSEngine cssEngine;
 	// private Logger log;
@@ -262,7 +276,10 @@ public class StyleManager {
 		if (rotation instanceof FloatValue) {
 			poiStyle.setRotation((short) ((FloatValue) rotation).getFloatValue());
 		}
-		styles.add(new StylePair(birtStyle.clone(), poiStyle));
+		StylePair stylePair = new StylePair(birtStyle.clone(), poiStyle);
+		styles.add(stylePair);
+		styleIndex.put(new StyleKey(stylePair.birtStyle), stylePair);
+		cellStyleIndex.put(Integer.valueOf(poiStyle.getIndex()), stylePair);
 		return poiStyle;
 	}
 
@@ -273,18 +290,20 @@ public class StyleManager {
 	 * @return Return the cell style based on the BIRT style
 	 */
 	public CellStyle getStyle(BirtStyle birtStyle) {
-		for (StylePair stylePair : styles) {
-			if (stylesEquivalent(birtStyle, stylePair.birtStyle)) {
-				// System.err.println("Equivalent :\n\t" + birtStyle + "\n\t" +
-				// stylePair.birtStyle);
-				return stylePair.poiStyle;
-			}
+		StylePair stylePair = styleIndex.get(new StyleKey(birtStyle));
+		if (stylePair != null) {
+			return stylePair.poiStyle;
 		}
 
 		return createStyle(birtStyle);
 	}
 
 	private BirtStyle birtStyleFromCellStyle(CellStyle source) {
+		// the index of a CellStyle is unique within the workbook
+		StylePair indexed = cellStyleIndex.get(Integer.valueOf(source.getIndex()));
+		if (indexed != null) {
+			return indexed.birtStyle.clone();
+		}
 		for (StylePair stylePair : styles) {
 			if (source.equals(stylePair.poiStyle)) {
 				return stylePair.birtStyle.clone();
@@ -327,6 +346,16 @@ public class StyleManager {
 			CSSValue borderWidthDiagonal, CSSValue borderColourDiagonal, CSSValue borderStyleAntidiagonal,
 			CSSValue borderWidthAntidiagonal, CSSValue borderColourAntidiagonal) {
 
+		DerivedStyleKey key = new DerivedStyleKey(source, borderStyleBottom, borderWidthBottom, borderColourBottom,
+				borderStyleLeft, borderWidthLeft, borderColourLeft, borderStyleRight, borderWidthRight,
+				borderColourRight, borderStyleTop, borderWidthTop, borderColourTop, borderStyleDiagonal,
+				borderWidthDiagonal, borderColourDiagonal, borderStyleAntidiagonal, borderWidthAntidiagonal,
+				borderColourAntidiagonal);
+		CellStyle cached = derivedStyles.get(key);
+		if (cached != null) {
+			return cached;
+		}
+
 		BirtStyle birtStyle = birtStyleFromCellStyle(source);
 		if ((borderStyleBottom != null) && (borderWidthBottom != null) && (borderColourBottom != null)) {
 			birtStyle.setProperty(StyleConstants.STYLE_BORDER_BOTTOM_STYLE, borderStyleBottom);
@@ -361,6 +390,10 @@ public class StyleManager {
 		}
 
 		CellStyle newStyle = getStyle(birtStyle);
+		if (cellStyleIndex.containsKey(Integer.valueOf(source.getIndex()))) {
+			// the styles which are not created here may match a style created later
+			derivedStyles.put(key, newStyle);
+		}
 		return newStyle;
 	}
 
@@ -375,17 +408,126 @@ public class StyleManager {
 	 */
 	public CellStyle getStyleWithExtraStyle(CellStyle source, IStyle birtExtraStyle) {
 
+		CSSValue[] extraValues = new CSSValue[BirtStyle.NUMBER_OF_STYLES + 1];
+		for (int i = 0; i < BirtStyle.NUMBER_OF_STYLES; ++i) {
+			extraValues[i] = birtExtraStyle.getProperty(i);
+		}
+		// distinguish the extra styles from the borders
+		extraValues[BirtStyle.NUMBER_OF_STYLES] = EXTRA_STYLE_MARKER;
+		DerivedStyleKey key = new DerivedStyleKey(source, extraValues);
+		CellStyle cached = derivedStyles.get(key);
+		if (cached != null) {
+			return cached;
+		}
+
 		BirtStyle birtStyle = birtStyleFromCellStyle(source);
 
 		for (int i = 0; i < BirtStyle.NUMBER_OF_STYLES; ++i) {
-			CSSValue value = birtExtraStyle.getProperty(i);
+			CSSValue value = extraValues[i];
 			if (value != null) {
 				birtStyle.setProperty(i, value);
 			}
 		}
 
 		CellStyle newStyle = getStyle(birtStyle);
+		if (cellStyleIndex.containsKey(Integer.valueOf(source.getIndex()))) {
+			// the styles which are not created here may match a style created later
+			derivedStyles.put(key, newStyle);
+		}
 		return newStyle;
 	}
 
+	private static final CSSValue EXTRA_STYLE_MARKER = new StringValue(CSSPrimitiveValue.CSS_IDENT, "extra"); //$NON-NLS-1$
+
+	private static int dataFormatHash(DataFormatValue dataFormat) {
+		if (dataFormat == null) {
+			return 0;
+		}
+		int hash = objectHash(dataFormat.getNumberPattern());
+		hash = hash * 31 + objectHash(dataFormat.getDatePattern());
+		hash = hash * 31 + objectHash(dataFormat.getDateTimePattern());
+		return hash * 31 + objectHash(dataFormat.getTimePattern());
+	}
+
+	private static int objectHash(Object object) {
+		return object == null ? 0 : object.hashCode();
+	}
+
+	/**
+	 * StyleKey identifies the BIRT styles which produce the same CellStyle, its
+	 * hash covers all the properties compared by stylesEquivalent.
+	 */
+	private class StyleKey {
+		private final BirtStyle birtStyle;
+		private final int hash;
+
+		public StyleKey(BirtStyle birtStyle) {
+			this.birtStyle = birtStyle;
+			int h = 0;
+			for (int i = 0; i < COMPARE_CSS_PROPERTIES.length; ++i) {
+				h = h * 31 + objectHash(birtStyle.getProperty(COMPARE_CSS_PROPERTIES[i]));
+			}
+			for (int i = 0; i < FontManager.COMPARE_CSS_PROPERTIES.length; ++i) {
+				h = h * 31 + objectHash(birtStyle.getProperty(FontManager.COMPARE_CSS_PROPERTIES[i]));
+			}
+			h = h * 31 + objectHash(birtStyle.getProperty(BirtStyle.TEXT_ROTATION));
+			h = h * 31 + dataFormatHash((DataFormatValue) birtStyle.getProperty(StyleConstants.STYLE_DATA_FORMAT));
+			this.hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof StyleKey)) {
+				return false;
+			}
+			StyleKey other = (StyleKey) obj;
+			return (hash == other.hash) && stylesEquivalent(birtStyle, other.birtStyle);
+		}
+	}
+
+	/**
+	 * DerivedStyleKey identifies a CellStyle derived from a source CellStyle and a
+	 * set of BIRT CSS values.
+	 */
+	private static class DerivedStyleKey {
+		private final int sourceIndex;
+		private final CSSValue[] values;
+		private final int hash;
+
+		public DerivedStyleKey(CellStyle source, CSSValue... values) {
+			this.sourceIndex = source.getIndex();
+			this.values = values;
+			int h = sourceIndex;
+			for (CSSValue value : values) {
+				h = h * 31 + objectHash(value);
+			}
+			this.hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof DerivedStyleKey)) {
+				return false;
+			}
+			DerivedStyleKey other = (DerivedStyleKey) obj;
+			return (hash == other.hash) && (sourceIndex == other.sourceIndex) && Arrays.equals(values, other.values);
+		}
+	}
+
 }
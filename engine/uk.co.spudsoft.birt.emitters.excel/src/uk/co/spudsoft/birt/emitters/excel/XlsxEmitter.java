@@ -58,11 +58,14 @@ public class XlsxEmitter extends ExcelEmitter {
 	 * @since 4.14
 	 */
 	public Workbook createSWorkbook() {
-		SXSSFWorkbook swb = new SXSSFWorkbook();
-		// temp files will be gzipped
-		swb.setCompressTempFiles(true);
+		return createSWorkbook(SXSSFWorkbook.DEFAULT_WINDOW_SIZE, true, false);
+	}
 
-		return swb;
+	@Override
+	protected Workbook createSWorkbook(int rowAccessWindowSize, boolean compressTempFiles,
+			boolean useSharedStringsTable) {
+		// temp files will be gzipped if compressTempFiles is set
+		return new SXSSFWorkbook(null, rowAccessWindowSize, compressTempFiles, useSharedStringsTable);
 	}
 
 	@Override
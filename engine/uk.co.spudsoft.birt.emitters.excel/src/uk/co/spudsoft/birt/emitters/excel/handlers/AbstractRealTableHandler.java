@@ -16,9 +16,12 @@
 package uk.co.spudsoft.birt.emitters.excel.handlers;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.poi.ss.util.SheetUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.eclipse.birt.core.exception.BirtException;
 import org.eclipse.birt.report.engine.content.IBandContent;
@@ -56,6 +59,18 @@ public class AbstractRealTableHandler extends AbstractHandler implements ITableH
 
 	private List<NestedTableHandler> nestedTables;
 
+	/**
+	 * The number of rows after the first one used to calculate the automated
+	 * column widths
+	 */
+	private static final int AUTO_WIDTH_SAMPLE_ROWS = 12;
+
+	/**
+	 * The cell widths of the rows sampled for the automated column widths of a
+	 * streaming workbook, by row number
+	 */
+	private Map<Integer, double[]> sampledColumnWidths;
+
 	/**
 	 * Constructor
 	 *
@@ -111,6 +126,56 @@ public class AbstractRealTableHandler extends AbstractHandler implements ITableH
 		return offset;
 	}
 
+	/**
+	 * Sample the cell widths of rows of the table for the automated column widths.
+	 * A streaming workbook flushes the rows to disk once they are out of its row
+	 * window, so the widths are sampled when the rows end, while they are still in
+	 * memory. Only the rows which can be used by the automated column widths are
+	 * sampled.
+	 *
+	 * @param state    handler state
+	 * @param firstRow first row to sample
+	 * @param lastRow  last row to sample
+	 */
+	public void sampleColumnWidths(HandlerState state, int firstRow, int lastRow) {
+		if (!(state.getWb() instanceof SXSSFWorkbook)) {
+			return;
+		}
+		int columnCount = getColumnCount();
+		// until the details start only the rows from the start of the table can be used
+		int sampleStartRow = (startDetailsRow >= 0) ? startDetailsRow : startRow;
+		for (int rowNum = Math.max(firstRow, startRow); rowNum <= lastRow; ++rowNum) {
+			if (rowNum > sampleStartRow + AUTO_WIDTH_SAMPLE_ROWS) {
+				break;
+			}
+			if (state.currentSheet.getRow(rowNum) == null) {
+				continue;
+			}
+			FilteredSheet rowSheet = new FilteredSheet(state.currentSheet, rowNum, rowNum);
+			double[] widths = new double[columnCount];
+			for (int col = 0; col < columnCount; ++col) {
+				widths[col] = SheetUtil.getColumnWidth(rowSheet, col, false);
+			}
+			if (sampledColumnWidths == null) {
+				sampledColumnWidths = new HashMap<>();
+			}
+			sampledColumnWidths.put(rowNum, widths);
+		}
+	}
+
+	private double getSampledColumnWidth(int col, int firstRow, int lastRow) {
+		double width = -1;
+		if (sampledColumnWidths != null) {
+			for (int rowNum = firstRow; rowNum <= lastRow; ++rowNum) {
+				double[] widths = sampledColumnWidths.get(rowNum);
+				if ((widths != null) && (col < widths.length)) {
+					width = Math.max(width, widths[col]);
+				}
+			}
+		}
+		return width;
+	}
+
 	@Override
 	public void startTable(HandlerState state, ITableContent table) throws BirtException {
 		startRow = state.rowNum;
@@ -183,12 +248,20 @@ public class AbstractRealTableHandler extends AbstractHandler implements ITableH
 					ExcelEmitter.FORCEAUTOCOLWIDTHS_PROP, defaultAutoColWidth);
 
 			int defaultColumnWidth = 256 * state.currentSheet.getDefaultColumnWidth();
+			int autoWidthLastRow = Math.min(autoWidthEndRow, autoWidthStartRow + AUTO_WIDTH_SAMPLE_ROWS);
+			boolean streaming = state.getWb() instanceof SXSSFWorkbook;
 			for (int col = 0; col < table.getColumnCount(); ++col) {
 				int columnWidth = state.currentSheet.getColumnWidth(col);
 				if (forceAutoColWidths || columnWidth == defaultColumnWidth) {
-					FilteredSheet filteredSheet = new FilteredSheet(state.currentSheet, autoWidthStartRow,
-							Math.min(autoWidthEndRow, autoWidthStartRow + 12));
-					double calcWidth = SheetUtil.getColumnWidth(filteredSheet, col, false);
+					double calcWidth;
+					if (streaming) {
+						// the rows may already be flushed, use the widths sampled when they ended
+						calcWidth = getSampledColumnWidth(col, autoWidthStartRow, autoWidthLastRow);
+					} else {
+						FilteredSheet filteredSheet = new FilteredSheet(state.currentSheet, autoWidthStartRow,
+								autoWidthLastRow);
+						calcWidth = SheetUtil.getColumnWidth(filteredSheet, col, false);
+					}
 					calcWidth *= 1.15 * 256; // The factor 1.15 is used to handle width differences of Apache POI.
 					int maxColumnWidth = 255 * 256; // The maximum column width for an individual cell is 255
 													// characters
@@ -201,6 +274,7 @@ public class AbstractRealTableHandler extends AbstractHandler implements ITableH
 				}
 			}
 		}
+		sampledColumnWidths = null;
 
 		if ((table.getBookmark() != null) && (state.rowNum > startRow) && (table.getColumnCount() > 1)) {
 			createName(state, prepareName(table.getBookmark()), startRow, 0, state.rowNum - 1,
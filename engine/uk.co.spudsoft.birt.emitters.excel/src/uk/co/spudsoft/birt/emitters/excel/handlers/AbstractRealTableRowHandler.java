@@ -78,6 +78,9 @@ public abstract class AbstractRealTableRowHandler extends AbstractHandler {
 	@Override
 	public void endRow(HandlerState state, IRowContent row) throws BirtException {
 		interruptRow(state);
+		if (parent instanceof AbstractRealTableHandler) {
+			((AbstractRealTableHandler) parent).sampleColumnWidths(state, birtRowStartedAtPoiRow, state.rowNum - 1);
+		}
 		if (row.getBookmark() != null) {
 			createName(state, prepareName(row.getBookmark()), birtRowStartedAtPoiRow, 0, state.rowNum - 1,
 					currentRow.getLastCellNum() - 1);
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.model.core;
+
+import java.io.File;
+
+import org.eclipse.birt.report.model.api.LibraryHandle;
+import org.eclipse.birt.report.model.api.ReportDesignHandle;
+import org.eclipse.birt.report.model.api.SessionHandle;
+import org.eclipse.birt.report.model.api.command.LibraryChangeEvent;
+import org.eclipse.birt.report.model.elements.Library;
+import org.eclipse.birt.report.model.util.BaseTestCase;
+import org.eclipse.birt.report.model.util.ResourceLocatorImpl;
+
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Tests the libraries shared by the design sessions.
+ */
+
+public class LibraryCacheTest extends BaseTestCase {
+
+	private static final String DESIGN_FILE = "LocalStylePropertyValuesTest.xml"; //$NON-NLS-1$
+	private static final String LIBRARY_FILE = "LocalStylePropertyValuesTest_Lib.xml"; //$NON-NLS-1$
+
+	private LibraryCache libraryCache;
+
+	private String designPath;
+
+	/*
+	 * @see TestCase#setUp()
+	 */
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		libraryCache = DesignSessionImpl.getLibraryCache();
+		libraryCache.clear();
+		libraryCache.setMaxSize(4);
+
+		designPath = copyContentToFile(INPUT_FOLDER + DESIGN_FILE);
+		copyContentToFile(INPUT_FOLDER + LIBRARY_FILE);
+	}
+
+	/*
+	 * @see TestCase#tearDown()
+	 */
+
+	@Override
+	protected void tearDown() throws Exception {
+		libraryCache.setMaxSize(0);
+		super.tearDown();
+	}
+
+	private ReportDesignHandle openCachedDesign() throws Exception {
+		SessionHandle session = engine.newSessionHandle(ULocale.ENGLISH);
+		return session.openDesign(designPath);
+	}
+
+	/**
+	 * Tests that the designs of different sessions get their own copy of a
+	 * library parsed once.
+	 *
+	 * @throws Exception
+	 */
+
+	public void testShareLibrary() throws Exception {
+		long hitCount = libraryCache.getHitCount();
+
+		ReportDesignHandle design1 = openCachedDesign();
+		assertEquals(1, libraryCache.size());
+		ReportDesignHandle design2 = openCachedDesign();
+		assertEquals(hitCount + 1, libraryCache.getHitCount());
+
+		LibraryHandle library1 = (LibraryHandle) design1.getLibraries().get(0);
+		LibraryHandle library2 = (LibraryHandle) design2.getLibraries().get(0);
+		assertNotSame(library1.getModule(), library2.getModule());
+		assertSame(design1.getModule(), ((Library) library1.getModule()).getHost());
+		assertSame(design2.getModule(), ((Library) library2.getModule()).getHost());
+		assertSame(design2.getModule().getSession(), library2.getModule().getSession());
+		assertEquals("new_library", library2.getNamespace()); //$NON-NLS-1$
+		assertTrue(library2.isReadOnly());
+
+		assertNotNull(library2.findElement("NewLabel")); //$NON-NLS-1$
+		assertNotNull(design2.getElementFactory().newElementFrom(library2.findElement("NewLabel"), "label")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		design1.close();
+		design2.close();
+	}
+
+	/**
+	 * Tests that a modified library is read again.
+	 *
+	 * @throws Exception
+	 */
+
+	public void testModifiedLibrary() throws Exception {
+		openCachedDesign().close();
+		long hitCount = libraryCache.getHitCount();
+
+		File libraryFile = new File(new File(designPath).getParentFile(), LIBRARY_FILE);
+		libraryFile.setLastModified(libraryFile.lastModified() - 10000);
+		openCachedDesign().close();
+		assertEquals(hitCount, libraryCache.getHitCount());
+
+		openCachedDesign().close();
+		assertEquals(hitCount + 1, libraryCache.getHitCount());
+
+		// the library change event removes the library from the cache
+		SessionHandle session = engine.newSessionHandle(ULocale.ENGLISH);
+		session.fireResourceChange(new LibraryChangeEvent(libraryFile.toURI().toURL().toExternalForm()));
+		assertEquals(0, libraryCache.size());
+	}
+
+	/**
+	 * Tests that the sessions with different resource locators don't share the
+	 * libraries.
+	 *
+	 * @throws Exception
+	 */
+
+	public void testResourceLocator() throws Exception {
+		long hitCount = libraryCache.getHitCount();
+
+		SessionHandle session1 = engine.newSessionHandle(ULocale.ENGLISH);
+		session1.setResourceLocator(new ResourceLocatorImpl() {
+		});
+		session1.openDesign(designPath).close();
+
+		SessionHandle session2 = engine.newSessionHandle(ULocale.ENGLISH);
+		session2.setResourceLocator(new ResourceLocatorImpl() {
+		});
+		session2.openDesign(designPath).close();
+		assertEquals(hitCount, libraryCache.getHitCount());
+		assertEquals(2, libraryCache.size());
+	}
+
+	/**
+	 * Tests that no library is kept when the cache is disabled.
+	 *
+	 * @throws Exception
+	 */
+
+	public void testDisabledCache() throws Exception {
+		libraryCache.setMaxSize(0);
+		openCachedDesign().close();
+		openCachedDesign().close();
+		assertEquals(0, libraryCache.size());
+	}
+}
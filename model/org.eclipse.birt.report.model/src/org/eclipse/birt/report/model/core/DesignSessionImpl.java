@@ -60,6 +60,7 @@ import org.eclipse.birt.report.model.parser.LibraryReader;
 import org.eclipse.birt.report.model.util.LibraryUtil;
 import org.eclipse.birt.report.model.util.ModelUtil;
 import org.eclipse.birt.report.model.util.ResourceLocatorImpl;
+import org.eclipse.birt.report.model.util.SecurityUtil;
 import org.eclipse.birt.report.model.util.URIUtilImpl;
 
 import com.ibm.icu.util.ULocale;
@@ -111,6 +112,12 @@ public class DesignSessionImpl {
 
 	static String resourcePath = null;
 
+	/**
+	 * The libraries shared by all the sessions.
+	 */
+
+	private static final LibraryCache libraryCache = new LibraryCache(getLibraryCacheSize());
+
 	/**
 	 * The algorithm of how to provide the absolute dimension value for the
 	 * predefined absolute font size.
@@ -1083,6 +1090,8 @@ public class DesignSessionImpl {
 		}
 
 		String path = url.toExternalForm();
+		libraryCache.remove(path);
+
 		Iterator<Module> iter = getModuleIterator();
 		while (iter.hasNext()) {
 			Module module = iter.next();
@@ -1189,6 +1198,35 @@ public class DesignSessionImpl {
 		DesignSessionImpl.resourcePath = resourcePath;
 	}
 
+	/**
+	 * Returns the cache of the libraries shared by all the sessions.
+	 *
+	 * @return the library cache
+	 */
+
+	public static LibraryCache getLibraryCache() {
+		return libraryCache;
+	}
+
+	/**
+	 * Returns the size of the library cache set in the system properties.
+	 *
+	 * @return the size of the library cache, 0 if it is not set
+	 */
+
+	private static int getLibraryCacheSize() {
+		String value = SecurityUtil.getSystemProperty(LibraryCache.LIBRARY_CACHE_SIZE, null);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				LOG.log(Level.WARNING, "Invalid value of {0}: {1}", //$NON-NLS-1$
+						new Object[] { LibraryCache.LIBRARY_CACHE_SIZE, value });
+			}
+		}
+		return 0;
+	}
+
 	/**
 	 * Inits default toc style value.
 	 *
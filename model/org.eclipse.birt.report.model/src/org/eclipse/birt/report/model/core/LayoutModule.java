@@ -356,12 +356,25 @@ public abstract class LayoutModule extends Module {
 			}
 			option.setMarkLineNumber(false);
 
-			library = LibraryReader.getInstance().read(session, this, url, namespace, url.openStream(), option,
-					reloadLibs);
-			library.setLocation(url);
+			LibraryCache libraryCache = DesignSessionImpl.getLibraryCache();
+			library = libraryCache.get(this, url, namespace, option);
+			if (library != null) {
+				return library;
+			}
 
-			if (StringUtil.isBlank(namespace)) {
-				library.setNamespace(StringUtil.extractFileName(libraryFileName));
+			// the library file may be changed while it is parsed
+			boolean outermost = libraryCache.startRead(url);
+			try {
+				library = LibraryReader.getInstance().read(session, this, url, namespace, url.openStream(), option,
+						reloadLibs);
+				library.setLocation(url);
+
+				if (StringUtil.isBlank(namespace)) {
+					library.setNamespace(StringUtil.extractFileName(libraryFileName));
+				}
+				libraryCache.put(this, url, namespace, option, library);
+			} finally {
+				libraryCache.endRead(outermost);
 			}
 			return library;
 		} catch (IOException e) {
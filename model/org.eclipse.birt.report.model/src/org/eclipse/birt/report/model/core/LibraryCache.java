@@ -0,0 +1,427 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *
+ * Contributors:
+ *  See git history
+ *******************************************************************************/
+
+package org.eclipse.birt.report.model.core;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.birt.report.model.api.IResourceLocator;
+import org.eclipse.birt.report.model.api.ModuleOption;
+import org.eclipse.birt.report.model.elements.Library;
+import org.eclipse.birt.report.model.util.ResourceLocatorImpl;
+
+/**
+ * Cache of the parsed libraries shared by all the design sessions.
+ * <p>
+ * A library included by a design is read-only, so the library parsed for one
+ * design can be reused by the other designs which include the same library
+ * file. The cache keeps a parsed library which is never attached to a design,
+ * and every design gets a context clone of it, which is much cheaper than
+ * parsing the library and the libraries it includes again. The kept library
+ * doesn't refer to any session.
+ * <p>
+ * Only the libraries read from local files are cached. A cached library is used
+ * as long as the last modified time and the length of the library file and of
+ * the files of the libraries it includes have not changed since they were
+ * read, which is recorded by {@link #startRead(URL)}, and it is removed
+ * once a library change event is fired for one of these files. The cache keeps
+ * the most recently used libraries up to its size, 0 disables it.
+ */
+
+public final class LibraryCache {
+
+	/**
+	 * The name of the system property of the maximum number of libraries kept in
+	 * the cache.
+	 */
+
+	public static final String LIBRARY_CACHE_SIZE = "LIBRARY_CACHE_SIZE"; //$NON-NLS-1$
+
+	private volatile int maxSize;
+
+	private final Map<Key, Entry> libraries = new LinkedHashMap<>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > maxSize;
+		}
+	};
+
+	/**
+	 * The state of the library files read by the outermost library being parsed
+	 * in the current thread, before they were read.
+	 */
+
+	private final ThreadLocal<Map<String, FileState>> readStates = new ThreadLocal<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxSize the maximum number of libraries kept in the cache, 0 disables
+	 *                the cache
+	 */
+
+	LibraryCache(int maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+	}
+
+	/**
+	 * Returns a copy of a cached library for the given module.
+	 *
+	 * @param host      the module which includes the library
+	 * @param url       the location of the library
+	 * @param namespace the namespace of the library
+	 * @param options   the options the library is read with
+	 * @return the copy of the library, or <code>null</code> if the library is not
+	 *         cached or has been modified
+	 */
+
+	Library get(LayoutModule host, URL url, String namespace, ModuleOption options) {
+		if (maxSize == 0 || getFile(url.toExternalForm()) == null) {
+			return null;
+		}
+
+		Key key = new Key(host.getSession(), url, namespace, options);
+		Entry entry;
+		synchronized (libraries) {
+			entry = libraries.get(key);
+		}
+		if (entry == null || entry.isModified()) {
+			if (entry != null) {
+				synchronized (libraries) {
+					libraries.remove(key, entry);
+				}
+			}
+			missCount.increment();
+			return null;
+		}
+
+		hitCount.increment();
+		Map<String, FileState> states = readStates.get();
+		if (states != null) {
+			// the library is included by a library being parsed
+			for (FileState state : entry.states) {
+				states.putIfAbsent(state.location, state);
+			}
+		}
+
+		// cloning doesn't change the library, but the model is not meant to be
+		// read by several threads. The cached library is attached to the session
+		// only while it is cloned.
+
+		Library library;
+		synchronized (entry) {
+			ModuleImpl template = (ModuleImpl) entry.library;
+			template.setSession(host.getSession());
+			try {
+				library = entry.library.contextClone(host);
+			} finally {
+				template.setSession(null);
+			}
+		}
+		library.setLocation(url);
+		((ModuleImpl) library).setSession(host.getSession());
+		return library;
+	}
+
+	/**
+	 * Records the state of a library file before it is parsed. The libraries it
+	 * includes are recorded as well while it is parsed, so that a file changed
+	 * during the parse is detected by the cached library.
+	 *
+	 * @param url the location of the library
+	 * @return <code>true</code> if the library is the outermost one parsed by the
+	 *         current thread, which must be passed to {@link #endRead(boolean)}
+	 */
+
+	boolean startRead(URL url) {
+		Map<String, FileState> states = readStates.get();
+		boolean outermost = states == null;
+		if (outermost) {
+			states = new HashMap<>();
+			readStates.set(states);
+		}
+		String location = url.toExternalForm();
+		File file = getFile(location);
+		if (file != null) {
+			states.putIfAbsent(location, new FileState(location, file));
+		}
+		return outermost;
+	}
+
+	/**
+	 * Ends the parse of a library started by {@link #startRead(URL)}.
+	 *
+	 * @param outermost the value returned by {@link #startRead(URL)}
+	 */
+
+	void endRead(boolean outermost) {
+		if (outermost) {
+			readStates.remove();
+		}
+	}
+
+	/**
+	 * Adds a copy of a parsed library into the cache. It must be called between
+	 * {@link #startRead(URL)} and {@link #endRead(boolean)}.
+	 *
+	 * @param host      the module which includes the library
+	 * @param url       the location of the library
+	 * @param namespace the namespace of the library
+	 * @param options   the options the library is read with
+	 * @param library   the parsed library
+	 */
+
+	void put(LayoutModule host, URL url, String namespace, ModuleOption options, Library library) {
+		Map<String, FileState> readStates = this.readStates.get();
+		if (maxSize == 0 || readStates == null || !library.isValid() || library.getFatalException() != null) {
+			return;
+		}
+
+		List<String> locations = new ArrayList<>();
+		locations.add(url.toExternalForm());
+		for (Library included : library.getAllLibraries()) {
+			locations.add(included.getLocation());
+		}
+		List<FileState> states = new ArrayList<>();
+		for (String location : locations) {
+			// a library which was not read from a local file or whose state
+			// before the parse is unknown is not cached
+			FileState state = location == null ? null : readStates.get(location);
+			if (state == null) {
+				return;
+			}
+			states.add(state);
+		}
+
+		Library template = library.contextClone(null);
+		template.setLocation(url);
+		((ModuleImpl) template).setSession(null);
+		Entry entry = new Entry(template, locations, states);
+		synchronized (libraries) {
+			libraries.put(new Key(host.getSession(), url, namespace, options), entry);
+		}
+	}
+
+	/**
+	 * Removes the libraries which are read from or include the given location.
+	 *
+	 * @param location the location of the changed library
+	 */
+
+	void remove(String location) {
+		synchronized (libraries) {
+			Iterator<Entry> iter = libraries.values().iterator();
+			while (iter.hasNext()) {
+				if (iter.next().locations.contains(location)) {
+					iter.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all the libraries from the cache.
+	 */
+
+	public void clear() {
+		synchronized (libraries) {
+			libraries.clear();
+		}
+	}
+
+	/**
+	 * Sets the maximum number of libraries kept in the cache.
+	 *
+	 * @param maxSize the maximum number of libraries, 0 disables the cache
+	 */
+
+	public void setMaxSize(int maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+		if (this.maxSize == 0) {
+			clear();
+		}
+	}
+
+	/**
+	 * Returns the maximum number of libraries kept in the cache.
+	 *
+	 * @return the maximum number of libraries
+	 */
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Returns the number of libraries in the cache.
+	 *
+	 * @return the number of libraries
+	 */
+
+	public int size() {
+		synchronized (libraries) {
+			return libraries.size();
+		}
+	}
+
+	/**
+	 * Returns the number of libraries found in the cache.
+	 *
+	 * @return the hit count
+	 */
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * Returns the number of libraries looked up and not found in the cache.
+	 *
+	 * @return the miss count
+	 */
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * Returns the local file of a library location.
+	 *
+	 * @param location the location
+	 * @return the file, or <code>null</code> if the location is not a local file
+	 */
+
+	private static File getFile(String location) {
+		if (location == null || !location.startsWith("file:")) { //$NON-NLS-1$
+			return null;
+		}
+		try {
+			File file = new File(new URL(location).toURI());
+			return file.isFile() ? file : null;
+		} catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static final class Key {
+
+		final String location;
+		final String namespace;
+		final Map<String, Object> options;
+		final String resourceFolder;
+		final Object resourceLocator;
+
+		Key(DesignSessionImpl session, URL url, String namespace, ModuleOption options) {
+			this.location = url.toExternalForm();
+			this.namespace = namespace == null ? "" : namespace; //$NON-NLS-1$
+			this.options = options == null ? new HashMap<>() : new HashMap<>(options.getOptions());
+			this.resourceFolder = session.getResourceFolder();
+			this.resourceLocator = getResourceLocatorKey(session.getResourceLocator());
+		}
+
+		/**
+		 * Returns the key of a resource locator. The default resource locator has no
+		 * state, so all its instances resolve the same resources, but any other
+		 * resource locator may resolve them differently.
+		 */
+
+		private static Object getResourceLocatorKey(IResourceLocator locator) {
+			if (locator.getClass() == ResourceLocatorImpl.class) {
+				return ResourceLocatorImpl.class;
+			}
+			return locator;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = location.hashCode();
+			hash = hash * 31 + namespace.hashCode();
+			hash = hash * 31 + options.hashCode();
+			hash = hash * 31 + (resourceFolder == null ? 0 : resourceFolder.hashCode());
+			return hash * 31 + System.identityHashCode(resourceLocator);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) obj;
+			return location.equals(key.location) && namespace.equals(key.namespace) && options.equals(key.options)
+					&& (resourceFolder == null ? key.resourceFolder == null
+							: resourceFolder.equals(key.resourceFolder))
+					&& resourceLocator == key.resourceLocator;
+		}
+	}
+
+	private static final class Entry {
+
+		final Library library;
+		final List<String> locations;
+		final FileState[] states;
+
+		Entry(Library library, List<String> locations, List<FileState> states) {
+			this.library = library;
+			this.locations = locations;
+			this.states = states.toArray(new FileState[states.size()]);
+		}
+
+		boolean isModified() {
+			for (FileState state : states) {
+				if (state.isModified()) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static final class FileState {
+
+		final String location;
+		final File file;
+		final long lastModified;
+		final long length;
+
+		FileState(String location, File file) {
+			this.location = location;
+			this.file = file;
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		boolean isModified() {
+			return file.lastModified() != lastModified || file.length() != length;
+		}
+	}
+}
@@ -312,6 +312,19 @@ public abstract class ModuleImpl extends DesignElement implements IModuleModel,
 		return session;
 	}
 
+	/**
+	 * Sets the design session of this module and of the libraries it includes.
+	 *
+	 * @param theSession the session
+	 */
+
+	void setSession(DesignSessionImpl theSession) {
+		session = theSession;
+		for (Library library : getAllLibraries()) {
+			((ModuleImpl) library).session = theSession;
+		}
+	}
+
 	abstract protected Module getModule();
 
 	/**